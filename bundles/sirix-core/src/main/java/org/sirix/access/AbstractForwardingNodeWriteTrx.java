@@ -133,6 +133,11 @@ public abstract class AbstractForwardingNodeWriteTrx extends
 		return delegate().insertSubtreeAsLeftSibling(reader);
 	}
 
+	@Override
+	public NodeWriteTrx bulkLoad(XMLEventReader reader) throws SirixException {
+		return delegate().bulkLoad(reader);
+	}
+
 	@Override
 	public NodeWriteTrx insertTextAsFirstChild(String value)
 			throws SirixException {
@@ -59,6 +59,11 @@ public abstract class AbstractForwardingPageWriteTrx<K extends Comparable<? supe
 				keyValuePage);
 	}
 
+	@Override
+	public boolean writeRecordPage(@Nonnegative long recordPageKey) {
+		return delegate().writeRecordPage(recordPageKey);
+	}
+
 	@Override
 	public void removeEntry(@Nonnegative K recordKey, @Nonnull PageKind pageKind,
 			@Nonnegative int index, @Nonnull Optional<S> keyValuePage)
@@ -1,10 +1,103 @@
 package org.sirix.access;
 
-import org.sirix.cache.Cache;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
 import org.sirix.page.interfaces.Page;
 
-public interface BufferManager<K, V> {
-	Cache<K, V> getReadingCache(final Page pageKind, final long revision);
+/**
+ * A buffer manager shares committed, immutable pages between all read-only
+ * transactions of a database. Pages are identified by the resource they belong
+ * to and their offset (key) in the resource's storage.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public interface BufferManager {
+
+	/**
+	 * Get a buffered page.
+	 *
+	 * @param resourceID
+	 *          the unique ID of the resource
+	 * @param offset
+	 *          the offset (key) of the page in the storage
+	 * @return the buffered page or {@code null}, if it isn't buffered
+	 */
+	@Nullable
+	Page getPage(@Nonnegative long resourceID, long offset);
+
+	/**
+	 * Determines if a page is buffered. In contrast to
+	 * {@link #getPage(long, long)} neither the hit and miss counts nor the
+	 * replacement order of the buffered pages are changed.
+	 *
+	 * @param resourceID
+	 *          the unique ID of the resource
+	 * @param offset
+	 *          the offset (key) of the page in the storage
+	 * @return {@code true}, if the page is buffered, {@code false} otherwise
+	 */
+	boolean containsPage(@Nonnegative long resourceID, long offset);
+
+	/**
+	 * Put a page into the buffer, if no page with the same coordinates is
+	 * buffered already.
+	 *
+	 * @param resourceID
+	 *          the unique ID of the resource
+	 * @param offset
+	 *          the offset (key) of the page in the storage
+	 * @param page
+	 *          the page, which must not be modified afterwards
+	 * @return the buffered page, which is either {@code page} or a page
+	 *         previously buffered by another transaction
+	 */
+	Page putPageIfAbsent(@Nonnegative long resourceID, long offset, Page page);
+
+	/**
+	 * Remove all pages of a resource.
+	 *
+	 * @param resourceID
+	 *          the unique ID of the resource
+	 */
+	void invalidate(@Nonnegative long resourceID);
+
+	/** Remove all pages. */
+	void clear();
+
+	/**
+	 * Get the number of lookups which found a buffered page.
+	 *
+	 * @return the number of buffer hits
+	 */
+	long getHitCount();
+
+	/**
+	 * Get the number of lookups which didn't find a buffered page.
+	 *
+	 * @return the number of buffer misses
+	 */
+	long getMissCount();
+
+	/**
+	 * Get the number of pages evicted due to the memory budget.
+	 *
+	 * @return the number of evicted pages
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Get the estimated number of bytes currently occupied by buffered pages.
+	 *
+	 * @return the estimated memory usage in bytes
+	 */
+	long getUsedMemory();
 
-	Cache<K, V> getTransactionCache(final Page pageKind);
+	/**
+	 * Get the memory budget.
+	 *
+	 * @return the maximum number of bytes buffered pages may occupy
+	 */
+	long getMemoryBudget();
 }
@@ -0,0 +1,393 @@
+package org.sirix.access;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.sirix.page.IndirectPage;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+
+import com.google.common.base.Objects;
+
+/**
+ * <h1>BufferManagerImpl</h1>
+ *
+ * <p>
+ * Database wide page buffer, which is shared amongst all read-only
+ * transactions. It is partitioned into independently locked segments to reduce
+ * contention between concurrent readers. Each segment uses a segmented LRU
+ * (SLRU) replacement policy: new pages are put into a probationary area and
+ * only promoted into the protected area once they are requested again, such
+ * that a single scan over a large resource doesn't evict the hot working set.
+ * </p>
+ *
+ * <p>
+ * The memory budget is enforced on estimated page sizes.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class BufferManagerImpl implements BufferManager {
+
+	/** Standard number of segments (must be a power of two). */
+	private static final int SEGMENTS = 16;
+
+	/** Percentage of each segments budget reserved for the protected area. */
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+	/** Estimated base size of a page in bytes. */
+	private static final int PAGE_BASE_SIZE = 128;
+
+	/** Estimated size of a deserialized record in bytes. */
+	private static final int RECORD_SIZE = 160;
+
+	/** Estimated size of a page reference in bytes. */
+	private static final int REFERENCE_SIZE = 48;
+
+	/** Estimated size of other pages in bytes. */
+	private static final int OTHER_PAGE_SIZE = 1024;
+
+	/** The segments. */
+	private final Segment[] mSegments;
+
+	/** The memory budget in bytes. */
+	private final long mMemoryBudget;
+
+	/** Number of buffer hits. */
+	private final LongAdder mHits;
+
+	/** Number of buffer misses. */
+	private final LongAdder mMisses;
+
+	/** Number of evictions. */
+	private final LongAdder mEvictions;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param memoryBudget
+	 *          maximum number of bytes the buffered pages may occupy
+	 */
+	BufferManagerImpl(final @Nonnegative long memoryBudget) {
+		this(memoryBudget, SEGMENTS);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param memoryBudget
+	 *          maximum number of bytes the buffered pages may occupy
+	 * @param segments
+	 *          number of segments (must be a power of two)
+	 */
+	BufferManagerImpl(final @Nonnegative long memoryBudget,
+			final @Nonnegative int segments) {
+		checkArgument(memoryBudget >= 0, "memoryBudget must be >= 0!");
+		checkArgument(segments > 0 && Integer.bitCount(segments) == 1,
+				"segments must be a power of two!");
+		mMemoryBudget = memoryBudget;
+		mHits = new LongAdder();
+		mMisses = new LongAdder();
+		mEvictions = new LongAdder();
+		mSegments = new Segment[segments];
+		for (int i = 0; i < segments; i++) {
+			mSegments[i] = new Segment(memoryBudget / segments);
+		}
+	}
+
+	@Override
+	public Page getPage(final @Nonnegative long resourceID, final long offset) {
+		final BufferKey key = new BufferKey(resourceID, offset);
+		final Page page = segmentFor(key).get(key);
+		if (page == null) {
+			mMisses.increment();
+		} else {
+			mHits.increment();
+		}
+		return page;
+	}
+
+	@Override
+	public boolean containsPage(final @Nonnegative long resourceID,
+			final long offset) {
+		final BufferKey key = new BufferKey(resourceID, offset);
+		return segmentFor(key).contains(key);
+	}
+
+	@Override
+	public Page putPageIfAbsent(final @Nonnegative long resourceID,
+			final long offset, final Page page) {
+		checkNotNull(page);
+		final BufferKey key = new BufferKey(resourceID, offset);
+		return segmentFor(key).putIfAbsent(key, page, weigh(page));
+	}
+
+	@Override
+	public void invalidate(final @Nonnegative long resourceID) {
+		for (final Segment segment : mSegments) {
+			segment.removeResource(resourceID);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (final Segment segment : mSegments) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public long getHitCount() {
+		return mHits.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return mMisses.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return mEvictions.sum();
+	}
+
+	@Override
+	public long getUsedMemory() {
+		long used = 0;
+		for (final Segment segment : mSegments) {
+			used += segment.getUsedMemory();
+		}
+		return used;
+	}
+
+	@Override
+	public long getMemoryBudget() {
+		return mMemoryBudget;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).add("memoryBudget", mMemoryBudget)
+				.add("usedMemory", getUsedMemory()).add("hits", getHitCount())
+				.add("misses", getMissCount()).add("evictions", getEvictionCount())
+				.toString();
+	}
+
+	/**
+	 * Get the segment responsible for a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @return the segment
+	 */
+	private Segment segmentFor(final BufferKey key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return mSegments[hash & (mSegments.length - 1)];
+	}
+
+	/**
+	 * Estimate the heap size of a deserialized page.
+	 *
+	 * @param page
+	 *          the page
+	 * @return estimated size in bytes
+	 */
+	static long weigh(final Page page) {
+		if (page instanceof KeyValuePage) {
+			return PAGE_BASE_SIZE + (long) ((KeyValuePage<?, ?>) page).size()
+					* RECORD_SIZE;
+		} else if (page instanceof IndirectPage) {
+			return PAGE_BASE_SIZE + (long) Constants.INP_REFERENCE_COUNT
+					* REFERENCE_SIZE;
+		} else if (page instanceof OverflowPage) {
+			return PAGE_BASE_SIZE + ((OverflowPage) page).getData().length;
+		}
+		return OTHER_PAGE_SIZE;
+	}
+
+	/**
+	 * Key of a buffered page.
+	 */
+	private static final class BufferKey {
+		/** Unique ID of the resource. */
+		private final long mResourceID;
+
+		/** Offset of the page in the storage. */
+		private final long mOffset;
+
+		BufferKey(final long resourceID, final long offset) {
+			mResourceID = resourceID;
+			mOffset = offset;
+		}
+
+		@Override
+		public int hashCode() {
+			final long hash = mOffset * 31 + mResourceID;
+			return (int) (hash ^ (hash >>> 32));
+		}
+
+		@Override
+		public boolean equals(final @Nullable Object obj) {
+			if (obj instanceof BufferKey) {
+				final BufferKey other = (BufferKey) obj;
+				return mResourceID == other.mResourceID && mOffset == other.mOffset;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * A buffered page together with its estimated size.
+	 */
+	private static final class Entry {
+		/** The page. */
+		final Page mPage;
+
+		/** Estimated size of the page in bytes. */
+		final long mWeight;
+
+		Entry(final Page page, final long weight) {
+			mPage = page;
+			mWeight = weight;
+		}
+	}
+
+	/**
+	 * A segment of the buffer with its own segmented LRU lists.
+	 */
+	private final class Segment {
+		/** Pages which have been requested once (in access order). */
+		private final LinkedHashMap<BufferKey, Entry> mProbation;
+
+		/** Pages which have been requested more than once (in access order). */
+		private final LinkedHashMap<BufferKey, Entry> mProtected;
+
+		/** Budget of the segment. */
+		private final long mBudget;
+
+		/** Budget of the protected area. */
+		private final long mProtectedBudget;
+
+		/** Memory used by probationary pages. */
+		private long mProbationSize;
+
+		/** Memory used by protected pages. */
+		private long mProtectedSize;
+
+		Segment(final long budget) {
+			mBudget = budget;
+			mProtectedBudget = budget * PROTECTED_PERCENTAGE / 100;
+			mProbation = new LinkedHashMap<>(16, 0.75f, true);
+			mProtected = new LinkedHashMap<>(16, 0.75f, true);
+		}
+
+		synchronized Page get(final BufferKey key) {
+			Entry entry = mProtected.get(key);
+			if (entry != null) {
+				return entry.mPage;
+			}
+			entry = mProbation.remove(key);
+			if (entry == null) {
+				return null;
+			}
+			// Second request: promote to the protected area.
+			mProbationSize -= entry.mWeight;
+			mProtected.put(key, entry);
+			mProtectedSize += entry.mWeight;
+			demoteProtected();
+			return entry.mPage;
+		}
+
+		synchronized boolean contains(final BufferKey key) {
+			// Doesn't change the access order in contrast to get(Object).
+			return mProtected.containsKey(key) || mProbation.containsKey(key);
+		}
+
+		synchronized Page putIfAbsent(final BufferKey key, final Page page,
+				final long weight) {
+			Entry entry = mProtected.get(key);
+			if (entry == null) {
+				entry = mProbation.get(key);
+			}
+			if (entry != null) {
+				return entry.mPage;
+			}
+			if (weight > mBudget) {
+				// Never buffer pages which exceed the budget.
+				return page;
+			}
+			mProbation.put(key, new Entry(page, weight));
+			mProbationSize += weight;
+			evict();
+			return page;
+		}
+
+		/** Move the least recently used protected pages to the probation area. */
+		private void demoteProtected() {
+			final Iterator<Map.Entry<BufferKey, Entry>> it = mProtected.entrySet()
+					.iterator();
+			while (mProtectedSize > mProtectedBudget && it.hasNext()) {
+				final Map.Entry<BufferKey, Entry> eldest = it.next();
+				it.remove();
+				mProtectedSize -= eldest.getValue().mWeight;
+				mProbation.put(eldest.getKey(), eldest.getValue());
+				mProbationSize += eldest.getValue().mWeight;
+			}
+			evict();
+		}
+
+		/** Evict the least recently used probation pages. */
+		private void evict() {
+			final Iterator<Map.Entry<BufferKey, Entry>> it = mProbation.entrySet()
+					.iterator();
+			while (mProbationSize + mProtectedSize > mBudget && it.hasNext()) {
+				final Map.Entry<BufferKey, Entry> eldest = it.next();
+				it.remove();
+				mProbationSize -= eldest.getValue().mWeight;
+				mEvictions.increment();
+			}
+		}
+
+		synchronized void removeResource(final long resourceID) {
+			mProbationSize -= remove(mProbation, resourceID);
+			mProtectedSize -= remove(mProtected, resourceID);
+		}
+
+		private long remove(final Map<BufferKey, Entry> map, final long resourceID) {
+			long removed = 0;
+			final Iterator<Map.Entry<BufferKey, Entry>> it = map.entrySet()
+					.iterator();
+			while (it.hasNext()) {
+				final Map.Entry<BufferKey, Entry> entry = it.next();
+				if (entry.getKey().mResourceID == resourceID) {
+					removed += entry.getValue().mWeight;
+					it.remove();
+				}
+			}
+			return removed;
+		}
+
+		synchronized void clear() {
+			mProbation.clear();
+			mProtected.clear();
+			mProbationSize = 0;
+			mProtectedSize = 0;
+		}
+
+		synchronized long getUsedMemory() {
+			return mProbationSize + mProtectedSize;
+		}
+	}
+}
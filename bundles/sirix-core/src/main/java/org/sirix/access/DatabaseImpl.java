@@ -53,6 +53,7 @@ import org.sirix.api.Session;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.io.file.GroupCommitter;
 import org.sirix.utils.Files;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
@@ -94,6 +95,12 @@ public final class DatabaseImpl implements Database {
 	/** DatabaseConfiguration with fixed settings. */
 	private final DatabaseConfiguration mDBConfig;
 
+	/** Page buffer shared by all read-only transactions of this database. */
+	private final BufferManager mBufferManager;
+
+	/** Scheduler shared by all sessions of this database. */
+	private final TaskScheduler mScheduler;
+
 	/**
 	 * Package private constructor.
 	 * 
@@ -109,6 +116,8 @@ public final class DatabaseImpl implements Database {
 		mResources = Maps.synchronizedBiMap(HashBiMap.<Long, String> create());
 		mReadSemaphores = new ConcurrentHashMap<>();
 		mWriteSemaphores = new ConcurrentHashMap<>();
+		mBufferManager = new BufferManagerImpl(dbConfig.getBufferSize());
+		mScheduler = new TaskScheduler(Runtime.getRuntime().availableProcessors());
 	}
 
 	// //////////////////////////////////////////////////////////
@@ -136,8 +145,8 @@ public final class DatabaseImpl implements Database {
 						returnVal = toCreate.mkdir();
 					} else {
 						try {
-							returnVal = ResourceConfiguration.Paths.INDEXES.getFile()
-									.getName().equals(paths.getFile().getName()) ? true
+							returnVal = paths == ResourceConfiguration.Paths.INDEXES
+									|| paths == ResourceConfiguration.Paths.REVISIONS ? true
 									: toCreate.createNewFile();
 						} catch (final IOException e) {
 							Files.recursiveRemove(path.toPath());
@@ -186,6 +195,12 @@ public final class DatabaseImpl implements Database {
 				DatabaseConfiguration.Paths.DATA.getFile().getName()), name);
 		// Check that database must be closed beforehand.
 		if (!mSessions.containsKey(resourceFile)) {
+			// Make sure no stale pages are buffered.
+			final Long resourceID = mResources.inverse().get(name);
+			if (resourceID != null) {
+				mBufferManager.invalidate(resourceID);
+			}
+
 			// If file is existing and folder is a Sirix-dataplace, delete it.
 			if (resourceFile.exists()
 					&& ResourceConfiguration.Paths.compareStructure(resourceFile) == 0) {
@@ -276,6 +291,15 @@ public final class DatabaseImpl implements Database {
 			}
 		}
 
+		// Release buffered pages.
+		mBufferManager.clear();
+
+		// Stop background tasks.
+		mScheduler.close();
+
+		// Release the group committer.
+		GroupCommitter.release(mDBConfig.getFile());
+
 		// Remove from database mapping.
 		Databases.removeDatabase(mDBConfig.getFile());
 
@@ -289,6 +313,16 @@ public final class DatabaseImpl implements Database {
 		return mDBConfig;
 	}
 
+	@Override
+	public BufferManager getBufferManager() {
+		return mBufferManager;
+	}
+
+	@Override
+	public TaskScheduler getScheduler() {
+		return mScheduler;
+	}
+
 	@Override
 	public synchronized boolean existsResource(final String pResourceName) {
 		final File resourceFile = new File(new File(mDBConfig.getFile(),
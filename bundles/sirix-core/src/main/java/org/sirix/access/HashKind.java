@@ -10,6 +10,13 @@ public enum HashKind {
 	 * Postorder hash, all nodes on ancestor plus postorder are at least read.
 	 */
 	POSTORDER,
+	/**
+	 * Rolling hash, which isn't adapted for each modification, but computed once
+	 * during the commit for all modified nodes and their ancestors (bottom-up)
+	 * with a fast non-cryptographic hash function. Hashes and descendant counts
+	 * therefore are only up-to-date in committed revisions.
+	 */
+	DEFERRED,
 	/** No hash structure after all. */
 	NONE;
 }
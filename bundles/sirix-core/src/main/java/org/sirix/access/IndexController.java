@@ -30,11 +30,11 @@ import org.sirix.api.NodeWriteTrx;
 import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.api.Session;
-import org.sirix.api.visitor.Visitor;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.ChangeListener;
+import org.sirix.index.IndexBuildVisitor;
 import org.sirix.index.IndexBuilder;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexType;
@@ -233,6 +233,24 @@ public final class IndexController {
 	 */
 	public IndexController createIndexes(final Set<IndexDef> indexDefs,
 			final NodeWriteTrx nodeWriteTrx) throws SirixIOException {
+		buildIndexes(indexDefs, nodeWriteTrx);
+
+		// Create index listeners for upcoming changes.
+		return createIndexListeners(indexDefs, nodeWriteTrx);
+	}
+
+	/**
+	 * Build indexes from the nodes, which are already stored.
+	 * 
+	 * @param indexDefs
+	 *          Set of {@link IndexDef}s
+	 * @param nodeWriteTrx
+	 *          the {@link NodeWriteTrx} used
+	 * @throws SirixIOException
+	 *           if an I/O exception during index creation occured
+	 */
+	void buildIndexes(final Set<IndexDef> indexDefs,
+			final NodeWriteTrx nodeWriteTrx) throws SirixIOException {
 		// Initialize transaction logs.
 		final PageWriteTrx<?, ?, ?> pageWriteTrx = nodeWriteTrx
 				.getPageTransaction();
@@ -247,9 +265,6 @@ public final class IndexController {
 		// Build the indexes.
 		IndexBuilder.build(nodeWriteTrx,
 				createIndexBuilders(indexDefs, nodeWriteTrx));
-
-		// Create index listeners for upcoming changes.
-		return createIndexListeners(indexDefs, nodeWriteTrx);
 	}
 
 	/**
@@ -262,10 +277,10 @@ public final class IndexController {
 	 * 
 	 * @return the created index builder instances
 	 */
-	Set<Visitor> createIndexBuilders(final Set<IndexDef> indexDefs,
+	Set<IndexBuildVisitor> createIndexBuilders(final Set<IndexDef> indexDefs,
 			final NodeWriteTrx nodeWriteTrx) {
 		// Index builders for all index definitions.
-		final Set<Visitor> indexBuilders = new HashSet<>(indexDefs.size());
+		final Set<IndexBuildVisitor> indexBuilders = new HashSet<>(indexDefs.size());
 		for (final IndexDef indexDef : indexDefs) {
 			switch (indexDef.getType()) {
 			case PATH:
@@ -345,20 +360,20 @@ public final class IndexController {
 		return mNameIndex.createListener(pageWriteTrx, indexDef);
 	}
 
-	private Visitor createPathIndexBuilder(
+	private IndexBuildVisitor createPathIndexBuilder(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
 			final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
 		return mPathIndex.createBuilder(pageWriteTrx, pathSummaryReader, indexDef);
 	}
 
-	private Visitor createCASIndexBuilder(final NodeReadTrx nodeReadTrx,
+	private IndexBuildVisitor createCASIndexBuilder(final NodeReadTrx nodeReadTrx,
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
 			final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
 		return mCASIndex.createBuilder(nodeReadTrx, pageWriteTrx,
 				pathSummaryReader, indexDef);
 	}
 
-	private Visitor createNameIndexBuilder(
+	private IndexBuildVisitor createNameIndexBuilder(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
 			final IndexDef indexDef) {
 		return mNameIndex.createBuilder(pageWriteTrx, indexDef);
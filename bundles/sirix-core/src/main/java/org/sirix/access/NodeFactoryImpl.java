@@ -4,7 +4,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
 import java.util.Optional;
-import java.util.zip.Deflater;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -31,7 +30,7 @@ import org.sirix.page.PageKind;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.settings.Fixed;
-import org.sirix.utils.Compression;
+import org.sirix.utils.Codec;
 import org.sirix.utils.NamePageHash;
 
 import com.google.common.collect.HashBiMap;
@@ -47,6 +46,9 @@ final class NodeFactoryImpl implements NodeFactory {
 	/** {@link PageWriteTrx} implementation. */
 	private final PageWriteTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
 
+	/** {@link Codec} to compress text values. */
+	private final Codec mCodec;
+
 	/**
 	 * Constructor.
 	 * 
@@ -59,6 +61,7 @@ final class NodeFactoryImpl implements NodeFactory {
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx)
 			throws SirixIOException {
 		mPageWriteTrx = checkNotNull(pageWriteTrx);
+		mCodec = pageWriteTrx.getSession().getResourceConfig().mCodec;
 		mPageWriteTrx.createNameKey("xs:untyped", Kind.ATTRIBUTE);
 		mPageWriteTrx.createNameKey("xs:untyped", Kind.NAMESPACE);
 		mPageWriteTrx.createNameKey("xs:untyped", Kind.ELEMENT);
@@ -138,10 +141,9 @@ final class NodeFactoryImpl implements NodeFactory {
 				.getActualRevisionRootPage().getMaxNodeKey() + 1, parentKey, 0,
 				revision, id);
 		final boolean compression = isCompressed && value.length > 10;
-		final byte[] compressedValue = compression ? Compression.compress(value,
-				Deflater.HUFFMAN_ONLY) : value;
+		final Codec codec = compression ? mCodec : Codec.NONE;
 		final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel,
-				compressedValue, compression);
+				codec.compress(value), codec);
 		final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel,
 				Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0,
 				0);
@@ -239,10 +241,9 @@ final class NodeFactoryImpl implements NodeFactory {
 				.getActualRevisionRootPage().getMaxNodeKey() + 1, parentKey, 0,
 				revision, id);
 		final boolean compression = isCompressed && value.length > 10;
-		final byte[] compressedValue = compression ? Compression.compress(value,
-				Deflater.HUFFMAN_ONLY) : value;
+		final Codec codec = compression ? mCodec : Codec.NONE;
 		final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel,
-				compressedValue, compression);
+				codec.compress(value), codec);
 		final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel,
 				Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0,
 				0);
@@ -109,6 +109,9 @@ public final class NodeReadTrxImpl implements NodeReadTrx {
 	/** Read-transaction-exclusive item list. */
 	private final ItemList<AtomicValue> mItemList;
 
+	/** The {@link TemporalCursorImpl}, which opened the transaction, if any. */
+	private final Optional<TemporalCursorImpl> mCursor;
+
 	/**
 	 * Constructor.
 	 * 
@@ -124,7 +127,30 @@ public final class NodeReadTrxImpl implements NodeReadTrx {
 	NodeReadTrxImpl(final SessionImpl session,
 			final @Nonnegative long transactionID,
 			final PageReadTrx pageReadTransaction) throws SirixIOException {
+		this(session, transactionID, pageReadTransaction, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param session
+	 *          the current {@link Session} the transaction is bound to
+	 * @param transactionID
+	 *          ID of transaction
+	 * @param pageReadTransaction
+	 *          {@link PageReadTrx} to interact with the page layer
+	 * @param cursor
+	 *          the {@link TemporalCursorImpl}, which opened the transaction or
+	 *          {@code null}, if it's registered in the session
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	NodeReadTrxImpl(final SessionImpl session,
+			final @Nonnegative long transactionID,
+			final PageReadTrx pageReadTransaction,
+			final @Nullable TemporalCursorImpl cursor) throws SirixIOException {
 		mSession = checkNotNull(session);
+		mCursor = Optional.ofNullable(cursor);
 		checkArgument(transactionID >= 0);
 		mId = transactionID;
 		mPageReadTrx = checkNotNull(pageReadTransaction);
@@ -403,8 +429,11 @@ public final class NodeReadTrxImpl implements NodeReadTrx {
 	@Override
 	public void close() {
 		if (!mClosed) {
-			// Callback on session to make sure everything is cleaned up.
-			mSession.closeReadTransaction(mId);
+			// Callback on session to make sure everything is cleaned up (the
+			// transactions of a cursor aren't registered).
+			if (!mCursor.isPresent()) {
+				mSession.closeReadTransaction(mId);
+			}
 
 			// Close own state.
 			mPageReadTrx.close();
@@ -30,11 +30,15 @@ package org.sirix.access;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
@@ -42,12 +46,19 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Comment;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.ProcessingInstruction;
+import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
 
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.IndexController.ChangeType;
 import org.sirix.access.SessionImpl.Abort;
+import org.sirix.access.TaskScheduler.PeriodicTask;
 import org.sirix.api.Axis;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.NodeWriteTrx;
@@ -60,8 +71,9 @@ import org.sirix.axis.LevelOrderAxis;
 import org.sirix.axis.PostOrderAxis;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
-import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.IndexDef;
+import org.sirix.index.avltree.keyvalue.NodeKeyBitmap;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
@@ -124,6 +136,9 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	/** MD5 hash-function. */
 	private final HashFunction mHash = Hashing.md5();
 
+	/** 64-bit hash function for the values in deferred content hashes. */
+	private static final HashFunction VALUE_HASH = Hashing.murmur3_128();
+
 	/** Prime for computing the hash. */
 	private static final int PRIME = 77081;
 
@@ -136,9 +151,8 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	/** Hash kind of Structure. */
 	private final HashKind mHashKind;
 
-	/** Scheduled executor service. */
-	private final ScheduledExecutorService mPool = Executors
-			.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+	/** Time based auto-commit, run by the scheduler of the database. */
+	private final Optional<PeriodicTask> mAutoCommit;
 
 	/** {@link NodeReadTrxImpl} reference. */
 	private final NodeReadTrxImpl mNodeRtx;
@@ -146,6 +160,13 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	/** Determines if a bulk insert operation is done. */
 	private boolean mBulkInsert;
 
+	/**
+	 * Keys of the nodes, whose hashes and descendant counts have to be
+	 * recomputed during the next commit (only used for
+	 * {@link HashKind#DEFERRED}).
+	 */
+	private NodeKeyBitmap mDirtyNodes = new NodeKeyBitmap();
+
 	/** Collection holding pre-commit hooks. */
 	private final List<PreCommitHook> mPreCommitHooks = new ArrayList<>();
 
@@ -227,15 +248,6 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 					mNodeFactory, mNodeRtx);
 		}
 
-		if (maxTime > 0) {
-			mPool.scheduleAtFixedRate(new Runnable() {
-				@Override
-				public void run() {
-					commit();
-				}
-			}, maxTime, maxTime, timeUnit);
-		}
-
 		mHashKind = session.mResourceConfig.mHashKind;
 
 		// Synchronize commit and other public methods if needed.
@@ -248,6 +260,18 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 		mDeweyIDsStored = mNodeRtx.mSession.mResourceConfig.mDeweyIDsStored;
 		mCompression = mNodeRtx.mSession.mResourceConfig.mCompression;
 
+		// Auto-commit by time, if it is more than 0.
+		if (maxTime > 0) {
+			mAutoCommit = Optional.of(session.getDatabase().getScheduler()
+					.scheduleAtFixedRate(() -> {
+						if (!isClosed()) {
+							commit();
+						}
+					}, maxTime, timeUnit));
+		} else {
+			mAutoCommit = Optional.empty();
+		}
+
 		// // Redo last transaction if the system crashed.
 		// if (!pPageWriteTrx.isCreated()) {
 		// try {
@@ -885,6 +909,418 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 		return this;
 	}
 
+	@Override
+	public NodeWriteTrx bulkLoad(final XMLEventReader reader)
+			throws SirixException {
+		checkNotNull(reader);
+		acquireLock();
+		try {
+			moveToDocumentRoot();
+			if (mNodeRtx.getStructuralNode().hasFirstChild()) {
+				throw new SirixUsageException(
+						"Bulk loading is only permitted into an empty resource!");
+			}
+			final long rootKey;
+			mBulkInsert = true;
+			try {
+				rootKey = bulkInsert(reader);
+			} finally {
+				mBulkInsert = false;
+			}
+
+			// Build the indexes at once instead of updating them for each node.
+			final Set<IndexDef> indexDefs = mIndexController.getIndexes()
+					.getIndexDefs();
+			if (!indexDefs.isEmpty()) {
+				mIndexController.buildIndexes(indexDefs, this);
+			}
+			moveTo(rootKey);
+		} catch (final XMLStreamException e) {
+			throw new SirixIOException(e);
+		} finally {
+			unLock();
+		}
+		return this;
+	}
+
+	/**
+	 * Insert the nodes of a document in document order below the document root.
+	 * Each node is appended as the last child of the innermost open element,
+	 * thus neither the right siblings nor the already created subtrees have to
+	 * be visited. The hash and descendant count of a node are added once its
+	 * subtree is complete (that is in postorder). Full record pages are written
+	 * to the storage as soon as their nodes aren't modified anymore.
+	 * 
+	 * @param reader
+	 *          the reader to parse the document
+	 * @return the key of the root element or of the document root, if the
+	 *         document has no root element
+	 * @throws SirixException
+	 *           if inserting a node fails
+	 * @throws XMLStreamException
+	 *           if the document isn't well-formed
+	 */
+	private long bulkInsert(final XMLEventReader reader) throws SirixException,
+			XMLStreamException {
+		final Deque<BulkLoadParent> parents = new ArrayDeque<>();
+		parents.push(new BulkLoadParent(mNodeRtx.getNodeKey(),
+				mDeweyIDsStored ? mNodeRtx.getNode().getDeweyID() : Optional
+						.<SirixDeweyID> empty()));
+		final StringBuilder text = new StringBuilder();
+		long rootKey = mNodeRtx.getNodeKey();
+		boolean endElemReached = false;
+		final Set<Long> fullPages = new TreeSet<>();
+		long pageKey = getPageTransaction().pageKey(getMaxNodeKey());
+
+		while (reader.hasNext() && !endElemReached) {
+			final XMLEvent event = reader.nextEvent();
+			if (event.getEventType() == XMLStreamConstants.CHARACTERS) {
+				text.append(event.asCharacters().getData().trim());
+				continue;
+			}
+			if (text.length() > 0) {
+				bulkInsertText(parents.peek(), text.toString());
+				text.setLength(0);
+			}
+
+			switch (event.getEventType()) {
+			case XMLStreamConstants.START_ELEMENT:
+				final long elementKey = bulkInsertElement(parents,
+						event.asStartElement());
+				if (parents.size() == 2) {
+					rootKey = elementKey;
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				final BulkLoadParent element = parents.pop();
+				moveTo(element.mNodeKey);
+				addBulkLoadHash();
+				endElemReached = parents.size() == 1;
+				break;
+			case XMLStreamConstants.COMMENT:
+				final String comment = ((Comment) event).getText();
+				if (!comment.isEmpty()) {
+					bulkInsertComment(parents.peek(), comment);
+				}
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				final ProcessingInstruction pi = (ProcessingInstruction) event;
+				if (!pi.getTarget().isEmpty()) {
+					bulkInsertPI(parents.peek(), pi.getTarget(), pi.getData());
+				}
+				break;
+			default:
+				// Node kind not known.
+			}
+
+			final long maxPageKey = getPageTransaction().pageKey(getMaxNodeKey());
+			if (maxPageKey > pageKey) {
+				for (; pageKey < maxPageKey; pageKey++) {
+					fullPages.add(pageKey);
+				}
+				writeCompleteRecordPages(parents, fullPages);
+			}
+		}
+		return rootKey;
+	}
+
+	/**
+	 * Write the full record pages of a bulk load, whose nodes aren't modified
+	 * anymore, to the storage. Only the open elements (including their
+	 * namespaces and attributes) are modified once their subtrees are complete,
+	 * and the last children of the open elements once a sibling is appended.
+	 * 
+	 * @param parents
+	 *          the open elements
+	 * @param fullPages
+	 *          the keys of the full record pages, which haven't been written
+	 *          yet (written pages are removed)
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void writeCompleteRecordPages(final Deque<BulkLoadParent> parents,
+			final Set<Long> fullPages) throws SirixIOException {
+		final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageTrx = getPageTransaction();
+		final Set<Long> openPages = new HashSet<>();
+		for (final BulkLoadParent parent : parents) {
+			for (long key = pageTrx.pageKey(parent.mNodeKey), lastKey = pageTrx
+					.pageKey(parent.mLastNonStructuralKey); key <= lastKey; key++) {
+				openPages.add(key);
+			}
+			if (parent.mLastChildKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+				openPages.add(pageTrx.pageKey(parent.mLastChildKey));
+			}
+		}
+		for (final Iterator<Long> it = fullPages.iterator(); it.hasNext();) {
+			final long pageKey = it.next();
+			if (!openPages.contains(pageKey)) {
+				pageTrx.writeRecordPage(pageKey);
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Insert an element (with its namespaces and attributes) during a bulk load.
+	 * 
+	 * @param parents
+	 *          the open elements, the innermost one on top
+	 * @param event
+	 *          the start tag
+	 * @return the key of the new element
+	 * @throws SirixException
+	 *           if inserting a node fails
+	 */
+	private long bulkInsertElement(final Deque<BulkLoadParent> parents,
+			final StartElement event) throws SirixException {
+		checkAccessAndCommit();
+		final BulkLoadParent parent = parents.peek();
+		final QName qName = event.getName();
+		final QNm name = new QNm(qName.getNamespaceURI(), qName.getPrefix(),
+				qName.getLocalPart());
+		moveTo(parent.mNodeKey);
+		final long pathNodeKey = mBuildPathSummary ? mPathSummaryWriter
+				.getPathNodeKey(name, Kind.ELEMENT) : 0;
+		final Optional<SirixDeweyID> id = parent.newChildID();
+		final ElementNode node = mNodeFactory.createElementNode(parent.mNodeKey,
+				parent.mLastChildKey, Fixed.NULL_NODE_KEY.getStandardProperty(), 0,
+				name, pathNodeKey, id);
+		addBulkLoadNode(parent, node, id);
+		final long elementKey = node.getNodeKey();
+		final BulkLoadParent element = new BulkLoadParent(elementKey, id);
+		parents.push(element);
+
+		// Namespaces.
+		Optional<SirixDeweyID> lastID = Optional.empty();
+		for (final Iterator<?> it = event.getNamespaces(); it.hasNext();) {
+			checkAccessAndCommit();
+			final Namespace namespace = (Namespace) it.next();
+			final QNm nspName = new QNm(namespace.getNamespaceURI(),
+					namespace.getPrefix(), "");
+			moveTo(elementKey);
+			final long nspPathNodeKey = mBuildPathSummary ? mPathSummaryWriter
+					.getPathNodeKey(nspName, Kind.NAMESPACE) : 0;
+			lastID = id.isPresent() ? Optional.of(lastID.isPresent() ? SirixDeweyID
+					.newBetween(lastID.get(), null) : id.get().getNewNamespaceID())
+					: lastID;
+			final NamespaceNode nsp = mNodeFactory.createNamespaceNode(elementKey,
+					nspName, nspPathNodeKey, lastID);
+			((ElementNode) getPageTransaction().prepareEntryForModification(
+					elementKey, PageKind.RECORDPAGE, -1,
+					Optional.<UnorderedKeyValuePage> empty())).insertNamespace(nsp
+					.getNodeKey());
+			mNodeRtx.setCurrentNode(nsp);
+			adaptHashesWithAdd();
+			element.mLastNonStructuralKey = nsp.getNodeKey();
+		}
+
+		// Attributes.
+		lastID = Optional.empty();
+		for (final Iterator<?> it = event.getAttributes(); it.hasNext();) {
+			checkAccessAndCommit();
+			final Attribute attribute = (Attribute) it.next();
+			final QName attQName = attribute.getName();
+			final QNm attName = new QNm(attQName.getNamespaceURI(),
+					attQName.getPrefix(), attQName.getLocalPart());
+			moveTo(elementKey);
+			final long attPathNodeKey = mBuildPathSummary ? mPathSummaryWriter
+					.getPathNodeKey(attName, Kind.ATTRIBUTE) : 0;
+			lastID = id.isPresent() ? Optional.of(lastID.isPresent() ? SirixDeweyID
+					.newBetween(lastID.get(), null) : id.get().getNewAttributeID())
+					: lastID;
+			final AttributeNode att = mNodeFactory.createAttributeNode(elementKey,
+					attName, getBytes(attribute.getValue()), attPathNodeKey, lastID);
+			((ElementNode) getPageTransaction().prepareEntryForModification(
+					elementKey, PageKind.RECORDPAGE, -1,
+					Optional.<UnorderedKeyValuePage> empty())).insertAttribute(
+					att.getNodeKey(), att.getPrefixKey() + att.getLocalNameKey());
+			mNodeRtx.setCurrentNode(att);
+			adaptHashesWithAdd();
+			element.mLastNonStructuralKey = att.getNodeKey();
+		}
+		return elementKey;
+	}
+
+	/**
+	 * Insert a text node during a bulk load.
+	 * 
+	 * @param parent
+	 *          the parent element
+	 * @param value
+	 *          the text
+	 * @throws SirixException
+	 *           if inserting the node fails
+	 */
+	private void bulkInsertText(final BulkLoadParent parent, final String value)
+			throws SirixException {
+		checkAccessAndCommit();
+		final Optional<SirixDeweyID> id = parent.newChildID();
+		final TextNode node = mNodeFactory.createTextNode(parent.mNodeKey,
+				parent.mLastChildKey, Fixed.NULL_NODE_KEY.getStandardProperty(),
+				getBytes(value), mCompression, id);
+		addBulkLoadNode(parent, node, id);
+		addBulkLoadHash();
+	}
+
+	/**
+	 * Insert a comment node during a bulk load.
+	 * 
+	 * @param parent
+	 *          the parent node
+	 * @param value
+	 *          the comment
+	 * @throws SirixException
+	 *           if inserting the node fails
+	 */
+	private void bulkInsertComment(final BulkLoadParent parent,
+			final String value) throws SirixException {
+		checkAccessAndCommit();
+		final Optional<SirixDeweyID> id = parent.newChildID();
+		final CommentNode node = mNodeFactory.createCommentNode(parent.mNodeKey,
+				parent.mLastChildKey, Fixed.NULL_NODE_KEY.getStandardProperty(),
+				getBytes(value), mCompression, id);
+		addBulkLoadNode(parent, node, id);
+		addBulkLoadHash();
+	}
+
+	/**
+	 * Insert a processing instruction during a bulk load.
+	 * 
+	 * @param parent
+	 *          the parent node
+	 * @param target
+	 *          the target of the processing instruction
+	 * @param content
+	 *          the content of the processing instruction
+	 * @throws SirixException
+	 *           if inserting the node fails
+	 */
+	private void bulkInsertPI(final BulkLoadParent parent, final String target,
+			final String content) throws SirixException {
+		checkAccessAndCommit();
+		final QNm targetName = new QNm(target);
+		moveTo(parent.mNodeKey);
+		final long pathNodeKey = mBuildPathSummary ? mPathSummaryWriter
+				.getPathNodeKey(targetName, Kind.PROCESSING_INSTRUCTION) : 0;
+		final Optional<SirixDeweyID> id = parent.newChildID();
+		final PINode node = mNodeFactory.createPINode(parent.mNodeKey,
+				parent.mLastChildKey, Fixed.NULL_NODE_KEY.getStandardProperty(),
+				targetName, getBytes(content), mCompression, pathNodeKey, id);
+		addBulkLoadNode(parent, node, id);
+		addBulkLoadHash();
+	}
+
+	/**
+	 * Link a node, which has been created during a bulk load, as the last child
+	 * of its parent.
+	 * 
+	 * @param parent
+	 *          the parent node
+	 * @param node
+	 *          the new node
+	 * @param id
+	 *          the optional DeweyID of the new node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void addBulkLoadNode(final BulkLoadParent parent,
+			final StructNode node, final Optional<SirixDeweyID> id)
+			throws SirixIOException {
+		mNodeRtx.setCurrentNode(node);
+		adaptForInsert(node, node.hasLeftSibling() ? InsertPos.ASRIGHTSIBLING
+				: InsertPos.ASFIRSTCHILD, PageKind.RECORDPAGE);
+		mNodeRtx.setCurrentNode(node);
+		adaptHashesWithAdd();
+		parent.mLastChildKey = node.getNodeKey();
+		parent.mLastChildID = id;
+	}
+
+	/**
+	 * Add the hash of the current node during a bulk load, once its subtree is
+	 * complete. Deferred hashes are computed at once as well, such that the
+	 * record pages aren't modified again during the commit.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void addBulkLoadHash() throws SirixIOException {
+		switch (mHashKind) {
+		case ROLLING:
+		case POSTORDER:
+			addPostorderHash();
+			break;
+		case DEFERRED:
+			final long nodeKey = mNodeRtx.getNodeKey();
+			deferredHash(nodeKey);
+			moveTo(nodeKey);
+			if (mNodeRtx.getKind() == Kind.ELEMENT) {
+				final ElementNode element = (ElementNode) mNodeRtx.getCurrentNode();
+				for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+					mDirtyNodes.remove(element.getNamespaceKey(i));
+				}
+				for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+					mDirtyNodes.remove(element.getAttributeKey(i));
+				}
+			}
+			// The parent remains marked, thus it's computed once it's complete.
+			mDirtyNodes.remove(nodeKey);
+			break;
+		default:
+		}
+	}
+
+	/**
+	 * A node during a bulk load, to which children are appended.
+	 */
+	private static final class BulkLoadParent {
+		/** Key of the node. */
+		private final long mNodeKey;
+
+		/** Optional DeweyID of the node. */
+		private final Optional<SirixDeweyID> mDeweyID;
+
+		/** Key of the last child. */
+		private long mLastChildKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+
+		/**
+		 * Key of the last namespace or attribute, which follow the node, or the
+		 * key of the node.
+		 */
+		private long mLastNonStructuralKey;
+
+		/** Optional DeweyID of the last child. */
+		private Optional<SirixDeweyID> mLastChildID = Optional.empty();
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param nodeKey
+		 *          key of the node
+		 * @param deweyID
+		 *          optional DeweyID of the node
+		 */
+		BulkLoadParent(final long nodeKey, final Optional<SirixDeweyID> deweyID) {
+			mNodeKey = nodeKey;
+			mDeweyID = deweyID;
+			mLastNonStructuralKey = nodeKey;
+		}
+
+		/**
+		 * Get the DeweyID of a new last child.
+		 * 
+		 * @return the optional DeweyID
+		 * @throws SirixException
+		 *           if generating an ID fails
+		 */
+		Optional<SirixDeweyID> newChildID() throws SirixException {
+			if (!mDeweyID.isPresent()) {
+				return mDeweyID;
+			}
+			return Optional.of(mLastChildID.isPresent() ? SirixDeweyID.newBetween(
+					mLastChildID.get(), null) : mDeweyID.get().getNewChildID());
+		}
+	}
+
 	@Override
 	public NodeWriteTrx insertPIAsLeftSibling(final String target,
 			final String content) throws SirixException {
@@ -1827,6 +2263,7 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 
 			// Reset modification counter.
 			mModificationCount = 0L;
+			mDirtyNodes = new NodeKeyBitmap();
 
 			// Move to document root.
 			moveToDocumentRoot();
@@ -1837,14 +2274,26 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 
 	@Override
 	public void close() {
+		// Make sure to commit all dirty data (checked while holding the lock, as a
+		// concurrent auto-commit resets the modification counter).
 		acquireLock();
 		try {
-			if (!isClosed()) {
-				// Make sure to commit all dirty data.
-				if (mModificationCount > 0) {
-					throw new SirixUsageException("Must commit/rollback transaction first!");
-				}
+			if (!isClosed() && mModificationCount > 0) {
+				throw new SirixUsageException("Must commit/rollback transaction first!");
+			}
+		} finally {
+			unLock();
+		}
 
+		// Stop the auto-commit before locking again, as it acquires the lock itself
+		// and cancelling waits for a running execution (which can only reset the
+		// modification counter in between).
+		if (mAutoCommit.isPresent()) {
+			mAutoCommit.get().cancel();
+		}
+		acquireLock();
+		try {
+			if (!isClosed()) {
 				final int revision = getRevisionNumber();
 
 				// Release all state immediately.
@@ -1854,14 +2303,6 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 
 				mPathSummaryWriter = null;
 				mNodeFactory = null;
-
-				// Shutdown pool.
-				mPool.shutdown();
-				try {
-					mPool.awaitTermination(100, TimeUnit.SECONDS);
-				} catch (final InterruptedException e) {
-					throw new SirixThreadedException(e);
-				}
 			}
 		} finally {
 			unLock();
@@ -1876,6 +2317,7 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 
 			// Reset modification counter.
 			mModificationCount = 0L;
+			mDirtyNodes = new NodeKeyBitmap();
 
 			// Close current page transaction.
 			final long trxID = getTransactionID();
@@ -1925,12 +2367,18 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 			hook.preCommit(this);
 		}
 
-		// Reset modification counter.
-		mModificationCount = 0L;
-
 		// Optionally lock while commiting and assigning new instances.
 		acquireLock();
 		try {
+			// Reset modification counter (while holding the lock, as it's checked by
+			// close()).
+			mModificationCount = 0L;
+
+			// Compute the deferred hashes of all modified nodes.
+			if (mHashKind == HashKind.DEFERRED) {
+				adaptDeferredHashes();
+			}
+
 			final UberPage uberPage = getPageTransaction()
 					.commit(MultipleWriteTrx.NO);
 
@@ -2006,22 +2454,33 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	private void postOrderTraversalHashes() throws SirixIOException {
 		for (@SuppressWarnings("unused")
 		final long nodeKey : new PostOrderAxis(this, IncludeSelf.YES)) {
-			final StructNode node = mNodeRtx.getStructuralNode();
-			if (node.getKind() == Kind.ELEMENT) {
-				final ElementNode element = (ElementNode) node;
-				for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
-					moveToNamespace(i);
-					addHashAndDescendantCount();
-					moveToParent();
-				}
-				for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
-					moveToAttribute(i);
-					addHashAndDescendantCount();
-					moveToParent();
-				}
+			addPostorderHash();
+		}
+	}
+
+	/**
+	 * Add the hash and descendant count of the current structural node (and its
+	 * namespaces and attributes), whose descendants have already been added.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void addPostorderHash() throws SirixIOException {
+		final StructNode node = mNodeRtx.getStructuralNode();
+		if (node.getKind() == Kind.ELEMENT) {
+			final ElementNode element = (ElementNode) node;
+			for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+				moveToNamespace(i);
+				addHashAndDescendantCount();
+				moveToParent();
+			}
+			for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+				moveToAttribute(i);
+				addHashAndDescendantCount();
+				moveToParent();
 			}
-			addHashAndDescendantCount();
 		}
+		addHashAndDescendantCount();
 	}
 
 	/**
@@ -2298,7 +2757,9 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	 *           if an I/O error occurs
 	 */
 	private void adaptHashesWithAdd() throws SirixIOException {
-		if (!mBulkInsert) {
+		if (mHashKind == HashKind.DEFERRED) {
+			markDirty(true);
+		} else if (!mBulkInsert) {
 			switch (mHashKind) {
 			case ROLLING:
 				rollingAdd();
@@ -2318,7 +2779,9 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	 *           if an I/O error occurs
 	 */
 	private void adaptHashesWithRemove() throws SirixIOException {
-		if (!mBulkInsert) {
+		if (mHashKind == HashKind.DEFERRED) {
+			markDirty(false);
+		} else if (!mBulkInsert) {
 			switch (mHashKind) {
 			case ROLLING:
 				rollingRemove();
@@ -2341,7 +2804,9 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 	 */
 	private void adaptHashedWithUpdate(final long pOldHash)
 			throws SirixIOException {
-		if (!mBulkInsert) {
+		if (mHashKind == HashKind.DEFERRED) {
+			markDirty(true);
+		} else if (!mBulkInsert) {
 			switch (mHashKind) {
 			case ROLLING:
 				rollingUpdate(pOldHash);
@@ -2354,6 +2819,172 @@ final class NodeWriteTrxImpl extends AbstractForwardingNodeReadTrx implements
 		}
 	}
 
+	/**
+	 * Mark the ancestors of the current node and optionally the node itself as
+	 * modified, such that their hashes and descendant counts are recomputed
+	 * during the next commit. As the ancestors of a marked node are marked, too,
+	 * the traversal stops at the first ancestor which is already marked, thus
+	 * inserting the nodes of a subtree costs constant time per node.
+	 * 
+	 * @param includeSelf
+	 *          determines if the current node has to be marked, too (not the
+	 *          case if it's about to be removed)
+	 */
+	private void markDirty(final boolean includeSelf) {
+		final ImmutableNode startNode = mNodeRtx.getCurrentNode();
+		if (includeSelf) {
+			mDirtyNodes.add(startNode.getNodeKey());
+		}
+		// A moved node might already be marked, but not its new ancestors.
+		long parentKey = startNode.getParentKey();
+		while (parentKey != Fixed.NULL_NODE_KEY.getStandardProperty()
+				&& mDirtyNodes.add(parentKey)) {
+			moveTo(parentKey);
+			parentKey = mNodeRtx.getCurrentNode().getParentKey();
+		}
+		mNodeRtx.setCurrentNode(startNode);
+	}
+
+	/**
+	 * Recompute the hashes and descendant counts of all nodes marked as modified
+	 * bottom-up, that is each node is computed once from its own content and the
+	 * (already computed) hashes of its children, attributes and namespaces.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void adaptDeferredHashes() throws SirixIOException {
+		final long documentKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+		if (mDirtyNodes.contains(documentKey)) {
+			final long nodeKey = mNodeRtx.getNodeKey();
+
+			// Collect the marked nodes in preorder, such that the children of a
+			// node are computed before the node itself in reverse order.
+			final List<Long> nodes = new ArrayList<>();
+			final Deque<Long> stack = new ArrayDeque<>();
+			stack.push(documentKey);
+			while (!stack.isEmpty()) {
+				final long key = stack.pop();
+				nodes.add(key);
+				moveTo(key);
+				if (moveToFirstChild().hasMoved()) {
+					do {
+						if (mDirtyNodes.contains(mNodeRtx.getNodeKey())) {
+							stack.push(mNodeRtx.getNodeKey());
+						}
+					} while (moveToRightSibling().hasMoved());
+				}
+			}
+
+			for (int i = nodes.size() - 1; i >= 0; i--) {
+				deferredHash(nodes.get(i));
+			}
+
+			moveTo(nodeKey);
+		}
+		mDirtyNodes = new NodeKeyBitmap();
+	}
+
+	/**
+	 * Compute the hash and the descendant count of a structural node.
+	 * 
+	 * @param nodeKey
+	 *          the key of the node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void deferredHash(final @Nonnegative long nodeKey)
+			throws SirixIOException {
+		moveTo(nodeKey);
+		long hash = contentHash(mNodeRtx.getCurrentNode());
+		long descendantCount = 0;
+		if (mNodeRtx.getKind() == Kind.ELEMENT) {
+			final ElementNode element = (ElementNode) mNodeRtx.getCurrentNode();
+			for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+				hash += deferredNonStructuralHash(element.getAttributeKey(i)) * PRIME;
+			}
+			for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+				hash += deferredNonStructuralHash(element.getNamespaceKey(i)) * PRIME;
+			}
+			moveTo(nodeKey);
+		}
+		if (moveToFirstChild().hasMoved()) {
+			do {
+				hash += mNodeRtx.getHash() * PRIME;
+				descendantCount += mNodeRtx.getDescendantCount() + 1;
+			} while (moveToRightSibling().hasMoved());
+		}
+		final StructNode node = (StructNode) getPageTransaction()
+				.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1,
+						Optional.<UnorderedKeyValuePage> empty());
+		node.setHash(hash);
+		node.setDescendantCount(descendantCount);
+	}
+
+	/**
+	 * Get the hash of an attribute or namespace node, which is computed if the
+	 * node has been modified.
+	 * 
+	 * @param nodeKey
+	 *          the key of the node
+	 * @return the hash of the node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private long deferredNonStructuralHash(final @Nonnegative long nodeKey)
+			throws SirixIOException {
+		moveTo(nodeKey);
+		if (!mDirtyNodes.contains(nodeKey)) {
+			return mNodeRtx.getHash();
+		}
+		final long hash = contentHash(mNodeRtx.getCurrentNode());
+		final Node node = (Node) getPageTransaction().prepareEntryForModification(
+				nodeKey, PageKind.RECORDPAGE, -1,
+				Optional.<UnorderedKeyValuePage> empty());
+		node.setHash(hash);
+		return hash;
+	}
+
+	/**
+	 * Compute the hash of the content of a node (its key, kind, name and value),
+	 * which doesn't depend on any (mutable) structural pointers.
+	 * 
+	 * @param node
+	 *          the node
+	 * @return the hash
+	 */
+	private static long contentHash(final ImmutableNode node) {
+		long hash = mix(node.getNodeKey() * PRIME + node.getKind().getId());
+		if (node instanceof NameNode) {
+			final NameNode nameNode = (NameNode) node;
+			hash = mix(hash * PRIME + nameNode.getURIKey());
+			hash = mix(hash * PRIME + nameNode.getPrefixKey());
+			hash = mix(hash * PRIME + nameNode.getLocalNameKey());
+		}
+		if (node instanceof ValueNode) {
+			hash = mix(hash * PRIME
+					+ VALUE_HASH.hashBytes(((ValueNode) node).getRawValue()).asLong());
+		}
+		return hash;
+	}
+
+	/**
+	 * Finalization step of the 64-bit MurmurHash3, which is used to spread the
+	 * bits of the (far cheaper than MD5) content hash.
+	 * 
+	 * @param value
+	 *          the value to mix
+	 * @return the mixed value
+	 */
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+
 	/**
 	 * Removal operation for postorder hash computation.
 	 * 
@@ -35,8 +35,11 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
@@ -61,6 +64,7 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.index.IndexType;
 import org.sirix.io.Reader;
+import org.sirix.io.StorageType;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.Kind;
 import org.sirix.node.interfaces.Record;
@@ -181,6 +185,18 @@ final class PageReadTrxImpl implements PageReadTrx {
 	/** {@link IndexController} instance. */
 	private final IndexController mIndexController;
 
+	/**
+	 * Optional {@link BufferManager} shared amongst all read-only transactions,
+	 * empty for transactions which might see uncommitted pages.
+	 */
+	private final Optional<BufferManager> mBufferManager;
+
+	/**
+	 * Optional {@link TemporalCursorImpl}, which shares the reader and the pages
+	 * with the other transactions of the cursor.
+	 */
+	private final Optional<TemporalCursorImpl> mCursor;
+
 	/**
 	 * Standard constructor.
 	 * 
@@ -203,14 +219,49 @@ final class PageReadTrxImpl implements PageReadTrx {
 			final @Nonnegative int revision, final Reader reader,
 			final Optional<PageWriteTrxImpl> pageWriteTrx,
 			final Optional<IndexController> indexController) throws SirixIOException {
+		this(session, uberPage, revision, reader, pageWriteTrx, indexController,
+				Optional.<TemporalCursorImpl> empty());
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param session
+	 *          current {@link SessionImpl} instance
+	 * @param uberPage
+	 *          {@link UberPage} to start reading from
+	 * @param revision
+	 *          key of revision to read from uber page
+	 * @param reader
+	 *          reader to read stored pages for this transaction
+	 * @param pageWriteLog
+	 *          optional page cache
+	 * @param unorderedKeyValuePageWriteLog
+	 *          optional key/value page cache
+	 * @param cursor
+	 *          optional {@link TemporalCursorImpl}, which shares the reader and
+	 *          the committed pages between its transactions
+	 * @throws SirixIOException
+	 *           if reading of the persistent storage fails
+	 */
+	PageReadTrxImpl(final SessionImpl session, final UberPage uberPage,
+			final @Nonnegative int revision, final Reader reader,
+			final Optional<PageWriteTrxImpl> pageWriteTrx,
+			final Optional<IndexController> indexController,
+			final Optional<TemporalCursorImpl> cursor) throws SirixIOException {
 		checkArgument(revision >= 0, "Revision must be >= 0!");
+		mCursor = checkNotNull(cursor);
 		mPageWriteTrx = checkNotNull(pageWriteTrx);
 		mBuildPathSummary = session.mResourceConfig.mPathSummary;
 		mResourceConfig = session.mResourceConfig;
 		mIndexController = indexController.isPresent() ? indexController.get()
 				: session.getRtxIndexController(revision);
 
-		if (!indexController.isPresent()) {
+		// The index definitions of a revision are only deserialized once for the
+		// transactions of a cursor.
+		if (!indexController.isPresent()
+				&& !(cursor.isPresent() && !mIndexController.getIndexes()
+						.getIndexDefs().isEmpty())) {
 			// Deserialize index definitions.
 			final File indexes = new File(session.mResourceConfig.mPath,
 					ResourceConfiguration.Paths.INDEXES.getFile().getPath() + revision
@@ -233,6 +284,13 @@ final class PageReadTrxImpl implements PageReadTrx {
 		mPageReader = checkNotNull(reader);
 		mUberPage = checkNotNull(uberPage);
 
+		// Only committed pages, which are never modified, are shared (in-memory
+		// storages don't assign unique keys across sessions).
+		mBufferManager = pageWriteTrx.isPresent() || doesExist
+				|| mResourceConfig.mStorage == StorageType.IN_MEMORY ? Optional
+				.<BufferManager> empty() : Optional.of(session.getDatabase()
+				.getBufferManager());
+
 		// Transaction logs which might have to be read because the data hasn't been
 		// commited to the data-file.
 		// =======================================================
@@ -241,12 +299,14 @@ final class PageReadTrxImpl implements PageReadTrx {
 				.<TransactionLogPageCache> empty();
 		mNodeLog = doesExist ? Optional
 				.of(new TransactionLogCache<UnorderedKeyValuePage>(
-						session.mResourceConfig.mPath, revision, "node", this)) : Optional
+						session.mResourceConfig.mPath, revision, "node",
+						session.mResourceConfig.mTransactionLog, this)) : Optional
 				.<TransactionLogCache<UnorderedKeyValuePage>> empty();
 		if (mBuildPathSummary) {
 			mPathSummaryLog = doesExist ? Optional
 					.of(new TransactionIndexLogCache<UnorderedKeyValuePage>(
-							session.mResourceConfig.mPath, revision, "pathSummary", this))
+							session.mResourceConfig.mPath, revision, "pathSummary",
+							session.mResourceConfig.mTransactionLog, this))
 					: Optional.<TransactionIndexLogCache<UnorderedKeyValuePage>> empty();
 		} else {
 			mPathSummaryLog = Optional
@@ -255,7 +315,8 @@ final class PageReadTrxImpl implements PageReadTrx {
 		if (mIndexController.containsIndex(IndexType.PATH)) {
 			mPathLog = doesExist ? Optional
 					.of(new TransactionIndexLogCache<UnorderedKeyValuePage>(
-							session.mResourceConfig.mPath, revision, "path", this))
+							session.mResourceConfig.mPath, revision, "path",
+							session.mResourceConfig.mTransactionLog, this))
 					: Optional.<TransactionIndexLogCache<UnorderedKeyValuePage>> empty();
 		} else {
 			mPathLog = Optional
@@ -264,7 +325,8 @@ final class PageReadTrxImpl implements PageReadTrx {
 		if (mIndexController.containsIndex(IndexType.CAS)) {
 			mCASLog = doesExist ? Optional
 					.of(new TransactionIndexLogCache<UnorderedKeyValuePage>(
-							session.mResourceConfig.mPath, revision, "cas", this)) : Optional
+							session.mResourceConfig.mPath, revision, "cas",
+							session.mResourceConfig.mTransactionLog, this)) : Optional
 					.<TransactionIndexLogCache<UnorderedKeyValuePage>> empty();
 		} else {
 			mCASLog = Optional
@@ -273,7 +335,8 @@ final class PageReadTrxImpl implements PageReadTrx {
 		if (mIndexController.containsIndex(IndexType.NAME)) {
 			mNameLog = doesExist ? Optional
 					.of(new TransactionIndexLogCache<UnorderedKeyValuePage>(
-							session.mResourceConfig.mPath, revision, "name", this))
+							session.mResourceConfig.mPath, revision, "name",
+							session.mResourceConfig.mTransactionLog, this))
 					: Optional.<TransactionIndexLogCache<UnorderedKeyValuePage>> empty();
 		} else {
 			mNameLog = Optional
@@ -389,7 +452,9 @@ final class PageReadTrxImpl implements PageReadTrx {
 				Page page = mPageLog.isPresent() ? mPageLog.get().get(
 						reference.getLogKey()) : null;
 				if (page == null) {
-					page = mPageReader.read(reference.getKey(), impl).setDirty(true);
+					// Committed pages might be shared, thus they are neither marked
+					// dirty nor modified.
+					page = impl.readPage(reference.getKey(), null);
 				}
 				return page;
 			}
@@ -624,10 +689,17 @@ final class PageReadTrxImpl implements PageReadTrx {
 	}
 
 	/**
-	 * Set the page if it is not set already.
+	 * Get a page and set it in the reference if it is not set already. Pages,
+	 * which might be shared by the {@link BufferManager} or the
+	 * {@link TemporalCursorImpl} aren't set (the reference might belong to a
+	 * shared parent page and would otherwise keep the page reachable after it
+	 * has been evicted). They are retrieved through the page cache of this
+	 * transaction instead.
 	 * 
 	 * @param reference
 	 *          page reference
+	 * @param pageKind
+	 *          the kind of page
 	 * @throws SirixIOException
 	 *           if an I/O error occurs
 	 */
@@ -642,7 +714,9 @@ final class PageReadTrxImpl implements PageReadTrx {
 			}
 			if (page == null) {
 				page = mPageCache.get(reference);
-				reference.setPage(page);
+				if (!mBufferManager.isPresent() && !mCursor.isPresent()) {
+					reference.setPage(page);
+				}
 			}
 			return page;
 		} catch (final ExecutionException | UncheckedExecutionException e) {
@@ -664,6 +738,9 @@ final class PageReadTrxImpl implements PageReadTrx {
 		assertNotClosed();
 		checkArgument(recordPageKey >= 0, "recordPageKey must not be negative!");
 		try {
+			if (mCursor.isPresent()) {
+				return getSharedRecordPageContainer(recordPageKey, index, pageKind);
+			}
 			final List<S> pages = (List<S>) this.<K, V, S> getSnapshotPages(
 					checkNotNull(recordPageKey), index, checkNotNull(pageKind),
 					Optional.<PageReference> empty());
@@ -681,6 +758,60 @@ final class PageReadTrxImpl implements PageReadTrx {
 		}
 	}
 
+	/**
+	 * Get a record page container, whose page is shared with the other
+	 * transactions of the {@link TemporalCursorImpl}, if it hasn't been modified
+	 * in between. A reconstructed page only depends on the fragments, which are
+	 * read starting from the leaf of the indirect tree, and on their number.
+	 * 
+	 * @param recordPageKey
+	 *          key of the record page
+	 * @param index
+	 *          index number or {@code -1}, if it's a regular record page
+	 * @param pageKind
+	 *          kind of page, that is the type of tree to dereference
+	 * @return the container with a copy of the shared page
+	 * @throws SirixIOException
+	 *           if an I/O-error occurs
+	 * @throws ExecutionException
+	 */
+	@SuppressWarnings("unchecked")
+	private <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> RecordPageContainer<S> getSharedRecordPageContainer(
+			final @Nonnegative long recordPageKey, final int index,
+			final PageKind pageKind) throws SirixIOException, ExecutionException {
+		final TemporalCursorImpl cursor = mCursor.get();
+		final PageReference reference = getPageReferenceForPage(
+				getPageReference(mRootPage, pageKind, index), recordPageKey, index,
+				pageKind);
+		if (reference == null || reference.getKey() == Constants.NULL_ID) {
+			return RecordPageContainer.<S> emptyInstance();
+		}
+		final int fragments = mResourceConfig.mRevisionKind.getRevisionRoots(
+				mRootPage.getRevision(), mResourceConfig.mRevisionsToRestore).length;
+		final Optional<UnorderedKeyValuePage> sharedPage = cursor.getRecordPage(
+				reference.getKey(), fragments);
+		if (sharedPage.isPresent()) {
+			return new RecordPageContainer<S>((S) new UnorderedKeyValuePage(
+					sharedPage.get(), this));
+		}
+
+		final List<S> pages = this.<K, V, S> getSnapshotPages(recordPageKey,
+				index, pageKind, Optional.of(reference));
+		if (pages.size() == 0) {
+			return RecordPageContainer.<S> emptyInstance();
+		}
+		final S completePage = mResourceConfig.mRevisionKind.combineRecordPages(
+				pages, mResourceConfig.mRevisionsToRestore, this);
+		if (completePage instanceof UnorderedKeyValuePage) {
+			final UnorderedKeyValuePage page = (UnorderedKeyValuePage) completePage;
+			cursor.putRecordPage(reference.getKey(), fragments, page);
+			// The shared page is never handed out, as it's never modified.
+			return new RecordPageContainer<S>((S) new UnorderedKeyValuePage(page,
+					this));
+		}
+		return new RecordPageContainer<S>(completePage);
+	}
+
 	/**
 	 * Dereference key/value page reference and get all leaves, the
 	 * {@link KeyValuePage}s from the revision-trees.
@@ -707,51 +838,173 @@ final class PageReadTrxImpl implements PageReadTrx {
 		assert pageKind != null;
 		final ResourceConfiguration config = mSession.getResourceConfig();
 		final int revsToRestore = config.mRevisionsToRestore;
-		final List<S> pages = new ArrayList<>(revsToRestore);
-		final Set<Long> keys = new HashSet<>(revsToRestore);
-		final int[] revisionsToRead = config.mRevisionKind.getRevisionRoots(
-				mRootPage.getRevision(), revsToRestore);
-		boolean first = true;
-		for (int i : revisionsToRead) {
-			PageReference refToRecordPage = null;
-			if (first) {
-				first = false;
-				if (pageReference.isPresent()) {
-					refToRecordPage = pageReference.get();
-				} else {
-					assert mRootPage.getRevision() == i;
-					final PageReference tmpRef = getPageReference(mRootPage, pageKind,
-							index);
-					refToRecordPage = getPageReferenceForPage(tmpRef, recordPageKey,
-							index, pageKind);
-				}
-			} else {
-				final Optional<PageReference> reference = pages.get(pages.size() - 1)
-						.getPreviousReference();
-				refToRecordPage = reference.isPresent() ? reference.get() : null;
+		final int fragments = config.mRevisionKind.getRevisionRoots(
+				mRootPage.getRevision(), revsToRestore).length;
+		final List<S> pages = new ArrayList<>(fragments);
+		final PageReference refToRecordPage;
+		if (pageReference.isPresent()) {
+			refToRecordPage = pageReference.get();
+		} else {
+			final PageReference tmpRef = getPageReference(mRootPage, pageKind, index);
+			refToRecordPage = getPageReferenceForPage(tmpRef, recordPageKey, index,
+					pageKind);
+		}
+		if (fragments == 0 || refToRecordPage == null
+				|| refToRecordPage.getKey() == Constants.NULL_ID) {
+			return pages;
+		}
+
+		@SuppressWarnings("unchecked")
+		final S firstPage = (S) readPage(refToRecordPage.getKey(), null);
+		pages.add(firstPage);
+		final Set<Long> keys = new HashSet<>(fragments);
+		keys.add(refToRecordPage.getKey());
+		while (pages.size() < fragments) {
+			final S lastPage = pages.get(pages.size() - 1);
+			if (lastPage.size() == Constants.NDP_NODE_COUNT) {
+				// Page is full, thus we can skip reconstructing pages with elder
+				// versions.
+				break;
+			}
+			final Optional<PageReference> reference = lastPage.getPreviousReference();
+			if (!reference.isPresent()
+					|| reference.get().getKey() == Constants.NULL_ID) {
+				break;
 			}
 
-			if (refToRecordPage != null
-					&& refToRecordPage.getKey() != Constants.NULL_ID) {
-				// Probably save page.
-				if (!keys.contains(refToRecordPage.getKey())) {
-					@SuppressWarnings("unchecked")
-					final S page = (S) mPageReader.read(refToRecordPage.getKey(), this);
-					pages.add(page);
-					keys.add(refToRecordPage.getKey());
-					if (page.size() == Constants.NDP_NODE_COUNT) {
-						// Page is full, thus we can skip reconstructing pages with elder
-						// versions.
-						break;
-					}
+			// The previous version and the elder versions stored with the page are
+			// read at once. If the stored chain is too short, it continues with the
+			// last page read.
+			final long[] fragmentKeys = lastPage.getPreviousFragmentKeys();
+			final long[] keysToRead = new long[Math.min(fragments - pages.size(),
+					fragmentKeys.length + 1)];
+			keysToRead[0] = reference.get().getKey();
+			System.arraycopy(fragmentKeys, 0, keysToRead, 1, keysToRead.length - 1);
+			final int pagesRead = pages.size();
+			for (final Page page : readPages(keysToRead)) {
+				@SuppressWarnings("unchecked")
+				final S fragment = (S) page;
+				if (!keys.add(keysToRead[pages.size() - pagesRead])) {
+					return pages;
+				}
+				pages.add(fragment);
+				if (fragment.size() == Constants.NDP_NODE_COUNT) {
+					return pages;
 				}
-			} else {
-				break;
 			}
 		}
 		return pages;
 	}
 
+	/**
+	 * Read several pages. Pages which aren't shared by the
+	 * {@link TemporalCursorImpl} or buffered are read at once from the storage,
+	 * such that the {@link Reader} is able to read them concurrently.
+	 * 
+	 * @param keys
+	 *          the keys (offsets) of the pages in the storage
+	 * @return the pages in the order of the keys
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private List<Page> readPages(final long[] keys) throws SirixIOException {
+		final long[] keysToRead = new long[keys.length];
+		int count = 0;
+		for (final long key : keys) {
+			if (!isPageCached(key)) {
+				keysToRead[count++] = key;
+			}
+		}
+		final Map<Long, Page> pagesRead = new HashMap<>(count);
+		if (count > 1) {
+			final List<Page> read = mPageReader.read(
+					Arrays.copyOf(keysToRead, count), this);
+			for (int i = 0; i < count; i++) {
+				pagesRead.put(keysToRead[i], read.get(i));
+			}
+		}
+		final List<Page> pages = new ArrayList<>(keys.length);
+		for (final long key : keys) {
+			pages.add(readPage(key, pagesRead.get(key)));
+		}
+		return pages;
+	}
+
+	/**
+	 * Determines if a page is shared by the {@link TemporalCursorImpl} or
+	 * buffered, such that it isn't read from the storage.
+	 * 
+	 * @param key
+	 *          the key (offset) of the page in the storage
+	 * @return {@code true}, if the page is cached, {@code false} otherwise
+	 */
+	private boolean isPageCached(final long key) {
+		return (mCursor.isPresent() && mCursor.get().getPage(key) != null)
+				|| (mBufferManager.isPresent() && mBufferManager.get().containsPage(
+						mResourceConfig.getID(), key));
+	}
+
+	/**
+	 * Read a page. Non record pages are shared with the other transactions of
+	 * the {@link TemporalCursorImpl}, if any.
+	 * 
+	 * @param key
+	 *          the key (offset) of the page in the storage
+	 * @param pageRead
+	 *          the page, if it has already been read from the storage, or
+	 *          {@code null}
+	 * @return the page
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private Page readPage(final long key, final @Nullable Page pageRead)
+			throws SirixIOException {
+		if (mCursor.isPresent()) {
+			Page page = mCursor.get().getPage(key);
+			if (page == null) {
+				page = readPageFromBufferOrStorage(key, pageRead);
+				if (!(page instanceof UnorderedKeyValuePage)) {
+					mCursor.get().putPage(key, page);
+				}
+			}
+			return page;
+		}
+		return readPageFromBufferOrStorage(key, pageRead);
+	}
+
+	/**
+	 * Read a page either from the shared {@link BufferManager} or from the
+	 * storage. Record pages from the buffer are copied, such that records are
+	 * only deserialized (for this transaction) in the copy and the buffered page
+	 * is never modified.
+	 * 
+	 * @param key
+	 *          the key (offset) of the page in the storage
+	 * @param pageRead
+	 *          the page, if it has already been read from the storage, or
+	 *          {@code null}
+	 * @return the page
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private Page readPageFromBufferOrStorage(final long key,
+			final @Nullable Page pageRead) throws SirixIOException {
+		if (mBufferManager.isPresent()) {
+			final BufferManager bufferManager = mBufferManager.get();
+			final long resourceID = mResourceConfig.getID();
+			Page page = bufferManager.getPage(resourceID, key);
+			if (page == null) {
+				page = bufferManager.putPageIfAbsent(resourceID, key,
+						pageRead == null ? mPageReader.read(key, this) : pageRead);
+			}
+			if (page instanceof UnorderedKeyValuePage) {
+				return new UnorderedKeyValuePage((UnorderedKeyValuePage) page, this);
+			}
+			return page;
+		}
+		return pageRead == null ? mPageReader.read(key, this) : pageRead;
+	}
+
 	/**
 	 * Get the page reference which points to the right subtree (nodes, path
 	 * summary nodes, CAS index nodes, Path index nodes or Name index nodes).
@@ -902,7 +1155,9 @@ final class PageReadTrxImpl implements PageReadTrx {
 
 	@Override
 	public void close() {
-		if (!mClosed) {
+		// The pages and the reader of a cursor's transaction are shared with the
+		// other transactions of the cursor and are released together with it.
+		if (!mClosed && !mCursor.isPresent()) {
 			closeCaches();
 			mPageReader.close();
 
@@ -918,7 +1173,7 @@ final class PageReadTrxImpl implements PageReadTrx {
 
 	@Override
 	public boolean isClosed() {
-		return mClosed;
+		return mClosed || (mCursor.isPresent() && mCursor.get().isClosed());
 	}
 
 	@Override
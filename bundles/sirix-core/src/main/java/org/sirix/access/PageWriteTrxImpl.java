@@ -36,9 +36,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -58,7 +61,9 @@ import org.sirix.cache.SynchronizedTransactionLogPageCache;
 import org.sirix.cache.TransactionIndexLogCache;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixThreadedException;
 import org.sirix.index.IndexType;
+import org.sirix.io.AppendWriter;
 import org.sirix.io.Writer;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.Kind;
@@ -101,6 +106,19 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 	/** Page writer to serialize. */
 	private final Writer mPageWriter;
 
+	/**
+	 * Scheduler of the database to serialize and compress pages in parallel
+	 * during a commit (only used if the writer is an {@link AppendWriter},
+	 * {@code null} otherwise).
+	 */
+	private final TaskScheduler mCommitPool;
+
+	/** Pages which are serialized by the pool, but not appended yet (in order). */
+	private final Deque<PendingWrite> mPendingWrites;
+
+	/** Number of pages handed to the commit pool. */
+	private long mSubmittedWrites;
+
 	/**
 	 * Persistent BerkeleyDB page log for all page types != UnorderedKeyValuePage.
 	 */
@@ -192,24 +210,26 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 		mPageLog = new SynchronizedTransactionLogPageCache(
 				session.mResourceConfig.mPath, revision, "page", this);
 		mNodeLog = new SynchronizedTransactionLogCache<>(
-				session.mResourceConfig.mPath, revision, "node", this);
+				session.mResourceConfig.mPath, revision, "node",
+				session.mResourceConfig.mTransactionLog, this);
 		if (mUsePathSummary) {
 			mPathSummaryLog = new TransactionIndexLogCache<>(
-					session.mResourceConfig.mPath, revision, "pathSummary", this);
+					session.mResourceConfig.mPath, revision, "pathSummary",
+					session.mResourceConfig.mTransactionLog, this);
 		} else {
 			mPathSummaryLog = null;
 		}
 		if (mIndexController.containsIndex(IndexType.PATH)) {
 			mPathLog = new TransactionIndexLogCache<>(session.mResourceConfig.mPath,
-					revision, "path", this);
+					revision, "path", session.mResourceConfig.mTransactionLog, this);
 		}
 		if (mIndexController.containsIndex(IndexType.CAS)) {
 			mCASLog = new TransactionIndexLogCache<>(session.mResourceConfig.mPath,
-					revision, "cas", this);
+					revision, "cas", session.mResourceConfig.mTransactionLog, this);
 		}
 		if (mIndexController.containsIndex(IndexType.NAME)) {
 			mNameLog = new TransactionIndexLogCache<>(session.mResourceConfig.mPath,
-					revision, "name", this);
+					revision, "name", session.mResourceConfig.mTransactionLog, this);
 		}
 
 		// Create revision tree if needed.
@@ -226,6 +246,10 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 
 		mPageWriter = writer;
 		mTransactionID = trxId;
+		mCommitPool = writer instanceof AppendWriter
+				&& Runtime.getRuntime().availableProcessors() > 1 ? session
+				.getDatabase().getScheduler() : null;
+		mPendingWrites = new ArrayDeque<>();
 
 		final RevisionRootPage lastCommitedRoot = mPageRtx
 				.loadRevRoot(lastCommitedRev);
@@ -272,7 +296,8 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 		final RecordPageContainer<UnorderedKeyValuePage> cont = prepareRecordPage(
 				recordPageKey, index, pageKind);
 
-		Record record = cont.getModified().getValue(recordKey);
+		Record record = cont.getModified().getValueForModification(
+				recordKey);
 		if (record == null) {
 			final Record oldRecord = cont.getComplete().getValue(recordKey);
 			if (oldRecord == null) {
@@ -328,6 +353,35 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 		return record;
 	}
 
+	@Override
+	public boolean writeRecordPage(final @Nonnegative long recordPageKey) {
+		mPageRtx.assertNotClosed();
+		checkArgument(recordPageKey >= 0, "recordPageKey must be >= 0!");
+		final RecordPageContainer<UnorderedKeyValuePage> cont = mNodeLog
+				.get(recordPageKey);
+		if (cont.equals(RecordPageContainer.EMPTY_INSTANCE)
+				|| cont.getModified().getPreviousReference().isPresent()) {
+			// A new version of a page must be written once during the commit, as
+			// the number of versions determines how many are read to reconstruct it.
+			return false;
+		}
+
+		// The leaf reference of the indirect tree (which is in the log) points to
+		// the written page, thus it's read from the storage afterwards.
+		final PageReference reference = prepareLeafOfTree(
+				mPageRtx.getPageReference(mNewRoot, PageKind.RECORDPAGE, -1),
+				recordPageKey, -1, PageKind.RECORDPAGE);
+		final UnorderedKeyValuePage page = cont.getModified();
+		reference.setPage(page);
+		page.commit(this);
+		// Overflow pages serialized by the commit pool are appended first.
+		appendPendingWrites();
+		mPageWriter.write(reference);
+		reference.setPage(null);
+		mNodeLog.remove(recordPageKey);
+		return true;
+	}
+
 	@Override
 	public void removeEntry(final Long recordKey,
 			@Nonnull final PageKind pageKind, final int index,
@@ -417,21 +471,24 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 			if (mCASLog == null) {
 				mCASLog = new SynchronizedIndexTransactionLogCache<>(
 						mPageRtx.mSession.mResourceConfig.mPath,
-						mPageRtx.getRevisionNumber(), "cas", this);
+						mPageRtx.getRevisionNumber(), "cas",
+						mPageRtx.mSession.mResourceConfig.mTransactionLog, this);
 			}
 			break;
 		case NAME:
 			if (mNameLog == null) {
 				mNameLog = new SynchronizedIndexTransactionLogCache<>(
 						mPageRtx.mSession.mResourceConfig.mPath,
-						mPageRtx.getRevisionNumber(), "name", this);
+						mPageRtx.getRevisionNumber(), "name",
+						mPageRtx.mSession.mResourceConfig.mTransactionLog, this);
 			}
 			break;
 		case PATH:
 			if (mPathLog == null) {
 				mPathLog = new SynchronizedIndexTransactionLogCache<>(
 						mPageRtx.mSession.mResourceConfig.mPath,
-						mPageRtx.getRevisionNumber(), "path", this);
+						mPageRtx.getRevisionNumber(), "path",
+						mPageRtx.mSession.mResourceConfig.mTransactionLog, this);
 			}
 			break;
 		default:
@@ -595,8 +652,9 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 
 		// Recursively commit indirectly referenced pages and then
 		// write self.
+		final long submittedWrites = mSubmittedWrites;
 		page.commit(this);
-		mPageWriter.write(reference);
+		write(reference, submittedWrites != mSubmittedWrites);
 
 		// Remove from transaction log.
 		// if (pReference.getPageKind() != null) {
@@ -613,6 +671,70 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 		// reference.getPageKind());
 	}
 
+	/**
+	 * Write a page. If the writer is an {@link AppendWriter}, the page is
+	 * serialized in the commit pool and appended later on, in the order of the
+	 * calls to this method.
+	 * 
+	 * @param reference
+	 *          reference to the page
+	 * @param childrenWritten
+	 *          determines if pages referenced by the page have been written
+	 *          since the page has been committed, such that they have to be
+	 *          appended first to know their offsets
+	 */
+	private void write(final PageReference reference,
+			final boolean childrenWritten) {
+		if (mCommitPool == null) {
+			mPageWriter.write(reference);
+			return;
+		}
+		if (childrenWritten) {
+			appendPendingWrites();
+		}
+		final AppendWriter writer = (AppendWriter) mPageWriter;
+		final Page page = reference.getPage();
+		mPendingWrites.add(new PendingWrite(reference, mCommitPool
+				.submit(() -> writer.serialize(page))));
+		mSubmittedWrites++;
+	}
+
+	/**
+	 * Append all pages serialized by the commit pool in order, which assigns
+	 * their offsets.
+	 */
+	private void appendPendingWrites() {
+		if (mCommitPool == null) {
+			return;
+		}
+		final AppendWriter writer = (AppendWriter) mPageWriter;
+		try {
+			while (!mPendingWrites.isEmpty()) {
+				final PendingWrite pending = mPendingWrites.peek();
+				writer.append(pending.mReference, pending.mSerializedPage.get());
+				mPendingWrites.poll();
+			}
+		} catch (final InterruptedException e) {
+			discardPendingWrites();
+			Thread.currentThread().interrupt();
+			throw new SirixThreadedException(e);
+		} catch (final ExecutionException e) {
+			discardPendingWrites();
+			throw new SirixIOException("Page couldn't be serialized!", e.getCause());
+		} catch (final SirixIOException e) {
+			discardPendingWrites();
+			throw e;
+		}
+	}
+
+	/** Cancel all pages, which are not appended yet. */
+	private void discardPendingWrites() {
+		for (final PendingWrite pending : mPendingWrites) {
+			pending.mSerializedPage.cancel(true);
+		}
+		mPendingWrites.clear();
+	}
+
 	@Override
 	public UberPage commit(final MultipleWriteTrx multipleWriteTrx) {
 		mPageRtx.assertNotClosed();
@@ -657,11 +779,16 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 
 		// Recursively write indirectly referenced pages.
 		uberPage.commit(this);
+		appendPendingWrites();
 
 		uberPageReference.setPage(uberPage);
 		mPageWriter.writeUberPageReference(uberPageReference);
 		uberPageReference.setPage(null);
 
+		// The timestamp is set once the revision root page is serialized.
+		mPageRtx.mSession.indexRevisionTimestamp(revision, mNewRoot
+				.getRevisionTimestamp());
+
 		mPageRtx.mSession.waitForFinishedSync(mTransactionID);
 
 		final File indexes = new File(mPageRtx.mResourceConfig.mPath,
@@ -691,6 +818,7 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 			mPageRtx.clearCaches();
 			mPageRtx.closeCaches();
 			closeCaches();
+			discardPendingWrites();
 			mPageWriter.close();
 			mIsClosed = true;
 		}
@@ -936,13 +1064,49 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 							recordPageKey, index, pageKind, Optional.of(reference));
 			final Versioning revisioning = mPageRtx.mSession.mResourceConfig.mRevisionKind;
 			final int mileStoneRevision = mPageRtx.mSession.mResourceConfig.mRevisionsToRestore;
-			return revisioning.combineRecordPagesForModification(revs,
-					mileStoneRevision, mPageRtx, reference);
+			final RecordPageContainer<UnorderedKeyValuePage> container = revisioning
+					.combineRecordPagesForModification(revs, mileStoneRevision, mPageRtx,
+							reference);
+			final long[] fragmentKeys = previousFragmentKeys(revs.get(0),
+					mileStoneRevision);
+			container.getComplete().setPreviousFragmentKeys(fragmentKeys);
+			container.getModified().setPreviousFragmentKeys(fragmentKeys);
+			return container;
 		} catch (final ExecutionException e) {
 			throw new SirixIOException(e.getCause());
 		}
 	}
 
+	/**
+	 * Get the storage keys of the elder versions, which are stored with a new
+	 * version of a record page, such that all versions needed to reconstruct it
+	 * are read at once. The new version references the current version as its
+	 * previous version, thus the elder versions are the previous version of the
+	 * current version followed by its elder versions.
+	 * 
+	 * @param page
+	 *          the current version of the record page
+	 * @param revsToRestore
+	 *          the maximum number of versions read to reconstruct a page
+	 * @return the storage keys of the elder versions
+	 */
+	private static long[] previousFragmentKeys(final UnorderedKeyValuePage page,
+			final @Nonnegative int revsToRestore) {
+		final Optional<PageReference> reference = page.getPreviousReference();
+		// The new version and its previous version aren't part of the chain.
+		final int length = Math.min(revsToRestore - 2,
+				UnorderedKeyValuePage.MAX_FRAGMENT_KEYS);
+		if (length <= 0 || !reference.isPresent()
+				|| reference.get().getKey() == Constants.NULL_ID) {
+			return new long[0];
+		}
+		final long[] fragmentKeys = page.getPreviousFragmentKeys();
+		final long[] keys = new long[Math.min(length, fragmentKeys.length + 1)];
+		keys[0] = reference.get().getKey();
+		System.arraycopy(fragmentKeys, 0, keys, 1, keys.length - 1);
+		return keys;
+	}
+
 	@Override
 	public RevisionRootPage getActualRevisionRootPage() {
 		return mNewRoot;
@@ -1037,4 +1201,21 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx implements
 		checkNotNull(key);
 		return mPageLog.get(key);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * A page which is serialized by the commit pool.
+	 */
+	private static final class PendingWrite {
+		/** Reference to the page. */
+		final PageReference mReference;
+
+		/** The serialized page. */
+		final Future<byte[]> mSerializedPage;
+
+		PendingWrite(final PageReference reference,
+				final Future<byte[]> serializedPage) {
+			mReference = reference;
+			mSerializedPage = serializedPage;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package org.sirix.access;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixIOException;
+
+import com.google.common.base.Objects;
+
+/**
+ * Index of the commit timestamps of all revisions of a resource, which is used
+ * to find the revision, which has been the most recent one at a point in time.
+ * The timestamps are stored in a file with a fixed size of eight bytes per
+ * revision (such that committing a revision only appends to the file) and are
+ * kept in memory for binary searches.
+ *
+ * <p>
+ * As the system clock might be adjusted between commits, a timestamp which is
+ * smaller than the one of the previous revision is replaced by the previous
+ * one, such that the timestamps are always sorted.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class RevisionIndex {
+
+	/** The file to persist the timestamps. */
+	private final File mFile;
+
+	/** The timestamps by revision number. */
+	private long[] mTimestamps;
+
+	/** Number of indexed revisions. */
+	private int mSize;
+
+	/**
+	 * Constructor, which reads the timestamps stored so far.
+	 *
+	 * @param file
+	 *          the file to persist the timestamps
+	 * @throws SirixIOException
+	 *           if the file can't be read
+	 */
+	RevisionIndex(final File file) {
+		mFile = checkNotNull(file);
+		if (mFile.exists()) {
+			try (final RandomAccessFile in = new RandomAccessFile(mFile, "r")) {
+				mSize = (int) (in.length() / 8);
+				mTimestamps = new long[Math.max(mSize, 16)];
+				for (int i = 0; i < mSize; i++) {
+					mTimestamps[i] = in.readLong();
+				}
+			} catch (final IOException e) {
+				throw new SirixIOException("Revision timestamps couldn't be read!", e);
+			}
+		} else {
+			mTimestamps = new long[16];
+			mSize = 0;
+		}
+	}
+
+	/**
+	 * Get the number of indexed revisions.
+	 *
+	 * @return the number of revisions, whose timestamps are known
+	 */
+	synchronized int size() {
+		return mSize;
+	}
+
+	/**
+	 * Set the timestamp of a revision. The revision must either be the next one
+	 * or an already indexed revision, in which case the timestamps of all
+	 * following revisions are removed (as they are rewritten). Otherwise the
+	 * timestamp is ignored, as the revisions in between have to be indexed at
+	 * first.
+	 *
+	 * @param revision
+	 *          the revision number
+	 * @param timestamp
+	 *          the commit timestamp of the revision
+	 * @return {@code true}, if the timestamp has been indexed, {@code false}
+	 *         otherwise
+	 * @throws SirixIOException
+	 *           if the timestamp couldn't be written
+	 */
+	synchronized boolean setTimestamp(final @Nonnegative int revision,
+			final long timestamp) {
+		checkArgument(revision >= 0, "revision must be >= 0!");
+		if (revision > mSize) {
+			return false;
+		}
+		final long sortedTimestamp = revision == 0 ? timestamp : Math.max(
+				mTimestamps[revision - 1], timestamp);
+		try (final RandomAccessFile out = new RandomAccessFile(mFile, "rw")) {
+			out.seek(revision * 8L);
+			out.writeLong(sortedTimestamp);
+			out.setLength((revision + 1) * 8L);
+		} catch (final IOException e) {
+			throw new SirixIOException("Revision timestamp couldn't be written!", e);
+		}
+		if (revision == mTimestamps.length) {
+			mTimestamps = Arrays.copyOf(mTimestamps, mTimestamps.length << 1);
+		}
+		mTimestamps[revision] = sortedTimestamp;
+		mSize = revision + 1;
+		return true;
+	}
+
+	/**
+	 * Get the revision, which has been the most recent one at the given point in
+	 * time.
+	 *
+	 * @param timestamp
+	 *          the point in time in milliseconds since the epoch
+	 * @return the revision number or {@code -1}, if no indexed revision has been
+	 *         committed until then
+	 */
+	synchronized int getRevision(final long timestamp) {
+		// The last revision with a timestamp <= the given one.
+		int low = 0;
+		int high = mSize - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (mTimestamps[mid] <= timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low - 1;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return Objects.toStringHelper(this).add("file", mFile)
+				.add("revisions", mSize).toString();
+	}
+}
@@ -31,16 +31,16 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.File;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -61,11 +61,13 @@ import org.sirix.api.NodeWriteTrx;
 import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.api.Session;
+import org.sirix.api.TemporalCursor;
 import org.sirix.cache.RecordPageContainer;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.path.summary.PathSummaryData;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.io.Reader;
 import org.sirix.io.Storage;
@@ -78,6 +80,9 @@ import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 
 import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * <h1>Session</h1>
@@ -107,6 +112,12 @@ public final class SessionImpl implements Session {
 	/** Remember all running page transactions (both read and write). */
 	private final ConcurrentMap<Long, PageReadTrx> mPageTrxMap;
 
+	/** Remember all open temporal cursors. */
+	private final Set<TemporalCursorImpl> mTemporalCursors;
+
+	/** Commit timestamps of the revisions. */
+	private final RevisionIndex mRevisionIndex;
+
 	/** Lock for blocking the commit. */
 	final Lock mCommitLock;
 
@@ -137,6 +148,12 @@ public final class SessionImpl implements Session {
 	/** {@link IndexController}s used for this session. */
 	private final ConcurrentMap<Integer, IndexController> mWtxIndexControllers;
 
+	/**
+	 * Shared path summary mappings of committed revisions, which are released if
+	 * memory is low.
+	 */
+	private final Cache<Integer, PathSummaryData> mPathSummaries;
+
 	/** Determines if session was closed. */
 	private volatile boolean mClosed;
 
@@ -171,10 +188,12 @@ public final class SessionImpl implements Session {
 		mSessionConfig = checkNotNull(sessionConf);
 		mNodeTrxMap = new ConcurrentHashMap<>();
 		mPageTrxMap = new ConcurrentHashMap<>();
+		mTemporalCursors = ConcurrentHashMap.newKeySet();
 		mNodePageTrxMap = new ConcurrentHashMap<>();
 		mSyncTransactionsReturns = new ConcurrentHashMap<>();
 		mRtxIndexControllers = new ConcurrentHashMap<>();
 		mWtxIndexControllers = new ConcurrentHashMap<>();
+		mPathSummaries = CacheBuilder.newBuilder().softValues().build();
 
 		mNodeTrxIDCounter = new AtomicLong();
 		mPageTrxIDCounter = new AtomicLong();
@@ -188,6 +207,9 @@ public final class SessionImpl implements Session {
 		mWriteSemaphore = database.getWriteSemaphore(resourceFile);
 		mReadSemaphore = database.getReadSemaphore(resourceFile);
 
+		mRevisionIndex = new RevisionIndex(new File(mResourceConfig.mPath,
+				ResourceConfiguration.Paths.REVISIONS.getFile().getPath()));
+
 		mFac = StorageType.getStorage(mResourceConfig);
 		if (mFac.exists()) {
 			final Reader reader = mFac.getReader();
@@ -241,6 +263,113 @@ public final class SessionImpl implements Session {
 		return rtx;
 	}
 
+	@Override
+	public NodeReadTrx beginNodeReadTrx(final Instant pointInTime) {
+		checkNotNull(pointInTime);
+		if (mClosed) {
+			throw new IllegalStateException("Session is already closed!");
+		}
+		final int revision = getRevisionIndex().getRevision(
+				pointInTime.toEpochMilli());
+		if (revision == -1) {
+			throw new IllegalArgumentException(new StringBuilder(
+					"No revision has been committed until ").append(pointInTime)
+					.append("!").toString());
+		}
+		return beginNodeReadTrx(revision);
+	}
+
+	/**
+	 * Get the index of the commit timestamps, which contains all committed
+	 * revisions. Revisions, which haven't been indexed during the commit (for
+	 * resources created before the index existed) are indexed by reading their
+	 * revision root pages.
+	 * 
+	 * @return the {@link RevisionIndex}
+	 */
+	synchronized RevisionIndex getRevisionIndex() {
+		for (int revision = mRevisionIndex.size(), last = getMostRecentRevisionNumber(); revision <= last; revision++) {
+			try (final PageReadTrx pageRtx = beginPageReadTrx(revision)) {
+				mRevisionIndex.setTimestamp(revision, pageRtx
+						.getActualRevisionRootPage().getRevisionTimestamp());
+			}
+		}
+		return mRevisionIndex;
+	}
+
+	/**
+	 * Index the commit timestamp of a revision.
+	 * 
+	 * @param revision
+	 *          the revision number
+	 * @param timestamp
+	 *          the commit timestamp
+	 */
+	void indexRevisionTimestamp(final @Nonnegative int revision,
+			final long timestamp) {
+		// If preceding revisions are missing, they're indexed on the next lookup.
+		mRevisionIndex.setTimestamp(revision, timestamp);
+	}
+
+	@Override
+	public synchronized TemporalCursor openTemporalCursor() {
+		assertAccess(mLastCommittedUberPage.get().getRevision());
+		// The cursor holds a single reader for all revisions.
+		try {
+			if (!mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
+				throw new SirixUsageException(
+						"No read transactions available, please close at least one read transaction at first!");
+			}
+		} catch (final InterruptedException e) {
+			throw new SirixThreadedException(e);
+		}
+
+		final TemporalCursorImpl cursor = new TemporalCursorImpl(this,
+				mFac.getReader());
+		mTemporalCursors.add(cursor);
+		return cursor;
+	}
+
+	/**
+	 * Begin a read-only transaction of a {@link TemporalCursor}. The transaction
+	 * shares the reader and the pages of the cursor and isn't registered in the
+	 * session, unless the revision is currently committed. In the latter case a
+	 * regular transaction is opened. The cursor closes either of them once it's
+	 * closed.
+	 * 
+	 * @param revisionKey
+	 *          revision to read from denoted by the revision number
+	 * @param cursor
+	 *          the cursor
+	 * @return {@link NodeReadTrx} instance
+	 */
+	synchronized NodeReadTrx beginNodeReadTrx(
+			final @Nonnegative int revisionKey, final TemporalCursorImpl cursor) {
+		assertAccess(revisionKey);
+		if (commitFile(revisionKey).exists()) {
+			// Pages of the transaction log aren't shared.
+			return beginNodeReadTrx(revisionKey);
+		}
+		return new NodeReadTrxImpl(this, mNodeTrxIDCounter.incrementAndGet(),
+				new PageReadTrxImpl(this, mLastCommittedUberPage.get(), revisionKey,
+						cursor.getReader(), Optional.<PageWriteTrxImpl> empty(),
+						Optional.<IndexController> empty(), Optional.of(cursor)),
+				cursor);
+	}
+
+	/**
+	 * Close a temporal cursor.
+	 * 
+	 * @param cursor
+	 *          the cursor to close
+	 */
+	void closeTemporalCursor(final TemporalCursorImpl cursor) {
+		if (mTemporalCursors.remove(cursor)) {
+			// Make new transactions available.
+			mReadSemaphore.release();
+		}
+	}
+
 	/**
 	 * A commit file which is used by a {@link NodeWriteTrx} to denote if it's
 	 * currently commiting or not.
@@ -347,12 +476,17 @@ public final class SessionImpl implements Session {
 				rtx.close();
 				rtx = null;
 			}
+			// Close all open temporal cursors.
+			for (final TemporalCursorImpl cursor : mTemporalCursors) {
+				cursor.close();
+			}
 
 			// Immediately release all ressources.
 			mLastCommittedUberPage = null;
 			mNodeTrxMap.clear();
 			mPageTrxMap.clear();
 			mNodePageTrxMap.clear();
+			mPathSummaries.invalidateAll();
 
 			mDatabase.removeSession(mResourceConfig.mPath, mSessionConfig);
 
@@ -496,15 +630,14 @@ public final class SessionImpl implements Session {
 			final RecordPageContainer<UnorderedKeyValuePage> contToSync,
 			final @Nonnegative long transactionID, final PageKind pageKind)
 			throws SirixThreadedException {
-		final ExecutorService pool = Executors.newCachedThreadPool();
+		final TaskScheduler scheduler = mDatabase.getScheduler();
 		final Collection<Future<Void>> returnVals = new ArrayList<>();
 		for (final Long key : mNodePageTrxMap.keySet()) {
 			if (key != transactionID) {
-				returnVals.add(pool.submit(new LogSyncer(mNodePageTrxMap.get(key),
-						contToSync, pageKind)));
+				returnVals.add(scheduler.submit(new LogSyncer(mNodePageTrxMap
+						.get(key), contToSync, pageKind)));
 			}
 		}
-		pool.shutdown();
 		if (!mSyncTransactionsReturns.containsKey(transactionID)) {
 			mSyncTransactionsReturns.put(transactionID,
 					new ConcurrentHashMap<Long, Collection<Future<Void>>>());
@@ -615,6 +748,25 @@ public final class SessionImpl implements Session {
 						.<IndexController> empty()), this);
 	}
 
+	@Override
+	public PathSummaryData getPathSummaryData(final @Nonnegative int revision) {
+		assertAccess(revision);
+		try {
+			return mPathSummaries.get(revision, () -> {
+				try (final PageReadTrx pageReadTrx = new PageReadTrxImpl(this,
+						mLastCommittedUberPage.get(), revision, mFac.getReader(), Optional
+								.<PageWriteTrxImpl> empty(), Optional.<IndexController> empty())) {
+					return PathSummaryData.load(pageReadTrx);
+				}
+			});
+		} catch (final ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new SirixIOException(e.getCause());
+		}
+	}
+
 	@Override
 	public PathSummaryReader openPathSummary() throws SirixException {
 		return openPathSummary(mLastCommittedUberPage.get().getRevisionNumber());
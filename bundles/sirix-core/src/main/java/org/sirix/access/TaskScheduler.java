@@ -0,0 +1,350 @@
+package org.sirix.access;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixThreadedException;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Scheduling and worker service shared by all sessions and transactions of a
+ * database, which drives time based auto-commits, log syncing and other
+ * background tasks. Instead of pools per transaction or per call, a database
+ * owns a single timer pool for periodic tasks and a single bounded worker pool
+ * for short-lived tasks. Idle threads of both pools time out, such that an idle
+ * database doesn't hold any threads at all.
+ *
+ * <p>
+ * Tasks submitted to the worker pool must never block on other tasks of the
+ * worker pool, whereas periodic tasks run in the timer pool and therefore might
+ * wait for worker tasks (for instance an auto-commit, which serializes pages in
+ * parallel).
+ * </p>
+ *
+ * <p>
+ * The scheduler collects metrics about the number of queued tasks, the latency
+ * between the time a task is due and the time it starts and the execution
+ * time of the tasks.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class TaskScheduler implements AutoCloseable {
+
+	/** {@link LogWrapper} reference. */
+	private static final LogWrapper LOGWRAPPER = new LogWrapper(
+			LoggerFactory.getLogger(TaskScheduler.class));
+
+	/** Seconds after which idle threads are terminated. */
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	/** Pool running the periodic tasks. */
+	private final ScheduledThreadPoolExecutor mTimer;
+
+	/** Pool running the short-lived tasks. */
+	private final ThreadPoolExecutor mWorkers;
+
+	/** Number of finished tasks. */
+	private final AtomicLong mCompletedTasks = new AtomicLong();
+
+	/** Sum of the latencies of all started tasks in nanoseconds. */
+	private final AtomicLong mTotalLatency = new AtomicLong();
+
+	/** Maximum latency of a started task in nanoseconds. */
+	private final AtomicLong mMaxLatency = new AtomicLong();
+
+	/** Number of started tasks. */
+	private final AtomicLong mStartedTasks = new AtomicLong();
+
+	/** Sum of the execution times of all finished tasks in nanoseconds. */
+	private final AtomicLong mTotalExecutionTime = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param threads
+	 *          maximum number of threads of each pool
+	 * @throws IllegalArgumentException
+	 *           if {@code threads <= 0}
+	 */
+	TaskScheduler(final @Nonnegative int threads) {
+		checkArgument(threads > 0, "threads must be > 0!");
+		mTimer = new ScheduledThreadPoolExecutor(threads, new ThreadFactoryBuilder()
+				.setDaemon(true).setNameFormat("sirix-scheduler-%d").build());
+		mTimer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+		mTimer.allowCoreThreadTimeOut(true);
+		mTimer.setRemoveOnCancelPolicy(true);
+		mWorkers = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactoryBuilder().setDaemon(true)
+						.setNameFormat("sirix-worker-%d").build());
+		mWorkers.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Submit a short-lived task to the worker pool.
+	 *
+	 * @param task
+	 *          the task to execute
+	 * @return a future representing the pending result
+	 * @throws NullPointerException
+	 *           if {@code task} is {@code null}
+	 */
+	public <T> Future<T> submit(final Callable<T> task) {
+		checkNotNull(task);
+		final long submitted = System.nanoTime();
+		return mWorkers.submit(() -> {
+			final long started = System.nanoTime();
+			recordLatency(started - submitted);
+			try {
+				return task.call();
+			} finally {
+				recordExecution(started);
+			}
+		});
+	}
+
+	/**
+	 * Periodically execute a task in the timer pool. Executions of the same task
+	 * never overlap. If an execution takes longer than the period, the
+	 * subsequent execution starts late.
+	 *
+	 * @param task
+	 *          the task to execute
+	 * @param period
+	 *          the period between successive executions, which is also the
+	 *          delay of the first execution
+	 * @param unit
+	 *          the time unit of {@code period}
+	 * @return a handle to cancel the task
+	 * @throws NullPointerException
+	 *           if {@code task} or {@code unit} is {@code null}
+	 * @throws IllegalArgumentException
+	 *           if {@code period <= 0}
+	 */
+	public PeriodicTask scheduleAtFixedRate(final Runnable task,
+			final @Nonnegative long period, final TimeUnit unit) {
+		checkNotNull(task);
+		checkArgument(period > 0, "period must be > 0!");
+		final PeriodicTask periodicTask = new PeriodicTask(task,
+				unit.toNanos(period));
+		periodicTask.mFuture = mTimer.scheduleAtFixedRate(periodicTask::run,
+				period, period, unit);
+		return periodicTask;
+	}
+
+	/**
+	 * Get the number of tasks waiting in the worker pool.
+	 *
+	 * @return the queue depth of the worker pool
+	 */
+	public int getQueuedTaskCount() {
+		return mWorkers.getQueue().size();
+	}
+
+	/**
+	 * Get the number of periodic tasks, which are currently scheduled.
+	 *
+	 * @return the number of periodic tasks
+	 */
+	public int getScheduledTaskCount() {
+		return mTimer.getQueue().size();
+	}
+
+	/**
+	 * Get the approximate number of currently executed tasks in both pools.
+	 *
+	 * @return the number of active tasks
+	 */
+	public int getActiveTaskCount() {
+		return mTimer.getActiveCount() + mWorkers.getActiveCount();
+	}
+
+	/**
+	 * Get the number of finished tasks, whereas each execution of a periodic
+	 * task is counted.
+	 *
+	 * @return the number of finished tasks
+	 */
+	public long getCompletedTaskCount() {
+		return mCompletedTasks.get();
+	}
+
+	/**
+	 * Get the average latency between the time tasks are due and the time they
+	 * start.
+	 *
+	 * @param unit
+	 *          the time unit of the result
+	 * @return the average latency, or {@code 0} if no task has been started
+	 */
+	public double getAverageLatency(final TimeUnit unit) {
+		final long started = mStartedTasks.get();
+		return started == 0 ? 0 : (double) mTotalLatency.get() / started
+				/ checkNotNull(unit).toNanos(1);
+	}
+
+	/**
+	 * Get the maximum latency between the time a task is due and the time it
+	 * starts.
+	 *
+	 * @param unit
+	 *          the time unit of the result
+	 * @return the maximum latency
+	 */
+	public long getMaxLatency(final TimeUnit unit) {
+		return checkNotNull(unit).convert(mMaxLatency.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Get the average execution time of the finished tasks.
+	 *
+	 * @param unit
+	 *          the time unit of the result
+	 * @return the average execution time, or {@code 0} if no task has been
+	 *         finished
+	 */
+	public double getAverageExecutionTime(final TimeUnit unit) {
+		final long completed = mCompletedTasks.get();
+		return completed == 0 ? 0 : (double) mTotalExecutionTime.get() / completed
+				/ checkNotNull(unit).toNanos(1);
+	}
+
+	/**
+	 * Shut down both pools, after the periodic tasks have been cancelled and the
+	 * submitted tasks are finished.
+	 *
+	 * @throws SirixThreadedException
+	 *           if the thread is interrupted while waiting
+	 */
+	@Override
+	public void close() {
+		mTimer.shutdownNow();
+		mWorkers.shutdown();
+		try {
+			mTimer.awaitTermination(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+			mWorkers.awaitTermination(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SirixThreadedException(e);
+		}
+	}
+
+	/**
+	 * Record the latency of a started task.
+	 *
+	 * @param latency
+	 *          the latency in nanoseconds
+	 */
+	private void recordLatency(final long latency) {
+		final long nonNegativeLatency = Math.max(0, latency);
+		mStartedTasks.incrementAndGet();
+		mTotalLatency.addAndGet(nonNegativeLatency);
+		long max;
+		while ((max = mMaxLatency.get()) < nonNegativeLatency
+				&& !mMaxLatency.compareAndSet(max, nonNegativeLatency)) {
+		}
+	}
+
+	/**
+	 * Record the execution time of a finished task.
+	 *
+	 * @param started
+	 *          the time the task started in nanoseconds
+	 */
+	private void recordExecution(final long started) {
+		mTotalExecutionTime.addAndGet(System.nanoTime() - started);
+		mCompletedTasks.incrementAndGet();
+	}
+
+	/**
+	 * Handle of a periodic task.
+	 */
+	public final class PeriodicTask {
+
+		/** The task to execute. */
+		private final Runnable mTask;
+
+		/** The period in nanoseconds. */
+		private final long mPeriod;
+
+		/** Permit held during an execution. */
+		private final Semaphore mRunning = new Semaphore(1);
+
+		/** The time the next execution is due in nanoseconds. */
+		private long mDue;
+
+		/** The future of the scheduled task. */
+		private volatile ScheduledFuture<?> mFuture;
+
+		/** Determines if the task has been cancelled. */
+		private volatile boolean mCancelled;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param task
+		 *          the task to execute
+		 * @param period
+		 *          the period in nanoseconds
+		 */
+		private PeriodicTask(final Runnable task, final long period) {
+			mTask = task;
+			mPeriod = period;
+			mDue = System.nanoTime() + period;
+		}
+
+		/** Execute the task once, unless it has been cancelled. */
+		private void run() {
+			mRunning.acquireUninterruptibly();
+			try {
+				if (mCancelled) {
+					return;
+				}
+				final long started = System.nanoTime();
+				recordLatency(started - mDue);
+				mDue += mPeriod;
+				try {
+					mTask.run();
+				} catch (final RuntimeException e) {
+					// Keep the task scheduled, as the next execution might succeed.
+					LOGWRAPPER.error(e.getMessage(), e);
+				} finally {
+					recordExecution(started);
+				}
+			} finally {
+				mRunning.release();
+			}
+		}
+
+		/**
+		 * Cancel the task and wait until a running execution has finished. Must
+		 * not be called by the task itself.
+		 */
+		public void cancel() {
+			mCancelled = true;
+			final ScheduledFuture<?> future = mFuture;
+			if (future != null) {
+				future.cancel(false);
+			}
+			mRunning.acquireUninterruptibly();
+			mRunning.release();
+		}
+	}
+}
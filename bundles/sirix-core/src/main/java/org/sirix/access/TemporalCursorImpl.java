@@ -0,0 +1,227 @@
+package org.sirix.access;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.TemporalCursor;
+import org.sirix.io.Reader;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.page.interfaces.Page;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * {@link TemporalCursor} implementation. Committed pages are never modified,
+ * thus pages are shared between the revisions by their key (offset) in the
+ * storage:
+ *
+ * <ul>
+ * <li>indirect pages, revision root pages and the other non record pages are
+ * shared as they are,</li>
+ * <li>record pages are shared after their reconstruction from the page
+ * fragments, keyed by the storage key of the most recent fragment and the
+ * number of fragments to read.</li>
+ * </ul>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class TemporalCursorImpl implements TemporalCursor {
+
+	/** Maximum number of shared pages of each kind. */
+	private static final int MAX_PAGES = 1000;
+
+	/** {@link SessionImpl} reference. */
+	private final SessionImpl mSession;
+
+	/** Page reader shared by all transactions of this cursor. */
+	private final Reader mReader;
+
+	/** Non record pages by their storage key. */
+	private final Cache<Long, Page> mPages;
+
+	/** Reconstructed record pages. */
+	private final Cache<RecordPageKey, UnorderedKeyValuePage> mRecordPages;
+
+	/** Transactions opened by this cursor, which are closed together with it. */
+	private final List<NodeReadTrx> mTrxs;
+
+	/** Determines if the cursor is closed. */
+	private boolean mClosed;
+
+	/** Key of a reconstructed record page. */
+	private static final class RecordPageKey {
+		/** Storage key of the most recent page fragment. */
+		private final long mKey;
+
+		/** Number of fragments to read. */
+		private final int mFragments;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param key
+		 *          storage key of the most recent page fragment
+		 * @param fragments
+		 *          number of fragments to read
+		 */
+		RecordPageKey(final long key, final int fragments) {
+			mKey = key;
+			mFragments = fragments;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(mKey, mFragments);
+		}
+
+		@Override
+		public boolean equals(final @Nullable Object obj) {
+			if (obj instanceof RecordPageKey) {
+				final RecordPageKey other = (RecordPageKey) obj;
+				return mKey == other.mKey && mFragments == other.mFragments;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param session
+	 *          the {@link SessionImpl} the cursor is bound to
+	 * @param reader
+	 *          the page reader, which is closed together with the cursor
+	 */
+	TemporalCursorImpl(final SessionImpl session, final Reader reader) {
+		mSession = checkNotNull(session);
+		mReader = checkNotNull(reader);
+		mPages = CacheBuilder.newBuilder().concurrencyLevel(1)
+				.maximumSize(MAX_PAGES).build();
+		mRecordPages = CacheBuilder.newBuilder().concurrencyLevel(1)
+				.maximumSize(MAX_PAGES).build();
+		mTrxs = new ArrayList<>();
+		mClosed = false;
+	}
+
+	@Override
+	public NodeReadTrx moveTo(final @Nonnegative int revision) {
+		assertNotClosed();
+		// Transactions, which have been closed in the meantime, aren't tracked
+		// anymore.
+		mTrxs.removeIf(NodeReadTrx::isClosed);
+		final NodeReadTrx rtx = mSession.beginNodeReadTrx(revision, this);
+		mTrxs.add(rtx);
+		return rtx;
+	}
+
+	/**
+	 * Get the page reader shared by all transactions of this cursor.
+	 *
+	 * @return the page reader
+	 */
+	Reader getReader() {
+		return mReader;
+	}
+
+	/**
+	 * Get a shared non record page.
+	 *
+	 * @param key
+	 *          the storage key of the page
+	 * @return the page or {@code null}, if it isn't shared (yet)
+	 */
+	@Nullable
+	Page getPage(final long key) {
+		return mPages.getIfPresent(key);
+	}
+
+	/**
+	 * Share a non record page.
+	 *
+	 * @param key
+	 *          the storage key of the page
+	 * @param page
+	 *          the page
+	 */
+	void putPage(final long key, final Page page) {
+		assert !(page instanceof UnorderedKeyValuePage);
+		mPages.put(key, page);
+	}
+
+	/**
+	 * Get a shared reconstructed record page.
+	 *
+	 * @param key
+	 *          the storage key of the most recent page fragment
+	 * @param fragments
+	 *          the number of fragments to read
+	 * @return the page or an empty optional, if it isn't shared (yet)
+	 */
+	Optional<UnorderedKeyValuePage> getRecordPage(final long key,
+			final @Nonnegative int fragments) {
+		return Optional.ofNullable(mRecordPages.getIfPresent(new RecordPageKey(
+				key, fragments)));
+	}
+
+	/**
+	 * Share a reconstructed record page.
+	 *
+	 * @param key
+	 *          the storage key of the most recent page fragment
+	 * @param fragments
+	 *          the number of fragments to read
+	 * @param page
+	 *          the reconstructed page
+	 */
+	void putRecordPage(final long key, final @Nonnegative int fragments,
+			final UnorderedKeyValuePage page) {
+		mRecordPages.put(new RecordPageKey(key, fragments), page);
+	}
+
+	/**
+	 * Make sure that the cursor is not yet closed when calling this method.
+	 */
+	private void assertNotClosed() {
+		if (mClosed) {
+			throw new IllegalStateException("Temporal cursor is already closed.");
+		}
+	}
+
+	@Override
+	public boolean isClosed() {
+		return mClosed;
+	}
+
+	@Override
+	public void close() {
+		if (!mClosed) {
+			// Transactions of a revision, which was being committed, are
+			// registered in the session and hold a permit of their own.
+			for (final NodeReadTrx rtx : mTrxs) {
+				rtx.close();
+			}
+			mTrxs.clear();
+			mSession.closeTemporalCursor(this);
+			mPages.invalidateAll();
+			mRecordPages.invalidateAll();
+			mReader.close();
+			mClosed = true;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).add("session", mSession)
+				.add("closed", mClosed).toString();
+	}
+}
@@ -38,6 +38,7 @@ import java.io.IOException;
 import javax.annotation.Nullable;
 
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.SyncMode;
 
 import com.google.common.base.Objects;
 import com.google.gson.stream.JsonReader;
@@ -132,6 +133,12 @@ public final class DatabaseConfiguration {
 	// STATIC STANDARD FIELDS
 	/** Identification for string. */
 	public static final String BINARY = "0.1.0";
+
+	/** Standard memory budget of the page buffer in bytes. */
+	public static final long BUFFER_SIZE = 128L << 20;
+
+	/** Standard durability mode of commits. */
+	public static final SyncMode SYNC_MODE = SyncMode.NONE;
 	// END STATIC STANDARD FIELDS
 
 	/** Binary version of storage. */
@@ -143,6 +150,12 @@ public final class DatabaseConfiguration {
 	/** Maximum unique resource ID. */
 	private long mMaxResourceID;
 
+	/** Memory budget of the page buffer in bytes. */
+	private long mBufferSize;
+
+	/** Durability mode of commits. */
+	private SyncMode mSyncMode;
+
 	/**
 	 * Constructor with the path to be set.
 	 * 
@@ -152,6 +165,8 @@ public final class DatabaseConfiguration {
 	public DatabaseConfiguration(final File file) {
 		mBinaryVersion = BINARY;
 		mFile = file.getAbsoluteFile();
+		mBufferSize = BUFFER_SIZE;
+		mSyncMode = SYNC_MODE;
 	}
 
 	/**
@@ -176,6 +191,51 @@ public final class DatabaseConfiguration {
 		return mMaxResourceID;
 	}
 
+	/**
+	 * Set the memory budget of the page buffer, which is shared by all read-only
+	 * transactions of the database.
+	 * 
+	 * @param size
+	 *          memory budget in bytes
+	 * @return this {@link DatabaseConfiguration} reference
+	 */
+	public DatabaseConfiguration setBufferSize(final long size) {
+		checkArgument(size >= 0, "size must be >= 0!");
+		mBufferSize = size;
+		return this;
+	}
+
+	/**
+	 * Get the memory budget of the page buffer.
+	 * 
+	 * @return memory budget in bytes
+	 */
+	public long getBufferSize() {
+		return mBufferSize;
+	}
+
+	/**
+	 * Set the durability mode, that is if and how commits of all resources in
+	 * the database are forced to the storage device.
+	 * 
+	 * @param syncMode
+	 *          the durability mode
+	 * @return this {@link DatabaseConfiguration} reference
+	 */
+	public DatabaseConfiguration setSyncMode(final SyncMode syncMode) {
+		mSyncMode = checkNotNull(syncMode);
+		return this;
+	}
+
+	/**
+	 * Get the durability mode.
+	 * 
+	 * @return the durability mode
+	 */
+	public SyncMode getSyncMode() {
+		return mSyncMode;
+	}
+
 	/**
 	 * Getting the database file.
 	 * 
@@ -231,6 +291,8 @@ public final class DatabaseConfiguration {
 			final String filePath = config.mFile.getAbsolutePath();
 			jsonWriter.name("file").value(filePath);
 			jsonWriter.name("ID").value(config.mMaxResourceID);
+			jsonWriter.name("bufferSize").value(config.mBufferSize);
+			jsonWriter.name("syncMode").value(config.mSyncMode.name());
 			jsonWriter.endObject();
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
@@ -258,8 +320,21 @@ public final class DatabaseConfiguration {
 			final String IDName = jsonReader.nextName();
 			assert IDName.equals("ID");
 			final int ID = jsonReader.nextInt();
+			long bufferSize = BUFFER_SIZE;
+			if (jsonReader.hasNext()) {
+				final String bufferSizeName = jsonReader.nextName();
+				assert bufferSizeName.equals("bufferSize");
+				bufferSize = jsonReader.nextLong();
+			}
+			SyncMode syncMode = SYNC_MODE;
+			if (jsonReader.hasNext()) {
+				final String syncModeName = jsonReader.nextName();
+				assert syncModeName.equals("syncMode");
+				syncMode = SyncMode.valueOf(jsonReader.nextString());
+			}
 			jsonReader.endObject();
-			return new DatabaseConfiguration(dbFile).setMaximumResourceID(ID);
+			return new DatabaseConfiguration(dbFile).setMaximumResourceID(ID)
+					.setBufferSize(bufferSize).setSyncMode(syncMode);
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
 		}
@@ -42,6 +42,7 @@ import javax.annotation.Nonnegative;
 
 import org.sirix.access.HashKind;
 import org.sirix.access.SessionImpl;
+import org.sirix.cache.TransactionLogKind;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.StorageType;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
@@ -50,6 +51,7 @@ import org.sirix.io.bytepipe.DeflateCompressor;
 import org.sirix.node.NodePersistenterImpl;
 import org.sirix.node.interfaces.RecordPersistenter;
 import org.sirix.settings.Versioning;
+import org.sirix.utils.Codec;
 
 import com.google.common.base.Objects;
 import com.google.gson.stream.JsonReader;
@@ -85,7 +87,10 @@ public final class ResourceConfiguration {
 		CONFIG_BINARY(new File("ressetting.obj"), false),
 
 		/** File to store index definitions. */
-		INDEXES(new File("indexes"), false);
+		INDEXES(new File("indexes"), false),
+
+		/** File to store the commit timestamps of the revisions. */
+		REVISIONS(new File("revisions"), false);
 
 		/** Location of the file. */
 		private final File mFile;
@@ -137,14 +142,14 @@ public final class ResourceConfiguration {
 		public static int compareStructure(final File file) {
 			int existing = 0;
 			for (final Paths paths : values()) {
-				if (paths == Paths.INDEXES)
+				if (paths == Paths.INDEXES || paths == Paths.REVISIONS)
 					continue;
 				final File currentFile = new File(file, paths.getFile().getName());
 				if (currentFile.exists()) {
 					existing++;
 				}
 			}
-			return existing - values().length + 1;
+			return existing - values().length + 2;
 		}
 	}
 
@@ -161,6 +166,12 @@ public final class ResourceConfiguration {
 	/** Versions to restore. */
 	public static final int VERSIONSTORESTORE = 3;
 
+	/** Codec to compress text values. */
+	public static final Codec CODEC = Codec.DEFLATE;
+
+	/** Kind of the transaction logs. */
+	public static final TransactionLogKind TRANSACTION_LOG_KIND = TransactionLogKind.BERKELEY_DB;
+
 	/** Persistenter for records. */
 	public static final RecordPersistenter PERSISTENTER = new NodePersistenterImpl();
 	
@@ -197,6 +208,12 @@ public final class ResourceConfiguration {
 	/** Determines if text-compression should be used or not (default is true). */
 	public final boolean mCompression;
 
+	/** Codec to compress text values, if text-compression is used. */
+	public final Codec mCodec;
+
+	/** Determines where the transaction logs spill record pages to. */
+	public final TransactionLogKind mTransactionLog;
+
 	/** Determines if a path summary should be build and kept up to date or not. */
 	public final boolean mPathSummary;
 
@@ -241,6 +258,8 @@ public final class ResourceConfiguration {
 		mRevisionsToRestore = builder.mRevisionsToRestore;
 		mDBConfig = builder.mDBConfig;
 		mCompression = builder.mCompression;
+		mCodec = builder.mCodec;
+		mTransactionLog = builder.mTransactionLog;
 		mPathSummary = builder.mPathSummary;
 		mDeweyIDsStored = builder.mUseDeweyIDs;
 		mPath = new File(new File(mDBConfig.getFile(),
@@ -322,7 +341,7 @@ public final class ResourceConfiguration {
 	private static final String[] JSONNAMES = { "revisioning",
 			"revisioningClass", "numbersOfRevisiontoRestore", "byteHandlerClasses",
 			"storageKind", "hashKind", "compression", "pathSummary", "resourceID",
-			"deweyIDsStored", "persistenter" };
+			"deweyIDsStored", "persistenter", "codec", "transactionLog" };
 
 	/**
 	 * Serialize the configuration.
@@ -367,6 +386,10 @@ public final class ResourceConfiguration {
 			// Persistenter.
 			jsonWriter.name(JSONNAMES[10]).value(
 					config.mPersistenter.getClass().getName());
+			// Text compression codec.
+			jsonWriter.name(JSONNAMES[11]).value(config.mCodec.name());
+			// Transaction log kind.
+			jsonWriter.name(JSONNAMES[12]).value(config.mTransactionLog.name());
 			jsonWriter.endObject();
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
@@ -449,6 +472,20 @@ public final class ResourceConfiguration {
 					.getConstructors()[0];
 			final RecordPersistenter persistenter = (RecordPersistenter) persistenterConstr
 					.newInstance();
+			// Text compression codec (missing in configurations of older resources).
+			Codec codec = Codec.DEFLATE;
+			if (jsonReader.hasNext()) {
+				name = jsonReader.nextName();
+				assert name.equals(JSONNAMES[11]);
+				codec = Codec.valueOf(jsonReader.nextString());
+			}
+			// Transaction log kind (missing in configurations of older resources).
+			TransactionLogKind transactionLog = TRANSACTION_LOG_KIND;
+			if (jsonReader.hasNext()) {
+				name = jsonReader.nextName();
+				assert name.equals(JSONNAMES[12]);
+				transactionLog = TransactionLogKind.valueOf(jsonReader.nextString());
+			}
 			jsonReader.endObject();
 			jsonReader.close();
 			fileReader.close();
@@ -464,6 +501,7 @@ public final class ResourceConfiguration {
 					.versioningApproach(revisioning)
 					.revisionsToRestore(revisionToRestore).storageType(storage)
 					.persistenter(persistenter).useTextCompression(compression)
+					.codec(codec).transactionLog(transactionLog)
 					.buildPathSummary(pathSummary).useDeweyIDs(deweyIDsStored);
 
 			// Deserialized instance.
@@ -505,6 +543,12 @@ public final class ResourceConfiguration {
 		/** Determines if text-compression should be used or not (default is true). */
 		private boolean mCompression;
 
+		/** Codec to compress text values. */
+		private Codec mCodec = CODEC;
+
+		/** Kind of the transaction logs. */
+		private TransactionLogKind mTransactionLog = TRANSACTION_LOG_KIND;
+
 		/** Byte handler pipeline. */
 		private ByteHandlePipeline mByteHandler;
 
@@ -619,6 +663,36 @@ public final class ResourceConfiguration {
 			return this;
 		}
 
+		/**
+		 * Set the codec to compress text values, if text-compression is used.
+		 * {@link Codec#SNAPPY} is considerably faster than the default
+		 * {@link Codec#DEFLATE}. Pages are compressed with the
+		 * {@link ByteHandlePipeline} instead, for instance with a
+		 * {@link org.sirix.io.bytepipe.SnappyCompressor}.
+		 * 
+		 * @param codec
+		 *          the codec to use
+		 * @return reference to the builder object
+		 */
+		public Builder codec(final Codec codec) {
+			mCodec = checkNotNull(codec);
+			return this;
+		}
+
+		/**
+		 * Set where the transaction logs spill record pages to, once they don't
+		 * fit into memory. {@link TransactionLogKind#MEMORY_MAPPED} avoids
+		 * Berkeley DB in the write path of large transactions.
+		 * 
+		 * @param transactionLog
+		 *          the kind of the transaction logs
+		 * @return reference to the builder object
+		 */
+		public Builder transactionLog(final TransactionLogKind transactionLog) {
+			mTransactionLog = checkNotNull(transactionLog);
+			return this;
+		}
+
 		/**
 		 * Determines if a path summary should be build.
 		 * 
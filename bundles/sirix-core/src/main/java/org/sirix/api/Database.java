@@ -29,6 +29,8 @@ package org.sirix.api;
 
 import javax.annotation.Nonnegative;
 
+import org.sirix.access.BufferManager;
+import org.sirix.access.TaskScheduler;
 import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.conf.SessionConfiguration;
@@ -121,6 +123,22 @@ public interface Database extends AutoCloseable {
 	 */
 	DatabaseConfiguration getDatabaseConfig();
 
+	/**
+	 * Get the {@link BufferManager}, which buffers pages shared by all read-only
+	 * transactions of this database.
+	 * 
+	 * @return {@link BufferManager} reference associated with this database
+	 */
+	BufferManager getBufferManager();
+
+	/**
+	 * Get the {@link TaskScheduler}, which runs the auto-commits, log syncing and
+	 * other background tasks of all sessions of this database.
+	 * 
+	 * @return {@link TaskScheduler} reference associated with this database
+	 */
+	TaskScheduler getScheduler();
+
 	/**
 	 * Commit all running {@link NodeWriteTrx}s.
 	 * 
@@ -38,6 +38,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.Movement;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.TextNode;
 import org.sirix.node.interfaces.Record;
@@ -562,6 +563,27 @@ public interface NodeWriteTrx extends NodeReadTrx {
 	NodeWriteTrx insertSubtreeAsLeftSibling(XMLEventReader reader)
 			throws SirixException;
 
+	/**
+	 * Bulk load a document into an empty resource. The nodes are created in
+	 * document order without maintaining the hashes and indexes for each node.
+	 * Instead, the hash and descendant count of a node are computed once its
+	 * subtree is complete, and the indexes are built after all nodes have been
+	 * created. Record pages, whose nodes are complete, are written to the
+	 * storage during the load instead of during the commit.
+	 * 
+	 * @param reader
+	 *          {@link XMLEventReader} instance maybe derived from
+	 *          {@link XMLShredder#createFileReader(java.io.File)}
+	 * @return the current transaction located at the root element
+	 * @throws SirixException
+	 *           if an I/O error occurs or another sirix internal error occurs
+	 * @throws SirixUsageException
+	 *           if the resource isn't empty
+	 * @throws NullPointerException
+	 *           if {@code reader} is {@code null}
+	 */
+	NodeWriteTrx bulkLoad(XMLEventReader reader) throws SirixException;
+
 	/**
 	 * Remove currently selected node. This does automatically remove descendants.
 	 * If two adjacent {@link TextNode}s would be the result after the remove, the
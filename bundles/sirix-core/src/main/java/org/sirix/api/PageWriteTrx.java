@@ -119,6 +119,24 @@ public interface PageWriteTrx<K extends Comparable<? super K>, V extends Record,
 	V prepareEntryForModification(@Nonnegative K key, @Nonnull PageKind pageKind,
 			int index, @Nonnull Optional<S> keyValuePage);
 
+	/**
+	 * Write a regular record page, which has been created by this transaction
+	 * and whose records aren't modified anymore, directly to the storage instead
+	 * of keeping it in the transaction log until the commit. If it's accessed
+	 * again, it's read from the storage.
+	 *
+	 * @param recordPageKey
+	 *          the key of the record page
+	 * @return {@code true}, if the page has been written, {@code false} if it
+	 *         isn't in the transaction log or if it's a new version of a page
+	 *         of a former revision
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 * @throws IllegalArgumentException
+	 *           if {@code recordPageKey < 0}
+	 */
+	boolean writeRecordPage(@Nonnegative long recordPageKey);
+
 	/**
 	 * Remove an entry from the storage.
 	 * 
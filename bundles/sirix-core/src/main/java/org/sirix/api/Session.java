@@ -27,6 +27,7 @@
 
 package org.sirix.api;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +37,7 @@ import org.sirix.access.IndexController;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.conf.SessionConfiguration;
 import org.sirix.exception.SirixException;
+import org.sirix.index.path.summary.PathSummaryData;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -137,6 +139,35 @@ public interface Session extends AutoCloseable {
 	 */
 	NodeReadTrx beginNodeReadTrx(@Nonnegative int revision);
 
+	/**
+	 * Begin a read-only transaction on the revision, which has been the most
+	 * recent one at the given point in time. The revision is looked up in an
+	 * index of the commit timestamps without reading any pages.
+	 * 
+	 * @param pointInTime
+	 *          the point in time
+	 * @throws IllegalArgumentException
+	 *           if no revision has been committed until {@code pointInTime}
+	 * @throws SirixThreadedException
+	 *           if the thread is interrupted
+	 * @throws SirixUsageException
+	 *           if the number of read-transactions is exceeded for a defined time
+	 * @return {@link NodeReadTrx} instance
+	 */
+	NodeReadTrx beginNodeReadTrx(Instant pointInTime);
+
+	/**
+	 * Open a {@link TemporalCursor} to read the resource in several revisions
+	 * without the setup costs of a new {@link NodeReadTrx} for each revision.
+	 *
+	 * @throws SirixThreadedException
+	 *           if the thread is interrupted
+	 * @throws SirixUsageException
+	 *           if the number of read-transactions is exceeded for a defined time
+	 * @return {@link TemporalCursor} instance
+	 */
+	TemporalCursor openTemporalCursor();
+
 	/**
 	 * Begin exclusive read/write transaction without auto commit.
 	 * 
@@ -199,6 +230,21 @@ public interface Session extends AutoCloseable {
 	 */
 	PathSummaryReader openPathSummary() throws SirixException;
 
+	/**
+	 * Get the immutable mappings of the path summary of a committed revision,
+	 * which are loaded lazily once and shared by all path summary readers of the
+	 * revision.
+	 * 
+	 * @param revision
+	 *          the revision
+	 * @return the {@link PathSummaryData} of the revision
+	 * @throws IllegalArgumentException
+	 *           if {@code revision < 0} or if the revision isn't committed
+	 * @throws IllegalStateException
+	 *           if the session is already closed
+	 */
+	PathSummaryData getPathSummaryData(@Nonnegative int revision);
+
 	/**
 	 * Safely close session and immediately release all resources. If there are
 	 * running transactions, they will automatically be closed.
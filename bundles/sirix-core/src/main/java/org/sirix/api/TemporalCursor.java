@@ -0,0 +1,46 @@
+package org.sirix.api;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Cursor to read a resource in several revisions, for instance along a
+ * temporal axis. The transactions opened by the cursor share the storage
+ * reader, the indirect pages and the reconstructed record pages which didn't
+ * change between the revisions, such that moving to another revision only
+ * costs the pages, which have been modified in between.
+ *
+ * <p>
+ * The transactions of a cursor are valid until the cursor is closed (which
+ * also happens once the session is closed). A cursor must not be shared
+ * between threads.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public interface TemporalCursor extends AutoCloseable {
+
+	/**
+	 * Open a read-only transaction on the given revision, which is located at
+	 * the document root.
+	 *
+	 * @param revision
+	 *          the revision number
+	 * @return {@link NodeReadTrx} instance bound to the revision
+	 * @throws IllegalArgumentException
+	 *           if {@code revision < 0} or if the revision doesn't exist
+	 * @throws IllegalStateException
+	 *           if the cursor is already closed
+	 */
+	NodeReadTrx moveTo(@Nonnegative int revision);
+
+	/**
+	 * Determines if the cursor is closed.
+	 *
+	 * @return {@code true}, if it's closed, {@code false} otherwise
+	 */
+	boolean isClosed();
+
+	@Override
+	void close();
+}
@@ -11,7 +11,7 @@ import com.google.common.collect.AbstractIterator;
  * 
  */
 public abstract class AbstractTemporalAxis extends
-		AbstractIterator<NodeReadTrx> {
+		AbstractIterator<NodeReadTrx> implements AutoCloseable {
 
 	/**
 	 * Get the transaction.
@@ -19,4 +19,13 @@ public abstract class AbstractTemporalAxis extends
 	 * @return Sirix {@link NodeReadTrx}
 	 */
 	public abstract NodeReadTrx getTrx();
+
+	/**
+	 * Close the resources the axis holds to open the transactions. Afterwards
+	 * the axis has no more elements. Axes, which hold such resources, close
+	 * them as well once they are exhausted.
+	 */
+	@Override
+	public void close() {
+	}
 }
@@ -29,30 +29,32 @@ package org.sirix.axis.concurrent;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import javax.annotation.Nonnegative;
 
 import org.sirix.api.Axis;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.axis.AbstractAxis;
-import org.sirix.settings.Fixed;
+import org.sirix.exception.SirixThreadedException;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Throwables;
+
 /**
  * <h1>ConcurrentAxis</h1>
  * <p>
  * Realizes in combination with the <code>ConurrentAxisHelper</code> the
  * concurrent evaluation of pipeline steps. The given axis is uncoupled from the
  * main thread by embedding it in a Runnable that uses its one transaction and
- * stores all the results to a queue. The ConcurrentAxis gets the computed
- * results from that queue one by one on every hasNext() call and sets the
- * main-transaction to it. As soon as the end of the computed result sequence is
- * reached (marked by the NULL_NODE_KEY), the ConcurrentAxis returns
+ * stores all the results in batches to a ring buffer. The ConcurrentAxis gets
+ * the computed results from that buffer batch by batch and sets the
+ * main-transaction to them one by one on every hasNext() call. As soon as the
+ * end of the computed result sequence is reached, the ConcurrentAxis returns
  * <code>false</code>.
  * </p>
  * <p>
@@ -62,6 +64,19 @@ import org.slf4j.LoggerFactory;
  * class that implements the IAxis interface. Note: Make sure that the used
  * class is thread-safe.
  * </p>
+ * <p>
+ * The producers of all concurrent axes are executed by one shared
+ * work-stealing pool with one worker per processor. A producer of a nested
+ * concurrent axis runs in the pool and is the consumer of its child axis at
+ * the same time. All waits of a worker are managed blocking: the puts and
+ * takes of the {@link LongRingBuffer} wait through
+ * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)} and awaiting
+ * a producer joins its task. For each blocked worker the pool activates or
+ * starts a spare worker, such that nested producers never wait for a free
+ * worker. The depth of nesting is thus only limited by the maximum number of
+ * workers of a {@link ForkJoinPool} (32767 threads), each of which is a parked
+ * thread as long as its consumer doesn't take results.
+ * </p>
  */
 public class ConcurrentAxis extends AbstractAxis {
 
@@ -69,30 +84,37 @@ public class ConcurrentAxis extends AbstractAxis {
 	private static final LogWrapper LOGGER = new LogWrapper(
 			LoggerFactory.getLogger(ConcurrentAxis.class));
 
+	/** Pool executing the producers of all concurrent axes. */
+	private static final ForkJoinPool EXECUTOR = new ForkJoinPool(Runtime
+			.getRuntime().availableProcessors());
+
+	/** Capacity of the results ring buffer. */
+	private static final int CAPACITY = 1024;
+
 	/** Axis that is running in an own thread and produces results for this axis. */
 	private final Axis mProducer;
 
-	/**
-	 * Queue that stores result keys already computed by the producer. End of the
-	 * result sequence is marked by the NULL_NODE_KEY.
-	 */
-	private final BlockingQueue<Long> mResults;
+	/** Ring buffer that stores result keys already computed by the producer. */
+	private LongRingBuffer mResults;
+
+	/** Batch of results taken from the ring buffer. */
+	private final long[] mBatch;
+
+	/** Number of results in the current batch. */
+	private int mBatchSize;
 
-	/** Capacity of the mResults queue. */
-	private final int M_CAPACITY = 200;
+	/** Index of the next result in the current batch. */
+	private int mBatchIndex;
 
 	/** Has axis already been called? */
 	private boolean mFirst;
 
-	/** Runnable in which the producer is running. */
-	private Runnable task;
+	/** The running producer task, if any. */
+	private ForkJoinTask<?> mTask;
 
 	/** Is axis already finished and has no results left? */
 	private boolean mFinished;
 
-	/** Executor Service holding the execution plan for future tasks. */
-	public final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
-
 	/**
 	 * Constructor. Initializes the internal state.
 	 * 
@@ -108,10 +130,10 @@ public class ConcurrentAxis extends AbstractAxis {
 			throw new IllegalArgumentException(
 					"The filter must be bound to another transaction but on the same revision/node!");
 		}
-		mResults = new ArrayBlockingQueue<>(M_CAPACITY);
+		mResults = new LongRingBuffer(CAPACITY);
+		mBatch = new long[ConcurrentAxisHelper.BATCH_SIZE];
 		mFirst = true;
 		mProducer = checkNotNull(childAxis);
-		task = new ConcurrentAxisHelper(mProducer, mResults);
 		mFinished = false;
 	}
 
@@ -121,15 +143,19 @@ public class ConcurrentAxis extends AbstractAxis {
 		mFirst = true;
 		mFinished = false;
 
+		// Stop a running producer before its axis is reset.
+		if (mTask != null) {
+			mResults.close();
+			awaitProducer();
+		}
 		if (mProducer != null) {
 			mProducer.reset(nodeKey);
 		}
 		if (mResults != null) {
-			mResults.clear();
-		}
-		if (task != null) {
-			task = new ConcurrentAxisHelper(mProducer, mResults);
+			mResults = new LongRingBuffer(CAPACITY);
 		}
+		mBatchSize = 0;
+		mBatchIndex = 0;
 	}
 
 	@Override
@@ -137,29 +163,60 @@ public class ConcurrentAxis extends AbstractAxis {
 		// Start producer on first call.
 		if (mFirst) {
 			mFirst = false;
-			EXECUTOR.submit(task);
+			mTask = EXECUTOR.submit(new ConcurrentAxisHelper(mProducer, mResults));
 		}
 
 		if (mFinished) {
 			return done();
 		}
 
-		long result = Fixed.NULL_NODE_KEY.getStandardProperty();
+		if (mBatchIndex == mBatchSize) {
+			final int count;
+			try {
+				// Get results from producer as soon as they are available.
+				count = mResults.take(mBatch);
+			} catch (final InterruptedException e) {
+				// Not the end of the results, thus the producer is stopped and the
+				// interruption is propagated.
+				Thread.currentThread().interrupt();
+				mFinished = true;
+				mResults.close();
+				throw new SirixThreadedException(e);
+			}
+
+			// The end of the sequence computed by the producer is reached.
+			if (count == -1) {
+				mFinished = true;
+				awaitProducer();
+				return done();
+			}
+			mBatchSize = count;
+			mBatchIndex = 0;
+		}
 
+		return mBatch[mBatchIndex++];
+	}
+
+	/**
+	 * Wait until the producer task has terminated and propagate its failure.
+	 * 
+	 * @throws SirixThreadedException
+	 *           if the thread is interrupted while waiting
+	 */
+	private void awaitProducer() {
+		final ForkJoinTask<?> task = mTask;
+		mTask = null;
 		try {
-			// Get result from producer as soon as it is available.
-			result = mResults.take();
+			// Joins the task, thus a blocked worker is compensated.
+			task.get();
 		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SirixThreadedException(e);
+		} catch (final CancellationException e) {
 			LOGGER.warn(e.getMessage(), e);
+		} catch (final ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
 		}
-
-		// NULL_NODE_KEY marks end of the sequence computed by the producer.
-		if (result != Fixed.NULL_NODE_KEY.getStandardProperty()) {
-			return result;
-		}
-
-		mFinished = true;
-		return done();
 	}
 
 	/**
@@ -29,12 +29,9 @@ package org.sirix.axis.concurrent;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.concurrent.BlockingQueue;
-
 import javax.annotation.Nonnull;
 
 import org.sirix.api.Axis;
-import org.sirix.settings.Fixed;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
@@ -43,7 +40,7 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Is the helper for the ConcurrentAxis and realizes the concurrent evaluation
  * of pipeline steps by decoupling the given axis from the main thread and
- * storing its results in a blocking queue so establish a
+ * storing its results in batches in a ring buffer so establish a
  * producer-consumer-relationship between the ConcurrentAxis and this one.
  * </p>
  * <p>
@@ -58,26 +55,29 @@ public class ConcurrentAxisHelper implements Runnable {
 	public static final LogWrapper LOGWRAPPER = new LogWrapper(
 			LoggerFactory.getLogger(ConcurrentAxisHelper.class));
 
+	/** Number of keys handed over at once. */
+	static final int BATCH_SIZE = 64;
+
 	/** {@link Axis} that computes the results. */
 	private final Axis mAxis;
 
 	/**
-	 * Queue that stores result keys already computed by this axis. End of the
-	 * result sequence is marked by the NULL_NODE_KEY. This is used for
-	 * communication with the consumer.
+	 * Ring buffer that stores result keys already computed by this axis. This is
+	 * used for communication with the consumer.
 	 */
-	private BlockingQueue<Long> mResults;
+	private final LongRingBuffer mResults;
 
 	/**
 	 * Bind axis step to transaction. Make sure to create a new ReadTransaction
 	 * instead of using the parameter rtx. Because of concurrency every axis has
 	 * to have it's own transaction.
 	 * 
-	 * @param rtx
-	 *          Transaction to operate with.
+	 * @param axis
+	 *          the axis to compute the results
+	 * @param results
+	 *          the ring buffer to store the results
 	 */
-	public ConcurrentAxisHelper(final Axis axis,
-			@Nonnull final BlockingQueue<Long> results) {
+	ConcurrentAxisHelper(final Axis axis, @Nonnull final LongRingBuffer results) {
 		mAxis = checkNotNull(axis);
 		mResults = checkNotNull(results);
 	}
@@ -85,23 +85,27 @@ public class ConcurrentAxisHelper implements Runnable {
 	@Override
 	public void run() {
 		// Compute all results of the given axis and store the results in the
-		// queue.
-		while (mAxis.hasNext()) {
-			final long nodeKey = mAxis.next();
-			try {
-				// Store result in queue as soon as there is space left.
-				mResults.put(nodeKey);
-				// Wait until next thread arrives and exchange blocking queue.
-			} catch (final InterruptedException e) {
-				LOGWRAPPER.error(e.getMessage(), e);
-			}
-		}
-
+		// ring buffer.
+		final long[] batch = new long[BATCH_SIZE];
+		int size = 0;
 		try {
-			// Mark end of result sequence by the NULL_NODE_KEY.
-			mResults.put(Fixed.NULL_NODE_KEY.getStandardProperty());
+			while (mAxis.hasNext()) {
+				batch[size++] = mAxis.next();
+				if (size == BATCH_SIZE) {
+					if (!mResults.put(batch, size)) {
+						// Consumer isn't interested in further results.
+						return;
+					}
+					size = 0;
+				}
+			}
+			mResults.put(batch, size);
 		} catch (final InterruptedException e) {
 			LOGWRAPPER.error(e.getMessage(), e);
+			Thread.currentThread().interrupt();
+		} finally {
+			// Mark end of result sequence.
+			mResults.finish();
 		}
 	}
 }
@@ -0,0 +1,237 @@
+package org.sirix.axis.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer of primitive node keys,
+ * which hands over the keys in batches without any locks. The producer and the
+ * consumer only synchronize on the writes of their positions. Waiting for free
+ * space or new keys first spins and then parks through
+ * {@link ForkJoinPool#managedBlock(ManagedBlocker)}, such that a pool running
+ * the producers is able to compensate blocked workers. A parked thread
+ * registers itself and is unparked by the other side as soon as it has
+ * published its position (or finished/closed the buffer).
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class LongRingBuffer {
+
+	/** Number of spins before parking. */
+	private static final int SPINS = 128;
+
+	/** The node keys. */
+	private final long[] mBuffer;
+
+	/** Mask to compute the index from a position. */
+	private final int mMask;
+
+	/** Position of the next key to read (only written by the consumer). */
+	private final AtomicLong mHead = new AtomicLong();
+
+	/** Position of the next key to write (only written by the producer). */
+	private final AtomicLong mTail = new AtomicLong();
+
+	/** The parked producer, if any. */
+	private final AtomicReference<Thread> mWaitingProducer = new AtomicReference<>();
+
+	/** The parked consumer, if any. */
+	private final AtomicReference<Thread> mWaitingConsumer = new AtomicReference<>();
+
+	/** Determines if the producer has written all keys. */
+	private volatile boolean mFinished;
+
+	/** Determines if the consumer isn't interested in further keys. */
+	private volatile boolean mClosed;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 *          the capacity, which must be a power of two
+	 */
+	LongRingBuffer(final @Nonnegative int capacity) {
+		checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1,
+				"capacity must be a power of two!");
+		mBuffer = new long[capacity];
+		mMask = capacity - 1;
+	}
+
+	/**
+	 * Write keys, waiting for free space if needed (only called by the
+	 * producer). Waiting is managed blocking, thus a blocked pool worker is
+	 * compensated.
+	 *
+	 * @param keys
+	 *          the keys to write
+	 * @param length
+	 *          the number of keys to write
+	 * @return {@code false}, if the consumer closed the buffer, such that the
+	 *         producer should stop, {@code true} otherwise
+	 * @throws InterruptedException
+	 *           if the producer is interrupted while waiting
+	 */
+	boolean put(final long[] keys, final @Nonnegative int length)
+			throws InterruptedException {
+		int offset = 0;
+		while (offset < length) {
+			await(() -> mClosed || mTail.get() - mHead.get() < mBuffer.length,
+					mWaitingProducer);
+			if (mClosed) {
+				return false;
+			}
+			final long tail = mTail.get();
+			final int count = (int) Math.min(length - offset, mBuffer.length
+					- (tail - mHead.get()));
+			for (int i = 0; i < count; i++) {
+				mBuffer[(int) (tail + i) & mMask] = keys[offset + i];
+			}
+			offset += count;
+			// Not a lazy write, as it must be visible before a parked consumer is
+			// looked up.
+			mTail.set(tail + count);
+			signal(mWaitingConsumer);
+		}
+		return !mClosed;
+	}
+
+	/**
+	 * Signal that all keys have been written (only called by the producer).
+	 */
+	void finish() {
+		mFinished = true;
+		signal(mWaitingConsumer);
+	}
+
+	/**
+	 * Read the available keys, waiting for at least one key if none is available
+	 * (only called by the consumer). Waiting is managed blocking, thus a blocked
+	 * pool worker is compensated.
+	 *
+	 * @param keys
+	 *          the array to read the keys into
+	 * @return the number of keys read, or {@code -1}, if the producer has
+	 *         finished and all keys have been read
+	 * @throws InterruptedException
+	 *           if the consumer is interrupted while waiting
+	 */
+	int take(final long[] keys) throws InterruptedException {
+		await(() -> mFinished || mTail.get() > mHead.get(), mWaitingConsumer);
+		// The tail is read after the finished flag, thus it's the last one.
+		final long head = mHead.get();
+		final int count = (int) Math.min(keys.length, mTail.get() - head);
+		if (count == 0) {
+			return -1;
+		}
+		for (int i = 0; i < count; i++) {
+			keys[i] = mBuffer[(int) (head + i) & mMask];
+		}
+		mHead.set(head + count);
+		signal(mWaitingProducer);
+		return count;
+	}
+
+	/**
+	 * Signal that no further keys are read, such that the producer stops (only
+	 * called by the consumer).
+	 */
+	void close() {
+		mClosed = true;
+		signal(mWaitingProducer);
+	}
+
+	/**
+	 * Wait until a condition holds.
+	 *
+	 * @param condition
+	 *          the condition
+	 * @param waiter
+	 *          the slot to register the parked thread in, such that it is
+	 *          unparked by the other side
+	 * @throws InterruptedException
+	 *           if the thread is interrupted while waiting
+	 */
+	private static void await(final BooleanSupplier condition,
+			final AtomicReference<Thread> waiter) throws InterruptedException {
+		for (int i = 0; i < SPINS; i++) {
+			if (condition.getAsBoolean()) {
+				return;
+			}
+		}
+		ForkJoinPool.managedBlock(new Waiter(condition, waiter));
+	}
+
+	/**
+	 * Parks the calling thread until a condition holds. Run through
+	 * {@link ForkJoinPool#managedBlock(ManagedBlocker)}, a pool worker, which is
+	 * blocked, is compensated by a spare worker, such that the tasks of the other
+	 * side are executed even if all workers of the pool wait.
+	 */
+	private static final class Waiter implements ManagedBlocker {
+
+		/** The condition. */
+		private final BooleanSupplier mCondition;
+
+		/** The slot to register the parked thread in. */
+		private final AtomicReference<Thread> mWaiter;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param condition
+		 *          the condition
+		 * @param waiter
+		 *          the slot to register the parked thread in
+		 */
+		Waiter(final BooleanSupplier condition,
+				final AtomicReference<Thread> waiter) {
+			mCondition = condition;
+			mWaiter = waiter;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			// Registered before the condition is checked, such that a signal after
+			// the check isn't lost.
+			mWaiter.set(Thread.currentThread());
+			try {
+				while (!mCondition.getAsBoolean()) {
+					LockSupport.park(this);
+					if (Thread.interrupted()) {
+						throw new InterruptedException();
+					}
+				}
+			} finally {
+				mWaiter.set(null);
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return mCondition.getAsBoolean();
+		}
+	}
+
+	/**
+	 * Unpark the thread waiting on the other side, if any.
+	 *
+	 * @param waiter
+	 *          the slot of the parked thread
+	 */
+	private static void signal(final AtomicReference<Thread> waiter) {
+		final Thread thread = waiter.get();
+		if (thread != null) {
+			LockSupport.unpark(thread);
+		}
+	}
+}
@@ -71,4 +71,9 @@ public final class TemporalFilterAxis extends AbstractTemporalAxis {
 	public NodeReadTrx getTrx() {
 		return mAxis.getTrx();
 	}
+
+	@Override
+	public void close() {
+		mAxis.close();
+	}
 }
@@ -4,14 +4,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.Session;
+import org.sirix.api.TemporalCursor;
 import org.sirix.axis.AbstractTemporalAxis;
 import org.sirix.axis.IncludeSelf;
 
 /**
  * Retrieve a node by node key in all future revisions. In each revision a
- * {@link NodeReadTrx} is opened which is moved to the node with the given node
- * key if it exists. Otherwise the iterator has no more elements (the
- * {@link NodeReadTrx} moved to the node by it's node key).
+ * {@link NodeReadTrx} is opened (by a single {@link TemporalCursor}) which is
+ * moved to the node with the given node key if it exists. Otherwise the
+ * iterator has no more elements (the {@link NodeReadTrx} moved to the node by
+ * it's node key). The transactions are valid until the axis is exhausted or
+ * closed.
  * 
  * @author Johannes Lichtenberger
  * 
@@ -30,6 +33,15 @@ public final class FutureAxis extends AbstractTemporalAxis {
 	/** Sirix {@link NodeReadTrx}. */
 	private NodeReadTrx mRtx;
 
+	/**
+	 * {@link TemporalCursor} to open the transactions, which share the unchanged
+	 * pages of neighbouring revisions (closed once the axis is exhausted).
+	 */
+	private TemporalCursor mCursor;
+
+	/** Determines if the axis is closed. */
+	private boolean mClosed;
+
 	/**
 	 * Constructor.
 	 * 
@@ -58,12 +70,25 @@ public final class FutureAxis extends AbstractTemporalAxis {
 
 	@Override
 	protected NodeReadTrx computeNext() {
-		// != a little bit faster?
-		if (mRevision <= mSession.getMostRecentRevisionNumber()) {
-			mRtx = mSession.beginNodeReadTrx(mRevision++);
-			return mRtx.moveTo(mNodeKey).hasMoved() ? mRtx : endOfData();
-		} else {
-			return endOfData();
+		if (!mClosed && mRevision <= mSession.getMostRecentRevisionNumber()) {
+			if (mCursor == null) {
+				mCursor = mSession.openTemporalCursor();
+			}
+			mRtx = mCursor.moveTo(mRevision++);
+			if (mRtx.moveTo(mNodeKey).hasMoved()) {
+				return mRtx;
+			}
+		}
+		close();
+		return endOfData();
+	}
+
+	@Override
+	public void close() {
+		mClosed = true;
+		if (mCursor != null) {
+			mCursor.close();
+			mCursor = null;
 		}
 	}
 
@@ -0,0 +1,249 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.memorymapped.ByteBufferInputStream;
+import org.sirix.page.PagePersistenter;
+import org.sirix.page.interfaces.KeyValuePage;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Persistent cache of a transaction log, which appends the spilled
+ * {@link RecordPageContainer}s to a {@link MappedLogFile} and keeps the offsets
+ * of the current entries in a primitive {@link LongOffsetIndex} per index
+ * number. In contrast to the Berkeley DB based caches no environment, cache or
+ * cleaner threads are involved and pages are directly (de)serialized from and
+ * to the mapped memory.
+ *
+ * <p>
+ * An existing spill file (for instance of a crashed commit) is replayed, such
+ * that its entries can be read again.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K>
+ *          the key type
+ * @param <T>
+ *          the type of the record pages
+ */
+public abstract class AbstractMemoryMappedPersistenceCache<K, T extends KeyValuePage<?, ?>>
+		extends AbstractPersistenceCache<K, RecordPageContainer<T>> {
+
+	/** Name of the spill file. */
+	private static final String NAME = "spill.log";
+
+	/** The spill file. */
+	private final MappedLogFile mLog;
+
+	/** Offsets of the current entries per index number. */
+	private LongOffsetIndex[] mOffsets;
+
+	/** {@link PageReadTrx} to deserialize pages. */
+	private final PageReadTrx mPageReadTrx;
+
+	/** Reusable buffer to serialize pages. */
+	private final SerializationBuffer mBuffer;
+
+	/** Output stream writing to {@link #mBuffer}. */
+	private final DataOutputStream mSink;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *          the place where the spill file is stored
+	 * @param revision
+	 *          revision number
+	 * @param logType
+	 *          type of log to append to the path of the log
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @throws SirixIOException
+	 *           if the spill file can't be opened
+	 */
+	protected AbstractMemoryMappedPersistenceCache(final File file,
+			final @Nonnegative int revision, final String logType,
+			final PageReadTrx pageReadTrx) throws SirixIOException {
+		super(file, revision, logType);
+		mPageReadTrx = checkNotNull(pageReadTrx);
+		mOffsets = new LongOffsetIndex[1];
+		mBuffer = new SerializationBuffer();
+		mSink = new DataOutputStream(mBuffer);
+		mLog = new MappedLogFile(new File(mPlace, NAME));
+		mLog.replay((recordPageKey, index, offset) -> {
+			if (offset == LongOffsetIndex.NOT_FOUND) {
+				offsets(index).remove(recordPageKey);
+			} else {
+				offsets(index).put(recordPageKey, offset);
+			}
+		});
+	}
+
+	/**
+	 * Get the record page key of a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @return the record page key
+	 */
+	protected abstract long recordPageKey(K key);
+
+	/**
+	 * Get the index number of a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @return the index number
+	 */
+	protected abstract int index(K key);
+
+	@Override
+	public final void putPersistent(final K key, final RecordPageContainer<T> page)
+			throws SirixIOException {
+		checkNotNull(key);
+		checkNotNull(page);
+		mBuffer.reset();
+		try {
+			PagePersistenter.serializePage(mSink, page.getComplete());
+			PagePersistenter.serializePage(mSink, page.getModified());
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+		final long recordPageKey = recordPageKey(key);
+		final int index = index(key);
+		final long offset = mLog.append(recordPageKey, index, mBuffer.bytes(),
+				mBuffer.size());
+		offsets(index).put(recordPageKey, offset);
+	}
+
+	@Override
+	public final @Nullable RecordPageContainer<T> getPersistent(final K key)
+			throws SirixIOException {
+		final int index = index(checkNotNull(key));
+		if (index >= mOffsets.length || mOffsets[index] == null) {
+			return null;
+		}
+		final long offset = mOffsets[index].get(recordPageKey(key));
+		if (offset == LongOffsetIndex.NOT_FOUND) {
+			return null;
+		}
+		final DataInputStream source = new DataInputStream(
+				new ByteBufferInputStream(mLog.read(offset)));
+		try {
+			@SuppressWarnings("unchecked")
+			final T complete = (T) PagePersistenter.deserializePage(source,
+					mPageReadTrx);
+			@SuppressWarnings("unchecked")
+			final T modified = (T) PagePersistenter.deserializePage(source,
+					mPageReadTrx);
+			return new RecordPageContainer<T>(complete, modified);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
+	@Override
+	public final void clearPersistent() throws SirixIOException {
+		for (final LongOffsetIndex offsets : mOffsets) {
+			if (offsets != null) {
+				offsets.clear();
+			}
+		}
+		mLog.clear();
+	}
+
+	@Override
+	public final ImmutableMap<K, RecordPageContainer<T>> getAll(
+			final Iterable<? extends K> keys) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * As this is used to forcefully flush a log, the written entries are forced
+	 * to the storage device afterwards.
+	 * </p>
+	 */
+	@Override
+	public final void putAll(
+			final Map<? extends K, ? extends RecordPageContainer<T>> map) {
+		for (final Entry<? extends K, ? extends RecordPageContainer<T>> entry : map
+				.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+		mLog.force();
+	}
+
+	@Override
+	public final void toSecondCache() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public final void remove(final K key) {
+		final long recordPageKey = recordPageKey(checkNotNull(key));
+		final int index = index(key);
+		if (index >= mOffsets.length || mOffsets[index] == null
+				|| !mOffsets[index].remove(recordPageKey)) {
+			throw new IllegalStateException();
+		}
+		mLog.appendRemoval(recordPageKey, index);
+	}
+
+	@Override
+	public final void close() {
+		mLog.close();
+	}
+
+	/**
+	 * Get the offsets of an index number, which are created if needed.
+	 *
+	 * @param index
+	 *          the index number
+	 * @return the offsets
+	 */
+	private LongOffsetIndex offsets(final @Nonnegative int index) {
+		if (index >= mOffsets.length) {
+			mOffsets = Arrays.copyOf(mOffsets, index + 1);
+		}
+		LongOffsetIndex offsets = mOffsets[index];
+		if (offsets == null) {
+			offsets = new LongOffsetIndex();
+			mOffsets[index] = offsets;
+		}
+		return offsets;
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream}, which exposes its buffer without copying.
+	 */
+	private static final class SerializationBuffer extends ByteArrayOutputStream {
+		/**
+		 * Get the internal buffer, whereas only the first {@link #size()} bytes
+		 * are valid.
+		 *
+		 * @return the internal buffer
+		 */
+		byte[] bytes() {
+			return buf;
+		}
+	}
+}
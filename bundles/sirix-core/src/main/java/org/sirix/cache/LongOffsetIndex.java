@@ -0,0 +1,182 @@
+package org.sirix.cache;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Open addressing hash table, which maps primitive {@code long} keys to
+ * non-negative file offsets without boxing. Collisions are resolved by linear
+ * probing, removals shift the following entries back, such that no tombstones
+ * are needed. Not thread safe.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class LongOffsetIndex {
+
+	/** Offset denoting an empty slot or a missing key. */
+	static final long NOT_FOUND = -1;
+
+	/** Initial number of slots (must be a power of two). */
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	/** The keys. */
+	private long[] mKeys;
+
+	/** The offsets, {@link #NOT_FOUND} denotes an empty slot. */
+	private long[] mOffsets;
+
+	/** Number of mapped keys. */
+	private int mSize;
+
+	/** Constructor. */
+	LongOffsetIndex() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Get the offset of a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @return the offset, or {@link #NOT_FOUND} if the key isn't mapped
+	 */
+	long get(final long key) {
+		final int mask = mKeys.length - 1;
+		for (int slot = slot(key, mask);; slot = (slot + 1) & mask) {
+			final long offset = mOffsets[slot];
+			if (offset == NOT_FOUND || mKeys[slot] == key) {
+				return offset;
+			}
+		}
+	}
+
+	/**
+	 * Map a key to an offset, replacing a previous offset of the key.
+	 *
+	 * @param key
+	 *          the key
+	 * @param offset
+	 *          the offset
+	 */
+	void put(final long key, final @Nonnegative long offset) {
+		assert offset >= 0;
+		if ((mSize + 1) << 1 > mKeys.length) {
+			rehash(mKeys.length << 1);
+		}
+		final int mask = mKeys.length - 1;
+		int slot = slot(key, mask);
+		while (mOffsets[slot] != NOT_FOUND) {
+			if (mKeys[slot] == key) {
+				mOffsets[slot] = offset;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		mKeys[slot] = key;
+		mOffsets[slot] = offset;
+		mSize++;
+	}
+
+	/**
+	 * Remove a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @return {@code true} if the key has been mapped, {@code false} otherwise
+	 */
+	boolean remove(final long key) {
+		final int mask = mKeys.length - 1;
+		int slot = slot(key, mask);
+		while (mKeys[slot] != key || mOffsets[slot] == NOT_FOUND) {
+			if (mOffsets[slot] == NOT_FOUND) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		mSize--;
+
+		// Shift following entries of the probe sequence back into the gap.
+		int gap = slot;
+		for (int next = (gap + 1) & mask; mOffsets[next] != NOT_FOUND; next = (next + 1)
+				& mask) {
+			final int home = slot(mKeys[next], mask);
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				mKeys[gap] = mKeys[next];
+				mOffsets[gap] = mOffsets[next];
+				gap = next;
+			}
+		}
+		mOffsets[gap] = NOT_FOUND;
+		return true;
+	}
+
+	/**
+	 * Get the number of mapped keys.
+	 *
+	 * @return the number of mapped keys
+	 */
+	int size() {
+		return mSize;
+	}
+
+	/** Remove all keys and release the memory of a grown table. */
+	void clear() {
+		if (mKeys.length > INITIAL_CAPACITY) {
+			allocate(INITIAL_CAPACITY);
+		} else {
+			Arrays.fill(mOffsets, NOT_FOUND);
+		}
+		mSize = 0;
+	}
+
+	/**
+	 * Allocate empty tables.
+	 *
+	 * @param capacity
+	 *          the number of slots
+	 */
+	private void allocate(final int capacity) {
+		mKeys = new long[capacity];
+		mOffsets = new long[capacity];
+		Arrays.fill(mOffsets, NOT_FOUND);
+	}
+
+	/**
+	 * Grow the tables and reinsert all entries.
+	 *
+	 * @param capacity
+	 *          the new number of slots
+	 */
+	private void rehash(final int capacity) {
+		final long[] keys = mKeys;
+		final long[] offsets = mOffsets;
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int i = 0; i < keys.length; i++) {
+			if (offsets[i] != NOT_FOUND) {
+				int slot = slot(keys[i], mask);
+				while (mOffsets[slot] != NOT_FOUND) {
+					slot = (slot + 1) & mask;
+				}
+				mKeys[slot] = keys[i];
+				mOffsets[slot] = offsets[i];
+			}
+		}
+	}
+
+	/**
+	 * Get the home slot of a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @param mask
+	 *          the number of slots minus one
+	 * @return the home slot
+	 */
+	private static int slot(final long key, final int mask) {
+		final long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,370 @@
+package org.sirix.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixIOException;
+
+/**
+ * Append-only spill file of a transaction log, which is mapped into memory in
+ * fixed-size segments. Each entry consists of the length of its payload, the
+ * record page key, the index number and the payload itself. Overwritten and
+ * removed entries are never reclaimed until the file is cleared, but simply
+ * superseded by later entries, such that the current entries of an existing
+ * file can be restored by replaying it from the start.
+ *
+ * <p>
+ * Entries are appended by a single writer. Concurrent reads are allowed as long
+ * as no entry is appended concurrently.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class MappedLogFile {
+
+	/** Exponent of the segment size. */
+	private static final int SEGMENT_SIZE_EXPONENT = 26;
+
+	/** Size of a mapped segment (64 MB). */
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SIZE_EXPONENT;
+
+	/** Number of bytes of the header of each entry. */
+	private static final int HEADER_SIZE = 16;
+
+	/** Length denoting the end of the log. */
+	private static final int END = 0;
+
+	/** Length denoting the removal of a key. */
+	private static final int REMOVED = -1;
+
+	/**
+	 * Visitor of the entries of a log.
+	 */
+	interface EntryVisitor {
+		/**
+		 * Visit an entry.
+		 *
+		 * @param recordPageKey
+		 *          the record page key
+		 * @param index
+		 *          the index number
+		 * @param offset
+		 *          the offset of the entry, or {@link LongOffsetIndex#NOT_FOUND}
+		 *          if the key has been removed
+		 */
+		void visit(long recordPageKey, int index, long offset);
+	}
+
+	/** The mapped channel. */
+	private final FileChannel mChannel;
+
+	/** Reusable buffer for entry headers. */
+	private final ByteBuffer mHeader = ByteBuffer.allocate(HEADER_SIZE);
+
+	/** Mapped segments (copy on write). */
+	private volatile MappedByteBuffer[] mSegments;
+
+	/** Offset of the next entry. */
+	private long mEnd;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *          the spill file, which is created if it doesn't exist
+	 * @throws SirixIOException
+	 *           if the file can't be opened
+	 */
+	MappedLogFile(final File file) throws SirixIOException {
+		try {
+			mChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+		mSegments = new MappedByteBuffer[0];
+	}
+
+	/**
+	 * Replay the entries of the log from the start and position the log after
+	 * the last entry.
+	 *
+	 * @param visitor
+	 *          the visitor of the entries
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void replay(final EntryVisitor visitor) throws SirixIOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		long offset = 0;
+		try {
+			while (offset + HEADER_SIZE <= mChannel.size()) {
+				header.clear();
+				get(offset, header);
+				final int length = header.getInt(0);
+				if (length == END) {
+					break;
+				}
+				visitor.visit(header.getLong(4), header.getInt(12),
+						length == REMOVED ? LongOffsetIndex.NOT_FOUND : offset);
+				offset += HEADER_SIZE + Math.max(0, length);
+			}
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+		mEnd = offset;
+	}
+
+	/**
+	 * Append an entry.
+	 *
+	 * @param recordPageKey
+	 *          the record page key
+	 * @param index
+	 *          the index number
+	 * @param payload
+	 *          the payload
+	 * @param length
+	 *          the number of bytes of the payload
+	 * @return the offset of the entry
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	long append(final long recordPageKey, final @Nonnegative int index,
+			final byte[] payload, final @Nonnegative int length)
+			throws SirixIOException {
+		assert length > 0;
+		final long offset = mEnd;
+		putHeader(offset, length, recordPageKey, index);
+		put(offset + HEADER_SIZE, ByteBuffer.wrap(payload, 0, length));
+		mEnd = offset + HEADER_SIZE + length;
+		terminate();
+		return offset;
+	}
+
+	/**
+	 * Append the removal of a key.
+	 *
+	 * @param recordPageKey
+	 *          the record page key
+	 * @param index
+	 *          the index number
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void appendRemoval(final long recordPageKey, final @Nonnegative int index)
+			throws SirixIOException {
+		putHeader(mEnd, REMOVED, recordPageKey, index);
+		mEnd += HEADER_SIZE;
+		terminate();
+	}
+
+	/**
+	 * Get the payload of an entry. If the payload resides in a single mapped
+	 * segment, the returned buffer is a view of the mapped memory, otherwise it
+	 * is copied into a heap buffer.
+	 *
+	 * @param offset
+	 *          the offset of the entry
+	 * @return a buffer, which contains the payload between its position and its
+	 *         limit and which is exclusively owned by the caller
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	ByteBuffer read(final @Nonnegative long offset) throws SirixIOException {
+		final ByteBuffer header = ByteBuffer.allocate(4);
+		get(offset, header);
+		final int length = header.getInt(0);
+		final long start = offset + HEADER_SIZE;
+		final int segmentOffset = (int) (start & (SEGMENT_SIZE - 1));
+		if (segmentOffset + length <= SEGMENT_SIZE) {
+			final ByteBuffer payload = segment((int) (start >>> SEGMENT_SIZE_EXPONENT))
+					.duplicate();
+			payload.limit(segmentOffset + length);
+			payload.position(segmentOffset);
+			return payload.slice();
+		}
+		final ByteBuffer payload = ByteBuffer.allocate(length);
+		get(start, payload);
+		payload.flip();
+		return payload;
+	}
+
+	/**
+	 * Discard all entries. The mapped segments are kept and overwritten by
+	 * subsequent entries.
+	 *
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void clear() throws SirixIOException {
+		mEnd = 0;
+		terminate();
+	}
+
+	/**
+	 * Force the written entries to the storage device.
+	 */
+	void force() {
+		for (final MappedByteBuffer segment : mSegments) {
+			if (segment != null) {
+				segment.force();
+			}
+		}
+	}
+
+	/**
+	 * Close the file. Mapped segments are released once they are garbage
+	 * collected.
+	 *
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	synchronized void close() throws SirixIOException {
+		try {
+			mSegments = new MappedByteBuffer[0];
+			mChannel.close();
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
+	/**
+	 * Write the header of an entry.
+	 *
+	 * @param offset
+	 *          the offset of the entry
+	 * @param length
+	 *          the length of the payload or {@link #REMOVED}
+	 * @param recordPageKey
+	 *          the record page key
+	 * @param index
+	 *          the index number
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void putHeader(final long offset, final int length,
+			final long recordPageKey, final int index) throws SirixIOException {
+		mHeader.clear();
+		mHeader.putInt(length).putLong(recordPageKey).putInt(index).flip();
+		put(offset, mHeader);
+	}
+
+	/**
+	 * Mark the end of the log, such that stale entries of a cleared log are never
+	 * replayed.
+	 *
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void terminate() throws SirixIOException {
+		mHeader.clear();
+		mHeader.putInt(END).flip();
+		put(mEnd, mHeader);
+	}
+
+	/**
+	 * Write bytes, which might span several segments.
+	 *
+	 * @param position
+	 *          the absolute position
+	 * @param source
+	 *          the bytes between the position and the limit of the buffer
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void put(final long position, final ByteBuffer source)
+			throws SirixIOException {
+		long current = position;
+		while (source.hasRemaining()) {
+			final ByteBuffer segment = segment(
+					(int) (current >>> SEGMENT_SIZE_EXPONENT)).duplicate();
+			segment.position((int) (current & (SEGMENT_SIZE - 1)));
+			final int length = Math.min(source.remaining(), segment.remaining());
+			final ByteBuffer chunk = source.duplicate();
+			chunk.limit(chunk.position() + length);
+			segment.put(chunk);
+			source.position(source.position() + length);
+			current += length;
+		}
+	}
+
+	/**
+	 * Read bytes, which might span several segments.
+	 *
+	 * @param position
+	 *          the absolute position
+	 * @param target
+	 *          the buffer to fill up to its limit
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void get(final long position, final ByteBuffer target)
+			throws SirixIOException {
+		long current = position;
+		while (target.hasRemaining()) {
+			final ByteBuffer segment = segment(
+					(int) (current >>> SEGMENT_SIZE_EXPONENT)).duplicate();
+			segment.position((int) (current & (SEGMENT_SIZE - 1)));
+			final int length = Math.min(target.remaining(), segment.remaining());
+			segment.limit(segment.position() + length);
+			target.put(segment);
+			current += length;
+		}
+	}
+
+	/**
+	 * Get a mapped segment. Segments are mapped read-write with their full size,
+	 * which grows the file if needed.
+	 *
+	 * @param index
+	 *          the index of the segment
+	 * @return the mapped segment
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private MappedByteBuffer segment(final int index) throws SirixIOException {
+		final MappedByteBuffer[] segments = mSegments;
+		if (index < segments.length && segments[index] != null) {
+			return segments[index];
+		}
+		return map(index);
+	}
+
+	/**
+	 * Map a segment.
+	 *
+	 * @param index
+	 *          the index of the segment
+	 * @return the mapped segment
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private synchronized MappedByteBuffer map(final int index)
+			throws SirixIOException {
+		MappedByteBuffer[] segments = mSegments;
+		if (index < segments.length && segments[index] != null) {
+			// Mapped concurrently.
+			return segments[index];
+		}
+		try {
+			final MappedByteBuffer segment = mChannel.map(MapMode.READ_WRITE, index
+					* SEGMENT_SIZE, SEGMENT_SIZE);
+			segments = Arrays.copyOf(segments, Math.max(segments.length, index + 1));
+			segments[index] = segment;
+			mSegments = segments;
+			return segment;
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+}
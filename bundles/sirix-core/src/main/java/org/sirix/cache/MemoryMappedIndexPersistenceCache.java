@@ -0,0 +1,50 @@
+package org.sirix.cache;
+
+import java.io.File;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.interfaces.KeyValuePage;
+
+/**
+ * Memory mapped persistent cache of index record pages, which are keyed by
+ * {@link IndexLogKey}s.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class MemoryMappedIndexPersistenceCache<T extends KeyValuePage<?, ?>>
+		extends AbstractMemoryMappedPersistenceCache<IndexLogKey, T> {
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *          the place where the spill file is stored
+	 * @param revision
+	 *          revision number
+	 * @param logType
+	 *          type of log to append to the path of the log
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @throws SirixIOException
+	 *           if the spill file can't be opened
+	 */
+	public MemoryMappedIndexPersistenceCache(final File file,
+			final @Nonnegative int revision, final String logType,
+			final PageReadTrx pageReadTrx) throws SirixIOException {
+		super(file, revision, logType, pageReadTrx);
+	}
+
+	@Override
+	protected long recordPageKey(final IndexLogKey key) {
+		return key.getRecordPageKey();
+	}
+
+	@Override
+	protected int index(final IndexLogKey key) {
+		return key.getIndex();
+	}
+}
@@ -0,0 +1,50 @@
+package org.sirix.cache;
+
+import java.io.File;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.interfaces.KeyValuePage;
+
+/**
+ * Memory mapped persistent cache of record pages, which are keyed by their
+ * record page keys.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class MemoryMappedPersistenceCache<T extends KeyValuePage<?, ?>>
+		extends AbstractMemoryMappedPersistenceCache<Long, T> {
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *          the place where the spill file is stored
+	 * @param revision
+	 *          revision number
+	 * @param logType
+	 *          type of log to append to the path of the log
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @throws SirixIOException
+	 *           if the spill file can't be opened
+	 */
+	public MemoryMappedPersistenceCache(final File file,
+			final @Nonnegative int revision, final String logType,
+			final PageReadTrx pageReadTrx) throws SirixIOException {
+		super(file, revision, logType, pageReadTrx);
+	}
+
+	@Override
+	protected long recordPageKey(final Long key) {
+		return key;
+	}
+
+	@Override
+	protected int index(final Long key) {
+		return 0;
+	}
+}
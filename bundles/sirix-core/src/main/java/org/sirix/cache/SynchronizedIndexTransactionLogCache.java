@@ -58,7 +58,7 @@ public final class SynchronizedIndexTransactionLogCache<T extends KeyValuePage<?
 	private final LRUCache<IndexLogKey, RecordPageContainer<T>> mFirstCache;
 
 	/** Persistend second cache. */
-	private final BerkeleyIndexPersistenceCache<T> mSecondCache;
+	private final AbstractPersistenceCache<IndexLogKey, RecordPageContainer<T>> mSecondCache;
 
 	/** {@link ReadWriteLock} instance. */
 	private final ReadWriteLock mLock = new ReentrantReadWriteLock();
@@ -79,6 +79,8 @@ public final class SynchronizedIndexTransactionLogCache<T extends KeyValuePage<?
 	 *          revision number
 	 * @param logType
 	 *          type of log
+	 * @param logKind
+	 *          determines where pages are spilled to
 	 * @param pageReadTrx
 	 *          page reading transaction
 	 * @throws SirixIOException
@@ -86,9 +88,9 @@ public final class SynchronizedIndexTransactionLogCache<T extends KeyValuePage<?
 	 */
 	public SynchronizedIndexTransactionLogCache(final File file,
 			final @Nonnegative int revision, final String logType,
-			final PageReadTrx pageReadTrx) throws SirixIOException {
-		mSecondCache = new BerkeleyIndexPersistenceCache<>(file, revision, logType,
-				pageReadTrx);
+			final TransactionLogKind logKind, final PageReadTrx pageReadTrx)
+			throws SirixIOException {
+		mSecondCache = logKind.getIndexLog(file, revision, logType, pageReadTrx);
 		mFirstCache = new LRUCache<IndexLogKey, RecordPageContainer<T>>(
 				mSecondCache);
 	}
@@ -55,7 +55,7 @@ public final class TransactionIndexLogCache<T extends KeyValuePage<?, ?>>
 	private final LRUCache<IndexLogKey, RecordPageContainer<T>> mFirstCache;
 
 	/** Persistend second cache. */
-	private final BerkeleyIndexPersistenceCache<T> mSecondCache;
+	private final AbstractPersistenceCache<IndexLogKey, RecordPageContainer<T>> mSecondCache;
 
 	/**
 	 * Constructor including the {@link DatabaseConfiguration} for persistent
@@ -67,6 +67,8 @@ public final class TransactionIndexLogCache<T extends KeyValuePage<?, ?>>
 	 *          revision number
 	 * @param logType
 	 *          type of log
+	 * @param logKind
+	 *          determines where pages are spilled to
 	 * @param pageReadTrx
 	 *          page reading transaction
 	 * @throws SirixIOException
@@ -74,9 +76,9 @@ public final class TransactionIndexLogCache<T extends KeyValuePage<?, ?>>
 	 */
 	public TransactionIndexLogCache(final File file,
 			final @Nonnegative int revision, final String logType,
-			final PageReadTrx pageReadTrx) throws SirixIOException {
-		mSecondCache = new BerkeleyIndexPersistenceCache<>(file, revision, logType,
-				pageReadTrx);
+			final TransactionLogKind logKind, final PageReadTrx pageReadTrx)
+			throws SirixIOException {
+		mSecondCache = logKind.getIndexLog(file, revision, logType, pageReadTrx);
 		mFirstCache = new LRUCache<>(mSecondCache);
 	}
 
@@ -55,7 +55,7 @@ public final class TransactionLogCache<T extends KeyValuePage<?, ?>> implements
 	private final LRUCache<Long, RecordPageContainer<T>> mFirstCache;
 
 	/** Persistend second cache. */
-	private final BerkeleyPersistenceCache<T> mSecondCache;
+	private final AbstractPersistenceCache<Long, RecordPageContainer<T>> mSecondCache;
 
 	/**
 	 * Constructor including the {@link DatabaseConfiguration} for persistent
@@ -67,16 +67,18 @@ public final class TransactionLogCache<T extends KeyValuePage<?, ?>> implements
 	 *          revision number
 	 * @param logType
 	 *          type of log
+	 * @param logKind
+	 *          determines where pages are spilled to
 	 * @param pageReadTrx
 	 *          page reading transaction
 	 * @throws SirixIOException
 	 *           if a database error occurs
 	 */
 	public TransactionLogCache(final File file, final @Nonnegative int revision,
-			final String logType, final PageReadTrx pageReadTrx)
+			final String logType, final TransactionLogKind logKind,
+			final PageReadTrx pageReadTrx)
 			throws SirixIOException {
-		mSecondCache = new BerkeleyPersistenceCache<>(file, revision, logType,
-				pageReadTrx);
+		mSecondCache = logKind.getRecordLog(file, revision, logType, pageReadTrx);
 		mFirstCache = new LRUCache<>(mSecondCache);
 	}
 
@@ -0,0 +1,97 @@
+package org.sirix.cache;
+
+import java.io.File;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.interfaces.KeyValuePage;
+
+/**
+ * Determines where the record pages of the transaction logs are spilled to,
+ * once they don't fit into the in-memory caches anymore.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public enum TransactionLogKind {
+	/** Berkeley DB backend. */
+	BERKELEY_DB {
+		@Override
+		public <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<Long, RecordPageContainer<T>> getRecordLog(
+				final File file, final @Nonnegative int revision, final String logType,
+				final PageReadTrx pageReadTrx) throws SirixIOException {
+			return new BerkeleyPersistenceCache<>(file, revision, logType,
+					pageReadTrx);
+		}
+
+		@Override
+		public <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<IndexLogKey, RecordPageContainer<T>> getIndexLog(
+				final File file, final @Nonnegative int revision, final String logType,
+				final PageReadTrx pageReadTrx) throws SirixIOException {
+			return new BerkeleyIndexPersistenceCache<>(file, revision, logType,
+					pageReadTrx);
+		}
+	},
+
+	/**
+	 * Append-only memory mapped spill file with a primitive offset index, which
+	 * avoids Berkeley DB in the write path of large transactions.
+	 */
+	MEMORY_MAPPED {
+		@Override
+		public <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<Long, RecordPageContainer<T>> getRecordLog(
+				final File file, final @Nonnegative int revision, final String logType,
+				final PageReadTrx pageReadTrx) throws SirixIOException {
+			return new MemoryMappedPersistenceCache<>(file, revision, logType,
+					pageReadTrx);
+		}
+
+		@Override
+		public <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<IndexLogKey, RecordPageContainer<T>> getIndexLog(
+				final File file, final @Nonnegative int revision, final String logType,
+				final PageReadTrx pageReadTrx) throws SirixIOException {
+			return new MemoryMappedIndexPersistenceCache<>(file, revision, logType,
+					pageReadTrx);
+		}
+	};
+
+	/**
+	 * Get the persistent cache of a record page log.
+	 *
+	 * @param file
+	 *          the place where the log is stored
+	 * @param revision
+	 *          revision number
+	 * @param logType
+	 *          type of log to append to the path of the log
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @return the persistent cache
+	 * @throws SirixIOException
+	 *           if the cache can't be created
+	 */
+	public abstract <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<Long, RecordPageContainer<T>> getRecordLog(
+			final File file, final @Nonnegative int revision, final String logType,
+			final PageReadTrx pageReadTrx) throws SirixIOException;
+
+	/**
+	 * Get the persistent cache of an index record page log.
+	 *
+	 * @param file
+	 *          the place where the log is stored
+	 * @param revision
+	 *          revision number
+	 * @param logType
+	 *          type of log to append to the path of the log
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @return the persistent cache
+	 * @throws SirixIOException
+	 *           if the cache can't be created
+	 */
+	public abstract <T extends KeyValuePage<?, ?>> AbstractPersistenceCache<IndexLogKey, RecordPageContainer<T>> getIndexLog(
+			final File file, final @Nonnegative int revision, final String logType,
+			final PageReadTrx pageReadTrx) throws SirixIOException;
+}
@@ -29,13 +29,19 @@ package org.sirix.diff;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.xml.namespace.QName;
 
 import org.sirix.access.HashKind;
+import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.api.Axis;
 import org.sirix.api.NodeReadTrx;
+import org.sirix.api.PageReadTrx;
+import org.sirix.api.TemporalCursor;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
 import org.sirix.diff.DiffFactory.Builder;
@@ -43,10 +49,24 @@ import org.sirix.diff.DiffFactory.DiffOptimized;
 import org.sirix.diff.DiffFactory.DiffType;
 import org.sirix.exception.SirixException;
 import org.sirix.node.Kind;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.settings.Constants;
 
 /**
  * Abstract diff class which implements common functionality.
  * 
+ * <p>
+ * Both revisions are read through one {@link TemporalCursor}, such that the
+ * indirect pages and the record pages, which have been written in neither
+ * revision, are read and reconstructed only once. Furthermore nodes stored in
+ * such a record page are known to be unchanged without comparing them. If the
+ * resource maintains hashes, any change in a subtree modifies the hashes of
+ * all ancestors, thus the whole subtree of such a node is unchanged and
+ * skipped, such that the pages, which only store nodes of the subtree, aren't
+ * read at all.
+ * </p>
+ * 
  * @author Johannes Lichtenberger, University of Konstanz
  * 
  */
@@ -121,6 +141,22 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 	/** {@link NodeReadTrx} on old revision. */
 	private final NodeReadTrx mOldRtx;
 
+	/** {@link TemporalCursor} which shares the unchanged pages of both revisions. */
+	private final TemporalCursor mCursor;
+
+	/**
+	 * Determines for the record page keys already looked up, if the record page
+	 * is the same in both revisions.
+	 */
+	private final Map<Long, Boolean> mSamePages;
+
+	/**
+	 * Determines if the subtree of a node, which is stored in the same record
+	 * page in both revisions, is unchanged, too (that is if the ancestors of
+	 * modified nodes are modified as well due to their hashes).
+	 */
+	private final boolean mSkipSubtrees;
+
 	/**
 	 * Constructor.
 	 * 
@@ -131,11 +167,13 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 	 */
 	AbstractDiff(final Builder pBuilder) throws SirixException {
 		mDiffKind = checkNotNull(pBuilder).mKind;
-		synchronized (pBuilder.mSession) {
-			mNewRtx = pBuilder.mSession.beginNodeReadTrx(pBuilder.mNewRev);
-			mOldRtx = pBuilder.mSession.beginNodeReadTrx(pBuilder.mOldRev);
-			mHashKind = pBuilder.mHashKind;
-		}
+		mCursor = pBuilder.mSession.openTemporalCursor();
+		mNewRtx = mCursor.moveTo(pBuilder.mNewRev);
+		mOldRtx = mCursor.moveTo(pBuilder.mOldRev);
+		mHashKind = pBuilder.mHashKind;
+		mSamePages = new HashMap<>();
+		mSkipSubtrees = pBuilder.mSession.getResourceConfig().mHashKind
+				!= HashKind.NONE;
 		mNewRtxMoved = mNewRtx.moveTo(pBuilder.mNewStartKey).hasMoved();
 		mOldRtxMoved = mOldRtx.moveTo(pBuilder.mOldStartKey).hasMoved();
 		if (mNewRtx.getKind() == Kind.DOCUMENT) {
@@ -177,7 +215,7 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 			if (!mIsGUI || mDepth.getNewDepth() == 0) {
 				fireInserts();
 			}
-			done();
+			diffDone();
 			return;
 		}
 		if (!mOldRtxMoved) {
@@ -185,7 +223,7 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 			if (!mIsGUI || mDepth.getOldDepth() == 0) {
 				fireDeletes();
 			}
-			done();
+			diffDone();
 			return;
 		}
 
@@ -228,7 +266,7 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 					emitNonStructuralDiff(mNewRtx, mOldRtx, depth, mDiff);
 				}
 				boolean moved = true;
-				if (mDiffKind == DiffOptimized.HASHED && mDiff == DiffType.SAMEHASH) {
+				if (mDiff == DiffType.SAMEHASH) {
 					moved = moveToFollowingNode(mOldRtx, Revision.OLD);
 					if (moved) {
 						mDiff = DiffType.DELETED;
@@ -263,6 +301,7 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 	private void diffDone() throws SirixException {
 		mNewRtx.close();
 		mOldRtx.close();
+		mCursor.close();
 		done();
 	}
 
@@ -348,8 +387,7 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 	private boolean moveToNext(final NodeReadTrx rtx, final Revision revision) {
 		boolean moved = false;
 		if (rtx.hasFirstChild()) {
-			if (rtx.getKind() != Kind.DOCUMENT && mDiffKind == DiffOptimized.HASHED
-					&& mDiff == DiffType.SAMEHASH) {
+			if (rtx.getKind() != Kind.DOCUMENT && mDiff == DiffType.SAMEHASH) {
 				moved = rtx.moveToRightSibling().hasMoved();
 
 				if (!moved) {
@@ -443,7 +481,12 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 		case DOCUMENT:
 		case TEXT:
 		case ELEMENT:
-			if (checkNodes(newRtx, oldRtx)) {
+			final boolean inSamePage = isInSamePage(newRtx, oldRtx);
+			if (inSamePage || checkNodes(newRtx, oldRtx)) {
+				if (inSamePage && mSkipSubtrees) {
+					// The subtree is skipped as with equal hashes.
+					diff = DiffType.SAMEHASH;
+				}
 				final DiffDepth diffDepth = new DiffDepth(depth.getNewDepth(),
 						depth.getOldDepth());
 				fireDiff(diff, newRtx.getNodeKey(), oldRtx.getNodeKey(), diffDepth);
@@ -459,6 +502,71 @@ abstract class AbstractDiff extends AbstractDiffObservable {
 		return diff;
 	}
 
+	/**
+	 * Determines if both transactions are located at the same node, which is
+	 * stored in a record page, which has been written in neither revision (that
+	 * is the references of both indirect trees point to the same page). The node
+	 * therefore is unchanged.
+	 * 
+	 * @param newRtx
+	 *          {@link NodeReadTrx} on new revision
+	 * @param oldRtx
+	 *          {@link NodeReadTrx} on old revision
+	 * @return {@code true}, if the node is stored in the same record page in both
+	 *         revisions, {@code false} otherwise
+	 */
+	boolean isInSamePage(final NodeReadTrx newRtx, final NodeReadTrx oldRtx) {
+		final long nodeKey = newRtx.getNodeKey();
+		if (nodeKey != oldRtx.getNodeKey()) {
+			return false;
+		}
+		final PageReadTrx newPageTrx = newRtx.getPageTrx();
+		final PageReadTrx oldPageTrx = oldRtx.getPageTrx();
+		return mSamePages.computeIfAbsent(newPageTrx.pageKey(nodeKey),
+				recordPageKey -> {
+					final PageReference newReference = getRecordPageReference(
+							newPageTrx, recordPageKey);
+					final PageReference oldReference = getRecordPageReference(
+							oldPageTrx, recordPageKey);
+					return newReference != null
+							&& oldReference != null
+							&& newReference.getKey() != Constants.NULL_ID
+							&& newReference.getKey() == oldReference.getKey()
+							&& getFragmentCount(newPageTrx) == getFragmentCount(oldPageTrx);
+				});
+	}
+
+	/**
+	 * Get the reference of the indirect tree pointing to a record page.
+	 * 
+	 * @param pageTrx
+	 *          the {@link PageReadTrx} bound to the revision
+	 * @param recordPageKey
+	 *          the record page key
+	 * @return the reference or {@code null}, if the page doesn't exist
+	 */
+	private static PageReference getRecordPageReference(
+			final PageReadTrx pageTrx, final @Nonnegative long recordPageKey) {
+		return pageTrx.getPageReferenceForPage(pageTrx.getActualRevisionRootPage()
+				.getIndirectPageReference(), recordPageKey, -1, PageKind.RECORDPAGE);
+	}
+
+	/**
+	 * Get the number of page fragments, which are read to reconstruct a record
+	 * page in the revision.
+	 * 
+	 * @param pageTrx
+	 *          the {@link PageReadTrx} bound to the revision
+	 * @return the number of fragments
+	 */
+	private static int getFragmentCount(final PageReadTrx pageTrx) {
+		final ResourceConfiguration config = pageTrx.getSession()
+				.getResourceConfig();
+		return config.mRevisionKind.getRevisionRoots(pageTrx
+				.getActualRevisionRootPage().getRevision(),
+				config.mRevisionsToRestore).length;
+	}
+
 	/**
 	 * Optimized diff, which skips unnecessary comparsions.
 	 * 
@@ -314,25 +314,27 @@ public final class DiffFactory {
 	}
 
 	/**
-	 * Do a full diff.
+	 * Do a full diff. Diffs don't share any state, thus several diffs might run
+	 * concurrently.
 	 * 
 	 * @param builder
 	 *          {@link Builder} reference
 	 * @throws SirixException
 	 */
-	public static synchronized void invokeFullDiff(final Builder builder)
+	public static void invokeFullDiff(final Builder builder)
 			throws SirixException {
 		DiffAlgorithm.FULL.invoke(builder);
 	}
 
 	/**
-	 * Do a structural diff.
+	 * Do a structural diff. Diffs don't share any state, thus several diffs
+	 * might run concurrently.
 	 * 
 	 * @param builder
 	 *          {@link Builder} reference
 	 * @throws SirixException
 	 */
-	public static synchronized void invokeStructuralDiff(final Builder builder)
+	public static void invokeStructuralDiff(final Builder builder)
 			throws SirixException {
 		DiffAlgorithm.STRUCTURAL.invoke(builder);
 	}
@@ -0,0 +1,22 @@
+package org.sirix.index;
+
+import org.sirix.api.visitor.Visitor;
+import org.sirix.exception.SirixIOException;
+
+/**
+ * A {@link Visitor}, which builds an index while the stored nodes are
+ * traversed.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public interface IndexBuildVisitor extends Visitor {
+
+	/**
+	 * Store the index, once all nodes have been visited.
+	 *
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void finish() throws SirixIOException;
+}
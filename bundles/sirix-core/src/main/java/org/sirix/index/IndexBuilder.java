@@ -3,9 +3,9 @@ package org.sirix.index;
 import java.util.Set;
 
 import org.sirix.api.NodeReadTrx;
-import org.sirix.api.visitor.Visitor;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.NonStructuralWrapperAxis;
+import org.sirix.exception.SirixIOException;
 
 /**
  * Build an index by traversing the current revision.
@@ -16,24 +16,32 @@ import org.sirix.axis.NonStructuralWrapperAxis;
 public final class IndexBuilder {
 
 	/**
-	 * Build the index.
+	 * Build the index. The builders collect the indexed keys during the
+	 * traversal and store them sorted afterwards.
 	 * 
 	 * @param rtx
 	 *          the current {@link NodeReadTrx}
 	 * @param builders
 	 *          the index builders
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
 	 */
-	public static void build(final NodeReadTrx rtx, final Set<Visitor> builders) {
+	public static void build(final NodeReadTrx rtx,
+			final Set<? extends IndexBuildVisitor> builders) {
 		final long nodeKey = rtx.getNodeKey();
 		rtx.moveToDocumentRoot();
 
 		for (@SuppressWarnings("unused")
 		final long key : new NonStructuralWrapperAxis(new DescendantAxis(rtx))) {
-			for (final Visitor builder : builders) {
+			for (final IndexBuildVisitor builder : builders) {
 				rtx.acceptVisitor(builder);
 			}
 		}
 		rtx.moveTo(nodeKey);
+
+		for (final IndexBuildVisitor builder : builders) {
+			builder.finish();
+		}
 	}
 
 }
@@ -38,10 +38,15 @@ public final class IndexDef implements Materializable {
 
 	private static final QNm ID_ATTRIBUTE = new QNm("id");
 
+	private static final QNm STRUCTURE_ATTRIBUTE = new QNm("structure");
+
 	public static final QNm INDEX_TAG = new QNm("index");
 
 	private IndexType mType;
 
+	// tree structure which stores the index
+	private IndexStructure mStructure = IndexStructure.AVLTREE;
+
 	// unique flag (for CAS indexes)
 	private boolean mUnique = false;
 
@@ -99,6 +104,7 @@ public final class IndexDef implements Materializable {
 		tmp.openElement(INDEX_TAG);
 		tmp.attribute(TYPE_ATTRIBUTE, new Una(mType.toString()));
 		tmp.attribute(ID_ATTRIBUTE, new Una(Integer.toString(mID)));
+		tmp.attribute(STRUCTURE_ATTRIBUTE, new Una(mStructure.toString()));
 
 		if (mContentType != null) {
 			tmp.attribute(CONTENT_TYPE_ATTRIBUTE, new Una(mContentType.toString()));
@@ -171,6 +177,12 @@ public final class IndexDef implements Materializable {
 			mType = (IndexType.valueOf(attribute.getValue().stringValue()));
 		}
 
+		attribute = root.getAttribute(STRUCTURE_ATTRIBUTE);
+		if (attribute != null) {
+			mStructure = (IndexStructure.valueOf(attribute.getValue()
+					.stringValue()));
+		}
+
 		attribute = root.getAttribute(CONTENT_TYPE_ATTRIBUTE);
 		if (attribute != null) {
 			mContentType = (resolveType(attribute.getValue().stringValue()));
@@ -254,6 +266,22 @@ public final class IndexDef implements Materializable {
 		return mType;
 	}
 
+	public IndexStructure getStructure() {
+		return mStructure;
+	}
+
+	/**
+	 * Set the tree structure which stores the index (before it is built).
+	 * 
+	 * @param structure
+	 *          the tree structure
+	 * @return this index definition
+	 */
+	public IndexDef setStructure(final IndexStructure structure) {
+		mStructure = checkNotNull(structure);
+		return this;
+	}
+
 	public Set<Path<QNm>> getPaths() {
 		return Collections.unmodifiableSet(mPaths);
 	}
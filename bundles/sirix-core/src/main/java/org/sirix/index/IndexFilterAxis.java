@@ -3,9 +3,9 @@ package org.sirix.index;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Set;
 
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 
 import com.google.common.collect.AbstractIterator;
@@ -13,10 +13,10 @@ import com.google.common.collect.AbstractIterator;
 public final class IndexFilterAxis<K extends Comparable<? super K>> extends
 		AbstractIterator<NodeReferences> {
 
-	private final Iterator<AVLNode<K, NodeReferences>> mIter;
+	private final Iterator<Entry<K, NodeReferences>> mIter;
 	private final Set<? extends Filter> mFilter;
 
-	public IndexFilterAxis(final Iterator<AVLNode<K, NodeReferences>> iter,
+	public IndexFilterAxis(final Iterator<Entry<K, NodeReferences>> iter,
 			final Set<? extends Filter> filter) {
 		mIter = checkNotNull(iter);
 		mFilter = checkNotNull(filter);
@@ -25,16 +25,16 @@ public final class IndexFilterAxis<K extends Comparable<? super K>> extends
 	@Override
 	protected NodeReferences computeNext() {
 		while (mIter.hasNext()) {
-			final AVLNode<K, NodeReferences> node = mIter.next();
+			final Entry<K, NodeReferences> entry = mIter.next();
 			boolean filterResult = true;
 			for (final Filter filter : mFilter) {
-				filterResult = filterResult && filter.filter(node);
+				filterResult = filterResult && filter.filter(entry.getKey());
 				if (!filterResult) {
 					break;
 				}
 			}
 			if (filterResult) {
-				return node.getValue();
+				return entry.getValue();
 			}
 		}
 		return endOfData();
@@ -0,0 +1,72 @@
+package org.sirix.index;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+
+/**
+ * Collects the (key, node key) pairs of an index, which is built from the
+ * stored nodes. Instead of searching and modifying the index tree for each
+ * node, the pairs are sorted once and loaded into the tree at once.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K>
+ *          the key
+ */
+public final class IndexLoader<K extends Comparable<? super K>> {
+
+	/** The collected pairs. */
+	private final List<Entry<K, Long>> mEntries = new ArrayList<>();
+
+	/**
+	 * Add a pair.
+	 *
+	 * @param key
+	 *          the key
+	 * @param nodeKey
+	 *          the key of the indexed node
+	 */
+	public void add(final K key, final @Nonnegative long nodeKey) {
+		checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+		mEntries.add(new SimpleImmutableEntry<>(checkNotNull(key), nodeKey));
+	}
+
+	/**
+	 * Sort the collected pairs and load them into the index tree. Afterwards no
+	 * pairs are collected anymore.
+	 *
+	 * @param writer
+	 *          the writer of the index tree
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	public void load(final IndexTreeWriter<K, NodeReferences> writer)
+			throws SirixIOException {
+		checkNotNull(writer);
+		// The sort is stable, thus the node keys of a key stay in document order.
+		mEntries.sort(Entry.comparingByKey());
+		final List<Entry<K, NodeReferences>> entries = new ArrayList<>();
+		for (final Entry<K, Long> entry : mEntries) {
+			if (entries.isEmpty()
+					|| entries.get(entries.size() - 1).getKey()
+							.compareTo(entry.getKey()) != 0) {
+				entries.add(new SimpleImmutableEntry<>(entry.getKey(),
+						new NodeReferences()));
+			}
+			entries.get(entries.size() - 1).getValue()
+					.addNodeKey(entry.getValue());
+		}
+		mEntries.clear();
+		writer.load(entries);
+	}
+}
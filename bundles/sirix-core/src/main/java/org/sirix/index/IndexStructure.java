@@ -0,0 +1,84 @@
+package org.sirix.index;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.api.PageWriteTrx;
+import org.sirix.index.avltree.AVLTreeReader;
+import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.index.bplustree.BPlusTreeReader;
+import org.sirix.index.bplustree.BPlusTreeWriter;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.UnorderedKeyValuePage;
+
+/**
+ * The tree structure which stores an index.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public enum IndexStructure {
+	/** Balanced binary search tree, each key is stored in its own record. */
+	AVLTREE {
+		@Override
+		public <K extends Comparable<? super K>, V extends References> IndexTreeReader<K, V> getReader(
+				final PageReadTrx pageReadTrx, final IndexType type,
+				final @Nonnegative int index) {
+			return AVLTreeReader.getInstance(pageReadTrx, type, index);
+		}
+
+		@Override
+		public <K extends Comparable<? super K>, V extends References> IndexTreeWriter<K, V> getWriter(
+				final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+				final IndexType type, final @Nonnegative int index) {
+			return AVLTreeWriter.getInstance(pageWriteTrx, type, index);
+		}
+	},
+
+	/** B+-tree, many keys are stored in one record with linked leaves. */
+	BPLUSTREE {
+		@Override
+		public <K extends Comparable<? super K>, V extends References> IndexTreeReader<K, V> getReader(
+				final PageReadTrx pageReadTrx, final IndexType type,
+				final @Nonnegative int index) {
+			return BPlusTreeReader.getInstance(pageReadTrx, type, index);
+		}
+
+		@Override
+		public <K extends Comparable<? super K>, V extends References> IndexTreeWriter<K, V> getWriter(
+				final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+				final IndexType type, final @Nonnegative int index) {
+			return BPlusTreeWriter.getInstance(pageWriteTrx, type, index);
+		}
+	};
+
+	/**
+	 * Get a reader for the index.
+	 * 
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} for persistent storage
+	 * @param type
+	 *          type of index
+	 * @param index
+	 *          the index number
+	 * @return new reader instance
+	 */
+	public abstract <K extends Comparable<? super K>, V extends References> IndexTreeReader<K, V> getReader(
+			PageReadTrx pageReadTrx, IndexType type, @Nonnegative int index);
+
+	/**
+	 * Get a writer for the index, which creates the index if it doesn't exist.
+	 * 
+	 * @param pageWriteTrx
+	 *          {@link PageWriteTrx} for persistent storage
+	 * @param type
+	 *          type of index
+	 * @param index
+	 *          the index number
+	 * @return new writer instance
+	 */
+	public abstract <K extends Comparable<? super K>, V extends References> IndexTreeWriter<K, V> getWriter(
+			PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+			IndexType type, @Nonnegative int index);
+}
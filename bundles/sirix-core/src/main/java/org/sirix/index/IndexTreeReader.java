@@ -0,0 +1,56 @@
+package org.sirix.index;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.sirix.index.avltree.interfaces.References;
+
+/**
+ * Read access to the tree structure storing an index.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ * @param <K>
+ *          the key
+ * @param <V>
+ *          the value
+ */
+public interface IndexTreeReader<K extends Comparable<? super K>, V extends References> {
+
+	/**
+	 * Finds the specified key in the index and returns its value.
+	 * 
+	 * @param key
+	 *          key to be found
+	 * @param mode
+	 *          the search mode
+	 * @return {@link Optional} reference (with the found value, or a reference
+	 *         which indicates that the value hasn't been found)
+	 */
+	Optional<V> get(K key, SearchMode mode);
+
+	/**
+	 * Finds the specified keys in the index and returns their values.
+	 * 
+	 * @param keys
+	 *          keys to be found
+	 * @return iterator over the values of all keys which have been found
+	 */
+	Iterator<V> getAll(Iterable<K> keys);
+
+	/**
+	 * Iterate over a range of keys in ascending key order.
+	 * 
+	 * @param belowLow
+	 *          determines if a key is less than the lower bound (must be
+	 *          monotone regarding the key order)
+	 * @param aboveHigh
+	 *          determines if a key is greater than the upper bound (must be
+	 *          monotone regarding the key order)
+	 * @return iterator over the key/value pairs in the range
+	 */
+	Iterator<Entry<K, V>> range(Predicate<? super K> belowLow,
+			Predicate<? super K> aboveHigh);
+}
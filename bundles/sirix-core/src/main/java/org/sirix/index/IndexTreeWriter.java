@@ -0,0 +1,78 @@
+package org.sirix.index;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.interfaces.References;
+
+/**
+ * Write access to the tree structure storing an index.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ * @param <K>
+ *          the key
+ * @param <V>
+ *          the value
+ */
+public interface IndexTreeWriter<K extends Comparable<? super K>, V extends References> {
+
+	/**
+	 * Finds the specified key in the index and returns its value.
+	 * 
+	 * @param key
+	 *          key to be found
+	 * @param mode
+	 *          the search mode
+	 * @return {@link Optional} reference (with the found value, or a reference
+	 *         which indicates that the value hasn't been found)
+	 */
+	Optional<V> get(K key, SearchMode mode);
+
+	/**
+	 * Index a key/value pair, that is either insert it or replace the value of
+	 * the key.
+	 * 
+	 * @param key
+	 *          token to be indexed
+	 * @param value
+	 *          node key references
+	 * @param move
+	 *          determines if the cursor must be moved to the document root or
+	 *          not
+	 * @return indexed node key references
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	V index(K key, V value, MoveCursor move) throws SirixIOException;
+
+	/**
+	 * Index key/value pairs at once. If a key is already indexed, the node keys
+	 * are added to its value.
+	 * 
+	 * @param entries
+	 *          the key/value pairs sorted by their keys without duplicates
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void load(List<Entry<K, V>> entries) throws SirixIOException;
+
+	/**
+	 * Remove a node key from the value of a key.
+	 * 
+	 * @param key
+	 *          the key for which to search the value
+	 * @param nodeKey
+	 *          the nodeKey to remove from the value
+	 * @return {@code true}, if the node key has been removed, {@code false}
+	 *         otherwise
+	 * @throws SirixIOException
+	 *           if an I/O error occured
+	 */
+	boolean remove(K key, @Nonnegative long nodeKey) throws SirixIOException;
+}
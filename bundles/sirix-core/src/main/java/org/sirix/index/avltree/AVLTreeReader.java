@@ -6,7 +6,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.PrintStream;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnegative;
 
@@ -17,6 +20,7 @@ import org.sirix.api.PageReadTrx;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.api.visitor.Visitor;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeReader;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.interfaces.References;
@@ -33,6 +37,8 @@ import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
 
 /**
  * Simple AVLTreeReader (balanced binary search-tree -- based on BaseX(.org)
@@ -46,7 +52,7 @@ import com.google.common.collect.AbstractIterator;
  *          the value
  */
 public final class AVLTreeReader<K extends Comparable<? super K>, V extends References>
-		implements NodeCursor {
+		implements NodeCursor, IndexTreeReader<K, V> {
 
 	/** {@link LogWrapper} reference. */
 	private static final LogWrapper LOGWRAPPER = new LogWrapper(
@@ -190,6 +196,7 @@ public final class AVLTreeReader<K extends Comparable<? super K>, V extends Refe
 	 * @return {@link Optional} reference (with the found value, or a reference
 	 *         which indicates that the value hasn't been found)
 	 */
+	@Override
 	public Optional<V> get(final K key, final SearchMode mode) {
 		moveToDocumentRoot();
 		if (!((DocumentRootNode) getNode()).hasFirstChild()) {
@@ -213,6 +220,135 @@ public final class AVLTreeReader<K extends Comparable<? super K>, V extends Refe
 		return Optional.empty();
 	}
 
+	/**
+	 * Finds the specified keys in the index and returns their values. Each key
+	 * is located by a point search, that is in logarithmic time.
+	 * 
+	 * @param keys
+	 *          keys to be found
+	 * @return iterator over the values of all keys which have been found
+	 */
+	@Override
+	public Iterator<V> getAll(final Iterable<K> keys) {
+		final Iterator<K> iter = keys.iterator();
+		return new AbstractIterator<V>() {
+			@Override
+			protected V computeNext() {
+				while (iter.hasNext()) {
+					final Optional<V> value = get(iter.next(), SearchMode.EQUAL);
+					if (value.isPresent()) {
+						return value.get();
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> range(final Predicate<? super K> belowLow,
+			final Predicate<? super K> aboveHigh) {
+		return Iterators.transform(new AVLNodeRangeIterator(belowLow, aboveHigh),
+				node -> Maps.immutableEntry(node.getKey(), node.getValue()));
+	}
+
+	/**
+	 * In-order iterator over a range of keys. It seeks to the first key which
+	 * isn't below the lower bound and stops as soon as all remaining keys are
+	 * above the upper bound, such that subtrees outside the range are never
+	 * visited.
+	 * 
+	 * @author Johannes Lichtenberger
+	 * 
+	 */
+	public final class AVLNodeRangeIterator extends
+			AbstractIterator<AVLNode<K, V>> {
+
+		/** Determines if a key is less than the lower bound. */
+		private final Predicate<? super K> mBelowLow;
+
+		/** Determines if a key is greater than the upper bound. */
+		private final Predicate<? super K> mAboveHigh;
+
+		/** Nodes which still have to be emitted (including their right subtree). */
+		private final Deque<AVLNode<K, V>> mNodes;
+
+		/** Determines if it's the first call. */
+		private boolean mFirst;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param belowLow
+		 *          determines if a key is less than the lower bound (must be
+		 *          monotone regarding the key order)
+		 * @param aboveHigh
+		 *          determines if a key is greater than the upper bound (must be
+		 *          monotone regarding the key order)
+		 */
+		public AVLNodeRangeIterator(final Predicate<? super K> belowLow,
+				final Predicate<? super K> aboveHigh) {
+			mBelowLow = checkNotNull(belowLow);
+			mAboveHigh = checkNotNull(aboveHigh);
+			mNodes = new ArrayDeque<>();
+			mFirst = true;
+		}
+
+		/**
+		 * Constructor for a search according to a {@link SearchMode}, as used by
+		 * {@link AVLTreeReader#get(Comparable, SearchMode)}.
+		 * 
+		 * @param key
+		 *          the search key
+		 * @param mode
+		 *          the search mode
+		 */
+		public AVLNodeRangeIterator(final K key, final SearchMode mode) {
+			this(nodeKey -> mode.compare(key, nodeKey) > 0,
+					nodeKey -> mode.compare(key, nodeKey) < 0);
+		}
+
+		@Override
+		protected AVLNode<K, V> computeNext() {
+			if (mFirst) {
+				// Seek to the lower bound.
+				mFirst = false;
+				moveToDocumentRoot();
+				if (!((DocumentRootNode) getNode()).hasFirstChild()) {
+					return endOfData();
+				}
+				moveToFirstChild();
+				descend(getAVLNode());
+			}
+
+			if (mNodes.isEmpty()) {
+				return endOfData();
+			}
+
+			final AVLNode<K, V> node = mNodes.pop();
+			if (node.hasRightChild()) {
+				descend(moveTo(node.getRightChildKey()).get().getAVLNode());
+			}
+			return node;
+		}
+
+		private void descend(AVLNode<K, V> node) {
+			while (node != null) {
+				final K key = node.getKey();
+				if (mBelowLow.test(key)) {
+					node = node.hasRightChild() ? moveTo(node.getRightChildKey()).get()
+							.getAVLNode() : null;
+				} else {
+					if (!mAboveHigh.test(key)) {
+						mNodes.push(node);
+					}
+					node = node.hasLeftChild() ? moveTo(node.getLeftChildKey()).get()
+							.getAVLNode() : null;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Iterator supporting different search modes.
 	 * 
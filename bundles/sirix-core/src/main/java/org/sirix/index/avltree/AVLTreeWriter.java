@@ -3,6 +3,8 @@ package org.sirix.index.avltree;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.Optional;
 
 import javax.annotation.Nonnegative;
@@ -13,6 +15,7 @@ import org.sirix.api.NodeCursor;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.cache.IndirectPageLogKey;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
@@ -44,7 +47,7 @@ import org.slf4j.LoggerFactory;
  *          the value
  */
 public final class AVLTreeWriter<K extends Comparable<? super K>, V extends References>
-		extends AbstractForwardingNodeCursor {
+		extends AbstractForwardingNodeCursor implements IndexTreeWriter<K, V> {
 	/** Logger. */
 	private static final LogWrapper LOGGER = new LogWrapper(
 			LoggerFactory.getLogger(AVLTreeWriter.class));
@@ -134,6 +137,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
 	 * @throws SirixIOException
 	 *           if an I/O error occurs
 	 */
+	@Override
 	@SuppressWarnings("unchecked")
 	public V index(final K key, final V value, final MoveCursor move)
 			throws SirixIOException {
@@ -244,6 +248,30 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
 		}
 	}
 
+	/**
+	 * Index the key/value pairs one after the other, as an AVL tree has no
+	 * bottom-up loader. Still, each key is searched and stored once.
+	 * 
+	 * @param entries
+	 *          the key/value pairs sorted by their keys without duplicates
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	@Override
+	public void load(final List<Entry<K, V>> entries) throws SirixIOException {
+		for (final Entry<K, V> entry : checkNotNull(entries)) {
+			final Optional<V> indexed = get(entry.getKey(), SearchMode.EQUAL);
+			V value = entry.getValue();
+			if (indexed.isPresent()) {
+				for (final long nodeKey : value.getNodeKeys()) {
+					indexed.get().addNodeKey(nodeKey);
+				}
+				value = indexed.get();
+			}
+			index(entry.getKey(), value, MoveCursor.NO_MOVE);
+		}
+	}
+
 	/**
 	 * Remove a node key from the value, or remove the whole node, if no keys are
 	 * stored anymore.
@@ -255,6 +283,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
 	 * @throws SirixIOException
 	 *           if an I/O error occured
 	 */
+	@Override
 	public boolean remove(final K key, final @Nonnegative long nodeKey)
 			throws SirixIOException {
 		checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
@@ -786,6 +815,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
 	 * @return {@link Optional} reference (with the found value, or a reference
 	 *         which indicates that the value hasn't been found)
 	 */
+	@Override
 	public Optional<V> get(final K key, final SearchMode mode) {
 		return mAVLTreeReader.get(checkNotNull(key), checkNotNull(mode));
 	}
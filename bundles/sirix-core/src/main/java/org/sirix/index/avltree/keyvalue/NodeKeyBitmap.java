@@ -0,0 +1,801 @@
+package org.sirix.index.avltree.keyvalue;
+
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compressed bitmap of node keys (Roaring-style). Node keys are partitioned by
+ * their upper 48 bits into chunks of 65536 keys. Each non-empty chunk is stored
+ * in a container, which is either a sorted array of the lower 16 bits (sparse
+ * chunks, up to {@link #ARRAY_MAX} keys) or a plain bitmap (dense chunks).
+ *
+ * <p>
+ * Unions, intersections and differences are computed container by container,
+ * without boxing or materializing the node keys.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class NodeKeyBitmap {
+
+	/** Maximum cardinality of an array container. */
+	static final int ARRAY_MAX = 4096;
+
+	/** Number of words of a bitmap container. */
+	private static final int BITMAP_WORDS = 1024;
+
+	/** Sorted upper 48 bits of the containers. */
+	private long[] mHighKeys;
+
+	/** The containers. */
+	private Container[] mContainers;
+
+	/** Number of containers. */
+	private int mSize;
+
+	/**
+	 * Constructor.
+	 */
+	public NodeKeyBitmap() {
+		mHighKeys = new long[4];
+		mContainers = new Container[4];
+	}
+
+	private NodeKeyBitmap(final int capacity) {
+		mHighKeys = new long[Math.max(capacity, 1)];
+		mContainers = new Container[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Add a node key.
+	 *
+	 * @param nodeKey
+	 *          the node key to add
+	 * @return {@code true}, if the node key has been added, {@code false} if it
+	 *         has already been present
+	 */
+	public boolean add(final long nodeKey) {
+		final long high = nodeKey >>> 16;
+		final char low = (char) nodeKey;
+		final int index = Arrays.binarySearch(mHighKeys, 0, mSize, high);
+		if (index >= 0) {
+			final Container container = mContainers[index];
+			final int cardinality = container.cardinality();
+			mContainers[index] = container.add(low);
+			return mContainers[index].cardinality() != cardinality;
+		}
+		final ArrayContainer container = new ArrayContainer();
+		container.add(low);
+		insertContainer(-index - 1, high, container);
+		return true;
+	}
+
+	/**
+	 * Remove a node key.
+	 *
+	 * @param nodeKey
+	 *          the node key to remove
+	 * @return {@code true}, if the node key has been removed, {@code false} if it
+	 *         hasn't been present
+	 */
+	public boolean remove(final long nodeKey) {
+		final int index = Arrays.binarySearch(mHighKeys, 0, mSize,
+				nodeKey >>> 16);
+		if (index < 0) {
+			return false;
+		}
+		final Container container = mContainers[index];
+		final int cardinality = container.cardinality();
+		final Container changed = container.remove((char) nodeKey);
+		if (changed.cardinality() == 0) {
+			System.arraycopy(mHighKeys, index + 1, mHighKeys, index, mSize - index
+					- 1);
+			System.arraycopy(mContainers, index + 1, mContainers, index, mSize
+					- index - 1);
+			mContainers[--mSize] = null;
+		} else {
+			mContainers[index] = changed;
+		}
+		return changed.cardinality() != cardinality;
+	}
+
+	/**
+	 * Determines if a node key is present.
+	 *
+	 * @param nodeKey
+	 *          the node key to lookup
+	 * @return {@code true}, if it is present, {@code false} otherwise
+	 */
+	public boolean contains(final long nodeKey) {
+		final int index = Arrays.binarySearch(mHighKeys, 0, mSize,
+				nodeKey >>> 16);
+		return index >= 0 && mContainers[index].contains((char) nodeKey);
+	}
+
+	/**
+	 * Get the number of node keys.
+	 *
+	 * @return the number of node keys
+	 */
+	public long cardinality() {
+		long cardinality = 0;
+		for (int i = 0; i < mSize; i++) {
+			cardinality += mContainers[i].cardinality();
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Determines if no node key is present.
+	 *
+	 * @return {@code true}, if no node key is present, {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	/**
+	 * Get an iterator over the node keys in ascending order.
+	 *
+	 * @return the iterator
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+			private int mIndex;
+			private PrimitiveIterator.OfInt mLows = mSize == 0 ? null
+					: mContainers[0].iterator();
+
+			@Override
+			public boolean hasNext() {
+				while (mLows != null && !mLows.hasNext()) {
+					mLows = ++mIndex < mSize ? mContainers[mIndex].iterator() : null;
+				}
+				return mLows != null;
+			}
+
+			@Override
+			public long nextLong() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return (mHighKeys[mIndex] << 16) | mLows.nextInt();
+			}
+		};
+	}
+
+	/**
+	 * Get a copy of this bitmap.
+	 *
+	 * @return the copy
+	 */
+	public NodeKeyBitmap copy() {
+		final NodeKeyBitmap copy = new NodeKeyBitmap(mSize);
+		for (int i = 0; i < mSize; i++) {
+			copy.appendContainer(mHighKeys[i], mContainers[i].copy());
+		}
+		return copy;
+	}
+
+	/**
+	 * Compute the union of two bitmaps.
+	 *
+	 * @param first
+	 *          the first bitmap
+	 * @param second
+	 *          the second bitmap
+	 * @return a new bitmap, which contains all node keys present in either bitmap
+	 */
+	public static NodeKeyBitmap or(final NodeKeyBitmap first,
+			final NodeKeyBitmap second) {
+		final NodeKeyBitmap result = new NodeKeyBitmap(first.mSize + second.mSize);
+		int i = 0;
+		int j = 0;
+		while (i < first.mSize && j < second.mSize) {
+			final long firstHigh = first.mHighKeys[i];
+			final long secondHigh = second.mHighKeys[j];
+			if (firstHigh < secondHigh) {
+				result.appendContainer(firstHigh, first.mContainers[i++].copy());
+			} else if (firstHigh > secondHigh) {
+				result.appendContainer(secondHigh, second.mContainers[j++].copy());
+			} else {
+				result.appendContainer(firstHigh,
+						first.mContainers[i++].or(second.mContainers[j++]));
+			}
+		}
+		for (; i < first.mSize; i++) {
+			result.appendContainer(first.mHighKeys[i], first.mContainers[i].copy());
+		}
+		for (; j < second.mSize; j++) {
+			result.appendContainer(second.mHighKeys[j],
+					second.mContainers[j].copy());
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the intersection of two bitmaps.
+	 *
+	 * @param first
+	 *          the first bitmap
+	 * @param second
+	 *          the second bitmap
+	 * @return a new bitmap, which contains the node keys present in both bitmaps
+	 */
+	public static NodeKeyBitmap and(final NodeKeyBitmap first,
+			final NodeKeyBitmap second) {
+		final NodeKeyBitmap result = new NodeKeyBitmap(Math.min(first.mSize,
+				second.mSize));
+		int i = 0;
+		int j = 0;
+		while (i < first.mSize && j < second.mSize) {
+			final long firstHigh = first.mHighKeys[i];
+			final long secondHigh = second.mHighKeys[j];
+			if (firstHigh < secondHigh) {
+				i++;
+			} else if (firstHigh > secondHigh) {
+				j++;
+			} else {
+				final Container container = first.mContainers[i++]
+						.and(second.mContainers[j++]);
+				if (container.cardinality() > 0) {
+					result.appendContainer(firstHigh, container);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the difference of two bitmaps.
+	 *
+	 * @param first
+	 *          the first bitmap
+	 * @param second
+	 *          the second bitmap
+	 * @return a new bitmap, which contains the node keys present in the first
+	 *         but not in the second bitmap
+	 */
+	public static NodeKeyBitmap andNot(final NodeKeyBitmap first,
+			final NodeKeyBitmap second) {
+		final NodeKeyBitmap result = new NodeKeyBitmap(first.mSize);
+		int j = 0;
+		for (int i = 0; i < first.mSize; i++) {
+			final long high = first.mHighKeys[i];
+			while (j < second.mSize && second.mHighKeys[j] < high) {
+				j++;
+			}
+			final Container container = j < second.mSize
+					&& second.mHighKeys[j] == high ? first.mContainers[i]
+					.andNot(second.mContainers[j]) : first.mContainers[i].copy();
+			if (container.cardinality() > 0) {
+				result.appendContainer(high, container);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Serialize the bitmap.
+	 *
+	 * @param sink
+	 *          the sink to write to
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	public void serialize(final DataOutput sink) throws IOException {
+		sink.writeInt(mSize);
+		long previousHigh = 0;
+		for (int i = 0; i < mSize; i++) {
+			putVarLong(sink, mHighKeys[i] - previousHigh);
+			previousHigh = mHighKeys[i];
+			mContainers[i].serialize(sink);
+		}
+	}
+
+	/**
+	 * Deserialize a bitmap.
+	 *
+	 * @param source
+	 *          the source to read from
+	 * @return the bitmap
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	public static NodeKeyBitmap deserialize(final DataInput source)
+			throws IOException {
+		final int size = source.readInt();
+		final NodeKeyBitmap bitmap = new NodeKeyBitmap(size);
+		long high = 0;
+		for (int i = 0; i < size; i++) {
+			high += getVarLong(source);
+			bitmap.appendContainer(high, source.readBoolean() ? BitmapContainer
+					.deserialize(source) : ArrayContainer.deserialize(source));
+		}
+		return bitmap;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (int i = 0; i < mSize; i++) {
+			hash = 31 * hash + Long.hashCode(mHighKeys[i]);
+			final PrimitiveIterator.OfInt lows = mContainers[i].iterator();
+			while (lows.hasNext()) {
+				hash = 31 * hash + lows.nextInt();
+			}
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final @Nullable Object obj) {
+		if (!(obj instanceof NodeKeyBitmap)) {
+			return false;
+		}
+		final NodeKeyBitmap other = (NodeKeyBitmap) obj;
+		if (mSize != other.mSize) {
+			return false;
+		}
+		for (int i = 0; i < mSize; i++) {
+			if (mHighKeys[i] != other.mHighKeys[i]
+					|| !mContainers[i].sameValues(other.mContainers[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("[");
+		final PrimitiveIterator.OfLong iter = iterator();
+		while (iter.hasNext()) {
+			builder.append(iter.nextLong());
+			if (iter.hasNext()) {
+				builder.append(", ");
+			}
+		}
+		return builder.append(']').toString();
+	}
+
+	private void insertContainer(final int index, final long high,
+			final Container container) {
+		if (mSize == mHighKeys.length) {
+			mHighKeys = Arrays.copyOf(mHighKeys, mSize << 1);
+			mContainers = Arrays.copyOf(mContainers, mSize << 1);
+		}
+		System.arraycopy(mHighKeys, index, mHighKeys, index + 1, mSize - index);
+		System.arraycopy(mContainers, index, mContainers, index + 1, mSize
+				- index);
+		mHighKeys[index] = high;
+		mContainers[index] = container;
+		mSize++;
+	}
+
+	private void appendContainer(final long high, final Container container) {
+		insertContainer(mSize, high, container);
+	}
+
+	/**
+	 * Stores the lower 16 bits of the node keys of one chunk.
+	 */
+	private static abstract class Container {
+		/**
+		 * Add a value.
+		 *
+		 * @return this container or a converted container
+		 */
+		abstract Container add(char value);
+
+		/**
+		 * Remove a value.
+		 *
+		 * @return this container or a converted container
+		 */
+		abstract Container remove(char value);
+
+		abstract boolean contains(char value);
+
+		abstract int cardinality();
+
+		/** Iterates over the values in ascending order. */
+		abstract PrimitiveIterator.OfInt iterator();
+
+		abstract Container or(Container other);
+
+		abstract Container and(Container other);
+
+		abstract Container andNot(Container other);
+
+		abstract Container copy();
+
+		abstract void serialize(DataOutput sink) throws IOException;
+
+		boolean sameValues(final Container other) {
+			if (cardinality() != other.cardinality()) {
+				return false;
+			}
+			final PrimitiveIterator.OfInt first = iterator();
+			final PrimitiveIterator.OfInt second = other.iterator();
+			while (first.hasNext()) {
+				if (first.nextInt() != second.nextInt()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Container for sparse chunks, which stores the sorted values.
+	 */
+	private static final class ArrayContainer extends Container {
+		/** The sorted values. */
+		private char[] mValues;
+
+		/** Number of values. */
+		private int mCardinality;
+
+		ArrayContainer() {
+			mValues = new char[4];
+		}
+
+		ArrayContainer(final char[] values, final int cardinality) {
+			mValues = values;
+			mCardinality = cardinality;
+		}
+
+		@Override
+		Container add(final char value) {
+			final int index = Arrays.binarySearch(mValues, 0, mCardinality, value);
+			if (index >= 0) {
+				return this;
+			}
+			if (mCardinality == ARRAY_MAX) {
+				return toBitmapContainer().add(value);
+			}
+			if (mCardinality == mValues.length) {
+				mValues = Arrays.copyOf(mValues,
+						Math.min(mCardinality << 1, ARRAY_MAX));
+			}
+			final int insertionPoint = -index - 1;
+			System.arraycopy(mValues, insertionPoint, mValues, insertionPoint + 1,
+					mCardinality - insertionPoint);
+			mValues[insertionPoint] = value;
+			mCardinality++;
+			return this;
+		}
+
+		@Override
+		Container remove(final char value) {
+			final int index = Arrays.binarySearch(mValues, 0, mCardinality, value);
+			if (index >= 0) {
+				System.arraycopy(mValues, index + 1, mValues, index, mCardinality
+						- index - 1);
+				mCardinality--;
+			}
+			return this;
+		}
+
+		@Override
+		boolean contains(final char value) {
+			return Arrays.binarySearch(mValues, 0, mCardinality, value) >= 0;
+		}
+
+		@Override
+		int cardinality() {
+			return mCardinality;
+		}
+
+		@Override
+		PrimitiveIterator.OfInt iterator() {
+			return new PrimitiveIterator.OfInt() {
+				private int mIndex;
+
+				@Override
+				public boolean hasNext() {
+					return mIndex < mCardinality;
+				}
+
+				@Override
+				public int nextInt() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return mValues[mIndex++];
+				}
+			};
+		}
+
+		@Override
+		Container or(final Container other) {
+			if (other instanceof BitmapContainer) {
+				return other.or(this);
+			}
+			final ArrayContainer array = (ArrayContainer) other;
+			final char[] values = new char[mCardinality + array.mCardinality];
+			int i = 0;
+			int j = 0;
+			int k = 0;
+			while (i < mCardinality && j < array.mCardinality) {
+				final char first = mValues[i];
+				final char second = array.mValues[j];
+				if (first < second) {
+					values[k++] = first;
+					i++;
+				} else if (first > second) {
+					values[k++] = second;
+					j++;
+				} else {
+					values[k++] = first;
+					i++;
+					j++;
+				}
+			}
+			while (i < mCardinality) {
+				values[k++] = mValues[i++];
+			}
+			while (j < array.mCardinality) {
+				values[k++] = array.mValues[j++];
+			}
+			final ArrayContainer result = new ArrayContainer(values, k);
+			return k > ARRAY_MAX ? result.toBitmapContainer() : result;
+		}
+
+		@Override
+		Container and(final Container other) {
+			final char[] values = new char[mCardinality];
+			int k = 0;
+			if (other instanceof BitmapContainer) {
+				for (int i = 0; i < mCardinality; i++) {
+					if (other.contains(mValues[i])) {
+						values[k++] = mValues[i];
+					}
+				}
+			} else {
+				final ArrayContainer array = (ArrayContainer) other;
+				int i = 0;
+				int j = 0;
+				while (i < mCardinality && j < array.mCardinality) {
+					final char first = mValues[i];
+					final char second = array.mValues[j];
+					if (first < second) {
+						i++;
+					} else if (first > second) {
+						j++;
+					} else {
+						values[k++] = first;
+						i++;
+						j++;
+					}
+				}
+			}
+			return new ArrayContainer(values, k);
+		}
+
+		@Override
+		Container andNot(final Container other) {
+			final char[] values = new char[mCardinality];
+			int k = 0;
+			for (int i = 0; i < mCardinality; i++) {
+				if (!other.contains(mValues[i])) {
+					values[k++] = mValues[i];
+				}
+			}
+			return new ArrayContainer(values, k);
+		}
+
+		@Override
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(mValues, mCardinality),
+					mCardinality);
+		}
+
+		@Override
+		void serialize(final DataOutput sink) throws IOException {
+			sink.writeBoolean(false);
+			sink.writeShort(mCardinality - 1);
+			for (int i = 0; i < mCardinality; i++) {
+				sink.writeChar(mValues[i]);
+			}
+		}
+
+		static ArrayContainer deserialize(final DataInput source)
+				throws IOException {
+			final int cardinality = source.readUnsignedShort() + 1;
+			final char[] values = new char[cardinality];
+			for (int i = 0; i < cardinality; i++) {
+				values[i] = source.readChar();
+			}
+			return new ArrayContainer(values, cardinality);
+		}
+
+		BitmapContainer toBitmapContainer() {
+			final BitmapContainer bitmap = new BitmapContainer();
+			for (int i = 0; i < mCardinality; i++) {
+				bitmap.add(mValues[i]);
+			}
+			return bitmap;
+		}
+	}
+
+	/**
+	 * Container for dense chunks, which stores one bit per value.
+	 */
+	private static final class BitmapContainer extends Container {
+		/** The bits. */
+		private final long[] mWords;
+
+		/** Number of set bits. */
+		private int mCardinality;
+
+		BitmapContainer() {
+			mWords = new long[BITMAP_WORDS];
+		}
+
+		private BitmapContainer(final long[] words) {
+			mWords = words;
+			for (final long word : words) {
+				mCardinality += Long.bitCount(word);
+			}
+		}
+
+		@Override
+		Container add(final char value) {
+			final long word = mWords[value >>> 6];
+			final long changed = word | (1L << value);
+			if (word != changed) {
+				mWords[value >>> 6] = changed;
+				mCardinality++;
+			}
+			return this;
+		}
+
+		@Override
+		Container remove(final char value) {
+			final long word = mWords[value >>> 6];
+			final long changed = word & ~(1L << value);
+			if (word != changed) {
+				mWords[value >>> 6] = changed;
+				mCardinality--;
+			}
+			return mCardinality <= ARRAY_MAX ? toArrayContainer() : this;
+		}
+
+		@Override
+		boolean contains(final char value) {
+			return (mWords[value >>> 6] & (1L << value)) != 0;
+		}
+
+		@Override
+		int cardinality() {
+			return mCardinality;
+		}
+
+		@Override
+		PrimitiveIterator.OfInt iterator() {
+			return new PrimitiveIterator.OfInt() {
+				private int mWordIndex = -1;
+				private long mWord;
+
+				@Override
+				public boolean hasNext() {
+					while (mWord == 0) {
+						if (++mWordIndex == BITMAP_WORDS) {
+							mWordIndex--;
+							return false;
+						}
+						mWord = mWords[mWordIndex];
+					}
+					return true;
+				}
+
+				@Override
+				public int nextInt() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					final int value = (mWordIndex << 6)
+							+ Long.numberOfTrailingZeros(mWord);
+					mWord &= mWord - 1;
+					return value;
+				}
+			};
+		}
+
+		@Override
+		Container or(final Container other) {
+			if (other instanceof ArrayContainer) {
+				Container result = copy();
+				final PrimitiveIterator.OfInt values = other.iterator();
+				while (values.hasNext()) {
+					result = result.add((char) values.nextInt());
+				}
+				return result;
+			}
+			final long[] words = new long[BITMAP_WORDS];
+			final long[] otherWords = ((BitmapContainer) other).mWords;
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				words[i] = mWords[i] | otherWords[i];
+			}
+			return new BitmapContainer(words);
+		}
+
+		@Override
+		Container and(final Container other) {
+			if (other instanceof ArrayContainer) {
+				return other.and(this);
+			}
+			final long[] words = new long[BITMAP_WORDS];
+			final long[] otherWords = ((BitmapContainer) other).mWords;
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				words[i] = mWords[i] & otherWords[i];
+			}
+			return new BitmapContainer(words).shrink();
+		}
+
+		@Override
+		Container andNot(final Container other) {
+			final long[] words = Arrays.copyOf(mWords, BITMAP_WORDS);
+			if (other instanceof ArrayContainer) {
+				final PrimitiveIterator.OfInt values = other.iterator();
+				while (values.hasNext()) {
+					final int value = values.nextInt();
+					words[value >>> 6] &= ~(1L << value);
+				}
+			} else {
+				final long[] otherWords = ((BitmapContainer) other).mWords;
+				for (int i = 0; i < BITMAP_WORDS; i++) {
+					words[i] &= ~otherWords[i];
+				}
+			}
+			return new BitmapContainer(words).shrink();
+		}
+
+		@Override
+		Container copy() {
+			return new BitmapContainer(Arrays.copyOf(mWords, BITMAP_WORDS));
+		}
+
+		@Override
+		void serialize(final DataOutput sink) throws IOException {
+			sink.writeBoolean(true);
+			for (final long word : mWords) {
+				sink.writeLong(word);
+			}
+		}
+
+		static BitmapContainer deserialize(final DataInput source)
+				throws IOException {
+			final long[] words = new long[BITMAP_WORDS];
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				words[i] = source.readLong();
+			}
+			return new BitmapContainer(words);
+		}
+
+		private Container shrink() {
+			return mCardinality <= ARRAY_MAX ? toArrayContainer() : this;
+		}
+
+		private ArrayContainer toArrayContainer() {
+			final char[] values = new char[Math.max(mCardinality, 4)];
+			int k = 0;
+			final PrimitiveIterator.OfInt iter = iterator();
+			while (iter.hasNext()) {
+				values[k++] = (char) iter.nextInt();
+			}
+			return new ArrayContainer(values, k);
+		}
+	}
+}
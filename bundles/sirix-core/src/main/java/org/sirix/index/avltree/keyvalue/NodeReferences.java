@@ -1,7 +1,10 @@
 package org.sirix.index.avltree.keyvalue;
 
-import java.util.Collections;
-import java.util.HashSet;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 
 import javax.annotation.Nonnegative;
@@ -10,33 +13,46 @@ import javax.annotation.Nullable;
 import org.sirix.index.avltree.interfaces.References;
 
 import com.google.common.base.Objects;
-import com.google.common.base.Objects.ToStringHelper;
 
 /**
- * Text node-ID references.
- * 
+ * Text node-ID references, which are stored in a compressed
+ * {@link NodeKeyBitmap}.
+ *
  * @author Johannes Lichtenberger
- * 
+ *
  */
 public final class NodeReferences implements References {
-	/** A {@link Set} of node-keys. */
-	private final Set<Long> mNodeKeys;
+	/** The node keys. */
+	private final NodeKeyBitmap mNodeKeys;
 
 	/**
 	 * Default constructor.
 	 */
 	public NodeReferences() {
-		mNodeKeys = new HashSet<>();
+		mNodeKeys = new NodeKeyBitmap();
 	}
 
 	/**
 	 * Constructor.
-	 * 
+	 *
 	 * @param nodeKeys
 	 *          node keys
 	 */
 	public NodeReferences(final Set<Long> nodeKeys) {
-		mNodeKeys = nodeKeys;
+		mNodeKeys = new NodeKeyBitmap();
+		for (final long nodeKey : nodeKeys) {
+			mNodeKeys.add(nodeKey);
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param nodeKeys
+	 *          node keys, which are not copied
+	 */
+	public NodeReferences(final NodeKeyBitmap nodeKeys) {
+		mNodeKeys = checkNotNull(nodeKeys);
 	}
 
 	@Override
@@ -46,7 +62,90 @@ public final class NodeReferences implements References {
 
 	@Override
 	public Set<Long> getNodeKeys() {
-		return Collections.unmodifiableSet(mNodeKeys);
+		return new AbstractSet<Long>() {
+			@Override
+			public Iterator<Long> iterator() {
+				return mNodeKeys.iterator();
+			}
+
+			@Override
+			public boolean contains(final Object o) {
+				return o instanceof Long && mNodeKeys.contains((Long) o);
+			}
+
+			@Override
+			public int size() {
+				return (int) Math.min(mNodeKeys.cardinality(), Integer.MAX_VALUE);
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return mNodeKeys.isEmpty();
+			}
+		};
+	}
+
+	/**
+	 * Get an iterator over the node keys in ascending order, which doesn't box
+	 * the node keys.
+	 *
+	 * @return the iterator
+	 */
+	public PrimitiveIterator.OfLong nodeKeyIterator() {
+		return mNodeKeys.iterator();
+	}
+
+	/**
+	 * Get the number of node keys.
+	 *
+	 * @return the number of node keys
+	 */
+	public long size() {
+		return mNodeKeys.cardinality();
+	}
+
+	/**
+	 * Get the underlying bitmap.
+	 *
+	 * @return the bitmap of node keys
+	 */
+	public NodeKeyBitmap getBitmap() {
+		return mNodeKeys;
+	}
+
+	/**
+	 * Compute the union with other references.
+	 *
+	 * @param other
+	 *          the other references
+	 * @return new references, which contain all node keys of both
+	 */
+	public NodeReferences or(final NodeReferences other) {
+		return new NodeReferences(NodeKeyBitmap.or(mNodeKeys, other.mNodeKeys));
+	}
+
+	/**
+	 * Compute the intersection with other references.
+	 *
+	 * @param other
+	 *          the other references
+	 * @return new references, which contain the node keys present in both
+	 */
+	public NodeReferences and(final NodeReferences other) {
+		return new NodeReferences(NodeKeyBitmap.and(mNodeKeys, other.mNodeKeys));
+	}
+
+	/**
+	 * Compute the difference to other references.
+	 *
+	 * @param other
+	 *          the other references
+	 * @return new references, which contain the node keys not present in
+	 *         {@code other}
+	 */
+	public NodeReferences andNot(final NodeReferences other) {
+		return new NodeReferences(NodeKeyBitmap.andNot(mNodeKeys,
+				other.mNodeKeys));
 	}
 
 	@Override
@@ -62,7 +161,7 @@ public final class NodeReferences implements References {
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(mNodeKeys);
+		return mNodeKeys.hashCode();
 	}
 
 	@Override
@@ -76,11 +175,8 @@ public final class NodeReferences implements References {
 
 	@Override
 	public String toString() {
-		final ToStringHelper helper = Objects.toStringHelper(this);
-		for (final long nodeKey : mNodeKeys) {
-			helper.add("referenced node key", nodeKey);
-		}
-		return helper.toString();
+		return Objects.toStringHelper(this)
+				.add("referenced node keys", mNodeKeys).toString();
 	}
 
 	@Override
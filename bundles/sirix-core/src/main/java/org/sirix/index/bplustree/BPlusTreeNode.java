@@ -0,0 +1,388 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.sirix.api.visitor.VisitResultType;
+import org.sirix.api.visitor.Visitor;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Kind;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.settings.Fixed;
+
+import com.google.common.base.Objects;
+
+/**
+ * Node of a B+-tree, which stores up to {@link #MAX_ENTRIES} sorted keys. Leaf
+ * nodes store a value for each key and are linked to their right neighbour,
+ * inner nodes store the keys of their children, whereas the child at index
+ * {@code i} contains all keys less than the key at index {@code i}.
+ *
+ * <p>
+ * Nodes are stored as records in the record pages of an index, such that they
+ * are versioned just like any other record.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K>
+ *          the key
+ * @param <V>
+ *          the value
+ */
+public final class BPlusTreeNode<K extends Comparable<? super K>, V extends References>
+		extends AbstractForwardingNode {
+
+	/** Maximum number of keys in a node, before it is split. */
+	public static final int MAX_ENTRIES = 64;
+
+	/** Kind of node (the kind of index it belongs to). */
+	private final Kind mKind;
+
+	/** The sorted keys. */
+	private final List<K> mKeys;
+
+	/** The values (leaf nodes) or {@code null}. */
+	private final List<V> mValues;
+
+	/** The node keys of the children (inner nodes) or {@code null}. */
+	private final List<Long> mChildKeys;
+
+	/** Node key of the right neighbour (leaf nodes). */
+	private long mNextLeafKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+
+	/** {@link NodeDelegate} reference. */
+	private final NodeDelegate mNodeDelegate;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param kind
+	 *          the kind of node
+	 * @param keys
+	 *          the sorted keys
+	 * @param values
+	 *          the values of a leaf node or {@code null}
+	 * @param childKeys
+	 *          the node keys of the children of an inner node or {@code null}
+	 * @param delegate
+	 *          the node delegate
+	 */
+	public BPlusTreeNode(final Kind kind, final List<K> keys,
+			final @Nullable List<V> values, final @Nullable List<Long> childKeys,
+			final NodeDelegate delegate) {
+		checkArgument((values == null) != (childKeys == null),
+				"either values or child keys must be specified!");
+		mKind = checkNotNull(kind);
+		mKeys = checkNotNull(keys);
+		mValues = values;
+		mChildKeys = childKeys;
+		mNodeDelegate = checkNotNull(delegate);
+	}
+
+	/**
+	 * Create a new leaf node.
+	 *
+	 * @param kind
+	 *          the kind of node
+	 * @param delegate
+	 *          the node delegate
+	 * @return the new leaf node
+	 */
+	public static <K extends Comparable<? super K>, V extends References> BPlusTreeNode<K, V> newLeaf(
+			final Kind kind, final NodeDelegate delegate) {
+		return new BPlusTreeNode<K, V>(kind, new ArrayList<K>(),
+				new ArrayList<V>(), null, delegate);
+	}
+
+	/**
+	 * Create a new inner node.
+	 *
+	 * @param kind
+	 *          the kind of node
+	 * @param delegate
+	 *          the node delegate
+	 * @return the new inner node
+	 */
+	public static <K extends Comparable<? super K>, V extends References> BPlusTreeNode<K, V> newInnerNode(
+			final Kind kind, final NodeDelegate delegate) {
+		return new BPlusTreeNode<K, V>(kind, new ArrayList<K>(), null,
+				new ArrayList<Long>(), delegate);
+	}
+
+	@Override
+	public Kind getKind() {
+		return mKind;
+	}
+
+	@Override
+	protected NodeDelegate delegate() {
+		return mNodeDelegate;
+	}
+
+	/**
+	 * Determines if the node is a leaf node.
+	 *
+	 * @return {@code true}, if it's a leaf node, {@code false} if it's an inner
+	 *         node
+	 */
+	public boolean isLeaf() {
+		return mValues != null;
+	}
+
+	/**
+	 * Get the number of keys.
+	 *
+	 * @return number of keys
+	 */
+	public int size() {
+		return mKeys.size();
+	}
+
+	/**
+	 * Determines if the node has to be split.
+	 *
+	 * @return {@code true}, if the node has more than {@link #MAX_ENTRIES} keys,
+	 *         {@code false} otherwise
+	 */
+	public boolean isOverfull() {
+		return mKeys.size() > MAX_ENTRIES;
+	}
+
+	/**
+	 * Get an unmodifiable view of the keys.
+	 *
+	 * @return the sorted keys
+	 */
+	public List<K> getKeys() {
+		return Collections.unmodifiableList(mKeys);
+	}
+
+	/**
+	 * Get an unmodifiable view of the values of a leaf node.
+	 *
+	 * @return the values
+	 */
+	public List<V> getValues() {
+		assert isLeaf();
+		return Collections.unmodifiableList(mValues);
+	}
+
+	/**
+	 * Get an unmodifiable view of the node keys of the children of an inner
+	 * node.
+	 *
+	 * @return the node keys of the children
+	 */
+	public List<Long> getChildKeys() {
+		assert !isLeaf();
+		return Collections.unmodifiableList(mChildKeys);
+	}
+
+	/**
+	 * Get the key at the specified index.
+	 *
+	 * @param index
+	 *          the index
+	 * @return the key
+	 */
+	public K getKey(final @Nonnegative int index) {
+		return mKeys.get(index);
+	}
+
+	/**
+	 * Get the value at the specified index of a leaf node.
+	 *
+	 * @param index
+	 *          the index
+	 * @return the value
+	 */
+	public V getValue(final @Nonnegative int index) {
+		return mValues.get(index);
+	}
+
+	/**
+	 * Get the node key of the child at the specified index of an inner node.
+	 *
+	 * @param index
+	 *          the index
+	 * @return the node key of the child
+	 */
+	public long getChildKey(final @Nonnegative int index) {
+		return mChildKeys.get(index);
+	}
+
+	/**
+	 * Search a key in the node.
+	 *
+	 * @param key
+	 *          the key to search
+	 * @return the index of the key, if it is stored; otherwise,
+	 *         {@code (-(insertion point) - 1)}
+	 */
+	public int search(final K key) {
+		return Collections.binarySearch(mKeys, key);
+	}
+
+	/**
+	 * Get the index of the child which might contain the key.
+	 *
+	 * @param key
+	 *          the key to search
+	 * @return the index of the child
+	 */
+	public int childIndex(final K key) {
+		final int index = search(key);
+		// Keys equal to a separator are stored in the right child.
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * Insert a key/value pair into a leaf node.
+	 *
+	 * @param index
+	 *          the index to insert at
+	 * @param key
+	 *          the key
+	 * @param value
+	 *          the value
+	 */
+	public void insert(final @Nonnegative int index, final K key, final V value) {
+		mKeys.add(index, checkNotNull(key));
+		mValues.add(index, checkNotNull(value));
+	}
+
+	/**
+	 * Insert a separator key and the node key of its right child into an inner
+	 * node.
+	 *
+	 * @param index
+	 *          the index to insert the separator at
+	 * @param key
+	 *          the separator key
+	 * @param rightChildKey
+	 *          the node key of the child, which contains all keys greater or
+	 *          equal to the separator
+	 */
+	public void insertChild(final @Nonnegative int index, final K key,
+			final long rightChildKey) {
+		mKeys.add(index, checkNotNull(key));
+		mChildKeys.add(index + 1, rightChildKey);
+	}
+
+	/**
+	 * Add the first child of an inner node.
+	 *
+	 * @param childKey
+	 *          the node key of the child
+	 */
+	public void addFirstChild(final long childKey) {
+		assert mChildKeys.isEmpty();
+		mChildKeys.add(childKey);
+	}
+
+	/**
+	 * Set the value at the specified index of a leaf node.
+	 *
+	 * @param index
+	 *          the index
+	 * @param value
+	 *          the value
+	 */
+	public void setValue(final @Nonnegative int index, final V value) {
+		mValues.set(index, checkNotNull(value));
+	}
+
+	/**
+	 * Move the upper half of the entries to an empty node of the same type.
+	 *
+	 * @param right
+	 *          the empty right node
+	 * @return the separator key, that is the smallest key of the right node
+	 */
+	public K splitInto(final BPlusTreeNode<K, V> right) {
+		assert right.mKeys.isEmpty() && right.isLeaf() == isLeaf();
+		final int size = mKeys.size();
+		final int middle = size >>> 1;
+		final K separator = mKeys.get(middle);
+		if (isLeaf()) {
+			// The separator remains in the right leaf.
+			right.mKeys.addAll(mKeys.subList(middle, size));
+			right.mValues.addAll(mValues.subList(middle, size));
+			mKeys.subList(middle, size).clear();
+			mValues.subList(middle, size).clear();
+			right.mNextLeafKey = mNextLeafKey;
+			mNextLeafKey = right.getNodeKey();
+		} else {
+			// The separator moves up into the parent.
+			right.mKeys.addAll(mKeys.subList(middle + 1, size));
+			right.mChildKeys.addAll(mChildKeys.subList(middle + 1, size + 1));
+			mKeys.subList(middle, size).clear();
+			mChildKeys.subList(middle + 1, size + 1).clear();
+		}
+		return separator;
+	}
+
+	/**
+	 * Determines if the leaf has a right neighbour.
+	 *
+	 * @return {@code true}, if it has a right neighbour, {@code false} otherwise
+	 */
+	public boolean hasNextLeaf() {
+		return mNextLeafKey != Fixed.NULL_NODE_KEY.getStandardProperty();
+	}
+
+	/**
+	 * Get the node key of the right neighbour of a leaf node.
+	 *
+	 * @return the node key of the right neighbour
+	 */
+	public long getNextLeafKey() {
+		return mNextLeafKey;
+	}
+
+	/**
+	 * Set the node key of the right neighbour of a leaf node.
+	 *
+	 * @param nextLeafKey
+	 *          the node key of the right neighbour
+	 */
+	public void setNextLeafKey(final long nextLeafKey) {
+		mNextLeafKey = nextLeafKey;
+	}
+
+	@Override
+	public VisitResultType acceptVisitor(final Visitor visitor) {
+		return VisitResultType.CONTINUE;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(mNodeDelegate.getNodeKey());
+	}
+
+	@Override
+	public boolean equals(final @Nullable Object obj) {
+		if (obj instanceof BPlusTreeNode) {
+			final BPlusTreeNode<?, ?> other = (BPlusTreeNode<?, ?>) obj;
+			return mNodeDelegate.getNodeKey() == other.mNodeDelegate.getNodeKey();
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).add("node delegate", mNodeDelegate)
+				.add("keys", mKeys).add("values", mValues)
+				.add("children", mChildKeys).add("next leaf", mNextLeafKey)
+				.toString();
+	}
+}
@@ -0,0 +1,289 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeReader;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.DocumentRootNode;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.PageKind;
+import org.sirix.settings.Fixed;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Maps;
+
+/**
+ * Reader of a B+-tree, whose nodes are stored as records in the record pages of
+ * an index. Lookups fetch one node per level and range scans follow the links
+ * between the leaves.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K>
+ *          the key to search for
+ * @param <V>
+ *          the value
+ */
+public final class BPlusTreeReader<K extends Comparable<? super K>, V extends References>
+		implements IndexTreeReader<K, V> {
+
+	/** {@link PageReadTrx} for persistent storage. */
+	final PageReadTrx mPageReadTrx;
+
+	/** Page kind. */
+	final PageKind mPageKind;
+
+	/** Index number. */
+	final int mIndex;
+
+	/**
+	 * Private constructor.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} for persistent storage
+	 * @param type
+	 *          kind of index
+	 * @param index
+	 *          the index number
+	 */
+	private BPlusTreeReader(final PageReadTrx pageReadTrx, final IndexType type,
+			final int index) {
+		mPageReadTrx = checkNotNull(pageReadTrx);
+		switch (type) {
+		case PATH:
+			mPageKind = PageKind.PATHPAGE;
+			break;
+		case CAS:
+			mPageKind = PageKind.CASPAGE;
+			break;
+		case NAME:
+			mPageKind = PageKind.NAMEPAGE;
+			break;
+		default:
+			throw new IllegalStateException();
+		}
+		mIndex = index;
+	}
+
+	/**
+	 * Get a new instance.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} for persistent storage
+	 * @param type
+	 *          type of index
+	 * @param index
+	 *          the index number
+	 * @return new tree instance
+	 */
+	public static <K extends Comparable<? super K>, V extends References> BPlusTreeReader<K, V> getInstance(
+			final PageReadTrx pageReadTrx, final IndexType type,
+			final @Nonnegative int index) {
+		return new BPlusTreeReader<K, V>(pageReadTrx, type, index);
+	}
+
+	/**
+	 * Get the document root of the index.
+	 *
+	 * @return the document root
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	DocumentRootNode getDocumentRoot() {
+		final Optional<? extends Record> document = mPageReadTrx.getRecord(
+				Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), mPageKind, mIndex);
+		if (!document.isPresent()) {
+			throw new IllegalStateException(
+					"Node couldn't be fetched from persistent storage!");
+		}
+		return (DocumentRootNode) document.get();
+	}
+
+	/**
+	 * Get a node of the tree.
+	 *
+	 * @param nodeKey
+	 *          the node key of the tree node
+	 * @return the tree node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	@SuppressWarnings("unchecked")
+	BPlusTreeNode<K, V> getNode(final long nodeKey) {
+		final Optional<? extends Record> node = mPageReadTrx.getRecord(nodeKey,
+				mPageKind, mIndex);
+		if (!node.isPresent()) {
+			throw new IllegalStateException(
+					"Node couldn't be fetched from persistent storage!");
+		}
+		return (BPlusTreeNode<K, V>) node.get();
+	}
+
+	/**
+	 * Get the leaf node which might contain the key.
+	 *
+	 * @param key
+	 *          the key to search
+	 * @return the leaf node or {@code null}, if the tree is empty
+	 */
+	private BPlusTreeNode<K, V> getLeaf(final K key) {
+		final DocumentRootNode document = getDocumentRoot();
+		if (!document.hasFirstChild()) {
+			return null;
+		}
+		BPlusTreeNode<K, V> node = getNode(document.getFirstChildKey());
+		while (!node.isLeaf()) {
+			node = getNode(node.getChildKey(node.childIndex(key)));
+		}
+		return node;
+	}
+
+	@Override
+	public Optional<V> get(final K key, final SearchMode mode) {
+		checkNotNull(key);
+		if (checkNotNull(mode) == SearchMode.EQUAL) {
+			final BPlusTreeNode<K, V> leaf = getLeaf(key);
+			if (leaf == null) {
+				return Optional.empty();
+			}
+			final int index = leaf.search(key);
+			return index >= 0 ? Optional.of(leaf.getValue(index)) : Optional
+					.empty();
+		}
+		final Iterator<Entry<K, V>> entries = range(
+				nodeKey -> mode.compare(key, nodeKey) > 0,
+				nodeKey -> mode.compare(key, nodeKey) < 0);
+		return entries.hasNext() ? Optional.of(entries.next().getValue())
+				: Optional.empty();
+	}
+
+	@Override
+	public Iterator<V> getAll(final Iterable<K> keys) {
+		final Iterator<K> iter = keys.iterator();
+		return new AbstractIterator<V>() {
+			@Override
+			protected V computeNext() {
+				while (iter.hasNext()) {
+					final Optional<V> value = get(iter.next(), SearchMode.EQUAL);
+					if (value.isPresent()) {
+						return value.get();
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> range(final Predicate<? super K> belowLow,
+			final Predicate<? super K> aboveHigh) {
+		return new LeafIterator(checkNotNull(belowLow), checkNotNull(aboveHigh));
+	}
+
+	/**
+	 * Get the index of the first key, which isn't below the lower bound.
+	 *
+	 * @param keys
+	 *          the sorted keys
+	 * @param belowLow
+	 *          determines if a key is less than the lower bound
+	 * @return the index of the first key, which isn't below the lower bound or
+	 *         the number of keys
+	 */
+	private static <K> int lowerBound(final List<K> keys,
+			final Predicate<? super K> belowLow) {
+		int low = 0;
+		int high = keys.size();
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (belowLow.test(keys.get(middle))) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Iterates over the key/value pairs of the leaves in key order, starting at
+	 * the lower bound.
+	 */
+	private final class LeafIterator extends AbstractIterator<Entry<K, V>> {
+
+		/** Determines if a key is less than the lower bound. */
+		private final Predicate<? super K> mBelowLow;
+
+		/** Determines if a key is greater than the upper bound. */
+		private final Predicate<? super K> mAboveHigh;
+
+		/** The current leaf node. */
+		private BPlusTreeNode<K, V> mLeaf;
+
+		/** The index of the next entry in the current leaf node. */
+		private int mPosition;
+
+		/** Determines if it's the first call. */
+		private boolean mFirst;
+
+		LeafIterator(final Predicate<? super K> belowLow,
+				final Predicate<? super K> aboveHigh) {
+			mBelowLow = belowLow;
+			mAboveHigh = aboveHigh;
+			mFirst = true;
+		}
+
+		@Override
+		protected Entry<K, V> computeNext() {
+			if (mFirst) {
+				mFirst = false;
+				seek();
+			}
+			if (mLeaf == null) {
+				return endOfData();
+			}
+			while (mPosition == mLeaf.size()) {
+				if (!mLeaf.hasNextLeaf()) {
+					return endOfData();
+				}
+				mLeaf = getNode(mLeaf.getNextLeafKey());
+				mPosition = 0;
+			}
+			final K key = mLeaf.getKey(mPosition);
+			if (mAboveHigh.test(key)) {
+				return endOfData();
+			}
+			final V value = mLeaf.getValue(mPosition++);
+			return Maps.immutableEntry(key, value);
+		}
+
+		// Descend to the first key, which isn't below the lower bound.
+		private void seek() {
+			final DocumentRootNode document = getDocumentRoot();
+			if (!document.hasFirstChild()) {
+				return;
+			}
+			BPlusTreeNode<K, V> node = getNode(document.getFirstChildKey());
+			while (!node.isLeaf()) {
+				// All keys of the children left of the first separator, which isn't
+				// below the lower bound, are below the lower bound.
+				node = getNode(node.getChildKey(lowerBound(node.getKeys(),
+						mBelowLow)));
+			}
+			mLeaf = node;
+			mPosition = lowerBound(node.getKeys(), mBelowLow);
+		}
+	}
+}
@@ -1,146 +1,426 @@
-//package org.sirix.index.bplustree;
-//
-//import static com.google.common.base.Preconditions.checkNotNull;
-//
-//import javax.annotation.Nonnull;
-//
-//import org.sirix.api.PageWriteTrx;
-//import org.sirix.exception.SirixIOException;
-//import org.sirix.page.PageKind;
-//
-//public final class BPlusTreeWriter<K extends Comparable<? super K>, V> implements
-//		AutoCloseable {
-//
-//	private final BPlusTreePageWriteTrx mPageWriteTrx;
-//	private final PageKind mKind;
-//
-//	private BPlusTreeWriter(final BPlusTreePageWriteTrx pageWriteTrx,
-//			final PageKind kind) {
-//		mPageWriteTrx = pageWriteTrx;
-//		mKind = kind;
-//	}
-//
-//	/**
-//	 * Get a new instance.
-//	 * 
-//	 * @param pageWriteTrx
-//	 *          {@link PageWriteTrx} for persistent storage
-//	 * @param kind
-//	 *          kind of page
-//	 * @return new tree instance
-//	 */
-//	public static <KE extends Comparable<? super KE>, VA> BPlusTreeWriter<KE, VA> getInstance(
-//			final BPlusTreePageWriteTrx pageWriteTrx, final PageKind kind) {
-//		return new BPlusTreeWriter<KE, VA>(checkNotNull(pageWriteTrx), checkNotNull(kind));
-//	}
-//	
-//	/**
-//	 * Closes the tree storage.
-//	 * 
-//	 * @throws SirixIOException
-//	 *           I/O exception if closing the BPlusTree fails
-//	 */
-//	@Override
-//	public void close() throws SirixIOException {
-//
-//	}
-//
-//	//
-//	// /* ======================== Class Methods ======================== */
-//	//
-//	// /**
-//	// * Returns true if the specified value was found.
-//	// * @param value value to be found
-//	// * @return true if the value was found
-//	// * @throws IOException I/O exception
-//	// */
-//	// public boolean contains(final V value) throws IOException {
-//	// return contains(value, 0);
-//	// }
-//	//
-//	// /**
-//	// * Inserts a value into the tree structure.
-//	// * If -1 is returned, everything went alright.
-//	// * If -2 is returned, the value is already stored.
-//	// * @param value value to be added
-//	// * @throws IOException I/O exception
-//	// */
-//	// public void insert(final V value) throws IOException {
-//	// if(insert(value, 0) == -1) storage.nrValues++;
-//	// }
-//	//
-//	// /**
-//	// * Deletes a value from the tree structure.
-//	// * If -1 is returned, everything went alright.
-//	// * If -2 is returned, the value was not found.
-//	// * @param value value to be deleted
-//	// * @throws IOException I/O exception
-//	// */
-//	// public void delete(final V value) throws IOException {
-//	// if(delete(value, storage.root) == -1) storage.nrValues--;
-//	// }
-//	//
-//	// /**
-//	// * Returns the number of currently stored values.
-//	// * @return number of stored values
-//	// */
-//	// public int nrValues() {
-//	// return storage.nrValues;
-//	// }
-//	//
-//	//
-//	// /**
-//	// * Dumps the contents of the disk storage to the specified output stream.
-//	// * @param out output stream
-//	// * @throws IOException I/O exception
-//	// */
-//	// public void dump(final PrintStream out) throws IOException {
-//	// storage.dump(out);
-//	// }
-//	//
-//	// /**
-//	// * Recursive method for finding the specified value. The boolean
-//	// * value <code>true</code> is returned if the specified value was found
-//	// * in a leaf node.
-//	// * @param value value to be found
-//	// * @param pointer pointer to the current block
-//	// * @return true if value has been found; false otherwise
-//	// * @throws IOException I/O exception
-//	// */
-//	// private boolean contains(final V value, final long pointer) throws
-//	// IOException {
-//	// // get block from disk
-//	// mPageWriteTrx.
-//	// final BTreeBlock block = storage.read(pointer);
-//	// final int size = block.nrValues;
-//	//
-//	// // check if the current block is a leaf node
-//	// if(block.leaf) {
-//	// // check if the leaf value is found
-//	// int pos = -1;
-//	// while(++pos < size) {
-//	// // value was found - unpin block and return true
-//	// if(value == block.getLeaf(pos)) {
-//	// block.unpin();
-//	// return true;
-//	// }
-//	// }
-//	// // value was not found - unpin block and return false
-//	// block.unpin();
-//	// return false;
-//	// }
-//	//
-//	// // no leaf - find child block
-//	// int pos = -1;
-//	// while(++pos < size) {
-//	// // found value is smaller or equal - stop searching
-//	// if(value < block.getValue(pos)) break;
-//	// }
-//	//
-//	// // continue with child block
-//	// final int child = block.getChild(pos);
-//	// block.unpin();
-//	// return contains(value, child);
-//	// }
-//	//
-// }
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.PageWriteTrx;
+import org.sirix.cache.IndirectPageLogKey;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.DocumentRootNode;
+import org.sirix.node.Kind;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.CASPage;
+import org.sirix.page.NamePage;
+import org.sirix.page.PageKind;
+import org.sirix.page.PathPage;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.settings.Fixed;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer of a B+-tree, whose nodes are stored as records in the record pages of
+ * an index. Modified nodes are copied into the transaction log through the
+ * {@link PageWriteTrx}, such that the tree is versioned like any other record.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K>
+ *          the key to search for or insert
+ * @param <V>
+ *          the value
+ */
+public final class BPlusTreeWriter<K extends Comparable<? super K>, V extends References>
+		implements IndexTreeWriter<K, V> {
+	/** Logger. */
+	private static final LogWrapper LOGGER = new LogWrapper(
+			LoggerFactory.getLogger(BPlusTreeWriter.class));
+
+	/** {@link BPlusTreeReader} instance. */
+	private final BPlusTreeReader<K, V> mReader;
+
+	/** {@link PageWriteTrx} instance. */
+	private final PageWriteTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
+
+	/** Kind of the tree nodes. */
+	private final Kind mKind;
+
+	/**
+	 * Private constructor.
+	 *
+	 * @param pageWriteTrx
+	 *          {@link PageWriteTrx} for persistent storage
+	 * @param type
+	 *          type of index
+	 * @param index
+	 *          the index number
+	 */
+	private BPlusTreeWriter(
+			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+			final IndexType type, final @Nonnegative int index) {
+		try {
+			switch (type) {
+			case PATH:
+				// Create path index tree if needed.
+				final PathPage pathPage = pageWriteTrx.getPathPage(pageWriteTrx
+						.getActualRevisionRootPage());
+				pageWriteTrx.putPageIntoCache(new IndirectPageLogKey(PageKind.PATHPAGE,
+						-1, -1, 0), pathPage);
+				pathPage.createPathIndexTree(pageWriteTrx, index);
+				break;
+			case CAS:
+				// Create CAS index tree if needed.
+				final CASPage casPage = pageWriteTrx.getCASPage(pageWriteTrx
+						.getActualRevisionRootPage());
+				pageWriteTrx.putPageIntoCache(new IndirectPageLogKey(PageKind.CASPAGE,
+						-1, -1, 0), casPage);
+				casPage.createCASIndexTree(pageWriteTrx, index);
+				break;
+			case NAME:
+				// Create name index tree if needed.
+				final NamePage namePage = pageWriteTrx.getNamePage(pageWriteTrx
+						.getActualRevisionRootPage());
+				pageWriteTrx.putPageIntoCache(new IndirectPageLogKey(PageKind.NAMEPAGE,
+						-1, -1, 0), namePage);
+				namePage.createNameIndexTree(pageWriteTrx, index);
+				break;
+			}
+		} catch (final SirixIOException e) {
+			LOGGER.error(e.getMessage(), e);
+		}
+		switch (type) {
+		case PATH:
+			mKind = Kind.PATHBPLUS;
+			break;
+		case CAS:
+			mKind = Kind.CASBPLUS;
+			break;
+		case NAME:
+			mKind = Kind.NAMEBPLUS;
+			break;
+		default:
+			throw new IllegalStateException();
+		}
+		mReader = BPlusTreeReader.getInstance(pageWriteTrx, type, index);
+		mPageWriteTrx = pageWriteTrx;
+	}
+
+	/**
+	 * Get a new instance.
+	 *
+	 * @param pageWriteTrx
+	 *          {@link PageWriteTrx} for persistent storage
+	 * @param type
+	 *          type of index
+	 * @param index
+	 *          the index number
+	 * @return new tree instance
+	 */
+	public static <K extends Comparable<? super K>, V extends References> BPlusTreeWriter<K, V> getInstance(
+			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+			final IndexType type, final int index) {
+		return new BPlusTreeWriter<K, V>(pageWriteTrx, type, index);
+	}
+
+	/**
+	 * Checks if the specified token is already indexed; if yes, replaces its
+	 * value. Otherwise, creates a new index entry. Overfull nodes are split on
+	 * the way back up to the root.
+	 *
+	 * @param key
+	 *          token to be indexed
+	 * @param value
+	 *          node key references
+	 * @param move
+	 *          ignored, as the tree is always searched from the root
+	 * @return indexed node key references
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	@Override
+	public V index(final K key, final V value, final MoveCursor move)
+			throws SirixIOException {
+		checkNotNull(key);
+		checkNotNull(value);
+		final RevisionRootPage root = mPageWriteTrx.getActualRevisionRootPage();
+		final DocumentRootNode document = mReader.getDocumentRoot();
+		if (!document.hasFirstChild()) {
+			// Index is empty.. create root node.
+			final BPlusTreeNode<K, V> leaf = createNode(root, true,
+					Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+			leaf.insert(0, key, value);
+			final DocumentRootNode modifiableDocument = prepareDocumentRoot();
+			modifiableDocument.setFirstChildKey(leaf.getNodeKey());
+			modifiableDocument.incrementChildCount();
+			modifiableDocument.incrementDescendantCount();
+			return value;
+		}
+
+		// Descend to the leaf and remember the path.
+		final Deque<Long> path = new ArrayDeque<>();
+		final Deque<Integer> childIndexes = new ArrayDeque<>();
+		BPlusTreeNode<K, V> node = mReader.getNode(document.getFirstChildKey());
+		while (!node.isLeaf()) {
+			final int childIndex = node.childIndex(key);
+			path.push(node.getNodeKey());
+			childIndexes.push(childIndex);
+			node = mReader.getNode(node.getChildKey(childIndex));
+		}
+
+		final BPlusTreeNode<K, V> leaf = prepareNode(node.getNodeKey());
+		final int index = leaf.search(key);
+		if (index >= 0) {
+			// The value might have been modified in place, thus always store it.
+			leaf.setValue(index, value);
+			return value;
+		}
+		leaf.insert(-index - 1, key, value);
+		prepareDocumentRoot().incrementDescendantCount();
+
+		// Split overfull nodes up to the root.
+		BPlusTreeNode<K, V> left = leaf;
+		while (left.isOverfull()) {
+			final long parentKey = path.isEmpty() ? Fixed.DOCUMENT_NODE_KEY
+					.getStandardProperty() : path.peek();
+			final BPlusTreeNode<K, V> right = createNode(root, left.isLeaf(),
+					parentKey);
+			final K separator = left.splitInto(right);
+			if (path.isEmpty()) {
+				// Root split: the tree grows by one level.
+				final BPlusTreeNode<K, V> newRoot = createNode(root, false,
+						Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+				newRoot.addFirstChild(left.getNodeKey());
+				newRoot.insertChild(0, separator, right.getNodeKey());
+				prepareDocumentRoot().setFirstChildKey(newRoot.getNodeKey());
+				break;
+			}
+			final BPlusTreeNode<K, V> parent = prepareNode(path.pop());
+			parent.insertChild(childIndexes.pop(), separator, right.getNodeKey());
+			left = parent;
+		}
+		return value;
+	}
+
+	/**
+	 * Index key/value pairs at once. The tree is built bottom-up, if it's empty,
+	 * that is the leaves are filled from left to right and linked, and each
+	 * level of inner nodes is built on top of the previous level until a single
+	 * root remains. Otherwise, the pairs are indexed one after the other.
+	 *
+	 * @param entries
+	 *          the key/value pairs sorted by their keys without duplicates
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 * @throws IllegalArgumentException
+	 *           if the keys aren't sorted or contain duplicates
+	 */
+	@Override
+	public void load(final List<Entry<K, V>> entries) throws SirixIOException {
+		checkNotNull(entries);
+		for (int i = 1, size = entries.size(); i < size; i++) {
+			checkArgument(entries.get(i - 1).getKey()
+					.compareTo(entries.get(i).getKey()) < 0,
+					"keys must be sorted without duplicates!");
+		}
+		if (entries.isEmpty()) {
+			return;
+		}
+		if (mReader.getDocumentRoot().hasFirstChild()) {
+			for (final Entry<K, V> entry : entries) {
+				final Optional<V> indexed = get(entry.getKey(), SearchMode.EQUAL);
+				V value = entry.getValue();
+				if (indexed.isPresent()) {
+					for (final long nodeKey : value.getNodeKeys()) {
+						indexed.get().addNodeKey(nodeKey);
+					}
+					value = indexed.get();
+				}
+				index(entry.getKey(), value, MoveCursor.NO_MOVE);
+			}
+			return;
+		}
+
+		// The parents are created afterwards, thus the document root is stored as
+		// the parent at creation time. The entries are distributed evenly, such
+		// that no node is (almost) empty.
+		final RevisionRootPage root = mPageWriteTrx.getActualRevisionRootPage();
+		final long documentKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+		final int size = entries.size();
+		final int leaves = (size + BPlusTreeNode.MAX_ENTRIES - 1)
+				/ BPlusTreeNode.MAX_ENTRIES;
+		List<Long> nodeKeys = new ArrayList<>(leaves);
+		List<K> firstKeys = new ArrayList<>(leaves);
+		for (int i = 0, from = 0; i < leaves; i++) {
+			final int to = (int) ((long) size * (i + 1) / leaves);
+			final BPlusTreeNode<K, V> leaf = createNode(root, true, documentKey);
+			for (int j = from; j < to; j++) {
+				leaf.insert(j - from, entries.get(j).getKey(), entries.get(j)
+						.getValue());
+			}
+			if (i > 0) {
+				prepareNode(nodeKeys.get(i - 1)).setNextLeafKey(leaf.getNodeKey());
+			}
+			nodeKeys.add(leaf.getNodeKey());
+			firstKeys.add(entries.get(from).getKey());
+			from = to;
+		}
+
+		// Each separator is the smallest key in the subtree of its right child.
+		final int fanOut = BPlusTreeNode.MAX_ENTRIES + 1;
+		while (nodeKeys.size() > 1) {
+			final int children = nodeKeys.size();
+			final int parents = (children + fanOut - 1) / fanOut;
+			final List<Long> parentKeys = new ArrayList<>(parents);
+			final List<K> parentFirstKeys = new ArrayList<>(parents);
+			for (int i = 0, from = 0; i < parents; i++) {
+				final int to = (int) ((long) children * (i + 1) / parents);
+				final BPlusTreeNode<K, V> node = createNode(root, false, documentKey);
+				node.addFirstChild(nodeKeys.get(from));
+				for (int j = from + 1; j < to; j++) {
+					node.insertChild(j - from - 1, firstKeys.get(j), nodeKeys.get(j));
+				}
+				parentKeys.add(node.getNodeKey());
+				parentFirstKeys.add(firstKeys.get(from));
+				from = to;
+			}
+			nodeKeys = parentKeys;
+			firstKeys = parentFirstKeys;
+		}
+
+		final DocumentRootNode document = prepareDocumentRoot();
+		document.setFirstChildKey(nodeKeys.get(0));
+		document.incrementChildCount();
+		document.setDescendantCount(size);
+	}
+
+	/**
+	 * Create a new empty tree node.
+	 *
+	 * @param root
+	 *          the current {@link RevisionRootPage}
+	 * @param leaf
+	 *          determines if a leaf or an inner node is created
+	 * @param parentKey
+	 *          the node key of the parent at creation time
+	 * @return the new node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	@SuppressWarnings("unchecked")
+	private BPlusTreeNode<K, V> createNode(final RevisionRootPage root,
+			final boolean leaf, final long parentKey) throws SirixIOException {
+		final long nodeKey = getNewNodeKey(root);
+		final NodeDelegate delegate = new NodeDelegate(nodeKey, parentKey, 0, 0,
+				Optional.<SirixDeweyID> empty());
+		final BPlusTreeNode<K, V> node = leaf ? BPlusTreeNode.<K, V> newLeaf(
+				mKind, delegate) : BPlusTreeNode.<K, V> newInnerNode(mKind, delegate);
+		return (BPlusTreeNode<K, V>) mPageWriteTrx.createEntry(nodeKey, node,
+				mReader.mPageKind, mReader.mIndex,
+				Optional.<UnorderedKeyValuePage> empty());
+	}
+
+	/**
+	 * Prepare a tree node for modification.
+	 *
+	 * @param nodeKey
+	 *          the node key of the tree node
+	 * @return the modifiable tree node
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	@SuppressWarnings("unchecked")
+	private BPlusTreeNode<K, V> prepareNode(final long nodeKey)
+			throws SirixIOException {
+		return (BPlusTreeNode<K, V>) mPageWriteTrx.prepareEntryForModification(
+				nodeKey, mReader.mPageKind, mReader.mIndex,
+				Optional.<UnorderedKeyValuePage> empty());
+	}
+
+	/**
+	 * Prepare the document root of the index for modification.
+	 *
+	 * @return the modifiable document root
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private DocumentRootNode prepareDocumentRoot() throws SirixIOException {
+		return (DocumentRootNode) mPageWriteTrx.prepareEntryForModification(
+				Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), mReader.mPageKind,
+				mReader.mIndex, Optional.<UnorderedKeyValuePage> empty());
+	}
+
+	/**
+	 * Get the new maximum node key.
+	 *
+	 * @param root
+	 *          the current {@link RevisionRootPage}
+	 * @return maximum node key
+	 * @throws SirixIOException
+	 */
+	private long getNewNodeKey(final RevisionRootPage root)
+			throws SirixIOException {
+		switch (mReader.mPageKind) {
+		case PATHPAGE:
+			return mPageWriteTrx.getPathPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+		case CASPAGE:
+			return mPageWriteTrx.getCASPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+		case NAMEPAGE:
+			return mPageWriteTrx.getNamePage(root).getMaxNodeKey(mReader.mIndex) + 1;
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	/**
+	 * Remove a node key from the value of a key.
+	 *
+	 * @param key
+	 *          the key for which to search the value
+	 * @param nodeKey
+	 *          the nodeKey to remove from the value
+	 * @throws SirixIOException
+	 *           if an I/O error occured
+	 */
+	@Override
+	public boolean remove(final K key, final @Nonnegative long nodeKey)
+			throws SirixIOException {
+		checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+		checkNotNull(key);
+		final DocumentRootNode document = mReader.getDocumentRoot();
+		if (!document.hasFirstChild()) {
+			return false;
+		}
+		BPlusTreeNode<K, V> node = mReader.getNode(document.getFirstChildKey());
+		while (!node.isLeaf()) {
+			node = mReader.getNode(node.getChildKey(node.childIndex(key)));
+		}
+		final int index = node.search(key);
+		if (index < 0) {
+			return false;
+		}
+		return prepareNode(node.getNodeKey()).getValue(index)
+				.removeNodeKey(nodeKey);
+	}
+
+	@Override
+	public Optional<V> get(final K key, final SearchMode mode) {
+		return mReader.get(key, mode);
+	}
+}
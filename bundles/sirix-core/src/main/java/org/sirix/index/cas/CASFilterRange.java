@@ -9,9 +9,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.PathFilter;
 
 /**
@@ -72,12 +70,10 @@ public final class CASFilterRange implements Filter {
 	}
 
 	@Override
-	public <K extends Comparable<? super K>> boolean filter(
-			final AVLNode<K, NodeReferences> node) {
-		final K key = node.getKey();
+	public <K extends Comparable<? super K>> boolean filter(final K key) {
 		if (key instanceof CASValue) {
 			final CASValue casValue = (CASValue) key;
-			final boolean filtered = mPathFilter.filter(node);
+			final boolean filtered = mPathFilter.filter(key);
 
 			if (filtered) {
 				return inRange(casValue.getAtomicValue());
@@ -2,7 +2,6 @@ package org.sirix.index.cas;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Optional;
 import java.util.Set;
 
 import org.brackit.xquery.atomic.QNm;
@@ -18,10 +17,10 @@ import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
+import org.sirix.index.IndexBuildVisitor;
 import org.sirix.index.IndexDef;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexLoader;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -41,7 +40,8 @@ import org.slf4j.LoggerFactory;
  * @author Johannes Lichtenberger
  *
  */
-final class CASIndexBuilder extends AbstractVisitor {
+final class CASIndexBuilder extends AbstractVisitor implements
+		IndexBuildVisitor {
 
 	private static final LogWrapper LOGGER = new LogWrapper(
 			LoggerFactory.getLogger(CASIndexBuilder.class));
@@ -49,8 +49,9 @@ final class CASIndexBuilder extends AbstractVisitor {
 	private final NodeReadTrx mRtx;
 	private final Set<Path<QNm>> mPaths;
 	private final PathSummaryReader mPathSummaryReader;
-	private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<CASValue, NodeReferences> mIndexTreeWriter;
 	private final Type mType;
+	private final IndexLoader<CASValue> mLoader = new IndexLoader<>();
 
 	CASIndexBuilder(final NodeReadTrx rtx,
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
@@ -58,7 +59,7 @@ final class CASIndexBuilder extends AbstractVisitor {
 		mRtx = checkNotNull(rtx);
 		mPathSummaryReader = checkNotNull(pathSummaryReader);
 		mPaths = checkNotNull(indexDefinition.getPaths());
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDefinition.getStructure().getWriter(pageWriteTrx,
 				indexDefinition.getType(), indexDefinition.getID());
 		mType = checkNotNull(indexDefinition.getContentType());
 	}
@@ -93,14 +94,7 @@ final class CASIndexBuilder extends AbstractVisitor {
 				}
 
 				if (isOfType) {
-					final CASValue value = new CASValue(strValue, mType, PCR);
-					final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(
-							value, SearchMode.EQUAL);
-					if (textReferences.isPresent()) {
-						setNodeReferences(node, textReferences.get(), value);
-					} else {
-						setNodeReferences(node, new NodeReferences(), value);
-					}
+					mLoader.add(new CASValue(strValue, mType, PCR), node.getNodeKey());
 				}
 			}
 			mRtx.moveTo(node.getNodeKey());
@@ -110,11 +104,9 @@ final class CASIndexBuilder extends AbstractVisitor {
 		return VisitResultType.CONTINUE;
 	}
 
-	private void setNodeReferences(final ImmutableNode node,
-			final NodeReferences references, final CASValue value)
-			throws SirixIOException {
-		mAVLTreeWriter.index(value, references.addNodeKey(node.getNodeKey()),
-				MoveCursor.NO_MOVE);
+	@Override
+	public void finish() throws SirixIOException {
+		mLoader.load(mIndexTreeWriter);
 	}
 
 }
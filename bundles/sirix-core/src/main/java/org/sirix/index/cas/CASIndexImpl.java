@@ -1,6 +1,7 @@
 package org.sirix.index.cas;
 
 import java.util.Iterator;
+import java.util.Map.Entry;
 
 import org.brackit.xquery.atomic.Atomic;
 import org.sirix.api.NodeReadTrx;
@@ -8,15 +9,13 @@ import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
+import org.sirix.index.IndexTreeReader;
 import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.AVLTreeReader;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
-import org.sirix.settings.Fixed;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -40,11 +39,25 @@ public final class CASIndexImpl implements CASIndex<CASValue, NodeReferences> {
 	public Iterator<NodeReferences> openIndex(PageReadTrx pageReadTrx,
 			IndexDef indexDef, SearchMode mode, CASFilterRange filter, Atomic low,
 			Atomic high, boolean incLow, boolean incMax) {
-		final AVLTreeReader<CASValue, NodeReferences> reader = AVLTreeReader
-				.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+		final IndexTreeReader<CASValue, NodeReferences> reader = indexDef
+				.getStructure().getReader(pageReadTrx, indexDef.getType(),
+						indexDef.getID());
 
-		final Iterator<AVLNode<CASValue, NodeReferences>> iter = reader.new AVLNodeIterator(
-				Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		// Only visit keys in the value range, the filter checks the paths.
+		final Iterator<Entry<CASValue, NodeReferences>> iter = reader.range(
+				value -> {
+					if (low == null) {
+						return false;
+					}
+					final int c = low.compareTo(value.getAtomicValue());
+					return incLow ? c > 0 : c >= 0;
+				}, value -> {
+					if (high == null) {
+						return false;
+					}
+					final int c = high.compareTo(value.getAtomicValue());
+					return incMax ? c < 0 : c <= 0;
+				});
 
 		return new IndexFilterAxis<CASValue>(iter, ImmutableSet.of(filter));
 	}
@@ -53,11 +66,14 @@ public final class CASIndexImpl implements CASIndex<CASValue, NodeReferences> {
 	public Iterator<NodeReferences> openIndex(PageReadTrx pageReadTrx,
 			IndexDef indexDef, SearchMode mode, CASFilter filter, Atomic key,
 			boolean incSelf) {
-		final AVLTreeReader<CASValue, NodeReferences> reader = AVLTreeReader
-				.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+		final IndexTreeReader<CASValue, NodeReferences> reader = indexDef
+				.getStructure().getReader(pageReadTrx, indexDef.getType(),
+						indexDef.getID());
 
-		final Iterator<AVLNode<CASValue, NodeReferences>> iter = reader.new AVLNodeIterator(
-				Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		// Only visit keys in the search space, the filter checks the paths.
+		final Iterator<Entry<CASValue, NodeReferences>> iter = reader.range(
+				value -> mode.compare(key, value.getAtomicValue()) > 0,
+				value -> mode.compare(key, value.getAtomicValue()) < 0);
 
 		return new IndexFilterAxis<CASValue>(iter, ImmutableSet.of(filter));
 	}
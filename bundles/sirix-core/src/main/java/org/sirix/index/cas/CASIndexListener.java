@@ -17,9 +17,9 @@ import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
 import org.sirix.index.ChangeListener;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -31,7 +31,7 @@ import org.sirix.page.UnorderedKeyValuePage;
 
 public final class CASIndexListener implements ChangeListener {
 
-	private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<CASValue, NodeReferences> mIndexTreeWriter;
 	private final PathSummaryReader mPathSummaryReader;
 	private final Set<Path<QNm>> mPaths;
 	private final Type mType;
@@ -39,7 +39,7 @@ public final class CASIndexListener implements ChangeListener {
 	public CASIndexListener(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
 			final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDef.getStructure().getWriter(pageWriteTrx,
 				indexDef.getType(), indexDef.getID());
 		mPathSummaryReader = checkNotNull(pathSummaryReader);
 		mPaths = checkNotNull(indexDef.getPaths());
@@ -61,7 +61,7 @@ public final class CASIndexListener implements ChangeListener {
 					break;
 				case DELETE:
 					if (mPathSummaryReader.getPCRsForPaths(mPaths).contains(pathNodeKey)) {
-						mAVLTreeWriter.remove(new CASValue(new Str(valueNode.getValue()),
+						mIndexTreeWriter.remove(new CASValue(new Str(valueNode.getValue()),
 								mType, pathNodeKey), node.getNodeKey());
 					}
 					break;
@@ -86,7 +86,7 @@ public final class CASIndexListener implements ChangeListener {
 
 		if (isOfType) {
 			final CASValue indexValue = new CASValue(strValue, mType, pathNodeKey);
-			final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(
+			final Optional<NodeReferences> textReferences = mIndexTreeWriter.get(
 					indexValue, SearchMode.EQUAL);
 			if (textReferences.isPresent()) {
 				setNodeReferences(node, textReferences.get(), indexValue);
@@ -99,7 +99,7 @@ public final class CASIndexListener implements ChangeListener {
 	private void setNodeReferences(final Node node,
 			final NodeReferences references, final CASValue indexValue)
 			throws SirixIOException {
-		mAVLTreeWriter.index(indexValue, references.addNodeKey(node.getNodeKey()),
+		mIndexTreeWriter.index(indexValue, references.addNodeKey(node.getNodeKey()),
 				MoveCursor.NO_MOVE);
 	}
 }
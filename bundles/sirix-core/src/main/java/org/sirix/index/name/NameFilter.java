@@ -6,8 +6,6 @@ import java.util.Set;
 
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 
 public final class NameFilter implements Filter {
 
@@ -19,14 +17,31 @@ public final class NameFilter implements Filter {
 		mExcludes = checkNotNull(excluded);
 	}
 
+	/**
+	 * Get the names to include.
+	 * 
+	 * @return the included names (all names, if empty)
+	 */
+	public Set<QNm> getIncludes() {
+		return mIncludes;
+	}
+
+	/**
+	 * Get the names to exclude.
+	 * 
+	 * @return the excluded names
+	 */
+	public Set<QNm> getExcludes() {
+		return mExcludes;
+	}
+
 	@Override
-	public <K extends Comparable<? super K>> boolean filter(
-			final AVLNode<K, NodeReferences> node) {
+	public <K extends Comparable<? super K>> boolean filter(final K key) {
 
-		if (!(node.getKey() instanceof QNm))
+		if (!(key instanceof QNm))
 			throw new IllegalStateException("Key is not of type QNm!");
 
-		final QNm name = (QNm) node.getKey();
+		final QNm name = (QNm) key;
 		final boolean included = (mIncludes.isEmpty() || mIncludes.contains(name));
 		final boolean excluded = (!mExcludes.isEmpty() && mExcludes.contains(name));
 
@@ -2,7 +2,6 @@ package org.sirix.index.name;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Optional;
 import java.util.Set;
 
 import org.brackit.xquery.atomic.QNm;
@@ -11,27 +10,23 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexBuildVisitor;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexLoader;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.immutable.ImmutableElement;
 import org.sirix.node.interfaces.Record;
-import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.page.UnorderedKeyValuePage;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
 
-final class NameIndexBuilder extends AbstractVisitor {
-
-	private static final LogWrapper LOGGER = new LogWrapper(
-			LoggerFactory.getLogger(NameIndexBuilder.class));
+final class NameIndexBuilder extends AbstractVisitor implements
+		IndexBuildVisitor {
 
 	private final Set<QNm> mIncludes;
 	private final Set<QNm> mExcludes;
-	private final AVLTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<QNm, NodeReferences> mIndexTreeWriter;
+	private final IndexLoader<QNm> mLoader = new IndexLoader<>();
 
 	public NameIndexBuilder(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
@@ -39,7 +34,7 @@ final class NameIndexBuilder extends AbstractVisitor {
 		mIncludes = checkNotNull(indexDefinition.getIncluded());
 		mExcludes = checkNotNull(indexDefinition.getExcluded());
 		assert indexDefinition.getType() == IndexType.NAME;
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDefinition.getStructure().getWriter(pageWriteTrx,
 				indexDefinition.getType(), indexDefinition.getID());
 	}
 
@@ -53,26 +48,13 @@ final class NameIndexBuilder extends AbstractVisitor {
 			return VisitResultType.CONTINUE;
 		}
 
-		final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(name,
-				SearchMode.EQUAL);
-
-		try {
-			if (textReferences.isPresent()) {
-				setNodeReferences(node, textReferences.get(), name);
-			} else {
-				setNodeReferences(node, new NodeReferences(), name);
-			}
-		} catch (final SirixIOException e) {
-			LOGGER.error(e.getMessage(), e);
-		}
-
+		mLoader.add(name, node.getNodeKey());
 		return VisitResultType.CONTINUE;
 	}
 
-	private void setNodeReferences(final ImmutableNode node,
-			final NodeReferences references, final QNm name) throws SirixIOException {
-		mAVLTreeWriter.index(name, references.addNodeKey(node.getNodeKey()),
-				MoveCursor.NO_MOVE);
+	@Override
+	public void finish() throws SirixIOException {
+		mLoader.load(mIndexTreeWriter);
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.sirix.index.name;
 
 import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.brackit.xquery.atomic.QNm;
@@ -9,14 +10,14 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.index.Filter;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.AVLTreeReader;
+import org.sirix.index.IndexTreeReader;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
-import org.sirix.settings.Fixed;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
 
 public final class NameIndexImpl implements NameIndex<QNm, NodeReferences> {
 
@@ -37,11 +38,18 @@ public final class NameIndexImpl implements NameIndex<QNm, NodeReferences> {
 	@Override
 	public Iterator<NodeReferences> openIndex(PageReadTrx pageRtx,
 			IndexDef indexDef, NameFilter filter) {
-		final AVLTreeReader<QNm, NodeReferences> reader = AVLTreeReader
-				.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
-
-		final Iterator<AVLNode<QNm, NodeReferences>> iter = reader.new AVLNodeIterator(
-				Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		final IndexTreeReader<QNm, NodeReferences> reader = indexDef
+				.getStructure().getReader(pageRtx, indexDef.getType(),
+						indexDef.getID());
+
+		if (filter != null && !filter.getIncludes().isEmpty()) {
+			// Point searches for the included names.
+			return reader.getAll(ImmutableSortedSet.copyOf(Sets.difference(
+					filter.getIncludes(), filter.getExcludes())));
+		}
+
+		final Iterator<Entry<QNm, NodeReferences>> iter = reader.range(
+				key -> false, key -> false);
 		final Set<Filter> setFilter = filter == null ? ImmutableSet.<Filter> of()
 				: ImmutableSet.<Filter> of(filter);
 
@@ -13,10 +13,10 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.index.ChangeListener;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.interfaces.NameNode;
 import org.sirix.node.interfaces.Record;
@@ -27,7 +27,7 @@ final class NameIndexListener implements ChangeListener {
 
 	private final Set<QNm> mIncludes;
 	private final Set<QNm> mExcludes;
-	private final AVLTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<QNm, NodeReferences> mIndexTreeWriter;
 
 	public NameIndexListener(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
@@ -35,7 +35,7 @@ final class NameIndexListener implements ChangeListener {
 		mIncludes = checkNotNull(indexDefinition.getIncluded());
 		mExcludes = checkNotNull(indexDefinition.getExcluded());
 		assert indexDefinition.getType() == IndexType.NAME;
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDefinition.getStructure().getWriter(pageWriteTrx,
 				indexDefinition.getType(), indexDefinition.getID());
 	}
 
@@ -55,7 +55,7 @@ final class NameIndexListener implements ChangeListener {
 
 			switch (type) {
 			case INSERT:
-				final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(
+				final Optional<NodeReferences> textReferences = mIndexTreeWriter.get(
 						name, SearchMode.EQUAL);
 				if (textReferences.isPresent()) {
 					setNodeReferences(node, textReferences.get(), name);
@@ -64,7 +64,7 @@ final class NameIndexListener implements ChangeListener {
 				}
 				break;
 			case DELETE:
-				mAVLTreeWriter.remove(name, node.getNodeKey());
+				mIndexTreeWriter.remove(name, node.getNodeKey());
 				break;
 			default:
 			}
@@ -73,7 +73,7 @@ final class NameIndexListener implements ChangeListener {
 
 	private void setNodeReferences(final ImmutableNode node,
 			final NodeReferences references, final QNm name) throws SirixIOException {
-		mAVLTreeWriter.index(name, references.addNodeKey(node.getNodeKey()),
+		mIndexTreeWriter.index(name, references.addNodeKey(node.getNodeKey()),
 				MoveCursor.NO_MOVE);
 	}
 
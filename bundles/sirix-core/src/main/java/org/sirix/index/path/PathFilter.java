@@ -3,6 +3,7 @@ package org.sirix.index.path;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Set;
+import java.util.SortedSet;
 
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
@@ -10,13 +11,13 @@ import org.brackit.xquery.util.path.PathException;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.NodeWriteTrx;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableSortedSet;
+
 /**
  * Path filter for {@link PathSummaryReader}, filtering specific path types.
  * 
@@ -61,18 +62,16 @@ public final class PathFilter implements Filter {
 	/**
 	 * Filter the node.
 	 * 
-	 * @param node
-	 *          node to filter
+	 * @param key
+	 *          key to filter
 	 * @return {@code true} if the node has been filtered, {@code false} otherwise
 	 */
 	@Override
-	public <K extends Comparable<? super K>> boolean filter(
-			final AVLNode<K, NodeReferences> node) {
+	public <K extends Comparable<? super K>> boolean filter(final K key) {
 		if (mGenericPath) {
 			return true;
 		}
 
-		final K key = node.getKey();
 
 		long pcr = 0;
 		if (key instanceof Long)
@@ -83,16 +82,42 @@ public final class PathFilter implements Filter {
 			throw new IllegalStateException();
 
 		if (pcr > mMaxKnownPCR) {
-			try (final PathSummaryReader reader = mRtx instanceof NodeWriteTrx ? ((NodeWriteTrx) mRtx)
-					.getPathSummary() : mRtx.getSession().openPathSummary(
-					mRtx.getRevisionNumber())) {
-				mMaxKnownPCR = reader.getMaxNodeKey();
-				mPCRFilter = reader.getPCRsForPaths(mPaths);
-			} catch (final PathException e) {
-				LOGGER.error(e.getMessage(), e);
-			}
+			updatePCRs();
 		}
 
 		return mPCRFilter.contains(pcr);
 	}
+
+	/**
+	 * Determines if all paths match.
+	 * 
+	 * @return {@code true}, if no specific paths are filtered, {@code false}
+	 *         otherwise
+	 */
+	public boolean isGenericPath() {
+		return mGenericPath;
+	}
+
+	/**
+	 * Get the path class records (PCRs) of the paths to filter.
+	 * 
+	 * @return the PCRs of all matching paths in ascending order
+	 */
+	public SortedSet<Long> getPCRs() {
+		updatePCRs();
+		return mPCRFilter == null ? ImmutableSortedSet.<Long> of()
+				: ImmutableSortedSet.copyOf(mPCRFilter);
+	}
+
+	// Determine the PCRs of the paths from the path summary.
+	private void updatePCRs() {
+		try (final PathSummaryReader reader = mRtx instanceof NodeWriteTrx ? ((NodeWriteTrx) mRtx)
+				.getPathSummary() : mRtx.getSession().openPathSummary(
+				mRtx.getRevisionNumber())) {
+			mMaxKnownPCR = reader.getMaxNodeKey();
+			mPCRFilter = reader.getPCRsForPaths(mPaths);
+		} catch (final PathException e) {
+			LOGGER.error(e.getMessage(), e);
+		}
+	}
 }
@@ -2,7 +2,6 @@ package org.sirix.index.path;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Optional;
 import java.util.Set;
 
 import org.brackit.xquery.atomic.QNm;
@@ -13,23 +12,23 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexBuildVisitor;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexLoader;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.immutable.ImmutableAttribute;
 import org.sirix.node.immutable.ImmutableElement;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.immutable.ImmutableNameNode;
-import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-final class PathIndexBuilder extends AbstractVisitor {
+final class PathIndexBuilder extends AbstractVisitor implements
+		IndexBuildVisitor {
 
 	private static final LogWrapper LOGGER = new LogWrapper(
 			LoggerFactory.getLogger(PathIndexBuilder.class));
@@ -37,7 +36,8 @@ final class PathIndexBuilder extends AbstractVisitor {
 	private final Set<Path<QNm>> mPaths;
 	private final PathSummaryReader mPathSummaryReader;
 
-	private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<Long, NodeReferences> mIndexTreeWriter;
+	private final IndexLoader<Long> mLoader = new IndexLoader<>();
 
 	PathIndexBuilder(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
@@ -45,7 +45,7 @@ final class PathIndexBuilder extends AbstractVisitor {
 		mPathSummaryReader = checkNotNull(pathSummaryReader);
 		mPaths = checkNotNull(indexDef.getPaths());
 		assert indexDef.getType() == IndexType.PATH;
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDef.getStructure().getWriter(pageWriteTrx,
 				indexDef.getType(), indexDef.getID());
 	}
 
@@ -64,26 +64,18 @@ final class PathIndexBuilder extends AbstractVisitor {
 			final long PCR = node.getPathNodeKey();
 			if (mPathSummaryReader.getPCRsForPaths(mPaths).contains(PCR)
 					|| mPaths.isEmpty()) {
-				final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(PCR,
-						SearchMode.EQUAL);
-				if (textReferences.isPresent()) {
-					setNodeReferences(node, textReferences.get(), PCR);
-				} else {
-					setNodeReferences(node, new NodeReferences(), PCR);
-				}
+				mLoader.add(PCR, node.getNodeKey());
 			}
-		} catch (final PathException | SirixIOException e) {
+		} catch (final PathException e) {
 			LOGGER.error(e.getMessage(), e);
 		}
 		return VisitResultType.CONTINUE;
 
 	}
 
-	private void setNodeReferences(final ImmutableNode node,
-			final NodeReferences references, final long pathNodeKey)
-			throws SirixIOException {
-		mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()),
-				MoveCursor.NO_MOVE);
+	@Override
+	public void finish() throws SirixIOException {
+		mLoader.load(mIndexTreeWriter);
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.sirix.index.path;
 
 import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.sirix.api.PageReadTrx;
@@ -8,13 +9,11 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.index.Filter;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.AVLTreeReader;
+import org.sirix.index.IndexTreeReader;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
-import org.sirix.settings.Fixed;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -37,11 +36,17 @@ public final class PathIndexImpl implements PathIndex<Long, NodeReferences> {
 	@Override
 	public Iterator<NodeReferences> openIndex(final PageReadTrx pageRtx,
 			final IndexDef indexDef, final PathFilter filter) {
-		final AVLTreeReader<Long, NodeReferences> reader = AVLTreeReader
-				.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
+		final IndexTreeReader<Long, NodeReferences> reader = indexDef
+				.getStructure().getReader(pageRtx, indexDef.getType(),
+						indexDef.getID());
 
-		final Iterator<AVLNode<Long, NodeReferences>> iter = reader.new AVLNodeIterator(
-				Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		if (filter != null && !filter.isGenericPath()) {
+			// Point searches for the PCRs of the paths.
+			return reader.getAll(filter.getPCRs());
+		}
+
+		final Iterator<Entry<Long, NodeReferences>> iter = reader.range(
+				key -> false, key -> false);
 		final Set<Filter> setFilter = filter == null ? ImmutableSet.<Filter> of()
 				: ImmutableSet.<Filter> of(filter);
 
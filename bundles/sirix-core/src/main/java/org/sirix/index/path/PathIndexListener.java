@@ -13,9 +13,9 @@ import org.sirix.api.PageWriteTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.index.ChangeListener;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.NameNode;
@@ -25,14 +25,14 @@ import org.sirix.page.UnorderedKeyValuePage;
 
 final class PathIndexListener implements ChangeListener {
 
-	private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+	private final IndexTreeWriter<Long, NodeReferences> mIndexTreeWriter;
 	private final PathSummaryReader mPathSummaryReader;
 	private final Set<Path<QNm>> mPaths;
 
 	PathIndexListener(
 			final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
 			final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
-		mAVLTreeWriter = AVLTreeWriter.getInstance(pageWriteTrx,
+		mIndexTreeWriter = indexDef.getStructure().getWriter(pageWriteTrx,
 				indexDef.getType(), indexDef.getID());
 		mPathSummaryReader = checkNotNull(pathSummaryReader);
 		mPaths = checkNotNull(indexDef.getPaths());
@@ -47,7 +47,7 @@ final class PathIndexListener implements ChangeListener {
 				switch (type) {
 				case INSERT:
 					if (mPathSummaryReader.getPCRsForPaths(mPaths).contains(pathNodeKey)) {
-						final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(
+						final Optional<NodeReferences> textReferences = mIndexTreeWriter.get(
 								pathNodeKey, SearchMode.EQUAL);
 						if (textReferences.isPresent()) {
 							setNodeReferences(node, textReferences.get(), pathNodeKey);
@@ -58,7 +58,7 @@ final class PathIndexListener implements ChangeListener {
 					break;
 				case DELETE:
 					if (mPathSummaryReader.getPCRsForPaths(mPaths).contains(pathNodeKey)) {
-						mAVLTreeWriter.remove(pathNodeKey, node.getNodeKey());
+						mIndexTreeWriter.remove(pathNodeKey, node.getNodeKey());
 					}
 					break;
 				default:
@@ -72,7 +72,7 @@ final class PathIndexListener implements ChangeListener {
 	private void setNodeReferences(final ImmutableNode node,
 			final NodeReferences references, final long pathNodeKey)
 			throws SirixIOException {
-		mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()),
+		mIndexTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()),
 				MoveCursor.NO_MOVE);
 	}
 }
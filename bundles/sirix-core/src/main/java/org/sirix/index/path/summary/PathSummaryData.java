@@ -0,0 +1,290 @@
+package org.sirix.index.path.summary;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.brackit.xquery.atomic.QNm;
+import org.sirix.api.PageReadTrx;
+import org.sirix.api.Session;
+import org.sirix.node.Kind;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.page.PageKind;
+import org.sirix.settings.Fixed;
+
+/**
+ * Mappings of a path summary, that is of the path node keys to the path nodes
+ * and of the names to the path nodes. The mappings of a committed revision are
+ * loaded once, are immutable and shared by all path summary readers of the
+ * revision (see {@link Session#getPathSummaryData(int)}). A path summary
+ * writer copies the shared mappings on the first modification.
+ *
+ * <p>
+ * As path node keys are dense, the path nodes are stored in an array indexed
+ * by their node keys instead of a map.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class PathSummaryData {
+
+	/** Path nodes and the document root node indexed by their node keys. */
+	private StructNode[] mNodes;
+
+	/** Mapping of a {@link QNm} to a set of path nodes. */
+	private final Map<QNm, Set<PathNode>> mNames;
+
+	/** Determines if the mappings are shared and therefore immutable. */
+	private final boolean mShared;
+
+	/**
+	 * Private constructor.
+	 *
+	 * @param nodes
+	 *          path nodes indexed by their node keys
+	 * @param names
+	 *          mapping of a {@link QNm} to a set of path nodes
+	 * @param shared
+	 *          determines if the mappings are shared
+	 */
+	private PathSummaryData(final StructNode[] nodes,
+			final Map<QNm, Set<PathNode>> names, final boolean shared) {
+		mNodes = nodes;
+		mNames = names;
+		mShared = shared;
+	}
+
+	/**
+	 * Load the shared mappings of a path summary by traversing its nodes.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} of the revision to load
+	 * @return the shared mappings
+	 * @throws IllegalStateException
+	 *           if the document root node of the path summary couldn't be
+	 *           fetched
+	 */
+	public static PathSummaryData load(final PageReadTrx pageReadTrx) {
+		final PathSummaryData data = loadMappings(checkNotNull(pageReadTrx));
+		for (final Map.Entry<QNm, Set<PathNode>> entry : data.mNames.entrySet()) {
+			entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+		}
+		return new PathSummaryData(data.mNodes, data.mNames, true);
+	}
+
+	/**
+	 * Load private mappings of a path summary by traversing its nodes, which
+	 * might be modified afterwards.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} to read the path summary
+	 * @return the mappings
+	 * @throws IllegalStateException
+	 *           if the document root node of the path summary couldn't be
+	 *           fetched
+	 */
+	static PathSummaryData loadMappings(final PageReadTrx pageReadTrx) {
+		final long rootKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+		final PathSummaryData data = new PathSummaryData(new StructNode[16],
+				new HashMap<QNm, Set<PathNode>>(), false);
+		final StructNode root = getNode(pageReadTrx, rootKey);
+		data.put(rootKey, root);
+
+		final Deque<Long> keys = new ArrayDeque<>();
+		if (root.hasFirstChild()) {
+			keys.push(root.getFirstChildKey());
+		}
+		while (!keys.isEmpty()) {
+			final StructNode node = getNode(pageReadTrx, keys.pop());
+			data.put(node.getNodeKey(), node);
+			if (node instanceof PathNode) {
+				data.putPathNode(name(pageReadTrx, (PathNode) node), (PathNode) node);
+			}
+			if (node.hasRightSibling()) {
+				keys.push(node.getRightSiblingKey());
+			}
+			if (node.hasFirstChild()) {
+				keys.push(node.getFirstChildKey());
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Get a path summary node.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} to read the path summary
+	 * @param nodeKey
+	 *          the key of the node
+	 * @return the node
+	 * @throws IllegalStateException
+	 *           if the node couldn't be fetched
+	 */
+	private static StructNode getNode(final PageReadTrx pageReadTrx,
+			final long nodeKey) {
+		final Optional<? extends Record> node = pageReadTrx.getRecord(nodeKey,
+				PageKind.PATHSUMMARYPAGE, 0);
+		if (!node.isPresent()) {
+			throw new IllegalStateException(
+					"Node couldn't be fetched from persistent storage!");
+		}
+		return (StructNode) node.get();
+	}
+
+	/**
+	 * Get the name of a path node.
+	 *
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} to read the names
+	 * @param node
+	 *          the path node
+	 * @return the name of the path node
+	 */
+	private static QNm name(final PageReadTrx pageReadTrx, final PathNode node) {
+		final int uriKey = node.getURIKey();
+		final String uri = uriKey == -1 ? "" : pageReadTrx.getName(uriKey,
+				Kind.NAMESPACE);
+		final int prefixKey = node.getPrefixKey();
+		final String prefix = prefixKey == -1 ? "" : pageReadTrx.getName(
+				prefixKey, node.getPathKind());
+		final int localNameKey = node.getLocalNameKey();
+		final String localName = localNameKey == -1 ? "" : pageReadTrx.getName(
+				localNameKey, node.getPathKind());
+		return new QNm(uri, prefix, localName);
+	}
+
+	/**
+	 * Determines if the mappings are shared and therefore immutable.
+	 *
+	 * @return {@code true} if the mappings are shared, {@code false} otherwise
+	 */
+	boolean isShared() {
+		return mShared;
+	}
+
+	/**
+	 * Get a private copy of the mappings, which might be modified.
+	 *
+	 * @return the copy
+	 */
+	PathSummaryData copy() {
+		final Map<QNm, Set<PathNode>> names = new HashMap<>(mNames.size() * 4 / 3 + 1);
+		for (final Map.Entry<QNm, Set<PathNode>> entry : mNames.entrySet()) {
+			names.put(entry.getKey(), new HashSet<>(entry.getValue()));
+		}
+		return new PathSummaryData(mNodes.clone(), names, false);
+	}
+
+	/**
+	 * Get the path node or document root node of a node key.
+	 *
+	 * @param nodeKey
+	 *          the node key
+	 * @return the node, or {@code null} if no node is mapped to the key
+	 */
+	@Nullable
+	StructNode get(final @Nonnegative long nodeKey) {
+		return nodeKey >= 0 && nodeKey < mNodes.length ? mNodes[(int) nodeKey]
+				: null;
+	}
+
+	/**
+	 * Map a node key to a node.
+	 *
+	 * @param nodeKey
+	 *          the node key
+	 * @param node
+	 *          the node
+	 */
+	void put(final @Nonnegative long nodeKey, final StructNode node) {
+		checkState(!mShared, "Shared mappings are immutable!");
+		if (nodeKey >= mNodes.length) {
+			mNodes = Arrays.copyOf(mNodes,
+					(int) Math.max(mNodes.length << 1, nodeKey + 1));
+		}
+		mNodes[(int) nodeKey] = node;
+	}
+
+	/**
+	 * Remove the mapping of a node key.
+	 *
+	 * @param nodeKey
+	 *          the node key
+	 * @return the removed node, or {@code null} if no node was mapped to the key
+	 */
+	@Nullable
+	StructNode remove(final @Nonnegative long nodeKey) {
+		checkState(!mShared, "Shared mappings are immutable!");
+		final StructNode node = get(nodeKey);
+		if (node != null) {
+			mNodes[(int) nodeKey] = null;
+		}
+		return node;
+	}
+
+	/**
+	 * Get the path nodes with a name.
+	 *
+	 * @param name
+	 *          the name
+	 * @return the path nodes, or {@code null} if no path node has the name
+	 */
+	@Nullable
+	Set<PathNode> getPathNodes(final QNm name) {
+		return mNames.get(name);
+	}
+
+	/**
+	 * Add a path node with a name.
+	 *
+	 * @param name
+	 *          the name
+	 * @param node
+	 *          the path node
+	 */
+	void putPathNode(final QNm name, final PathNode node) {
+		checkState(!mShared, "Shared mappings are immutable!");
+		Set<PathNode> pathNodes = mNames.get(name);
+		if (pathNodes == null) {
+			pathNodes = new HashSet<>();
+			mNames.put(name, pathNodes);
+		}
+		pathNodes.add(node);
+	}
+
+	/**
+	 * Remove a path node with a name.
+	 *
+	 * @param name
+	 *          the name
+	 * @param node
+	 *          the path node
+	 */
+	void removePathNode(final QNm name, final PathNode node) {
+		checkState(!mShared, "Shared mappings are immutable!");
+		final Set<PathNode> pathNodes = mNames.get(name);
+		if (pathNodes == null) {
+			return;
+		}
+		if (pathNodes.size() == 1) {
+			mNames.remove(name);
+		} else {
+			pathNodes.remove(node);
+		}
+	}
+}
@@ -80,11 +80,11 @@ public final class PathSummaryReader implements NodeReadTrx {
 	/** Determines if path summary is closed or not. */
 	private boolean mClosed;
 
-	/** Mapping of a path node key to the path node/document root node. */
-	private final Map<Long, StructNode> mPathNodeMapping;
-
-	/** Mapping of a {@link QNm} to a set of path nodes. */
-	private final Map<QNm, Set<PathNode>> mQNmMapping;
+	/**
+	 * Mappings of the path node keys and the names to the path nodes, which are
+	 * shared with other readers of the revision until they are modified.
+	 */
+	private PathSummaryData mData;
 
 	private final Map<Path<QNm>, Set<Long>> mPathCache;
 
@@ -95,8 +95,11 @@ public final class PathSummaryReader implements NodeReadTrx {
 	 *          page reader
 	 * @param session
 	 *          {@link Session} reference
+	 * @param data
+	 *          mappings of the path node keys and the names to the path nodes
 	 */
-	private PathSummaryReader(final PageReadTrx pageReadTrx, final Session session) {
+	private PathSummaryReader(final PageReadTrx pageReadTrx,
+			final Session session, final PathSummaryData data) {
 		mPathCache = new HashMap<>();
 		mPageReadTrx = pageReadTrx;
 		mClosed = false;
@@ -115,21 +118,7 @@ public final class PathSummaryReader implements NodeReadTrx {
 			LOGWRAPPER.error(e.getMessage(), e.getCause());
 		}
 
-		mPathNodeMapping = new HashMap<>();
-		mQNmMapping = new HashMap<>();
-		boolean first = true;
-		for (final long nodeKey : new DescendantAxis(this, IncludeSelf.YES)) {
-			mPathNodeMapping.put(nodeKey, this.getStructuralNode());
-
-			if (first) {
-				first = false;
-			} else {
-				final Set<PathNode> pathNodes = mQNmMapping.get(this.getName()) == null ? new HashSet<PathNode>()
-						: mQNmMapping.get(this.getName());
-				pathNodes.add(this.getPathNode());
-				mQNmMapping.put(this.getName(), pathNodes);
-			}
-		}
+		mData = data;
 	}
 
 	@Override
@@ -138,7 +127,8 @@ public final class PathSummaryReader implements NodeReadTrx {
 	}
 
 	/**
-	 * Get a new path summary reader instance.
+	 * Get a new path summary reader instance. The mappings of a committed
+	 * revision are shared with all other readers of the revision.
 	 * 
 	 * @param pageReadTrx
 	 *          Sirix {@link PageReaderTrx}
@@ -148,37 +138,63 @@ public final class PathSummaryReader implements NodeReadTrx {
 	 */
 	public static final PathSummaryReader getInstance(
 			final PageReadTrx pageReadTrx, final Session session) {
+		checkNotNull(pageReadTrx);
+		checkNotNull(session);
+		final int revision = pageReadTrx.getRevisionNumber();
+		final PathSummaryData data = pageReadTrx.getUberPage().isBootstrap()
+				|| revision > session.getMostRecentRevisionNumber() ? PathSummaryData
+				.loadMappings(pageReadTrx) : session.getPathSummaryData(revision);
+		return new PathSummaryReader(pageReadTrx, session, data);
+	}
+
+	/**
+	 * Get a new path summary reader instance, which shares the mappings with
+	 * another reader of the same transaction.
+	 * 
+	 * @param pageReadTrx
+	 *          Sirix {@link PageReaderTrx}
+	 * @param session
+	 *          Sirix {@link Session}
+	 * @param other
+	 *          the reader to share the mappings with
+	 * @return new path summary reader instance
+	 */
+	static final PathSummaryReader getInstance(final PageReadTrx pageReadTrx,
+			final Session session, final PathSummaryReader other) {
 		return new PathSummaryReader(checkNotNull(pageReadTrx),
-				checkNotNull(session));
+				checkNotNull(session), other.mData);
+	}
+
+	/**
+	 * Get mappings, which might be modified. Shared mappings are copied first.
+	 * 
+	 * @return the mappings
+	 */
+	private PathSummaryData modifiableData() {
+		if (mData.isShared()) {
+			mData = mData.copy();
+		}
+		return mData;
 	}
 
 	// package private, only used in writer to keep the mapping always up-to-date
 	void putMapping(final @Nonnegative long pathNodeKey, final StructNode node) {
-		mPathNodeMapping.put(pathNodeKey, node);
+		modifiableData().put(pathNodeKey, node);
 	}
 
 	// package private, only used in writer to keep the mapping always up-to-date
 	StructNode removeMapping(final @Nonnegative long pathNodeKey) {
-		return mPathNodeMapping.remove(pathNodeKey);
+		return modifiableData().remove(pathNodeKey);
 	}
 
 	// package private, only used in writer to keep the mapping always up-to-date
 	void putQNameMapping(final PathNode node, final QNm name) {
-		final Set<PathNode> pathNodes = mQNmMapping.get(name) == null ? new HashSet<PathNode>()
-				: mQNmMapping.get(name);
-		pathNodes.add(node);
-		mQNmMapping.put(name, pathNodes);
+		modifiableData().putPathNode(name, node);
 	}
 
 	// package private, only used in writer to keep the mapping always up-to-date
 	void removeQNameMapping(final @Nonnegative PathNode node, final QNm name) {
-		final Set<PathNode> pathNodes = mQNmMapping.get(name) == null ? new HashSet<PathNode>()
-				: mQNmMapping.get(name);
-		if (pathNodes.size() == 1) {
-			mQNmMapping.remove(name);
-		} else {
-			pathNodes.remove(node);
-		}
+		modifiableData().removePathNode(name, node);
 	}
 
 	/**
@@ -196,7 +212,7 @@ public final class PathSummaryReader implements NodeReadTrx {
 	public BitSet matchDescendants(final QNm name,
 			final @Nonnegative long pathNodeKey, final IncludeSelf inclSelf) {
 		assertNotClosed();
-		final Set<PathNode> set = mQNmMapping.get(name);
+		final Set<PathNode> set = mData.getPathNodes(name);
 		if (set == null) {
 			return new BitSet(0);
 		}
@@ -221,7 +237,7 @@ public final class PathSummaryReader implements NodeReadTrx {
 	 */
 	public BitSet match(final QNm name, final @Nonnegative int minLevel) {
 		assertNotClosed();
-		final Set<PathNode> set = mQNmMapping.get(name);
+		final Set<PathNode> set = mData.getPathNodes(name);
 		if (set == null) {
 			return new BitSet(0);
 		}
@@ -270,7 +286,7 @@ public final class PathSummaryReader implements NodeReadTrx {
 	public StructNode getPathNodeForPathNodeKey(
 			final @Nonnegative long pathNodeKey) {
 		assertNotClosed();
-		return mPathNodeMapping.get(pathNodeKey);
+		return mData.get(pathNodeKey);
 	}
 
 	@Override
@@ -475,7 +475,7 @@ public final class PathSummaryWriter extends AbstractForwardingNodeReadTrx {
 			final int prefixKey, final int localNameKey, final Remove remove,
 			final OPType type) throws SirixException {
 		final PathSummaryReader cloned = PathSummaryReader.getInstance(
-				mPageWriteTrx, mNodeRtx.getSession());
+				mPageWriteTrx, mNodeRtx.getSession(), mPathSummaryReader);
 		boolean moved = cloned.moveTo(oldPathNodeKey).hasMoved();
 		assert moved;
 
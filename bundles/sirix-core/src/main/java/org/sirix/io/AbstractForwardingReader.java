@@ -1,5 +1,7 @@
 package org.sirix.io;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 import org.sirix.api.PageReadTrx;
@@ -28,6 +30,12 @@ public abstract class AbstractForwardingReader extends ForwardingObject
 		return delegate().read(key, pageReadTrx);
 	}
 
+	@Override
+	public List<Page> read(long[] keys, @Nullable PageReadTrx pageReadTrx)
+			throws SirixIOException {
+		return delegate().read(keys, pageReadTrx);
+	}
+
 	@Override
 	public PageReference readUberPageReference() throws SirixIOException {
 		return delegate().readUberPageReference();
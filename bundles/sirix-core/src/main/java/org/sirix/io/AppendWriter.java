@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.sirix.io;
+
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * A {@link Writer}, which separates the serialization of pages (including all
+ * byte handler operations such as compression and encryption) from appending
+ * the serialized pages to the storage. Thus, pages can be serialized in
+ * parallel, whereas only assigning the offsets and appending has to be done
+ * in order.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public interface AppendWriter extends Writer {
+
+	/**
+	 * Serialize a page, that is the page is serialized and piped through the
+	 * byte handler pipeline. Must be thread safe.
+	 * 
+	 * @param page
+	 *          the page to serialize, all referenced pages must already have
+	 *          been appended
+	 * @return the serialized page
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	byte[] serialize(Page page) throws SirixIOException;
+
+	/**
+	 * Append a serialized page and set the key of the reference to its offset.
+	 * 
+	 * @param pageReference
+	 *          reference to the page
+	 * @param serializedPage
+	 *          the page serialized by {@link #serialize(Page)}
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	void append(PageReference pageReference, byte[] serializedPage)
+			throws SirixIOException;
+}
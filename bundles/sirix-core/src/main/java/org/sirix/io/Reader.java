@@ -27,6 +27,9 @@
 
 package org.sirix.io;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 import org.sirix.api.PageReadTrx;
@@ -67,6 +70,29 @@ public interface Reader extends AutoCloseable {
 	Page read(long key, @Nullable PageReadTrx pageReadTrx)
 			throws SirixIOException;
 
+	/**
+	 * Read several pages at once. Backends, which are able to do so, read the
+	 * pages concurrently or in one vectored read, such that pages whose storage
+	 * keys are known in advance don't have to be read one after the other. The
+	 * default implementation reads them sequentially.
+	 * 
+	 * @param keys
+	 *          the storage keys of the pages
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} reference
+	 * @return the pages in the order of the keys
+	 * @throws SirixIOException
+	 *           if something bad happens during read
+	 */
+	default List<Page> read(final long[] keys,
+			final @Nullable PageReadTrx pageReadTrx) throws SirixIOException {
+		final List<Page> pages = new ArrayList<>(keys.length);
+		for (final long key : keys) {
+			pages.add(read(key, pageReadTrx));
+		}
+		return pages;
+	}
+
 	/**
 	 * Closing the storage.
 	 * 
@@ -31,13 +31,21 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 
+import org.sirix.access.TaskScheduler;
 import org.sirix.api.PageReadTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
@@ -104,18 +112,118 @@ public final class FileReader implements Reader {
 			final int dataLength = mFile.readInt();
 			final byte[] page = new byte[dataLength];
 			mFile.read(page);
+			return deserialize(page, pageReadTrx);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
 
-			// Perform byte operations.
-			final DataInputStream input = new DataInputStream(
-					mByteHandler.deserialize(new ByteArrayInputStream(page)));
-
-			// Return reader required to instantiate and deserialize page.
-			return PagePersistenter.deserializePage(input, pageReadTrx);
+	@Override
+	public List<Page> read(final long[] keys,
+			final @Nullable PageReadTrx pageReadTrx) throws SirixIOException {
+		if (keys.length < 2 || pageReadTrx == null) {
+			return Reader.super.read(keys, pageReadTrx);
+		}
+		// Positional reads don't change the file pointer, thus they're able to run
+		// concurrently in the worker pool of the database. The pages are
+		// deserialized by the calling thread.
+		final TaskScheduler scheduler = pageReadTrx.getSession().getDatabase()
+				.getScheduler();
+		final FileChannel channel = mFile.getChannel();
+		final List<Future<byte[]>> futures = new ArrayList<>(keys.length - 1);
+		for (int i = 1; i < keys.length; i++) {
+			final long key = keys[i];
+			futures.add(scheduler.submit(() -> readBytes(channel, key)));
+		}
+		try {
+			final List<Page> pages = new ArrayList<>(keys.length);
+			pages.add(deserialize(readBytes(channel, keys[0]), pageReadTrx));
+			for (int i = 0; i < futures.size(); i++) {
+				final Future<byte[]> future = futures.get(i);
+				// Reads, which haven't been started by a worker (for instance if the
+				// calling thread is a worker itself), are done by the calling thread.
+				final byte[] page = future.cancel(false) ? readBytes(channel,
+						keys[i + 1]) : future.get();
+				pages.add(deserialize(page, pageReadTrx));
+			}
+			return pages;
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
+		} catch (final ExecutionException e) {
+			throw new SirixIOException(e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SirixIOException(e);
+		} finally {
+			for (final Future<byte[]> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Read the serialized bytes of a page with a positional read.
+	 * 
+	 * @param channel
+	 *          the channel to read from
+	 * @param key
+	 *          the offset of the page
+	 * @return the serialized bytes
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static byte[] readBytes(final FileChannel channel,
+			final @Nonnegative long key) throws IOException {
+		final ByteBuffer length = ByteBuffer.allocate(4);
+		readFully(channel, length, key);
+		final ByteBuffer page = ByteBuffer.allocate(length.getInt(0));
+		readFully(channel, page, key + 4);
+		return page.array();
+	}
+
+	/**
+	 * Fill a buffer with a positional read.
+	 * 
+	 * @param channel
+	 *          the channel to read from
+	 * @param buffer
+	 *          the buffer to fill
+	 * @param position
+	 *          the position in the file
+	 * @throws IOException
+	 *           if an I/O error occurs or the end of the file is reached
+	 */
+	private static void readFully(final FileChannel channel,
+			final ByteBuffer buffer, final long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			final int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new EOFException();
+			}
 		}
 	}
 
+	/**
+	 * Deserialize a page.
+	 * 
+	 * @param page
+	 *          the serialized bytes
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} reference
+	 * @return the page
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private Page deserialize(final byte[] page,
+			final @Nullable PageReadTrx pageReadTrx) throws IOException {
+		// Perform byte operations.
+		final DataInputStream input = new DataInputStream(
+				mByteHandler.deserialize(new ByteArrayInputStream(page)));
+
+		// Return reader required to instantiate and deserialize page.
+		return PagePersistenter.deserializePage(input, pageReadTrx);
+	}
+
 	@Override
 	public PageReference readUberPageReference() throws SirixIOException {
 		final PageReference uberPageReference = new PageReference();
@@ -29,10 +29,12 @@ package org.sirix.io.file;
 
 import java.io.File;
 
+import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
 import org.sirix.io.Storage;
+import org.sirix.io.SyncMode;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
 import org.sirix.io.bytepipe.ByteHandler;
@@ -54,6 +56,9 @@ public final class FileStorage implements Storage {
 	/** Byte handler pipeline. */
 	private final ByteHandlePipeline mByteHandler;
 
+	/** Database configuration. */
+	private final DatabaseConfiguration mDBConfig;
+
 	/**
 	 * Constructor.
 	 * 
@@ -66,6 +71,7 @@ public final class FileStorage implements Storage {
 		assert resourceConfig != null : "resourceConfig must not be null!";
 		mFile = resourceConfig.mPath;
 		mByteHandler = resourceConfig.mByteHandler;
+		mDBConfig = resourceConfig.mDBConfig;
 	}
 
 	@Override
@@ -76,8 +82,11 @@ public final class FileStorage implements Storage {
 
 	@Override
 	public Writer getWriter() throws SirixIOException {
+		final SyncMode syncMode = mDBConfig.getSyncMode();
 		return new FileWriter(getConcreteStorage(), new ByteHandlePipeline(
-				mByteHandler));
+				mByteHandler), syncMode,
+				syncMode == SyncMode.GROUP_COMMIT ? GroupCommitter.getInstance(mDBConfig
+						.getFile()) : null);
 	}
 
 	@Override
@@ -27,18 +27,27 @@
 
 package org.sirix.io.file;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
 
+import org.sirix.api.PageReadTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.AppendWriter;
 import org.sirix.io.Reader;
-import org.sirix.io.Writer;
+import org.sirix.io.SyncMode;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PagePersistenter;
 import org.sirix.page.PageReference;
@@ -47,21 +56,56 @@ import org.sirix.page.interfaces.Page;
 /**
  * File Writer for providing read/write access for file as a Sirix backend.
  * 
+ * <p>
+ * Pages are appended to large direct buffers, which are written in one
+ * gathering write once the uber page reference is written. Depending on the
+ * {@link SyncMode} the pages are forced to the storage device before the uber
+ * page beacon is updated and the beacon itself is forced afterwards.
+ * </p>
+ * 
  * @author Marc Kramis, Seabix
  * @author Sebastian Graf, University of Konstanz
+ * @author Johannes Lichtenberger
  * 
  */
 public final class FileWriter extends AbstractForwardingReader implements
-		Writer {
+		AppendWriter {
+
+	/** Size of each append buffer. */
+	static final int BUFFER_SIZE = 1 << 20;
 
 	/** Random access to work on. */
 	private final RandomAccessFile mFile;
 
+	/** Channel of the file. */
+	private final FileChannel mChannel;
+
 	/** {@link FileReader} reference for this writer. */
 	private final FileReader mReader;
 
+	/** Durability mode. */
+	private final SyncMode mSyncMode;
+
+	/** Group committer, if commits are forced in groups. */
+	private final GroupCommitter mGroupCommitter;
+
+	/** Filled append buffers, which haven't been written yet. */
+	private final List<ByteBuffer> mBuffers;
+
+	/** Unused append buffers. */
+	private final List<ByteBuffer> mFreeBuffers;
+
+	/** Current append buffer. */
+	private ByteBuffer mBuffer;
+
+	/** Offset of the first buffered, not yet written byte. */
+	private long mFlushedOffset;
+
+	/** Offset of the next page to append. */
+	private long mOffset;
+
 	/**
-	 * Constructor.
+	 * Constructor, which doesn't force commits.
 	 * 
 	 * @param storage
 	 *          the concrete storage
@@ -72,12 +116,44 @@ public final class FileWriter extends AbstractForwardingReader implements
 	 */
 	public FileWriter(final File storage, final ByteHandler handler)
 			throws SirixIOException {
+		this(storage, handler, SyncMode.NONE, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param storage
+	 *          the concrete storage
+	 * @param handler
+	 *          the byte handler
+	 * @param syncMode
+	 *          determines if and how commits are forced to the storage device
+	 * @param groupCommitter
+	 *          group committer, which must not be {@code null} if
+	 *          {@code syncMode} is {@link SyncMode#GROUP_COMMIT}
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	public FileWriter(final File storage, final ByteHandler handler,
+			final SyncMode syncMode, final @Nullable GroupCommitter groupCommitter)
+			throws SirixIOException {
+		mSyncMode = checkNotNull(syncMode);
+		mGroupCommitter = syncMode == SyncMode.GROUP_COMMIT ? checkNotNull(groupCommitter)
+				: null;
+		// Create the file (and its parent directories) if it doesn't exist.
+		mReader = new FileReader(storage, handler);
 		try {
 			mFile = new RandomAccessFile(storage, "rw");
-		} catch (final FileNotFoundException e) {
+			mChannel = mFile.getChannel();
+			final long fileSize = mChannel.size();
+			mOffset = fileSize < FileReader.FIRST_BEACON ? FileReader.FIRST_BEACON
+					: fileSize;
+		} catch (final IOException e) {
 			throw new SirixIOException(e);
 		}
-		mReader = new FileReader(storage, handler);
+		mFlushedOffset = mOffset;
+		mBuffers = new ArrayList<>();
+		mFreeBuffers = new ArrayList<>();
 	}
 
 	/**
@@ -90,53 +166,172 @@ public final class FileWriter extends AbstractForwardingReader implements
 	 */
 	@Override
 	public void write(final PageReference pageReference) throws SirixIOException {
+		final Page page = pageReference.getPage();
+		assert page != null;
+		append(pageReference, serialize(page));
+	}
+
+	@Override
+	public byte[] serialize(final Page page) throws SirixIOException {
 		// Perform byte operations.
 		try {
-			// Serialize page.
-			final Page page = pageReference.getPage();
-			assert page != null;
 			final ByteArrayOutputStream output = new ByteArrayOutputStream();
 			final DataOutputStream dataOutput = new DataOutputStream(
 					mReader.mByteHandler.serialize(output));
-			PagePersistenter.serializePage(dataOutput, page);
+			PagePersistenter.serializePage(dataOutput, checkNotNull(page));
 			output.close();
 			dataOutput.close();
+			return output.toByteArray();
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
 
-			final byte[] serializedPage = output.toByteArray();
+	@Override
+	public void append(final PageReference pageReference,
+			final byte[] serializedPage) throws SirixIOException {
+		// Append to the end of the current file.
+		final long offset = mOffset;
+		buffer(serializedPage);
 
-			final byte[] writtenPage = new byte[serializedPage.length
-					+ FileReader.OTHER_BEACON];
-			final ByteBuffer buffer = ByteBuffer.allocate(writtenPage.length);
+		// Remember page coordinates.
+		pageReference.setKey(offset);
+	}
+
+	/**
+	 * Append a serialized page (prefixed with its length) to the buffers.
+	 * 
+	 * @param serializedPage
+	 *          the serialized page
+	 */
+	private void buffer(final byte[] serializedPage) {
+		final int length = serializedPage.length + FileReader.OTHER_BEACON;
+		if (length > BUFFER_SIZE) {
+			// Huge pages get a buffer of their own.
+			seal();
+			final ByteBuffer buffer = ByteBuffer.allocate(length);
 			buffer.putInt(serializedPage.length);
 			buffer.put(serializedPage);
-			buffer.position(0);
-			buffer.get(writtenPage, 0, writtenPage.length);
-
-			// Getting actual offset and appending to the end of the current
-			// file.
-			final long fileSize = mFile.length();
-			final long offset = fileSize == 0 ? FileReader.FIRST_BEACON : fileSize;
-			mFile.seek(offset);
-			mFile.write(writtenPage);
-
-			// Remember page coordinates.
-			pageReference.setKey(offset);
+			buffer.flip();
+			mBuffers.add(buffer);
+		} else {
+			if (mBuffer == null || mBuffer.remaining() < length) {
+				seal();
+				mBuffer = mFreeBuffers.isEmpty() ? ByteBuffer
+						.allocateDirect(BUFFER_SIZE) : mFreeBuffers.remove(mFreeBuffers
+						.size() - 1);
+			}
+			mBuffer.putInt(serializedPage.length);
+			mBuffer.put(serializedPage);
+		}
+		mOffset += length;
+	}
+
+	/** Seal the current append buffer, such that it's written on the next flush. */
+	private void seal() {
+		if (mBuffer != null) {
+			mBuffer.flip();
+			mBuffers.add(mBuffer);
+			mBuffer = null;
+		}
+	}
+
+	/**
+	 * Write all buffered pages with one gathering write.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void flush() throws SirixIOException {
+		seal();
+		if (mBuffers.isEmpty()) {
+			return;
+		}
+		try {
+			final ByteBuffer[] buffers = mBuffers.toArray(new ByteBuffer[mBuffers
+					.size()]);
+			mChannel.position(mFlushedOffset);
+			long remaining = mOffset - mFlushedOffset;
+			while (remaining > 0) {
+				remaining -= mChannel.write(buffers);
+			}
+			mFlushedOffset = mOffset;
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
+		} finally {
+			for (final ByteBuffer buffer : mBuffers) {
+				if (buffer.isDirect()) {
+					buffer.clear();
+					mFreeBuffers.add(buffer);
+				}
+			}
+			mBuffers.clear();
+		}
+	}
+
+	/**
+	 * Force the file to the storage device according to the durability mode.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private void force() throws SirixIOException {
+		switch (mSyncMode) {
+		case COMMIT:
+			try {
+				mChannel.force(false);
+			} catch (final IOException e) {
+				throw new SirixIOException(e);
+			}
+			break;
+		case GROUP_COMMIT:
+			mGroupCommitter.force(mChannel);
+			break;
+		case NONE:
+		default:
+			// Nothing to do.
+		}
+	}
+
+	@Override
+	public Page read(final @Nonnegative long key,
+			final @Nullable PageReadTrx pageReadTrx) throws SirixIOException {
+		if (key >= mFlushedOffset) {
+			// Page is still buffered.
+			flush();
+		}
+		return mReader.read(key, pageReadTrx);
+	}
+
+	@Override
+	public List<Page> read(final long[] keys,
+			final @Nullable PageReadTrx pageReadTrx) throws SirixIOException {
+		for (final long key : keys) {
+			if (key >= mFlushedOffset) {
+				// Page is still buffered.
+				flush();
+				break;
+			}
 		}
+		return mReader.read(keys, pageReadTrx);
 	}
 
 	@Override
 	public void close() throws SirixIOException {
 		try {
-			if (mFile != null) {
-				mFile.close();
-			}
-			if (mReader != null) {
-				mReader.close();
+			flush();
+		} finally {
+			try {
+				if (mFile != null) {
+					mFile.close();
+				}
+				if (mReader != null) {
+					mReader.close();
+				}
+			} catch (final IOException e) {
+				throw new SirixIOException(e);
 			}
-		} catch (final IOException e) {
-			throw new SirixIOException(e);
+			mFreeBuffers.clear();
 		}
 	}
 
@@ -145,8 +340,16 @@ public final class FileWriter extends AbstractForwardingReader implements
 			throws SirixIOException {
 		try {
 			write(pageReference);
-			mFile.seek(0);
-			mFile.writeLong(pageReference.getKey());
+			flush();
+			// Pages must be durable before the beacon references them.
+			force();
+			final ByteBuffer beacon = ByteBuffer.allocate(8);
+			beacon.putLong(pageReference.getKey());
+			beacon.flip();
+			while (beacon.hasRemaining()) {
+				mChannel.write(beacon, beacon.position());
+			}
+			force();
 		} catch (final IOException e) {
 			throw new SirixIOException(e);
 		}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.sirix.io.file;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixThreadedException;
+
+/**
+ * <h1>GroupCommitter</h1>
+ * 
+ * <p>
+ * Shares device flushes between concurrently committing resources of a
+ * database. The first committing thread becomes the leader and forces all
+ * files, which have been requested in the meantime, while the other threads
+ * wait for the leader to finish. Threads arriving during a flush are served
+ * together by the next leader.
+ * </p>
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public final class GroupCommitter {
+
+	/** Group committers of all opened databases. */
+	private static final ConcurrentMap<File, GroupCommitter> COMMITTERS = new ConcurrentHashMap<>();
+
+	/** Lock, which guards the pending requests and the leader flag. */
+	private final Object mLock = new Object();
+
+	/** Requests, which haven't been picked up by a leader yet. */
+	private List<Request> mPending = new ArrayList<>();
+
+	/** Determines if a leader is currently forcing files. */
+	private boolean mLeaderActive;
+
+	/** Number of requested flushes. */
+	private final LongAdder mRequests = new LongAdder();
+
+	/** Number of issued device flushes. */
+	private final LongAdder mFlushes = new LongAdder();
+
+	/** Constructor, use {@link #getInstance(File)} instead. */
+	GroupCommitter() {
+	}
+
+	/**
+	 * Get the group committer of a database.
+	 * 
+	 * @param database
+	 *          the database directory
+	 * @return the group committer of the database
+	 */
+	public static GroupCommitter getInstance(final File database) {
+		return COMMITTERS.computeIfAbsent(database.getAbsoluteFile(),
+				file -> new GroupCommitter());
+	}
+
+	/**
+	 * Release the group committer of a database.
+	 * 
+	 * @param database
+	 *          the database directory
+	 */
+	public static void release(final File database) {
+		COMMITTERS.remove(database.getAbsoluteFile());
+	}
+
+	/**
+	 * Force a file to the storage device. Blocks until the content of the file
+	 * written before the invocation is durable.
+	 * 
+	 * @param channel
+	 *          the channel of the file to force
+	 * @throws SirixIOException
+	 *           if the file couldn't be forced
+	 */
+	public void force(final FileChannel channel) throws SirixIOException {
+		final Request request = new Request(checkNotNull(channel));
+		mRequests.increment();
+		final List<Request> batch;
+		synchronized (mLock) {
+			mPending.add(request);
+			while (mLeaderActive && !request.mDone) {
+				try {
+					mLock.wait();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SirixThreadedException(e);
+				}
+			}
+			if (request.mDone) {
+				request.rethrow();
+				return;
+			}
+			// Become the leader.
+			mLeaderActive = true;
+			batch = mPending;
+			mPending = new ArrayList<>();
+		}
+
+		// Force each file only once, even if it has been requested multiple times.
+		final Map<FileChannel, IOException> forced = new IdentityHashMap<>();
+		try {
+			for (final Request pending : batch) {
+				if (!forced.containsKey(pending.mChannel)) {
+					IOException exception = null;
+					try {
+						pending.mChannel.force(false);
+						mFlushes.increment();
+					} catch (final IOException e) {
+						exception = e;
+					}
+					forced.put(pending.mChannel, exception);
+				}
+			}
+		} finally {
+			synchronized (mLock) {
+				for (final Request pending : batch) {
+					pending.mException = forced.containsKey(pending.mChannel) ? forced
+							.get(pending.mChannel) : new IOException("File not forced!");
+					pending.mDone = true;
+				}
+				mLeaderActive = false;
+				mLock.notifyAll();
+			}
+		}
+		request.rethrow();
+	}
+
+	/**
+	 * Get the number of requested flushes.
+	 * 
+	 * @return number of requests
+	 */
+	public long getRequestCount() {
+		return mRequests.sum();
+	}
+
+	/**
+	 * Get the number of device flushes actually issued.
+	 * 
+	 * @return number of flushes
+	 */
+	public long getFlushCount() {
+		return mFlushes.sum();
+	}
+
+	/**
+	 * A request to force a file.
+	 */
+	private static final class Request {
+		/** The channel to force. */
+		private final FileChannel mChannel;
+
+		/** Determines if the file has been forced (guarded by the lock). */
+		private boolean mDone;
+
+		/** Exception, if forcing failed (guarded by the lock). */
+		private IOException mException;
+
+		Request(final FileChannel channel) {
+			mChannel = channel;
+		}
+
+		/**
+		 * Rethrow the exception of the flush, if any.
+		 * 
+		 * @throws SirixIOException
+		 *           if the file couldn't be forced
+		 */
+		void rethrow() throws SirixIOException {
+			if (mException != null) {
+				throw new SirixIOException(mException);
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.sirix.io.memorymapped;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InputStream} reading from a {@link ByteBuffer} without copying the
+ * buffer. The buffer must not be shared between threads.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+	/** The buffer to read from. */
+	private final ByteBuffer mBuffer;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param buffer
+	 *          the buffer to read from, starting at its position up to its limit
+	 */
+	public ByteBufferInputStream(final ByteBuffer buffer) {
+		assert buffer != null;
+		mBuffer = buffer;
+	}
+
+	@Override
+	public int read() {
+		return mBuffer.hasRemaining() ? mBuffer.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) {
+		if (length == 0) {
+			return 0;
+		}
+		final int remaining = mBuffer.remaining();
+		if (remaining == 0) {
+			return -1;
+		}
+		final int toRead = Math.min(length, remaining);
+		mBuffer.get(bytes, offset, toRead);
+		return toRead;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final int toSkip = (int) Math.max(0, Math.min(n, mBuffer.remaining()));
+		mBuffer.position(mBuffer.position() + toSkip);
+		return toSkip;
+	}
+
+	@Override
+	public int available() {
+		return mBuffer.remaining();
+	}
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.sirix.io.memorymapped;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.exception.SirixIOException;
+
+/**
+ * <h1>MappedFile</h1>
+ * 
+ * <p>
+ * Read-only view of the data file, which is mapped into memory in fixed-size
+ * segments. The file only ever grows, thus a segment is remapped as soon as a
+ * read requests data which has been appended after the segment has been
+ * mapped. All reads are positional, such that a single instance is safely
+ * shared by all readers of a resource.
+ * </p>
+ * 
+ * <p>
+ * The file is reference counted, as readers might outlive the storage, which
+ * created it: the storage holds the initial reference and each reader retains
+ * one. The file is closed once the last reference is released.
+ * </p>
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+final class MappedFile {
+
+	/** Exponent of the segment size. */
+	private static final int SEGMENT_SIZE_EXPONENT = 28;
+
+	/** Size of a mapped segment (256 MB). */
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SIZE_EXPONENT;
+
+	/** Number of bytes of the length prefix of each page. */
+	private static final int LENGTH_PREFIX = 4;
+
+	/** The channel to map. */
+	private final FileChannel mChannel;
+
+	/** Mapped segments (copy on write). */
+	private volatile MappedByteBuffer[] mSegments;
+
+	/** Number of references, the file is closed once it's zero. */
+	private int mReferences;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param file
+	 *          the data file
+	 * @throws SirixIOException
+	 *           if the file can't be opened
+	 */
+	MappedFile(final File file) throws SirixIOException {
+		try {
+			if (!file.exists()) {
+				file.getParentFile().mkdirs();
+				file.createNewFile();
+			}
+			mChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+		mSegments = new MappedByteBuffer[0];
+		mReferences = 1;
+	}
+
+	/**
+	 * Retain a reference, which has to be released once it isn't used anymore.
+	 * 
+	 * @return this file
+	 * @throws IllegalStateException
+	 *           if the file is already closed
+	 */
+	synchronized MappedFile retain() {
+		if (mReferences == 0) {
+			throw new IllegalStateException("Mapped file is already closed!");
+		}
+		mReferences++;
+		return this;
+	}
+
+	/**
+	 * Read a long value at an absolute position without mapping the file.
+	 * 
+	 * @param position
+	 *          the absolute position
+	 * @return the long value
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	long readLong(final @Nonnegative long position) throws SirixIOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(8);
+		readFully(buffer, position);
+		return buffer.getLong(0);
+	}
+
+	/**
+	 * Get the serialized page stored at the given offset (without the length
+	 * prefix). If the page resides in a single mapped segment, the returned
+	 * buffer is a view of the mapped memory, otherwise it is read into a heap
+	 * buffer.
+	 * 
+	 * @param offset
+	 *          the offset of the page
+	 * @return a buffer, which contains the page between its position and its
+	 *         limit and which is exclusively owned by the caller
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	ByteBuffer page(final @Nonnegative long offset) throws SirixIOException {
+		final int segmentIndex = (int) (offset >>> SEGMENT_SIZE_EXPONENT);
+		final int segmentOffset = (int) (offset & (SEGMENT_SIZE - 1));
+		final long lengthEnd = (long) segmentOffset + LENGTH_PREFIX;
+		if (lengthEnd <= SEGMENT_SIZE) {
+			MappedByteBuffer segment = segment(segmentIndex, lengthEnd);
+			final int length = segment.getInt(segmentOffset);
+			final long pageEnd = lengthEnd + length;
+			if (pageEnd <= SEGMENT_SIZE) {
+				if (pageEnd > segment.limit()) {
+					segment = segment(segmentIndex, pageEnd);
+				}
+				final ByteBuffer page = segment.duplicate();
+				page.limit((int) pageEnd);
+				page.position((int) lengthEnd);
+				return page.slice();
+			}
+			return read(offset + LENGTH_PREFIX, length);
+		}
+
+		// Length prefix crosses a segment boundary.
+		final ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_PREFIX);
+		readFully(lengthBuffer, offset);
+		return read(offset + LENGTH_PREFIX, lengthBuffer.getInt(0));
+	}
+
+	/**
+	 * Read bytes into a new heap buffer.
+	 * 
+	 * @param position
+	 *          the absolute position
+	 * @param length
+	 *          the number of bytes to read
+	 * @return the flipped buffer
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	private ByteBuffer read(final long position, final int length)
+			throws SirixIOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		readFully(buffer, position);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Fill a buffer using positional reads.
+	 * 
+	 * @param buffer
+	 *          the buffer to fill
+	 * @param position
+	 *          the absolute position
+	 * @throws SirixIOException
+	 *           if an I/O error occurs or the end of the file is reached
+	 */
+	private void readFully(final ByteBuffer buffer, final long position)
+			throws SirixIOException {
+		try {
+			long current = position;
+			while (buffer.hasRemaining()) {
+				final int read = mChannel.read(buffer, current);
+				if (read < 0) {
+					throw new SirixIOException("Unexpected end of file at position "
+							+ current + "!");
+				}
+				current += read;
+			}
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
+	/**
+	 * Get a mapped segment, which covers at least {@code requiredLimit} bytes.
+	 * 
+	 * @param index
+	 *          the index of the segment
+	 * @param requiredLimit
+	 *          the minimum number of bytes, which must be mapped
+	 * @return the mapped segment
+	 * @throws SirixIOException
+	 *           if an I/O error occurs or the file is too small
+	 */
+	private MappedByteBuffer segment(final int index, final long requiredLimit)
+			throws SirixIOException {
+		final MappedByteBuffer[] segments = mSegments;
+		if (index < segments.length) {
+			final MappedByteBuffer segment = segments[index];
+			if (segment != null && segment.limit() >= requiredLimit) {
+				return segment;
+			}
+		}
+		return remap(index, requiredLimit);
+	}
+
+	/**
+	 * (Re)map a segment.
+	 * 
+	 * @param index
+	 *          the index of the segment
+	 * @param requiredLimit
+	 *          the minimum number of bytes, which must be mapped
+	 * @return the mapped segment
+	 * @throws SirixIOException
+	 *           if an I/O error occurs or the file is too small
+	 */
+	private synchronized MappedByteBuffer remap(final int index,
+			final long requiredLimit) throws SirixIOException {
+		MappedByteBuffer[] segments = mSegments;
+		if (index < segments.length && segments[index] != null
+				&& segments[index].limit() >= requiredLimit) {
+			// Remapped concurrently.
+			return segments[index];
+		}
+		try {
+			final long start = index * SEGMENT_SIZE;
+			final long size = Math.min(SEGMENT_SIZE, mChannel.size() - start);
+			if (size < requiredLimit) {
+				throw new SirixIOException("Offset " + (start + requiredLimit)
+						+ " is beyond the end of the file!");
+			}
+			final MappedByteBuffer segment = mChannel.map(MapMode.READ_ONLY, start,
+					size);
+			segments = Arrays.copyOf(segments, Math.max(segments.length, index + 1));
+			segments[index] = segment;
+			mSegments = segments;
+			return segment;
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
+	/**
+	 * Release a reference. The file is closed once the last reference is
+	 * released. Mapped segments are released once they are garbage collected.
+	 * 
+	 * @throws SirixIOException
+	 *           if an I/O error occurs
+	 */
+	synchronized void release() throws SirixIOException {
+		if (mReferences == 0) {
+			return;
+		}
+		mReferences--;
+		if (mReferences == 0) {
+			try {
+				mSegments = new MappedByteBuffer[0];
+				mChannel.close();
+			} catch (final IOException e) {
+				throw new SirixIOException(e);
+			}
+		}
+	}
+}
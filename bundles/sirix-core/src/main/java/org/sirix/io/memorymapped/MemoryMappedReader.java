@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersistenter;
+import org.sirix.page.PageReference;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Memory mapped reader. Pages are deserialized directly from the mapped memory
+ * of the data file, which is shared by all readers of a resource. Thus,
+ * concurrent readers don't have to synchronize on a single file pointer.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public final class MemoryMappedReader implements Reader {
+
+	/** The shared, mapped data file. */
+	private final MappedFile mFile;
+
+	/** Byte handler pipeline to decompress/decrypt the pages. */
+	final ByteHandler mByteHandler;
+
+	/** Determines if the reader is closed. */
+	private boolean mClosed;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param file
+	 *          the shared, mapped data file, whose reference is released once
+	 *          the reader is closed
+	 * @param handler
+	 *          {@link ByteHandler} instance
+	 */
+	MemoryMappedReader(final MappedFile file, final ByteHandler handler) {
+		mFile = checkNotNull(file);
+		mByteHandler = checkNotNull(handler);
+	}
+
+	@Override
+	public Page read(final @Nonnegative long key,
+			final @Nullable PageReadTrx pageReadTrx) throws SirixIOException {
+		try {
+			// Perform byte operations directly on the mapped page.
+			final DataInputStream input = new DataInputStream(
+					mByteHandler.deserialize(new ByteBufferInputStream(mFile.page(key))));
+
+			// Return reader required to instantiate and deserialize page.
+			return PagePersistenter.deserializePage(input, pageReadTrx);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
+	@Override
+	public PageReference readUberPageReference() throws SirixIOException {
+		final PageReference uberPageReference = new PageReference();
+		// Read primary beacon.
+		uberPageReference.setKey(mFile.readLong(0));
+		final UberPage page = (UberPage) read(uberPageReference.getKey(), null);
+		uberPageReference.setPage(page);
+		return uberPageReference;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (!mClosed) {
+			mClosed = true;
+			mFile.release();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.sirix.io.memorymapped;
+
+import java.io.File;
+
+import org.sirix.access.conf.DatabaseConfiguration;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Reader;
+import org.sirix.io.Storage;
+import org.sirix.io.SyncMode;
+import org.sirix.io.Writer;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileWriter;
+import org.sirix.io.file.GroupCommitter;
+
+/**
+ * Factory to provide memory mapped access to the data file as a backend. The
+ * file format is the one of the {@link org.sirix.io.file.FileStorage}, thus
+ * pages are written by a {@link FileWriter}.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public final class MemoryMappedStorage implements Storage {
+
+	/** File name. */
+	private static final String FILENAME = "sirix.data";
+
+	/** Instance to storage. */
+	private final File mFile;
+
+	/** Byte handler pipeline. */
+	private final ByteHandlePipeline mByteHandler;
+
+	/** Database configuration. */
+	private final DatabaseConfiguration mDBConfig;
+
+	/**
+	 * Mapped data file shared by all readers, created on demand. It's closed
+	 * once the storage and all of its readers are closed.
+	 */
+	private MappedFile mMappedFile;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param resourceConfig
+	 *          the resource configuration
+	 */
+	public MemoryMappedStorage(final ResourceConfiguration resourceConfig) {
+		assert resourceConfig != null : "resourceConfig must not be null!";
+		mFile = resourceConfig.mPath;
+		mByteHandler = resourceConfig.mByteHandler;
+		mDBConfig = resourceConfig.mDBConfig;
+	}
+
+	@Override
+	public synchronized Reader getReader() throws SirixIOException {
+		if (mMappedFile == null) {
+			mMappedFile = new MappedFile(getConcreteStorage());
+		}
+		return new MemoryMappedReader(mMappedFile.retain(),
+				new ByteHandlePipeline(mByteHandler));
+	}
+
+	@Override
+	public Writer getWriter() throws SirixIOException {
+		final SyncMode syncMode = mDBConfig.getSyncMode();
+		return new FileWriter(getConcreteStorage(), new ByteHandlePipeline(
+				mByteHandler), syncMode,
+				syncMode == SyncMode.GROUP_COMMIT ? GroupCommitter.getInstance(mDBConfig
+						.getFile()) : null);
+	}
+
+	@Override
+	public synchronized void close() throws SirixIOException {
+		if (mMappedFile != null) {
+			// Readers, which are still open, keep the file open.
+			mMappedFile.release();
+			mMappedFile = null;
+		}
+	}
+
+	/**
+	 * Getting concrete storage for this file.
+	 * 
+	 * @return the concrete storage for this database
+	 */
+	private File getConcreteStorage() {
+		return new File(mFile, new StringBuilder(ResourceConfiguration.Paths.DATA
+				.getFile().getName()).append(File.separator).append(FILENAME)
+				.toString());
+	}
+
+	@Override
+	public boolean exists() throws SirixIOException {
+		final File file = getConcreteStorage();
+		return file.exists() && file.length() > 0;
+	}
+
+	@Override
+	public ByteHandler getByteHandler() {
+		return mByteHandler;
+	}
+}
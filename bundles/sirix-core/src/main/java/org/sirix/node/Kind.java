@@ -35,13 +35,10 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 import javax.annotation.Nonnegative;
 
@@ -54,7 +51,9 @@ import org.sirix.api.PageReadTrx;
 import org.sirix.index.AtomicUtil;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
+import org.sirix.index.avltree.keyvalue.NodeKeyBitmap;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeNode;
 import org.sirix.index.path.summary.PathNode;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
@@ -66,6 +65,7 @@ import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.service.xml.xpath.AtomicValue;
 import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
+import org.sirix.utils.Codec;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
@@ -159,11 +159,10 @@ public enum Kind implements NodePersistenter {
 			final NameNodeDelegate nameDel = deserializeNameDelegate(nodeDel, source);
 
 			// Val delegate.
-			final boolean isCompressed = source.readByte() == (byte) 1 ? true : false;
+			final Codec codec = Codec.getCodec(source.readByte());
 			final byte[] vals = new byte[source.readInt()];
 			source.readFully(vals, 0, vals.length);
-			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals,
-					isCompressed);
+			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, codec);
 
 			final String uri = pageReadTrx.getName(nameDel.getURIKey(),
 					Kind.NAMESPACE);
@@ -237,11 +236,10 @@ public enum Kind implements NodePersistenter {
 					deweyID, pageReadTrx);
 
 			// Val delegate.
-			final boolean isCompressed = source.readByte() == (byte) 1 ? true : false;
+			final Codec codec = Codec.getCodec(source.readByte());
 			final byte[] vals = new byte[source.readInt()];
 			source.readFully(vals, 0, vals.length);
-			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals,
-					isCompressed);
+			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, codec);
 
 			// Struct delegate.
 			final long nodeKey = nodeDel.getNodeKey();
@@ -283,11 +281,10 @@ public enum Kind implements NodePersistenter {
 			final NameNodeDelegate nameDel = deserializeNameDelegate(nodeDel, source);
 
 			// Val delegate.
-			final boolean isCompressed = source.readByte() == (byte) 1 ? true : false;
+			final Codec codec = Codec.getCodec(source.readByte());
 			final byte[] vals = new byte[source.readInt()];
 			source.readFully(vals, 0, vals.length);
-			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals,
-					isCompressed);
+			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, codec);
 
 			// Returning an instance.
 			return new PINode(structDel, nameDel, valDel, pageReadTrx);
@@ -315,11 +312,10 @@ public enum Kind implements NodePersistenter {
 					deweyID, pageReadTrx);
 
 			// Val delegate.
-			final boolean isCompressed = source.readByte() == (byte) 1 ? true : false;
+			final Codec codec = Codec.getCodec(source.readByte());
 			final byte[] vals = new byte[source.readInt()];
 			source.readFully(vals, 0, vals.length);
-			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals,
-					isCompressed);
+			final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, codec);
 
 			// Struct delegate.
 			final long nodeKey = nodeDel.getNodeKey();
@@ -594,16 +590,7 @@ public enum Kind implements NodePersistenter {
 			final int typeSize = source.readInt();
 			final byte[] type = new byte[typeSize];
 			source.readFully(type, 0, typeSize);
-			final int keySize = source.readInt();
-			final Set<Long> nodeKeys = new HashSet<>(keySize);
-			long key = getVarLong(source);
-			nodeKeys.add(key);
-			for (int i = 1; i < keySize; i++) {
-				if (i + 1 < keySize) {
-					key += getVarLong(source);
-					nodeKeys.add(key);
-				}
-			}
+			final NodeReferences nodeKeys = deserializeNodeReferences(source, true);
 			final Type atomicType = resolveType(new String(type,
 					Constants.DEFAULT_ENCODING));
 
@@ -618,7 +605,7 @@ public enum Kind implements NodePersistenter {
 			final Atomic atomic = AtomicUtil.fromBytes(value, atomicType);
 			AVLNode<CASValue, NodeReferences> node;
 			node = new AVLNode<CASValue, NodeReferences>(new CASValue(atomic,
-					atomicType, pathNodeKey), new NodeReferences(nodeKeys), nodeDel);
+					atomicType, pathNodeKey), nodeKeys, nodeDel);
 
 			node.setLeftChildKey(leftChild);
 			node.setRightChildKey(rightChild);
@@ -639,20 +626,7 @@ public enum Kind implements NodePersistenter {
 					.getBytes(Constants.DEFAULT_ENCODING);
 			sink.writeInt(type.length);
 			sink.write(type);
-			final NodeReferences value = node.getValue();
-			final Set<Long> nodeKeys = value.getNodeKeys();
-
-			// Store in a list and sort the list.
-			final List<Long> listNodeKeys = new ArrayList<>(nodeKeys);
-			Collections.sort(listNodeKeys);
-			sink.writeInt(listNodeKeys.size());
-			putVarLong(sink, listNodeKeys.get(0));
-			for (int i = 0; i < listNodeKeys.size(); i++) {
-				if (i + 1 < listNodeKeys.size()) {
-					final long diff = listNodeKeys.get(i + 1) - listNodeKeys.get(i);
-					putVarLong(sink, diff);
-				}
-			}
+			serializeNodeReferences(sink, node.getValue());
 			serializeDelegate(node.getNodeDelegate(), sink, pageReadTrx);
 			putVarLong(sink, node.getLeftChildKey());
 			putVarLong(sink, node.getRightChildKey());
@@ -673,17 +647,6 @@ public enum Kind implements NodePersistenter {
 				PageReadTrx pageReadTrx) throws IOException {
 			throw new UnsupportedOperationException();
 		}
-
-		private Type resolveType(final String s) {
-			final QNm name = new QNm(Namespaces.XS_NSURI, Namespaces.XS_PREFIX,
-					s.substring(Namespaces.XS_PREFIX.length() + 1));
-			for (final Type type : Type.builtInTypes) {
-				if (type.getName().getLocalName().equals(name.getLocalName())) {
-					return type;
-				}
-			}
-			throw new IllegalStateException("Unknown content type: " + name);
-		}
 	},
 
 	/** Node kind is a PATH-AVL node. */
@@ -693,11 +656,7 @@ public enum Kind implements NodePersistenter {
 				final @Nonnegative long recordID, final Optional<SirixDeweyID> deweyID,
 				final PageReadTrx pageReadTrx) throws IOException {
 			final long key = getVarLong(source);
-			final int keySize = source.readInt();
-			final Set<Long> nodeKeys = new HashSet<>(keySize);
-			for (int i = 0; i < keySize; i++) {
-				nodeKeys.add(source.readLong());
-			}
+			final NodeReferences nodeKeys = deserializeNodeReferences(source, false);
 			// Node delegate.
 			final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source,
 					recordID, pageReadTrx);
@@ -705,7 +664,7 @@ public enum Kind implements NodePersistenter {
 			final long rightChild = getVarLong(source);
 			final boolean isChanged = source.readBoolean();
 			final AVLNode<Long, NodeReferences> node = new AVLNode<>(key,
-					new NodeReferences(nodeKeys), nodeDel);
+					nodeKeys, nodeDel);
 			node.setLeftChildKey(leftChild);
 			node.setRightChildKey(rightChild);
 			node.setChanged(isChanged);
@@ -718,12 +677,7 @@ public enum Kind implements NodePersistenter {
 			@SuppressWarnings("unchecked")
 			final AVLNode<Long, NodeReferences> node = (AVLNode<Long, NodeReferences>) record;
 			putVarLong(sink, node.getKey().longValue());
-			final NodeReferences value = node.getValue();
-			final Set<Long> nodeKeys = value.getNodeKeys();
-			sink.writeInt(nodeKeys.size());
-			for (final long nodeKey : nodeKeys) {
-				sink.writeLong(nodeKey);
-			}
+			serializeNodeReferences(sink, node.getValue());
 			serializeDelegate(node.getNodeDelegate(), sink, pageReadTrx);
 			putVarLong(sink, node.getLeftChildKey());
 			putVarLong(sink, node.getRightChildKey());
@@ -761,11 +715,7 @@ public enum Kind implements NodePersistenter {
 					new String(nspBytes, Constants.DEFAULT_ENCODING), new String(
 							prefixBytes, Constants.DEFAULT_ENCODING), new String(
 							localNameBytes, Constants.DEFAULT_ENCODING));
-			final int keySize = source.readInt();
-			final Set<Long> nodeKeys = new HashSet<>(keySize);
-			for (int i = 0; i < keySize; i++) {
-				nodeKeys.add(source.readLong());
-			}
+			final NodeReferences nodeKeys = deserializeNodeReferences(source, false);
 			// Node delegate.
 			final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source,
 					recordID, pageReadTrx);
@@ -773,7 +723,7 @@ public enum Kind implements NodePersistenter {
 			final long rightChild = getVarLong(source);
 			final boolean isChanged = source.readBoolean();
 			final AVLNode<QNm, NodeReferences> node = new AVLNode<>(name,
-					new NodeReferences(nodeKeys), nodeDel);
+					nodeKeys, nodeDel);
 			node.setLeftChildKey(leftChild);
 			node.setRightChildKey(rightChild);
 			node.setChanged(isChanged);
@@ -794,12 +744,7 @@ public enum Kind implements NodePersistenter {
 			final byte[] localNameBytes = node.getKey().getLocalName().getBytes();
 			sink.writeInt(localNameBytes.length);
 			sink.write(localNameBytes);
-			final NodeReferences value = node.getValue();
-			final Set<Long> nodeKeys = value.getNodeKeys();
-			sink.writeInt(nodeKeys.size());
-			for (final long nodeKey : nodeKeys) {
-				sink.writeLong(nodeKey);
-			}
+			serializeNodeReferences(sink, node.getValue());
 			serializeDelegate(node.getNodeDelegate(), sink, pageReadTrx);
 			putVarLong(sink, node.getLeftChildKey());
 			putVarLong(sink, node.getRightChildKey());
@@ -821,6 +766,100 @@ public enum Kind implements NodePersistenter {
 		}
 	},
 
+	/** Node kind is a CAS-B+-tree node. */
+	CASBPLUS((byte) 24, BPlusTreeNode.class) {
+		@Override
+		public Record deserialize(final DataInput source,
+				final @Nonnegative long recordID, final Optional<SirixDeweyID> deweyID,
+				final PageReadTrx pageReadTrx) throws IOException {
+			return deserializeBPlusTreeNode(this, source, recordID, pageReadTrx,
+					Kind::readCASValue);
+		}
+
+		@Override
+		public void serialize(final DataOutput sink, final Record record,
+				final PageReadTrx pageReadTrx) throws IOException {
+			serializeBPlusTreeNode(sink, record, pageReadTrx, Kind::writeCASValue);
+		}
+
+		@Override
+		public Optional<SirixDeweyID> deserializeDeweyID(DataInput source,
+				Optional<SirixDeweyID> previousDeweyID, PageReadTrx pageReadTrx)
+				throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void serializeDeweyID(DataOutput sink, Kind nodeKind,
+				SirixDeweyID deweyID, Optional<SirixDeweyID> prevDeweyID,
+				PageReadTrx pageReadTrx) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+	},
+
+	/** Node kind is a PATH-B+-tree node. */
+	PATHBPLUS((byte) 25, BPlusTreeNode.class) {
+		@Override
+		public Record deserialize(final DataInput source,
+				final @Nonnegative long recordID, final Optional<SirixDeweyID> deweyID,
+				final PageReadTrx pageReadTrx) throws IOException {
+			return deserializeBPlusTreeNode(this, source, recordID, pageReadTrx,
+					in -> getVarLong(in));
+		}
+
+		@Override
+		public void serialize(final DataOutput sink, final Record record,
+				final PageReadTrx pageReadTrx) throws IOException {
+			serializeBPlusTreeNode(sink, record, pageReadTrx,
+					(out, key) -> putVarLong(out, (Long) key));
+		}
+
+		@Override
+		public Optional<SirixDeweyID> deserializeDeweyID(DataInput source,
+				Optional<SirixDeweyID> previousDeweyID, PageReadTrx pageReadTrx)
+				throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void serializeDeweyID(DataOutput sink, Kind nodeKind,
+				SirixDeweyID deweyID, Optional<SirixDeweyID> prevDeweyID,
+				PageReadTrx pageReadTrx) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+	},
+
+	/** Node kind is a NAME-B+-tree node. */
+	NAMEBPLUS((byte) 26, BPlusTreeNode.class) {
+		@Override
+		public Record deserialize(final DataInput source,
+				final @Nonnegative long recordID, final Optional<SirixDeweyID> deweyID,
+				final PageReadTrx pageReadTrx) throws IOException {
+			return deserializeBPlusTreeNode(this, source, recordID, pageReadTrx,
+					Kind::readQNm);
+		}
+
+		@Override
+		public void serialize(final DataOutput sink, final Record record,
+				final PageReadTrx pageReadTrx) throws IOException {
+			serializeBPlusTreeNode(sink, record, pageReadTrx, Kind::writeQNm);
+		}
+
+		@Override
+		public Optional<SirixDeweyID> deserializeDeweyID(DataInput source,
+				Optional<SirixDeweyID> previousDeweyID, PageReadTrx pageReadTrx)
+				throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void serializeDeweyID(DataOutput sink, Kind nodeKind,
+				SirixDeweyID deweyID, Optional<SirixDeweyID> prevDeweyID,
+				PageReadTrx pageReadTrx) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+	},
+
 	/** Node includes a deweyID <=> nodeKey mapping. */
 	DEWEYIDMAPPING((byte) 23, DeweyIDMappingNode.class) {
 		@Override
@@ -887,6 +926,12 @@ public enum Kind implements NodePersistenter {
 	/** Class. */
 	private final Class<? extends Record> mClass;
 
+	/**
+	 * Marks node references encoded as {@link NodeKeyBitmap}. Older index
+	 * records start with the (non-negative) number of node keys instead.
+	 */
+	private static final byte BITMAP_ENCODING = (byte) 0xFF;
+
 	/** Mapping of keys -> nodes. */
 	private static final Map<Byte, Kind> INSTANCEFORID = new HashMap<>();
 
@@ -1008,6 +1053,278 @@ public enum Kind implements NodePersistenter {
 		}
 	}
 
+	/**
+	 * Reads a key of an index tree node.
+	 */
+	@FunctionalInterface
+	private interface KeyReader {
+		Comparable<?> read(DataInput source) throws IOException;
+	}
+
+	/**
+	 * Writes a key of an index tree node.
+	 */
+	@FunctionalInterface
+	private interface KeyWriter {
+		void write(DataOutput sink, Object key) throws IOException;
+	}
+
+	/**
+	 * Deserialize a B+-tree node.
+	 *
+	 * @param kind
+	 *          the kind of node
+	 * @param source
+	 *          source to read from
+	 * @param recordID
+	 *          the node key
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @param keyReader
+	 *          reads a single key
+	 * @return the B+-tree node
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Record deserializeBPlusTreeNode(final Kind kind,
+			final DataInput source, final @Nonnegative long recordID,
+			final PageReadTrx pageReadTrx, final KeyReader keyReader)
+			throws IOException {
+		final boolean isLeaf = source.readBoolean();
+		final int size = source.readInt();
+		final List keys = new ArrayList<>(size + 1);
+		for (int i = 0; i < size; i++) {
+			keys.add(keyReader.read(source));
+		}
+		List<NodeReferences> values = null;
+		List<Long> childKeys = null;
+		if (isLeaf) {
+			values = new ArrayList<>(size + 1);
+			for (int i = 0; i < size; i++) {
+				values.add(deserializeNodeReferences(source, false));
+			}
+		} else {
+			childKeys = new ArrayList<>(size + 2);
+			for (int i = 0; i <= size; i++) {
+				childKeys.add(getVarLong(source));
+			}
+		}
+		final long nextLeafKey = getVarLong(source);
+		final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source,
+				recordID, pageReadTrx);
+		final BPlusTreeNode node = new BPlusTreeNode(kind, keys, values,
+				childKeys, nodeDel);
+		node.setNextLeafKey(nextLeafKey);
+		return node;
+	}
+
+	/**
+	 * Serialize a B+-tree node.
+	 *
+	 * @param sink
+	 *          the sink to write to
+	 * @param record
+	 *          the B+-tree node
+	 * @param pageReadTrx
+	 *          {@link PageReadTrx} instance
+	 * @param keyWriter
+	 *          writes a single key
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static void serializeBPlusTreeNode(final DataOutput sink,
+			final Record record, final PageReadTrx pageReadTrx,
+			final KeyWriter keyWriter) throws IOException {
+		@SuppressWarnings("unchecked")
+		final BPlusTreeNode<?, NodeReferences> node = (BPlusTreeNode<?, NodeReferences>) record;
+		sink.writeBoolean(node.isLeaf());
+		sink.writeInt(node.size());
+		for (final Object key : node.getKeys()) {
+			keyWriter.write(sink, key);
+		}
+		if (node.isLeaf()) {
+			for (final NodeReferences value : node.getValues()) {
+				serializeNodeReferences(sink, value);
+			}
+		} else {
+			for (final long childKey : node.getChildKeys()) {
+				putVarLong(sink, childKey);
+			}
+		}
+		putVarLong(sink, node.getNextLeafKey());
+		serializeDelegate(node.getNodeDelegate(), sink, pageReadTrx);
+	}
+
+	/**
+	 * Serialize the node keys referenced by an index entry.
+	 *
+	 * @param sink
+	 *          the sink to write to
+	 * @param references
+	 *          the references
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	static void serializeNodeReferences(final DataOutput sink,
+			final NodeReferences references) throws IOException {
+		sink.writeByte(BITMAP_ENCODING);
+		references.getBitmap().serialize(sink);
+	}
+
+	/**
+	 * Deserialize the node keys referenced by an index entry. Records, which
+	 * have been written before node keys were stored in bitmaps, are decoded
+	 * in their former encoding (the number of node keys followed by the node
+	 * keys).
+	 *
+	 * @param source
+	 *          source to read from
+	 * @param deltaEncoded
+	 *          determines if node keys of the former encoding are stored as
+	 *          variable length deltas (CAS index) instead of fixed length longs
+	 * @return the references
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	static NodeReferences deserializeNodeReferences(
+			final DataInput source, final boolean deltaEncoded) throws IOException {
+		final byte encoding = source.readByte();
+		if (encoding == BITMAP_ENCODING) {
+			return new NodeReferences(NodeKeyBitmap.deserialize(source));
+		}
+
+		// Former encoding: the marker byte is the high byte of the size.
+		final int keySize = (encoding & 0xFF) << 24
+				| source.readUnsignedByte() << 16 | source.readUnsignedByte() << 8
+				| source.readUnsignedByte();
+		final NodeKeyBitmap nodeKeys = new NodeKeyBitmap();
+		if (deltaEncoded && keySize > 0) {
+			long key = getVarLong(source);
+			nodeKeys.add(key);
+			for (int i = 1; i < keySize; i++) {
+				key += getVarLong(source);
+				nodeKeys.add(key);
+			}
+		} else if (!deltaEncoded) {
+			for (int i = 0; i < keySize; i++) {
+				nodeKeys.add(source.readLong());
+			}
+		}
+		return new NodeReferences(nodeKeys);
+	}
+
+	/**
+	 * Read a {@link CASValue} key.
+	 *
+	 * @param source
+	 *          source to read from
+	 * @return the key
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static CASValue readCASValue(final DataInput source)
+			throws IOException {
+		final byte[] value = new byte[source.readInt()];
+		source.readFully(value);
+		final byte[] type = new byte[source.readInt()];
+		source.readFully(type);
+		final long pathNodeKey = getVarLong(source);
+		final Type atomicType = resolveType(new String(type,
+				Constants.DEFAULT_ENCODING));
+		return new CASValue(AtomicUtil.fromBytes(value, atomicType), atomicType,
+				pathNodeKey);
+	}
+
+	/**
+	 * Write a {@link CASValue} key.
+	 *
+	 * @param sink
+	 *          the sink to write to
+	 * @param key
+	 *          the key
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static void writeCASValue(final DataOutput sink, final Object key)
+			throws IOException {
+		final CASValue value = (CASValue) key;
+		final byte[] bytes = value.getValue();
+		sink.writeInt(bytes.length);
+		sink.write(bytes);
+		final byte[] type = value.getType().toString()
+				.getBytes(Constants.DEFAULT_ENCODING);
+		sink.writeInt(type.length);
+		sink.write(type);
+		putVarLong(sink, value.getPathNodeKey());
+	}
+
+	/**
+	 * Read a {@link QNm} key.
+	 *
+	 * @param source
+	 *          source to read from
+	 * @return the key
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static QNm readQNm(final DataInput source) throws IOException {
+		final byte[] nspBytes = new byte[source.readInt()];
+		source.readFully(nspBytes);
+		final byte[] prefixBytes = new byte[source.readInt()];
+		source.readFully(prefixBytes);
+		final byte[] localNameBytes = new byte[source.readInt()];
+		source.readFully(localNameBytes);
+		return new QNm(new String(nspBytes, Constants.DEFAULT_ENCODING),
+				new String(prefixBytes, Constants.DEFAULT_ENCODING), new String(
+						localNameBytes, Constants.DEFAULT_ENCODING));
+	}
+
+	/**
+	 * Write a {@link QNm} key.
+	 *
+	 * @param sink
+	 *          the sink to write to
+	 * @param key
+	 *          the key
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static void writeQNm(final DataOutput sink, final Object key)
+			throws IOException {
+		final QNm name = (QNm) key;
+		final byte[] nspBytes = name.getNamespaceURI().getBytes(
+				Constants.DEFAULT_ENCODING);
+		sink.writeInt(nspBytes.length);
+		sink.write(nspBytes);
+		final byte[] prefixBytes = name.getPrefix().getBytes(
+				Constants.DEFAULT_ENCODING);
+		sink.writeInt(prefixBytes.length);
+		sink.write(prefixBytes);
+		final byte[] localNameBytes = name.getLocalName().getBytes(
+				Constants.DEFAULT_ENCODING);
+		sink.writeInt(localNameBytes.length);
+		sink.write(localNameBytes);
+	}
+
+	/**
+	 * Resolve the type of an atomic value.
+	 *
+	 * @param s
+	 *          the name of the type
+	 * @return the type
+	 */
+	private static Type resolveType(final String s) {
+		final QNm name = new QNm(Namespaces.XS_NSURI, Namespaces.XS_PREFIX,
+				s.substring(Namespaces.XS_PREFIX.length() + 1));
+		for (final Type type : Type.builtInTypes) {
+			if (type.getName().getLocalName().equals(name.getLocalName())) {
+				return type;
+			}
+		}
+		throw new IllegalStateException("Unknown content type: " + name);
+	}
+
 	/**
 	 * Deserialize node delegate without stored dewey IDs.
 	 *
@@ -1168,10 +1485,9 @@ public enum Kind implements NodePersistenter {
 	 */
 	private static final void serializeValDelegate(
 			final ValNodeDelegate valueDel, final DataOutput sink) throws IOException {
-		final boolean isCompressed = valueDel.isCompressed();
-		sink.writeByte(isCompressed ? (byte) 1 : (byte) 0);
-		final byte[] value = isCompressed ? valueDel.getCompressed() : valueDel
-				.getRawValue();
+		// Codec identifier (0 and 1 denote uncompressed and deflated values as before).
+		sink.writeByte(valueDel.getCodec().getId());
+		final byte[] value = valueDel.getCompressed();
 		sink.writeInt(value.length);
 		sink.write(value);
 	}
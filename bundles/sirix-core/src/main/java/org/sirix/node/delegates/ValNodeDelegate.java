@@ -27,7 +27,6 @@
 package org.sirix.node.delegates;
 
 import java.util.Arrays;
-import java.util.zip.Deflater;
 
 import javax.annotation.Nullable;
 
@@ -38,7 +37,7 @@ import org.sirix.node.Kind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.ValueNode;
 import org.sirix.settings.Constants;
-import org.sirix.utils.Compression;
+import org.sirix.utils.Codec;
 
 import com.google.common.base.Objects;
 
@@ -59,8 +58,8 @@ public class ValNodeDelegate extends AbstractForwardingNode implements
 	/** Storing the value. */
 	private byte[] mVal;
 
-	/** Determines if input has been compressed. */
-	private boolean mCompressed;
+	/** The codec the value has been compressed with. */
+	private Codec mCodec;
 
 	/**
 	 * Constructor
@@ -70,15 +69,32 @@ public class ValNodeDelegate extends AbstractForwardingNode implements
 	 * @param val
 	 *          the value
 	 * @param compressed
-	 *          compress value or not
+	 *          determines if the value has been compressed with
+	 *          {@link Codec#DEFLATE} or not
 	 */
 	public ValNodeDelegate(final NodeDelegate nodeDel, final byte[] val,
 			final boolean compressed) {
+		this(nodeDel, val, compressed ? Codec.DEFLATE : Codec.NONE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param nodeDel
+	 *          {@link NodeDelegate} reference
+	 * @param val
+	 *          the value
+	 * @param codec
+	 *          the codec the value has been compressed with
+	 */
+	public ValNodeDelegate(final NodeDelegate nodeDel, final byte[] val,
+			final Codec codec) {
 		assert nodeDel != null : "nodeDel must not be null!";
 		assert val != null : "val must not be null!";
+		assert codec != null : "codec must not be null!";
 		mDelegate = nodeDel;
 		mVal = val;
-		mCompressed = compressed;
+		mCodec = codec;
 	}
 
 	@Override
@@ -88,7 +104,7 @@ public class ValNodeDelegate extends AbstractForwardingNode implements
 
 	@Override
 	public byte[] getRawValue() {
-		return mCompressed ? Compression.decompress(mVal) : mVal;
+		return mCodec.decompress(mVal);
 	}
 
 	@Override
@@ -107,9 +123,10 @@ public class ValNodeDelegate extends AbstractForwardingNode implements
 
 	@Override
 	public void setValue(final byte[] value) {
-		mCompressed = new String(value).length() > 10 ? true : false;
-		mVal = mCompressed ? Compression.compress(value,
-				Deflater.DEFAULT_COMPRESSION) : value;
+		// Keep the codec of the resource, if the value has been compressed before.
+		final Codec codec = mCodec == Codec.NONE ? Codec.DEFLATE : mCodec;
+		mCodec = new String(value).length() > 10 ? codec : Codec.NONE;
+		mVal = mCodec.compress(value);
 	}
 
 	/**
@@ -118,17 +135,27 @@ public class ValNodeDelegate extends AbstractForwardingNode implements
 	 * @return {@code true}, if it has been compressed, {@code false} otherwise
 	 */
 	public boolean isCompressed() {
-		return mCompressed;
+		return mCodec != Codec.NONE;
 	}
 
 	/**
 	 * Set compression.
 	 * 
 	 * @param compressed
-	 *          determines if value is compressed or not
+	 *          determines if value is compressed (with {@link Codec#DEFLATE}) or
+	 *          not
 	 */
 	public void setCompressed(final boolean compressed) {
-		mCompressed = compressed;
+		mCodec = compressed ? Codec.DEFLATE : Codec.NONE;
+	}
+
+	/**
+	 * Get the codec the value has been compressed with.
+	 * 
+	 * @return the codec, which is {@link Codec#NONE} for uncompressed values
+	 */
+	public Codec getCodec() {
+		return mCodec;
 	}
 
 	@Override
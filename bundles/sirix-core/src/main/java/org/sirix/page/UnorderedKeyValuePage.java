@@ -26,6 +26,7 @@
  */
 package org.sirix.page;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.sirix.node.Utils.getVarLong;
 import static org.sirix.node.Utils.putVarLong;
 
@@ -36,16 +37,14 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 
@@ -67,8 +66,7 @@ import org.sirix.settings.Constants;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Objects.ToStringHelper;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Collections2;
 
 /**
  * <h1>UnorderedKeyValuePage</h1>
@@ -78,31 +76,71 @@ import com.google.common.collect.PeekingIterator;
  * unordered datastructure.
  * </p>
  * <p>
+ * A record page always covers the {@link Constants#NDP_NODE_COUNT} consecutive
+ * record keys starting at {@code pageKey << NDP_NODE_COUNT_EXPONENT}, such
+ * that records, serialized records (slots), dewey IDs and references to
+ * overflow pages are stored in plain arrays indexed by the lower bits of the
+ * record key. Entries are iterated in key order.
+ * </p>
+ * <p>
+ * Pages read from the storage keep the serialized records and deserialize a
+ * record on first access.
+ * </p>
+ * <p>
  * The page currently is not thread safe (might have to be for concurrent
  * write-transactions)!
  * </p>
  */
 public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
+	/** Mask to get the index of a record key in the page. */
+	private static final int INDEX_MASK = Constants.NDP_NODE_COUNT - 1;
+
+	/** Maximum number of stored storage keys of elder versions. */
+	public static final int MAX_FRAGMENT_KEYS = 255;
+
+	/** No storage keys of elder versions. */
+	private static final long[] NO_FRAGMENT_KEYS = new long[0];
+
+	/** Flag denoting that the page has no previous version. */
+	private static final byte NO_PREVIOUS_REFERENCE = 0;
+
+	/** Flag denoting that only the previous version is stored. */
+	private static final byte PREVIOUS_REFERENCE = 1;
+
+	/**
+	 * Flag denoting that the previous version and the storage keys of the elder
+	 * versions are stored.
+	 */
+	private static final byte PREVIOUS_FRAGMENT_KEYS = 2;
+
 	private boolean mAddedReferences;
 
-	/** References to overflow pages. */
-	private final Map<Long, PageReference> mReferences;
+	/** References to overflow pages ({@code null} until the first is set). */
+	private PageReference[] mReferences;
+
+	/** Number of references to overflow pages. */
+	private int mReferenceCount;
 
 	/** Key of record page. This is the base key of all contained nodes. */
 	private final long mRecordPageKey;
 
 	/**
-	 * Records (must be a {@link LinkedHashMap} to provide consistent iteration
-	 * order).
+	 * Records. Records which haven't been deserialized yet are {@code null},
+	 * whereas their slot is set.
 	 */
-	private final LinkedHashMap<Long, Record> mRecords;
+	private final Record[] mRecords;
+
+	/** Serialized records (slots). */
+	private final byte[][] mSlots;
 
-	/** Slots which have to be serialized. */
-	private final Map<Long, byte[]> mSlots;
+	/** Number of records (deserialized or not). */
+	private int mRecordCount;
 
-	/** Dewey IDs which have to be serialized. */
-	private final Map<SirixDeweyID, Long> mDeweyIDs;
+	/**
+	 * Dewey IDs of serialized records ({@code null} if no dewey IDs are stored).
+	 */
+	private final SirixDeweyID[] mDeweyIDs;
 
 	/** Determine if node page has been modified. */
 	private boolean mIsDirty;
@@ -119,6 +157,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 	/** Reference to the previous page if any. */
 	private Optional<PageReference> mPreviousPageReference;
 
+	/**
+	 * Storage keys of the elder versions, which precede the previous version of
+	 * the page.
+	 */
+	private long[] mPreviousFragmentKeys = NO_FRAGMENT_KEYS;
+
 	/**
 	 * Constructor which initializes a new {@link UnorderedKeyValuePage}.
 	 *
@@ -140,22 +184,50 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 		assert previousPageRef != null : "optional previous page reference must not be null!";
 		assert pageReadTrx != null : "The page reading trx must not be null!";
 
-		mReferences = new LinkedHashMap<>();
 		mRecordPageKey = recordPageKey;
-		mRecords = new LinkedHashMap<>();
-		mSlots = new LinkedHashMap<>();
+		mRecords = new Record[Constants.NDP_NODE_COUNT];
+		mSlots = new byte[Constants.NDP_NODE_COUNT][];
 		mIsDirty = true;
 		mPageReadTrx = pageReadTrx;
 		mPageKind = pageKind;
 		mPersistenter = pageReadTrx.getSession().getResourceConfig().mPersistenter;
 		mPreviousPageReference = previousPageRef;
+		mDeweyIDs = storeDeweyIDs() ? new SirixDeweyID[Constants.NDP_NODE_COUNT]
+				: null;
+	}
 
-		if (mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored
-				&& mPersistenter instanceof NodePersistenter) {
-			mDeweyIDs = new LinkedHashMap<>();
-		} else {
-			mDeweyIDs = Collections.emptyMap();
+	/**
+	 * Constructor which copies a page read by another transaction. The
+	 * serialized records are shared, whereas records are deserialized on demand
+	 * for the given transaction.
+	 *
+	 * @param page
+	 *          the page to copy
+	 * @param pageReadTrx
+	 *          the page reading transaction
+	 */
+	public UnorderedKeyValuePage(final UnorderedKeyValuePage page,
+			final PageReadTrx pageReadTrx) {
+		assert page != null : "page must not be null!";
+		assert pageReadTrx != null : "pageReadTrx must not be null!";
+		mRecordPageKey = page.mRecordPageKey;
+		mPageReadTrx = pageReadTrx;
+		mPersistenter = pageReadTrx.getSession().getResourceConfig().mPersistenter;
+		mPageKind = page.mPageKind;
+		mPreviousPageReference = page.mPreviousPageReference;
+		mPreviousFragmentKeys = page.mPreviousFragmentKeys;
+		mIsDirty = page.mIsDirty;
+		mSlots = page.mSlots.clone();
+		mRecords = new Record[Constants.NDP_NODE_COUNT];
+		for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+			if (mSlots[index] == null) {
+				mRecords[index] = page.mRecords[index];
+			}
 		}
+		mRecordCount = page.mRecordCount;
+		mReferences = page.mReferences == null ? null : page.mReferences.clone();
+		mReferenceCount = page.mReferenceCount;
+		mDeweyIDs = page.mDeweyIDs == null ? null : page.mDeweyIDs.clone();
 	}
 
 	/**
@@ -168,104 +240,201 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 	 */
 	protected UnorderedKeyValuePage(final DataInput in,
 			final PageReadTrx pageReadTrx) throws IOException {
+		assert pageReadTrx != null : "pageReadTrx must not be null!";
 		mRecordPageKey = getVarLong(in);
 		mPersistenter = pageReadTrx.getSession().getResourceConfig().mPersistenter;
 		mPageReadTrx = pageReadTrx;
-		mSlots = new LinkedHashMap<>();
-
-		if (mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored
-				&& mPersistenter instanceof NodePersistenter) {
-			mDeweyIDs = new LinkedHashMap<>();
-		} else {
-			mDeweyIDs = Collections.emptyMap();
-		}
+		mRecords = new Record[Constants.NDP_NODE_COUNT];
+		mSlots = new byte[Constants.NDP_NODE_COUNT][];
 
-		if (mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored
-				&& mPersistenter instanceof NodePersistenter) {
+		if (storeDeweyIDs()) {
+			mDeweyIDs = new SirixDeweyID[Constants.NDP_NODE_COUNT];
 			final NodePersistenter persistenter = (NodePersistenter) mPersistenter;
 			final int deweyIDSize = in.readInt();
 
-			mRecords = new LinkedHashMap<>(deweyIDSize);
 			Optional<SirixDeweyID> id = Optional.empty();
 
-			for (int index = 0; index < deweyIDSize; index++) {
+			for (int i = 0; i < deweyIDSize; i++) {
 				id = persistenter.deserializeDeweyID(in, id, pageReadTrx);
 
 				if (id.isPresent()) {
-					final long key = getVarLong(in);
-					final int dataSize = in.readInt();
-					final byte[] data = new byte[dataSize];
-					in.readFully(data);
-					final Record record = mPersistenter.deserialize(new DataInputStream(
-							new ByteArrayInputStream(data)), key, id, mPageReadTrx);
-					mRecords.put(key, record);
+					final int index = index(getVarLong(in));
+					mDeweyIDs[index] = id.get();
+					// Deserialized on demand.
+					mSlots[index] = readSlot(in);
+					mRecordCount++;
 				}
 			}
 		} else {
-			mRecords = new LinkedHashMap<>();
+			mDeweyIDs = null;
 		}
 
 		final int normalEntrySize = in.readInt();
-		for (int index = 0; index < normalEntrySize; index++) {
-			final long key = getVarLong(in);
-			final int dataSize = in.readInt();
-			final byte[] data = new byte[dataSize];
-			in.readFully(data);
-			final Record record = mPersistenter
-					.deserialize(new DataInputStream(new ByteArrayInputStream(data)),
-							key, Optional.empty(), mPageReadTrx);
-			mRecords.put(key, record);
+		for (int i = 0; i < normalEntrySize; i++) {
+			final int index = index(getVarLong(in));
+			// Deserialized on demand.
+			mSlots[index] = readSlot(in);
+			mRecordCount++;
 		}
 		final int overlongEntrySize = in.readInt();
-		mReferences = new LinkedHashMap<>(overlongEntrySize);
-		for (int index = 0; index < overlongEntrySize; index++) {
+		for (int i = 0; i < overlongEntrySize; i++) {
 			final long key = in.readLong();
 			final PageReference reference = new PageReference();
 			reference.setKey(in.readLong());
-			mReferences.put(key, reference);
+			setPageReference(key, reference);
 		}
-		assert pageReadTrx != null : "pageReadTrx must not be null!";
-		final boolean hasPreviousReference = in.readBoolean();
-		if (hasPreviousReference) {
+		// Pages written before the elder versions have been stored use a boolean.
+		final byte previousReferenceFlag = in.readByte();
+		if (previousReferenceFlag != NO_PREVIOUS_REFERENCE) {
 			final PageReference previousPageReference = new PageReference();
 			previousPageReference.setKey(in.readLong());
 			mPreviousPageReference = Optional.of(previousPageReference);
+			if (previousReferenceFlag == PREVIOUS_FRAGMENT_KEYS) {
+				mPreviousFragmentKeys = new long[in.readByte() & 0xFF];
+				for (int i = 0; i < mPreviousFragmentKeys.length; i++) {
+					mPreviousFragmentKeys[i] = in.readLong();
+				}
+			}
 		} else {
 			mPreviousPageReference = Optional.empty();
 		}
 		mPageKind = PageKind.getKind(in.readByte());
 	}
 
+	/**
+	 * Read a serialized record.
+	 *
+	 * @param in
+	 *          input bytes to read the record from
+	 * @return the serialized record
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	private static byte[] readSlot(final DataInput in) throws IOException {
+		final int dataSize = in.readInt();
+		final byte[] data = new byte[dataSize];
+		in.readFully(data);
+		return data;
+	}
+
+	/**
+	 * Determines if dewey IDs are stored.
+	 *
+	 * @return {@code true}, if dewey IDs are stored, {@code false} otherwise
+	 */
+	private boolean storeDeweyIDs() {
+		return mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored
+				&& mPersistenter instanceof NodePersistenter;
+	}
+
+	/**
+	 * Get the index of a record key in this page.
+	 *
+	 * @param key
+	 *          the record key
+	 * @return the index in the arrays
+	 */
+	private static int index(final long key) {
+		return (int) (key & INDEX_MASK);
+	}
+
+	/**
+	 * Get the record key of an index in this page.
+	 *
+	 * @param index
+	 *          the index in the arrays
+	 * @return the record key
+	 */
+	private long key(final int index) {
+		return (mRecordPageKey << Constants.NDP_NODE_COUNT_EXPONENT) + index;
+	}
+
+	/**
+	 * Determines if a record key belongs to this page.
+	 *
+	 * @param key
+	 *          the record key
+	 * @return {@code true}, if the key belongs to this page, {@code false}
+	 *         otherwise
+	 */
+	private boolean isInPage(final long key) {
+		return key >= 0
+				&& (key >> Constants.NDP_NODE_COUNT_EXPONENT) == mRecordPageKey;
+	}
+
 	@Override
 	public long getPageKey() {
 		return mRecordPageKey;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws SirixIOException
+	 *           if the record can't be read or deserialized
+	 */
 	@Override
 	public Record getValue(final Long key) {
 		assert key != null : "key must not be null!";
-		Record record = mRecords.get(key);
+		if (!isInPage(key)) {
+			return null;
+		}
+		final int index = index(key);
+		Record record = mRecords[index];
 		if (record == null) {
-			byte[] data = null;
-			try {
-				final PageReference reference = mReferences.get(key);
-				if (reference != null && reference.getKey() != Constants.NULL_ID) {
-					data = ((OverflowPage) mPageReadTrx.getReader().read(
-							reference.getKey(), mPageReadTrx)).getData();
-				} else {
-					return null;
+			final byte[] slot = mSlots[index];
+			if (slot != null) {
+				// Deserialize the record on first access.
+				try {
+					record = mPersistenter.deserialize(new DataInputStream(
+							new ByteArrayInputStream(slot)), key,
+							mDeweyIDs == null ? Optional.empty() : Optional
+									.ofNullable(mDeweyIDs[index]), mPageReadTrx);
+				} catch (final IOException e) {
+					throw new SirixIOException(e);
 				}
-			} catch (final SirixIOException e) {
+				mRecords[index] = record;
+				return record;
+			}
+			final PageReference reference = getPageReference(key);
+			if (reference == null || reference.getKey() == Constants.NULL_ID) {
 				return null;
 			}
-			final InputStream in = new ByteArrayInputStream(data);
+			final byte[] data = ((OverflowPage) mPageReadTrx.getReader().read(
+					reference.getKey(), mPageReadTrx)).getData();
 			try {
-				record = mPersistenter.deserialize(new DataInputStream(in), key,
-						Optional.empty(), mPageReadTrx);
+				record = mPersistenter.deserialize(new DataInputStream(
+						new ByteArrayInputStream(data)), key, Optional.empty(),
+						mPageReadTrx);
 			} catch (final IOException e) {
-				return null;
+				throw new SirixIOException(e);
+			}
+			mRecords[index] = record;
+			mRecordCount++;
+		}
+		return record;
+	}
+
+	/**
+	 * Get a record, which is modified in place afterwards. Its serialized form
+	 * is dropped, such that the record is serialized again once the page is
+	 * serialized.
+	 *
+	 * @param key
+	 *          the record key
+	 * @return the record or {@code null} if the page doesn't contain the record
+	 * @throws SirixIOException
+	 *           if the record can't be read or deserialized
+	 */
+	public Record getValueForModification(final Long key) {
+		final Record record = getValue(key);
+		if (record != null) {
+			final int index = index(key);
+			mSlots[index] = null;
+			if (mDeweyIDs != null) {
+				mDeweyIDs[index] = null;
 			}
-			mRecords.put(key, record);
+			mAddedReferences = false;
 		}
 		return record;
 	}
@@ -273,8 +442,76 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 	@Override
 	public void setEntry(final Long key, final Record value) {
 		assert value != null : "record must not be null!";
+		assert isInPage(key) : "key doesn't belong to the page!";
+		mAddedReferences = false;
+		final int index = index(key);
+		if (mRecords[index] == null && mSlots[index] == null) {
+			mRecordCount++;
+		}
+		mRecords[index] = value;
+		// The serialized record is outdated.
+		mSlots[index] = null;
+		if (mDeweyIDs != null) {
+			mDeweyIDs[index] = null;
+		}
+	}
+
+	@Override
+	public boolean containsKey(final Long key) {
+		assert key != null : "key must not be null!";
+		if (!isInPage(key)) {
+			return false;
+		}
+		final int index = index(key);
+		return mRecords[index] != null || mSlots[index] != null
+				|| (mReferences != null && mReferences[index] != null);
+	}
+
+	@Override
+	public void copyEntryFrom(final KeyValuePage<Long, Record> page,
+			final Long key) {
+		assert page instanceof UnorderedKeyValuePage : "page must be an UnorderedKeyValuePage!";
+		assert isInPage(key) : "key doesn't belong to the page!";
+		copySlotFrom((UnorderedKeyValuePage) page, index(key));
+	}
+
+	/**
+	 * Copy a record from another version of this page. The serialized record is
+	 * copied if the other page has one, such that the record isn't deserialized
+	 * until it's accessed through this page. Otherwise the record itself is
+	 * copied.
+	 *
+	 * @param page
+	 *          the other version of this page
+	 * @param index
+	 *          the index of the record
+	 */
+	void copySlotFrom(final UnorderedKeyValuePage page, final int index) {
+		assert page.mRecordPageKey == mRecordPageKey : "page must be a version of this page!";
+		final byte[] slot = page.mSlots[index];
+		final Record record = page.mRecords[index];
+		if (slot == null && record == null) {
+			return;
+		}
 		mAddedReferences = false;
-		mRecords.put(key, value);
+		if (mRecords[index] == null && mSlots[index] == null) {
+			mRecordCount++;
+		}
+		if (slot != null) {
+			// Slots are never modified in place, thus they can be shared.
+			mSlots[index] = slot;
+			mRecords[index] = null;
+			if (mDeweyIDs != null) {
+				mDeweyIDs[index] = page.mDeweyIDs == null ? null
+						: page.mDeweyIDs[index];
+			}
+		} else {
+			mRecords[index] = record;
+			mSlots[index] = null;
+			if (mDeweyIDs != null) {
+				mDeweyIDs[index] = null;
+			}
+		}
 	}
 
 	@Override
@@ -285,97 +522,155 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 		// Write page key.
 		putVarLong(out, mRecordPageKey);
 		// Write dewey IDs.
-		if (mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored
-				&& mPersistenter instanceof NodePersistenter) {
+		int deweyIDCount = 0;
+		if (mDeweyIDs != null) {
 			final NodePersistenter persistenter = (NodePersistenter) mPersistenter;
-			out.writeInt(mDeweyIDs.size());
-			final List<SirixDeweyID> ids = new ArrayList<>(mDeweyIDs.keySet());
-			ids.sort((SirixDeweyID first, SirixDeweyID second) -> Integer.valueOf(
-					first.toBytes().length).compareTo(second.toBytes().length));
-			final PeekingIterator<SirixDeweyID> iter = Iterators.peekingIterator(ids
-					.iterator());
-			SirixDeweyID id = null;
-			if (iter.hasNext()) {
-				id = iter.next();
-				persistenter.serializeDeweyID(out, Kind.ELEMENT, id, Optional.empty(),
-						mPageReadTrx);
-				serializeDeweyRecord(id, out);
+			final List<Integer> indexes = new ArrayList<>();
+			for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+				if (mDeweyIDs[index] != null && mSlots[index] != null) {
+					indexes.add(index);
+				}
 			}
-			while (iter.hasNext()) {
-				final SirixDeweyID nextDeweyID = iter.next();
-				persistenter.serializeDeweyID(out, Kind.ELEMENT, id,
-						Optional.of(nextDeweyID), mPageReadTrx);
-				serializeDeweyRecord(nextDeweyID, out);
-				id = nextDeweyID;
+			deweyIDCount = indexes.size();
+			out.writeInt(deweyIDCount);
+			indexes.sort((Integer first, Integer second) -> Integer.compare(
+					mDeweyIDs[first].toBytes().length,
+					mDeweyIDs[second].toBytes().length));
+			Optional<SirixDeweyID> previousID = Optional.empty();
+			for (final int index : indexes) {
+				final SirixDeweyID id = mDeweyIDs[index];
+				if (previousID.isPresent()) {
+					persistenter.serializeDeweyID(out, Kind.ELEMENT, previousID.get(),
+							Optional.of(id), mPageReadTrx);
+				} else {
+					persistenter.serializeDeweyID(out, Kind.ELEMENT, id,
+							Optional.empty(), mPageReadTrx);
+				}
+				serializeSlot(index, out);
+				previousID = Optional.of(id);
 			}
 		}
 		// Write normal entries.
-		out.writeInt(mSlots.size());
-		for (final Entry<Long, byte[]> entry : mSlots.entrySet()) {
-			putVarLong(out, entry.getKey());
-			final byte[] data = entry.getValue();
-			final int length = data.length;
-			out.writeInt(length);
-			out.write(data);
+		int slotCount = 0;
+		for (final byte[] slot : mSlots) {
+			if (slot != null) {
+				slotCount++;
+			}
+		}
+		out.writeInt(slotCount - deweyIDCount);
+		for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+			if (mSlots[index] != null
+					&& (mDeweyIDs == null || mDeweyIDs[index] == null)) {
+				serializeSlot(index, out);
+			}
 		}
 		// Write overlong entries.
-		out.writeInt(mReferences.size());
-		for (final Map.Entry<Long, PageReference> entry : mReferences.entrySet()) {
-			// Write record ID.
-			out.writeLong(entry.getKey());
-			// Write key in persistent storage.
-			out.writeLong(entry.getValue().getKey());
+		out.writeInt(mReferenceCount);
+		if (mReferences != null) {
+			for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+				if (mReferences[index] != null) {
+					// Write record ID.
+					out.writeLong(key(index));
+					// Write key in persistent storage.
+					out.writeLong(mReferences[index].getKey());
+				}
+			}
 		}
 		// Write previous reference if it has any reference.
-		final boolean hasPreviousReference = mPreviousPageReference.isPresent();
-		out.writeBoolean(hasPreviousReference);
-		if (hasPreviousReference) {
-			out.writeLong(mPreviousPageReference.get().getKey());
+		if (mPreviousPageReference.isPresent()) {
+			if (mPreviousFragmentKeys.length == 0) {
+				out.writeByte(PREVIOUS_REFERENCE);
+				out.writeLong(mPreviousPageReference.get().getKey());
+			} else {
+				out.writeByte(PREVIOUS_FRAGMENT_KEYS);
+				out.writeLong(mPreviousPageReference.get().getKey());
+				out.writeByte(mPreviousFragmentKeys.length);
+				for (final long key : mPreviousFragmentKeys) {
+					out.writeLong(key);
+				}
+			}
+		} else {
+			out.writeByte(NO_PREVIOUS_REFERENCE);
 		}
 		out.writeByte(mPageKind.getID());
 	}
 
-	private void serializeDeweyRecord(SirixDeweyID id, DataOutput out)
+	private void serializeSlot(final int index, final DataOutput out)
 			throws IOException {
-		final long recordKey = mDeweyIDs.get(id);
-		putVarLong(out, recordKey);
-		final byte[] data = mSlots.get(recordKey);
-		final int length = data.length;
-		out.writeInt(length);
+		putVarLong(out, key(index));
+		final byte[] data = mSlots[index];
+		out.writeInt(data.length);
 		out.write(data);
-		mSlots.remove(recordKey);
 	}
 
 	@Override
 	public String toString() {
 		final ToStringHelper helper = Objects.toStringHelper(this).add("pagekey",
 				mRecordPageKey);
-		for (final Record record : mRecords.values()) {
+		for (final Record record : values()) {
 			helper.add("record", record);
 		}
-		for (final PageReference reference : mReferences.values()) {
-			helper.add("reference", reference);
+		for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+			helper.add("reference", entry.getValue());
 		}
 		return helper.toString();
 	}
 
 	@Override
 	public Set<Entry<Long, Record>> entrySet() {
-		return mRecords.entrySet();
+		return new AbstractSet<Entry<Long, Record>>() {
+			@Override
+			public Iterator<Entry<Long, Record>> iterator() {
+				return new IndexIterator<Entry<Long, Record>>() {
+					@Override
+					boolean isSet(final int index) {
+						return mRecords[index] != null || mSlots[index] != null;
+					}
+
+					@Override
+					Entry<Long, Record> get(final int index) {
+						return new RecordEntry(key(index));
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return mRecordCount;
+			}
+		};
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(mRecordPageKey, mRecords, mReferences);
+		int hash = Objects.hashCode(mRecordPageKey);
+		for (final Entry<Long, Record> entry : entrySet()) {
+			hash = 31 * hash + Objects.hashCode(entry.getKey(), entry.getValue());
+		}
+		for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+			hash = 31 * hash + Objects.hashCode(entry.getKey(), entry.getValue());
+		}
+		return hash;
 	}
 
 	@Override
 	public boolean equals(final @Nullable Object obj) {
 		if (obj instanceof UnorderedKeyValuePage) {
 			final UnorderedKeyValuePage other = (UnorderedKeyValuePage) obj;
-			return mRecordPageKey == other.mRecordPageKey
-					&& Objects.equal(mRecords, other.mRecords)
-					&& Objects.equal(mReferences, other.mReferences);
+			if (mRecordPageKey != other.mRecordPageKey
+					|| mRecordCount != other.mRecordCount
+					|| mReferenceCount != other.mReferenceCount) {
+				return false;
+			}
+			for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+				final long key = key(index);
+				if (!Objects.equal(getValue(key), other.getValue(key))
+						|| !Objects.equal(getPageReference(key),
+								other.getPageReference(key))) {
+					return false;
+				}
+			}
+			return true;
 		}
 		return false;
 	}
@@ -396,7 +691,8 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 			}
 		}
 
-		for (final PageReference reference : mReferences.values()) {
+		for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+			final PageReference reference = entry.getValue();
 			if (!(reference.getLogKey() == null && reference.getPage() == null && reference
 					.getKey() == Constants.NULL_ID)) {
 				pageWriteTrx.commit(reference);
@@ -406,15 +702,11 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
 	// Add references to OverflowPages.
 	private void addReferences() throws IOException {
-		final boolean storeDeweyIDs = mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored;
-
-		final List<Entry<Long, Record>> entries = sort();
-		final Iterator<Entry<Long, Record>> it = entries.iterator();
-		while (it.hasNext()) {
-			final Entry<Long, Record> entry = it.next();
-			final Record record = entry.getValue();
-			final long recordID = record.getNodeKey();
-			if (mSlots.get(recordID) == null) {
+		// Only records which aren't serialized yet (records which haven't been
+		// deserialized yet always are).
+		for (int index = 0; index < Constants.NDP_NODE_COUNT; index++) {
+			final Record record = mRecords[index];
+			if (record != null && mSlots[index] == null) {
 				// Must be either a normal record or one which requires an
 				// Overflow page.
 				final ByteArrayOutputStream output = new ByteArrayOutputStream();
@@ -424,15 +716,13 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 				if (data.length > PageConstants.MAX_RECORD_SIZE) {
 					final PageReference reference = new PageReference();
 					reference.setPage(new OverflowPage(data));
-					mReferences.put(recordID, reference);
+					setPageReference(record.getNodeKey(), reference);
 				} else {
-					if (storeDeweyIDs && mPersistenter instanceof NodePersistenter
-							&& record instanceof Node
+					if (mDeweyIDs != null && record instanceof Node
 							&& ((Node) record).getDeweyID().isPresent()
 							&& record.getNodeKey() != 0)
-						mDeweyIDs.put(((Node) record).getDeweyID().get(),
-								record.getNodeKey());
-					mSlots.put(recordID, data);
+						mDeweyIDs[index] = ((Node) record).getDeweyID().get();
+					mSlots[index] = data;
 				}
 			}
 		}
@@ -440,43 +730,9 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 		mAddedReferences = true;
 	}
 
-	private List<Entry<Long, Record>> sort() {
-		// Sort entries which have deweyIDs according to their byte-length.
-		final List<Map.Entry<Long, Record>> entries = new ArrayList<Map.Entry<Long, Record>>(
-				mRecords.entrySet());
-		final boolean storeDeweyIDs = mPageReadTrx.getSession().getResourceConfig().mDeweyIDsStored;
-		if (storeDeweyIDs && mPersistenter instanceof NodePersistenter) {
-			Collections.sort(entries, new Comparator<Map.Entry<Long, Record>>() {
-				@Override
-				public int compare(Map.Entry<Long, Record> a, Map.Entry<Long, Record> b) {
-					if (a.getValue() instanceof Node && b.getValue() instanceof Node) {
-						final Optional<SirixDeweyID> first = ((Node) a.getValue())
-								.getDeweyID();
-						final Optional<SirixDeweyID> second = ((Node) b.getValue())
-								.getDeweyID();
-
-						// Document node has no DeweyID.
-						if (!first.isPresent())
-							return 1;
-
-						if (!second.isPresent())
-							return -1;
-
-						return first.get().toBytes().length == second.get().toBytes().length ? 0
-								: first.get().toBytes().length > second.get().toBytes().length ? 1
-										: -1;
-					}
-					return -1;
-				}
-			});
-		}
-
-		return entries;
-	}
-
 	@Override
 	public Collection<Record> values() {
-		return mRecords.values();
+		return Collections2.transform(entrySet(), Entry::getValue);
 	}
 
 	@Override
@@ -517,24 +773,56 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
 	@Override
 	public int size() {
-		return mRecords.size() + mReferences.size();
+		return mRecordCount + mReferenceCount;
 	}
 
 	@Override
 	public void setPageReference(final Long key, final PageReference reference) {
 		assert key != null;
-		mReferences.put(key, reference);
+		assert isInPage(key) : "key doesn't belong to the page!";
+		if (mReferences == null) {
+			mReferences = new PageReference[Constants.NDP_NODE_COUNT];
+		}
+		final int index = index(key);
+		if (mReferences[index] == null) {
+			mReferenceCount++;
+		}
+		mReferences[index] = reference;
 	}
 
 	@Override
 	public Set<Entry<Long, PageReference>> referenceEntrySet() {
-		return mReferences.entrySet();
+		return new AbstractSet<Entry<Long, PageReference>>() {
+			@Override
+			public Iterator<Entry<Long, PageReference>> iterator() {
+				return new IndexIterator<Entry<Long, PageReference>>() {
+					@Override
+					boolean isSet(final int index) {
+						return mReferences != null && mReferences[index] != null;
+					}
+
+					@Override
+					Entry<Long, PageReference> get(final int index) {
+						return new AbstractMap.SimpleImmutableEntry<>(key(index),
+								mReferences[index]);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return mReferenceCount;
+			}
+		};
 	}
 
 	@Override
 	public PageReference getPageReference(final Long key) {
 		assert key != null;
-		return mReferences.get(key);
+		if (mReferences == null || !isInPage(key)) {
+			return null;
+		}
+		return mReferences[index(key)];
 	}
 
 	@Override
@@ -542,4 +830,108 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 		return mPreviousPageReference;
 	}
 
+	@Override
+	public long[] getPreviousFragmentKeys() {
+		return mPreviousFragmentKeys;
+	}
+
+	@Override
+	public void setPreviousFragmentKeys(final long[] keys) {
+		assert keys != null : "keys must not be null!";
+		checkArgument(keys.length <= MAX_FRAGMENT_KEYS,
+				"at most %s keys are stored!", MAX_FRAGMENT_KEYS);
+		mPreviousFragmentKeys = keys;
+	}
+
+	/**
+	 * Entry of a record, which is deserialized on first access of its value.
+	 */
+	private final class RecordEntry implements Entry<Long, Record> {
+		/** The record key. */
+		private final long mKey;
+
+		RecordEntry(final long key) {
+			mKey = key;
+		}
+
+		@Override
+		public Long getKey() {
+			return mKey;
+		}
+
+		@Override
+		public Record getValue() {
+			return UnorderedKeyValuePage.this.getValue(mKey);
+		}
+
+		@Override
+		public Record setValue(final Record value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(mKey, getValue());
+		}
+
+		@Override
+		public boolean equals(final @Nullable Object obj) {
+			if (obj instanceof Entry) {
+				final Entry<?, ?> other = (Entry<?, ?>) obj;
+				return Objects.equal(getKey(), other.getKey())
+						&& Objects.equal(getValue(), other.getValue());
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return mKey + "=" + getValue();
+		}
+	}
+
+	/**
+	 * Iterates over the occupied indexes of an array in key order.
+	 *
+	 * @param <E>
+	 *          the type of elements returned
+	 */
+	private abstract class IndexIterator<E> implements Iterator<E> {
+		/** The next index to check. */
+		private int mIndex;
+
+		/**
+		 * Determines if an index is occupied.
+		 *
+		 * @param index
+		 *          the index
+		 * @return {@code true}, if it's occupied, {@code false} otherwise
+		 */
+		abstract boolean isSet(int index);
+
+		/**
+		 * Get the element of an occupied index.
+		 *
+		 * @param index
+		 *          the index
+		 * @return the element
+		 */
+		abstract E get(int index);
+
+		@Override
+		public boolean hasNext() {
+			while (mIndex < Constants.NDP_NODE_COUNT && !isSet(mIndex)) {
+				mIndex++;
+			}
+			return mIndex < Constants.NDP_NODE_COUNT;
+		}
+
+		@Override
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return get(mIndex++);
+		}
+	}
 }
@@ -63,6 +63,29 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
 	 */
 	void setEntry(K key, @Nonnull V value);
 
+	/**
+	 * Determines if the page contains a record with the specified key (possibly
+	 * stored in an overflow page) without deserializing it.
+	 *
+	 * @param key
+	 *          the key
+	 * @return {@code true}, if the page contains the record, {@code false}
+	 *         otherwise
+	 */
+	boolean containsKey(K key);
+
+	/**
+	 * Copy a single entry from another version of this page without
+	 * deserializing it, if possible. Nothing is copied if the other page doesn't
+	 * contain the entry.
+	 *
+	 * @param page
+	 *          another version of this page
+	 * @param key
+	 *          key of the entry
+	 */
+	void copyEntryFrom(@Nonnull KeyValuePage<K, V> page, K key);
+
 	Set<Entry<K, PageReference>> referenceEntrySet();
 
 	/**
@@ -126,4 +149,25 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
 	 *         the page
 	 */
 	Optional<PageReference> getPreviousReference();
+
+	/**
+	 * Get the storage keys of the elder versions of the page, which precede the
+	 * version referenced by {@link #getPreviousReference()}, newest first. They
+	 * allow reading all versions needed for the reconstruction at once instead
+	 * of following the previous references one by one. The chain might be
+	 * shorter than needed, in which case the remaining versions have to be found
+	 * through the previous references.
+	 *
+	 * @return the storage keys (might be empty, but never {@code null})
+	 */
+	long[] getPreviousFragmentKeys();
+
+	/**
+	 * Set the storage keys of the elder versions of the page, which precede the
+	 * version referenced by {@link #getPreviousReference()}, newest first.
+	 *
+	 * @param keys
+	 *          the storage keys
+	 */
+	void setPreviousFragmentKeys(@Nonnull long[] keys);
 }
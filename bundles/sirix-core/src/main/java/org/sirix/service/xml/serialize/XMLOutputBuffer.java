@@ -0,0 +1,204 @@
+package org.sirix.service.xml.serialize;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.settings.CharsForSerializing;
+
+/**
+ * Growable and reusable byte buffer, which the {@link XMLSerializer} writes
+ * UTF-8 encoded output to. Values are escaped directly on their UTF-8 bytes,
+ * which is possible as the bytes of the escaped ASCII characters never occur
+ * within the encoding of other characters.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class XMLOutputBuffer {
+
+	/** Offset that must be added to a digit to make it ASCII. */
+	private static final int ASCII_OFFSET = '0';
+
+	/** The bytes. */
+	private byte[] mBytes;
+
+	/** Number of written bytes. */
+	private int mSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 *          the initial capacity
+	 */
+	XMLOutputBuffer(final @Nonnegative int capacity) {
+		checkArgument(capacity > 0, "capacity must be > 0!");
+		mBytes = new byte[capacity];
+	}
+
+	/**
+	 * Write a byte.
+	 *
+	 * @param value
+	 *          the byte to write
+	 */
+	void write(final byte value) {
+		ensureCapacity(1);
+		mBytes[mSize++] = value;
+	}
+
+	/**
+	 * Write bytes.
+	 *
+	 * @param bytes
+	 *          the bytes to write
+	 */
+	void write(final byte[] bytes) {
+		write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Write bytes.
+	 *
+	 * @param bytes
+	 *          the bytes to write
+	 * @param offset
+	 *          offset of the first byte to write
+	 * @param length
+	 *          number of bytes to write
+	 */
+	void write(final byte[] bytes, final @Nonnegative int offset,
+			final @Nonnegative int length) {
+		ensureCapacity(length);
+		System.arraycopy(bytes, offset, mBytes, mSize, length);
+		mSize += length;
+	}
+
+	/**
+	 * Write a constant byte sequence.
+	 *
+	 * @param chars
+	 *          the byte sequence to write
+	 */
+	void write(final CharsForSerializing chars) {
+		write(chars.getBytes());
+	}
+
+	/**
+	 * Write a non-negative number as ASCII digits.
+	 *
+	 * @param value
+	 *          the number to write
+	 */
+	void write(final @Nonnegative long value) {
+		checkArgument(value >= 0, "value must be >= 0!");
+		long divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+		}
+		ensureCapacity(19);
+		for (long remainder = value; divisor > 0; divisor /= 10) {
+			final long digit = remainder / divisor;
+			mBytes[mSize++] = (byte) (digit + ASCII_OFFSET);
+			remainder -= digit * divisor;
+		}
+	}
+
+	/**
+	 * Write a number of spaces.
+	 *
+	 * @param spaces
+	 *          the number of spaces
+	 */
+	void writeSpaces(final @Nonnegative int spaces) {
+		ensureCapacity(spaces);
+		Arrays.fill(mBytes, mSize, mSize + spaces, (byte) ' ');
+		mSize += spaces;
+	}
+
+	/**
+	 * Write an UTF-8 encoded value, whereas {@code &}, {@code <} and {@code >}
+	 * are escaped, and additionally quotes and apostrophes, if the value is an
+	 * attribute value.
+	 *
+	 * @param value
+	 *          the UTF-8 encoded value
+	 * @param attribute
+	 *          determines if the value is an attribute value
+	 */
+	void writeEscaped(final byte[] value, final boolean attribute) {
+		int start = 0;
+		for (int i = 0; i < value.length; i++) {
+			final CharsForSerializing entity;
+			switch (value[i]) {
+			case '&':
+				entity = CharsForSerializing.AMP;
+				break;
+			case '<':
+				entity = CharsForSerializing.LT;
+				break;
+			case '>':
+				entity = CharsForSerializing.GT;
+				break;
+			case '"':
+				entity = attribute ? CharsForSerializing.QUOT : null;
+				break;
+			case '\'':
+				entity = attribute ? CharsForSerializing.APOS : null;
+				break;
+			default:
+				entity = null;
+			}
+			if (entity != null) {
+				write(value, start, i - start);
+				write(entity);
+				start = i + 1;
+			}
+		}
+		write(value, start, value.length - start);
+	}
+
+	/**
+	 * Get the number of written bytes.
+	 *
+	 * @return the number of written bytes
+	 */
+	int size() {
+		return mSize;
+	}
+
+	/**
+	 * Write the content of this buffer to an output stream.
+	 *
+	 * @param out
+	 *          the stream to write to
+	 * @throws IOException
+	 *           if an I/O error occurs
+	 */
+	void writeTo(final OutputStream out) throws IOException {
+		out.write(mBytes, 0, mSize);
+	}
+
+	/** Discard the written bytes, but keep the allocated memory. */
+	void reset() {
+		mSize = 0;
+	}
+
+	/**
+	 * Make sure that a number of bytes can be written.
+	 *
+	 * @param length
+	 *          number of bytes to write
+	 */
+	private void ensureCapacity(final int length) {
+		if (mSize + length > mBytes.length) {
+			mBytes = Arrays.copyOf(mBytes,
+					Math.max(mBytes.length << 1, mSize + length));
+		}
+	}
+}
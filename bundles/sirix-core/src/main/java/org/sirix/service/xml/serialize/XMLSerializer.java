@@ -35,38 +35,54 @@ import static org.sirix.service.xml.serialize.XMLSerializerProperties.S_INDENT_S
 import static org.sirix.service.xml.serialize.XMLSerializerProperties.S_REST;
 import static org.sirix.service.xml.serialize.XMLSerializerProperties.S_XMLDECL;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
 
 import org.sirix.access.Databases;
+import org.sirix.access.TaskScheduler;
 import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.conf.SessionConfiguration;
 import org.sirix.api.Database;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.Session;
+import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixThreadedException;
+import org.sirix.node.Kind;
 import org.sirix.settings.CharsForSerializing;
 import org.sirix.settings.Constants;
 import org.sirix.utils.Files;
 import org.sirix.utils.LogWrapper;
-import org.sirix.utils.XMLToken;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.Futures;
+
 /**
  * <h1>XMLSerializer</h1>
  * 
  * <p>
  * Most efficient way to serialize a subtree into an OutputStream. The encoding
- * always is UTF-8. Note that the OutputStream internally is wrapped by a
- * BufferedOutputStream. There is no need to buffer it again outside of this
- * class.
+ * always is UTF-8. Constant tokens are written as pre-encoded byte sequences,
+ * names are cached as UTF-8 bytes per name key and values are escaped directly
+ * into a reusable buffer, which is written to the OutputStream in large chunks.
+ * There is no need to buffer the OutputStream outside of this class.
+ * </p>
+ * 
+ * <p>
+ * Optionally, the children of the root element, which are the roots of large
+ * subtrees, are serialized in parallel into separate buffers by the
+ * {@link TaskScheduler} of the database, which are written in document order.
  * </p>
  */
 public final class XMLSerializer extends AbstractSerializer {
@@ -75,19 +91,46 @@ public final class XMLSerializer extends AbstractSerializer {
 	private static final LogWrapper LOGWRAPPER = new LogWrapper(
 			LoggerFactory.getLogger(XMLSerializer.class));
 
-	/** Offset that must be added to digit to make it ASCII. */
-	private static final int ASCII_OFFSET = 48;
+	/** Size of the buffer, after which it is written to the stream. */
+	private static final int FLUSH_THRESHOLD = 1 << 16;
+
+	/** The XML declaration. */
+	private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+			.getBytes(Constants.DEFAULT_ENCODING);
+
+	/** Start of the RESTful output. */
+	private static final byte[] REST_START = "<rest:sequence xmlns:rest=\"REST\"><rest:item>"
+			.getBytes(Constants.DEFAULT_ENCODING);
 
-	/** Precalculated powers of each available long digit. */
-	private static final long[] LONG_POWERS = { 1L, 10L, 100L, 1000L, 10000L,
-			100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
-			100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
-			1000000000000000L, 10000000000000000L, 100000000000000000L,
-			1000000000000000000L };
+	/** End of the RESTful output. */
+	private static final byte[] REST_END = "</rest:item></rest:sequence>"
+			.getBytes(Constants.DEFAULT_ENCODING);
 
-	/** OutputStream to write to. */
+	/** Start tag, which encapsulates several revisions. */
+	private static final byte[] SIRIX_START = "<sirix>"
+			.getBytes(Constants.DEFAULT_ENCODING);
+
+	/** End tag, which encapsulates several revisions or specifies a revision. */
+	private static final byte[] SIRIX_END = "</sirix>"
+			.getBytes(Constants.DEFAULT_ENCODING);
+
+	/** Start of the start tag, which specifies a revision. */
+	private static final byte[] SIRIX_REVISION_START = "<sirix revision=\""
+			.getBytes(Constants.DEFAULT_ENCODING);
+
+	/** OutputStream to write to ({@code null} for parallel subtasks). */
+	@Nullable
 	private final OutputStream mOut;
 
+	/** Buffer the output is written to. */
+	private XMLOutputBuffer mBuffer;
+
+	/**
+	 * Determines if the buffer must not be written to the stream, as buffers of
+	 * preceding subtrees are pending.
+	 */
+	private boolean mKeepBuffer;
+
 	/** Indent output. */
 	private final boolean mIndent;
 
@@ -103,6 +146,27 @@ public final class XMLSerializer extends AbstractSerializer {
 	/** Number of spaces to indent. */
 	private final int mIndentSpaces;
 
+	/** Level of the start node, used for indentation. */
+	private final int mLevel;
+
+	/**
+	 * Minimum number of descendants of a child of the root element to serialize
+	 * it in parallel, or {@code 0} to serialize sequentially.
+	 */
+	private final long mParallelThreshold;
+
+	/** Cached element names. */
+	private final NameCache mElementNames = new NameCache();
+
+	/** Cached attribute names. */
+	private final NameCache mAttributeNames = new NameCache();
+
+	/** Cached namespace prefixes and URIs. */
+	private final NameCache mNamespaces = new NameCache();
+
+	/** Cached processing instruction targets. */
+	private final NameCache mPITargets = new NameCache();
+
 	/**
 	 * Initialize XMLStreamReader implementation with transaction. The cursor
 	 * points to the node the XMLStreamReader starts to read.
@@ -122,12 +186,171 @@ public final class XMLSerializer extends AbstractSerializer {
 			final XMLSerializerBuilder builder, final @Nonnegative int revision,
 			final int... revsions) {
 		super(session, nodeKey, revision, revsions);
-		mOut = new BufferedOutputStream(builder.mStream, 4096);
+		mOut = builder.mStream;
+		mBuffer = new XMLOutputBuffer(FLUSH_THRESHOLD);
 		mIndent = builder.mIndent;
 		mSerializeXMLDeclaration = builder.mDeclaration;
 		mSerializeRest = builder.mREST;
 		mSerializeId = builder.mID;
 		mIndentSpaces = builder.mIndentSpaces;
+		mLevel = 0;
+		mParallelThreshold = builder.mParallelThreshold;
+	}
+
+	/**
+	 * Constructor of a subtask, which serializes a subtree into its buffer.
+	 * 
+	 * @param parent
+	 *          the serializer, which serializes the ancestors
+	 * @param nodeKey
+	 *          root node key of the subtree
+	 * @param level
+	 *          level of the root node of the subtree
+	 */
+	private XMLSerializer(final XMLSerializer parent,
+			final @Nonnegative long nodeKey, final @Nonnegative int level) {
+		super(parent.mSession, nodeKey, parent.mRevisions[0]);
+		mOut = null;
+		mBuffer = new XMLOutputBuffer(FLUSH_THRESHOLD);
+		mKeepBuffer = true;
+		mIndent = parent.mIndent;
+		mSerializeXMLDeclaration = false;
+		mSerializeRest = parent.mSerializeRest;
+		mSerializeId = parent.mSerializeId;
+		mIndentSpaces = parent.mIndentSpaces;
+		mLevel = level;
+		mParallelThreshold = 0;
+	}
+
+	@Override
+	public Void call() throws SirixException {
+		if (mParallelThreshold == 0 || mRevisions.length > 1
+				|| mRevisions[0] < 0) {
+			return super.call();
+		}
+
+		emitStartDocument();
+		try (final NodeReadTrx rtx = mSession.beginNodeReadTrx(mRevisions[0])) {
+			rtx.moveTo(mNodeKey);
+			if (rtx.getKind() == Kind.DOCUMENT) {
+				emitStartElement(rtx);
+				if (rtx.moveToFirstChild().hasMoved()) {
+					do {
+						serializeInParallel(rtx);
+					} while (rtx.moveToRightSibling().hasMoved());
+				}
+			} else {
+				serializeInParallel(rtx);
+			}
+		}
+		emitEndDocument();
+		return null;
+	}
+
+	/**
+	 * Serialize the subtree rooted at the current node, whereas the children,
+	 * which are the roots of large subtrees, are serialized in parallel.
+	 * 
+	 * @param rtx
+	 *          Sirix {@link NodeReadTrx}, which is located at the same node
+	 *          afterwards
+	 * @throws SirixException
+	 *           if a subtree couldn't be serialized
+	 */
+	private void serializeInParallel(final NodeReadTrx rtx)
+			throws SirixException {
+		if (rtx.getKind() != Kind.ELEMENT || !rtx.hasFirstChild()) {
+			serializeSubtree(rtx);
+			return;
+		}
+
+		final TaskScheduler scheduler = mSession.getDatabase().getScheduler();
+		final List<Future<XMLOutputBuffer>> buffers = new ArrayList<>();
+		emitStartElement(rtx);
+		mStack.push(rtx.getNodeKey());
+		rtx.moveToFirstChild();
+		do {
+			if (rtx.getDescendantCount() >= mParallelThreshold) {
+				// Keep the output of the preceding siblings.
+				buffers.add(Futures.immediateFuture(mBuffer));
+				mBuffer = new XMLOutputBuffer(FLUSH_THRESHOLD);
+				mKeepBuffer = true;
+
+				final XMLSerializer subtask = new XMLSerializer(this,
+						rtx.getNodeKey(), mLevel + mStack.size());
+				buffers.add(scheduler.submit(subtask::serializeIntoBuffer));
+			} else {
+				serializeSubtree(rtx);
+			}
+		} while (rtx.moveToRightSibling().hasMoved());
+		rtx.moveTo(mStack.peek());
+
+		// Write the buffers in document order.
+		try {
+			for (final Future<XMLOutputBuffer> buffer : buffers) {
+				buffer.get().writeTo(mOut);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SirixThreadedException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof SirixException) {
+				throw (SirixException) e.getCause();
+			}
+			throw new SirixThreadedException(e);
+		} catch (final IOException e) {
+			throw new SirixIOException(e);
+		} finally {
+			for (final Future<XMLOutputBuffer> buffer : buffers) {
+				buffer.cancel(true);
+			}
+		}
+		mKeepBuffer = false;
+
+		mStack.pop();
+		emitEndElement(rtx);
+	}
+
+	/**
+	 * Serialize the subtree rooted at the start node in a subtask.
+	 * 
+	 * @return the buffer holding the serialized subtree
+	 */
+	private XMLOutputBuffer serializeIntoBuffer() {
+		try (final NodeReadTrx rtx = mSession.beginNodeReadTrx(mRevisions[0])) {
+			rtx.moveTo(mNodeKey);
+			serializeSubtree(rtx);
+		}
+		return mBuffer;
+	}
+
+	/**
+	 * Serialize the subtree rooted at the current node.
+	 * 
+	 * @param rtx
+	 *          Sirix {@link NodeReadTrx}, which is located at the same node
+	 *          afterwards
+	 */
+	private void serializeSubtree(final NodeReadTrx rtx) {
+		final long root = rtx.getNodeKey();
+		final int depth = mStack.size();
+		while (true) {
+			emitStartElement(rtx);
+			if (rtx.getKind() == Kind.ELEMENT && rtx.hasFirstChild()) {
+				mStack.push(rtx.getNodeKey());
+				rtx.moveToFirstChild();
+				continue;
+			}
+			while (mStack.size() > depth && !rtx.hasRightSibling()) {
+				rtx.moveTo(mStack.pop());
+				emitEndElement(rtx);
+			}
+			if (mStack.size() == depth) {
+				rtx.moveTo(root);
+				return;
+			}
+			rtx.moveToRightSibling();
+		}
 	}
 
 	/**
@@ -138,105 +361,98 @@ public final class XMLSerializer extends AbstractSerializer {
 	 */
 	@Override
 	protected void emitStartElement(final NodeReadTrx rtx) {
-		try {
-			switch (rtx.getKind()) {
-			case DOCUMENT:
-				if (mIndent) {
-					mOut.write(CharsForSerializing.NEWLINE.getBytes());
-				}
-				break;
-			case ELEMENT:
-				// Emit start element.
-				indent();
-				mOut.write(CharsForSerializing.OPEN.getBytes());
-				writeQName(rtx);
-				final long key = rtx.getNodeKey();
-				// Emit namespace declarations.
-				for (int index = 0, nspCount = rtx.getNamespaceCount(); index < nspCount; index++) {
-					rtx.moveToNamespace(index);
-					if (rtx.getPrefixKey() == -1) {
-						mOut.write(CharsForSerializing.XMLNS.getBytes());
-						write(rtx.nameForKey(rtx.getURIKey()));
-						mOut.write(CharsForSerializing.QUOTE.getBytes());
-					} else {
-						mOut.write(CharsForSerializing.XMLNS_COLON.getBytes());
-						write(rtx.nameForKey(rtx.getPrefixKey()));
-						mOut.write(CharsForSerializing.EQUAL_QUOTE.getBytes());
-						write(rtx.nameForKey(rtx.getURIKey()));
-						mOut.write(CharsForSerializing.QUOTE.getBytes());
-					}
-					rtx.moveTo(key);
-				}
-				// Emit attributes.
-				// Add virtual rest:id attribute.
-				if (mSerializeId) {
-					if (mSerializeRest) {
-						mOut.write(CharsForSerializing.REST_PREFIX.getBytes());
-					} else {
-						mOut.write(CharsForSerializing.SPACE.getBytes());
-					}
-					mOut.write(CharsForSerializing.ID.getBytes());
-					mOut.write(CharsForSerializing.EQUAL_QUOTE.getBytes());
-					write(rtx.getNodeKey());
-					mOut.write(CharsForSerializing.QUOTE.getBytes());
-				}
-
-				// Iterate over all persistent attributes.
-				for (int index = 0, attCount = rtx.getAttributeCount(); index < attCount; index++) {
-					rtx.moveToAttribute(index);
-					mOut.write(CharsForSerializing.SPACE.getBytes());
-					writeQName(rtx);
-					mOut.write(CharsForSerializing.EQUAL_QUOTE.getBytes());
-					mOut.write(XMLToken.escapeAttribute(rtx.getValue()).getBytes(
-							Constants.DEFAULT_ENCODING));// pRtx.getItem().getRawValue());
-					mOut.write(CharsForSerializing.QUOTE.getBytes());
-					rtx.moveTo(key);
-				}
-				if (rtx.hasFirstChild()) {
-					mOut.write(CharsForSerializing.CLOSE.getBytes());
+		switch (rtx.getKind()) {
+		case DOCUMENT:
+			if (mIndent) {
+				mBuffer.write(CharsForSerializing.NEWLINE);
+			}
+			break;
+		case ELEMENT:
+			// Emit start element.
+			indent();
+			mBuffer.write(CharsForSerializing.OPEN);
+			writeQName(rtx, mElementNames);
+			final long key = rtx.getNodeKey();
+			// Emit namespace declarations.
+			for (int index = 0, nspCount = rtx.getNamespaceCount(); index < nspCount; index++) {
+				rtx.moveToNamespace(index);
+				if (rtx.getPrefixKey() == -1) {
+					mBuffer.write(CharsForSerializing.XMLNS);
+					mBuffer.write(mNamespaces.get(rtx, rtx.getURIKey()));
+					mBuffer.write(CharsForSerializing.QUOTE);
 				} else {
-					mOut.write(CharsForSerializing.SLASH_CLOSE.getBytes());
-				}
-				if (mIndent) {
-					mOut.write(CharsForSerializing.NEWLINE.getBytes());
-				}
-				break;
-			case COMMENT:
-				indent();
-				mOut.write(CharsForSerializing.OPENCOMMENT.getBytes());
-				mOut.write(XMLToken.escapeContent(rtx.getValue()).getBytes(
-						Constants.DEFAULT_ENCODING));
-				if (mIndent) {
-					mOut.write(CharsForSerializing.NEWLINE.getBytes());
-				}
-				mOut.write(CharsForSerializing.CLOSECOMMENT.getBytes());
-				break;
-			case TEXT:
-				indent();
-				mOut.write(XMLToken.escapeContent(rtx.getValue()).getBytes(
-						Constants.DEFAULT_ENCODING));
-				if (mIndent) {
-					mOut.write(CharsForSerializing.NEWLINE.getBytes());
+					mBuffer.write(CharsForSerializing.XMLNS_COLON);
+					mBuffer.write(mNamespaces.get(rtx, rtx.getPrefixKey()));
+					mBuffer.write(CharsForSerializing.EQUAL_QUOTE);
+					mBuffer.write(mNamespaces.get(rtx, rtx.getURIKey()));
+					mBuffer.write(CharsForSerializing.QUOTE);
 				}
-				break;
-			case PROCESSING_INSTRUCTION:
-				indent();
-				mOut.write(CharsForSerializing.OPENPI.getBytes());
-				writeQName(rtx);
-				mOut.write(CharsForSerializing.SPACE.getBytes());
-				mOut.write(XMLToken.escapeContent(rtx.getValue()).getBytes(
-						Constants.DEFAULT_ENCODING));
-				if (mIndent) {
-					mOut.write(CharsForSerializing.NEWLINE.getBytes());
+				rtx.moveTo(key);
+			}
+			// Emit attributes.
+			// Add virtual rest:id attribute.
+			if (mSerializeId) {
+				if (mSerializeRest) {
+					mBuffer.write(CharsForSerializing.REST_PREFIX);
+				} else {
+					mBuffer.write(CharsForSerializing.SPACE);
 				}
-				mOut.write(CharsForSerializing.CLOSEPI.getBytes());
-				break;
-			default:
-				throw new IllegalStateException("Node kind not known!");
+				mBuffer.write(CharsForSerializing.ID);
+				mBuffer.write(CharsForSerializing.EQUAL_QUOTE);
+				mBuffer.write(rtx.getNodeKey());
+				mBuffer.write(CharsForSerializing.QUOTE);
 			}
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
+
+			// Iterate over all persistent attributes.
+			for (int index = 0, attCount = rtx.getAttributeCount(); index < attCount; index++) {
+				rtx.moveToAttribute(index);
+				mBuffer.write(CharsForSerializing.SPACE);
+				writeQName(rtx, mAttributeNames);
+				mBuffer.write(CharsForSerializing.EQUAL_QUOTE);
+				mBuffer.writeEscaped(rtx.getRawValue(), true);
+				mBuffer.write(CharsForSerializing.QUOTE);
+				rtx.moveTo(key);
+			}
+			if (rtx.hasFirstChild()) {
+				mBuffer.write(CharsForSerializing.CLOSE);
+			} else {
+				mBuffer.write(CharsForSerializing.SLASH_CLOSE);
+			}
+			if (mIndent) {
+				mBuffer.write(CharsForSerializing.NEWLINE);
+			}
+			break;
+		case COMMENT:
+			indent();
+			mBuffer.write(CharsForSerializing.OPENCOMMENT);
+			mBuffer.writeEscaped(rtx.getRawValue(), false);
+			if (mIndent) {
+				mBuffer.write(CharsForSerializing.NEWLINE);
+			}
+			mBuffer.write(CharsForSerializing.CLOSECOMMENT);
+			break;
+		case TEXT:
+			indent();
+			mBuffer.writeEscaped(rtx.getRawValue(), false);
+			if (mIndent) {
+				mBuffer.write(CharsForSerializing.NEWLINE);
+			}
+			break;
+		case PROCESSING_INSTRUCTION:
+			indent();
+			mBuffer.write(CharsForSerializing.OPENPI);
+			writeQName(rtx, mPITargets);
+			mBuffer.write(CharsForSerializing.SPACE);
+			mBuffer.writeEscaped(rtx.getRawValue(), false);
+			if (mIndent) {
+				mBuffer.write(CharsForSerializing.NEWLINE);
+			}
+			mBuffer.write(CharsForSerializing.CLOSEPI);
+			break;
+		default:
+			throw new IllegalStateException("Node kind not known!");
 		}
+		flushIfFull();
 	}
 
 	/**
@@ -247,48 +463,49 @@ public final class XMLSerializer extends AbstractSerializer {
 	 */
 	@Override
 	protected void emitEndElement(final NodeReadTrx rtx) {
-		try {
-			indent();
-			mOut.write(CharsForSerializing.OPEN_SLASH.getBytes());
-			writeQName(rtx);
-			mOut.write(CharsForSerializing.CLOSE.getBytes());
-			if (mIndent) {
-				mOut.write(CharsForSerializing.NEWLINE.getBytes());
-			}
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
+		indent();
+		mBuffer.write(CharsForSerializing.OPEN_SLASH);
+		writeQName(rtx, mElementNames);
+		mBuffer.write(CharsForSerializing.CLOSE);
+		if (mIndent) {
+			mBuffer.write(CharsForSerializing.NEWLINE);
 		}
+		flushIfFull();
 	}
 
-	// Write a QName.
-	private void writeQName(final NodeReadTrx rtx) throws IOException {
+	/**
+	 * Write a QName.
+	 * 
+	 * @param rtx
+	 *          Sirix {@link NodeReadTrx}
+	 * @param names
+	 *          cached names of the kind of the current node
+	 */
+	private void writeQName(final NodeReadTrx rtx, final NameCache names) {
 		if (rtx.getPrefixKey() != -1) {
-			mOut.write(rtx.rawNameForKey(rtx.getPrefixKey()));
-			mOut.write(CharsForSerializing.COLON.getBytes());
+			mBuffer.write(names.get(rtx, rtx.getPrefixKey()));
+			mBuffer.write(CharsForSerializing.COLON);
 		}
-		mOut.write(rtx.rawNameForKey(rtx.getLocalNameKey()));
+		mBuffer.write(names.get(rtx, rtx.getLocalNameKey()));
 	}
 
 	@Override
 	protected void emitStartDocument() {
-		try {
-			if (mSerializeXMLDeclaration) {
-				write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
-			}
-			if (mSerializeRest) {
-				write("<rest:sequence xmlns:rest=\"REST\"><rest:item>");
-			}
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
+		if (mSerializeXMLDeclaration) {
+			mBuffer.write(XML_DECLARATION);
+		}
+		if (mSerializeRest) {
+			mBuffer.write(REST_START);
 		}
 	}
 
 	@Override
 	protected void emitEndDocument() {
+		if (mSerializeRest) {
+			mBuffer.write(REST_END);
+		}
 		try {
-			if (mSerializeRest) {
-				write("</rest:item></rest:sequence>");
-			}
+			flush();
 			mOut.flush();
 		} catch (final IOException e) {
 			LOGWRAPPER.error(e.getMessage(), e);
@@ -297,87 +514,91 @@ public final class XMLSerializer extends AbstractSerializer {
 
 	@Override
 	protected void emitStartManualRootElement() {
-		try {
-			write("<sirix>");
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
-		}
+		mBuffer.write(SIRIX_START);
 	}
 
 	@Override
 	protected void emitEndManualRootElement() {
-		try {
-			write("</sirix>");
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
-		}
+		mBuffer.write(SIRIX_END);
 	}
 
 	@Override
 	protected void emitStartManualElement(final @Nonnegative long version) {
-		try {
-			write("<sirix revision=\"");
-			write(Long.toString(version));
-			write("\">");
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
-		}
+		mBuffer.write(SIRIX_REVISION_START);
+		mBuffer.write(version);
+		mBuffer.write(CharsForSerializing.QUOTE);
+		mBuffer.write(CharsForSerializing.CLOSE);
 	}
 
 	@Override
 	protected void emitEndManualElement(final @Nonnegative long version) {
-		try {
-			write("</sirix>");
-		} catch (final IOException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
-		}
+		mBuffer.write(SIRIX_END);
 	}
 
-	/**
-	 * Indentation of output.
-	 * 
-	 * @throws IOException
-	 *           if can't indent output
-	 */
-	private void indent() throws IOException {
+	/** Indentation of output. */
+	private void indent() {
 		if (mIndent) {
-			for (int i = 0; i < mStack.size() * mIndentSpaces; i++) {
-				mOut.write(" ".getBytes(Constants.DEFAULT_ENCODING));
+			mBuffer.writeSpaces((mLevel + mStack.size()) * mIndentSpaces);
+		}
+	}
+
+	/** Write the buffer to the stream, if it is full and may be written. */
+	private void flushIfFull() {
+		if (mBuffer.size() >= FLUSH_THRESHOLD && !mKeepBuffer) {
+			try {
+				flush();
+			} catch (final IOException e) {
+				LOGWRAPPER.error(e.getMessage(), e);
 			}
 		}
 	}
 
 	/**
-	 * Write characters of string.
+	 * Write the buffer to the stream.
 	 * 
-	 * @param pString
-	 *          String to write
 	 * @throws IOException
-	 *           if can't write to string
-	 * @throws UnsupportedEncodingException
-	 *           if unsupport encoding
+	 *           if the buffer can't be written
 	 */
-	protected void write(final String pString)
-			throws UnsupportedEncodingException, IOException {
-		mOut.write(pString.getBytes(Constants.DEFAULT_ENCODING));
+	private void flush() throws IOException {
+		mBuffer.writeTo(mOut);
+		mBuffer.reset();
 	}
 
 	/**
-	 * Write non-negative non-zero long as UTF-8 bytes.
-	 * 
-	 * @param value
-	 *          value to write
-	 * @throws IOException
-	 *           if can't write to string
+	 * Direct-mapped cache of the UTF-8 encoded names of one kind of nodes by
+	 * their name keys, such that names aren't looked up in the name page and
+	 * copied over and over again.
 	 */
-	private void write(final long value) throws IOException {
-		final int length = (int) Math.log10(value);
-		int digit = 0;
-		long remainder = value;
-		for (int i = length; i >= 0; i--) {
-			digit = (byte) (remainder / LONG_POWERS[i]);
-			mOut.write((byte) (digit + ASCII_OFFSET));
-			remainder -= digit * LONG_POWERS[i];
+	private static final class NameCache {
+
+		/** Number of cached names. */
+		private static final int SIZE = 256;
+
+		/** The name keys. */
+		private final int[] mKeys = new int[SIZE];
+
+		/** The names. */
+		private final byte[][] mNames = new byte[SIZE][];
+
+		/**
+		 * Get the name of a name key.
+		 * 
+		 * @param rtx
+		 *          Sirix {@link NodeReadTrx}, which is located at a node of the
+		 *          kind of the cached names
+		 * @param key
+		 *          the name key
+		 * @return the UTF-8 encoded name
+		 */
+		byte[] get(final NodeReadTrx rtx, final int key) {
+			final int index = (key ^ (key >>> 16)) & (SIZE - 1);
+			byte[] name = mNames[index];
+			if (name == null || mKeys[index] != key) {
+				name = rtx.rawNameForKey(key);
+				mKeys[index] = key;
+				mNames[index] = name;
+			}
+			return name;
 		}
 	}
 
@@ -502,6 +723,12 @@ public final class XMLSerializer extends AbstractSerializer {
 		/** Node key of subtree to shredder. */
 		private long mNodeKey;
 
+		/**
+		 * Minimum number of descendants of a child of the root element to
+		 * serialize it in parallel, not necessary.
+		 */
+		private long mParallelThreshold;
+
 		/**
 		 * Constructor, setting the necessary stuff.
 		 * 
@@ -619,6 +846,23 @@ public final class XMLSerializer extends AbstractSerializer {
 			return this;
 		}
 
+		/**
+		 * Serialize the children of the root element in parallel, which have at
+		 * least the given number of descendants. The output of preceding subtrees
+		 * is buffered until the parallel serialization of a child has finished.
+		 * Only applies if a single revision is serialized.
+		 * 
+		 * @param threshold
+		 *          minimum number of descendants of a child to serialize it in
+		 *          parallel
+		 * @return XMLSerializerBuilder reference
+		 */
+		public XMLSerializerBuilder parallel(final @Nonnegative long threshold) {
+			checkArgument(threshold > 0, "threshold must be > 0!");
+			mParallelThreshold = threshold;
+			return this;
+		}
+
 		/**
 		 * The versions to serialize.
 		 * 
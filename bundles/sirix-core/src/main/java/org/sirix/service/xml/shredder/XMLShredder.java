@@ -28,6 +28,7 @@
 package org.sirix.service.xml.shredder;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -101,6 +102,9 @@ public final class XMLShredder extends AbstractShredder implements
 	/** Determines if processing instructions should be included. */
 	private boolean mIncludePIs;
 
+	/** Determines if the document is bulk loaded into an empty resource. */
+	private final boolean mBulkLoad;
+
 	/**
 	 * Builder to build an {@link XMLShredder} instance.
 	 */
@@ -127,6 +131,9 @@ public final class XMLShredder extends AbstractShredder implements
 		 */
 		private ShredderCommit mCommit = ShredderCommit.NOCOMMIT;
 
+		/** Determines if the document is bulk loaded into an empty resource. */
+		private boolean mBulkLoad;
+
 		/**
 		 * Constructor.
 		 * 
@@ -178,6 +185,23 @@ public final class XMLShredder extends AbstractShredder implements
 			return this;
 		}
 
+		/**
+		 * Bulk load the document into an empty resource (default: no), which is
+		 * considerably faster for an initial import, as hashes and indexes aren't
+		 * updated for each inserted node.
+		 * 
+		 * @return this builder instance
+		 * @throws IllegalStateException
+		 *           if the document isn't inserted as a first child
+		 * @see NodeWriteTrx#bulkLoad(XMLEventReader)
+		 */
+		public Builder bulkLoad() {
+			checkState(mInsert == Insert.ASFIRSTCHILD,
+					"A bulk load is only possible as the first child of the document root!");
+			mBulkLoad = true;
+			return this;
+		}
+
 		/**
 		 * Build an instance.
 		 * 
@@ -202,6 +226,7 @@ public final class XMLShredder extends AbstractShredder implements
 		mIncludeComments = builder.mIncludeComments;
 		mIncludePIs = builder.mIncludePIs;
 		mCommit = builder.mCommit;
+		mBulkLoad = builder.mBulkLoad;
 	}
 
 	/**
@@ -214,7 +239,11 @@ public final class XMLShredder extends AbstractShredder implements
 	@Override
 	public Long call() throws SirixException {
 		final long revision = mWtx.getRevisionNumber();
-		insertNewContent();
+		if (mBulkLoad) {
+			bulkLoad();
+		} else {
+			insertNewContent();
+		}
 		mCommit.commit(mWtx);
 		return revision;
 	}
@@ -289,6 +318,26 @@ public final class XMLShredder extends AbstractShredder implements
 		}
 	}
 
+	/**
+	 * Bulk load the content into an empty resource, whereas comments and
+	 * processing instructions are filtered out, if they shouldn't be included.
+	 * 
+	 * @throws SirixException
+	 *           if something went wrong while inserting
+	 */
+	private void bulkLoad() throws SirixException {
+		try {
+			final XMLEventReader reader = XMLInputFactory.newInstance()
+					.createFilteredReader(
+							mReader,
+							event -> (mIncludeComments || event.getEventType() != XMLStreamConstants.COMMENT)
+									&& (mIncludePIs || event.getEventType() != XMLStreamConstants.PROCESSING_INSTRUCTION));
+			mWtx.bulkLoad(reader);
+		} catch (final XMLStreamException e) {
+			throw new SirixIOException(e);
+		}
+	}
+
 	/**
 	 * Add a new element node.
 	 * 
@@ -363,7 +412,7 @@ public final class XMLShredder extends AbstractShredder implements
 				.parseBoolean(args[2]) : false;
 		final XMLShredder shredder = new XMLShredder.Builder(wtx, reader,
 				Insert.ASFIRSTCHILD).commitAfterwards().includeComments(includeCoPI)
-				.includePIs(includeCoPI).build();
+				.includePIs(includeCoPI).bulkLoad().build();
 		shredder.call();
 		wtx.close();
 		session.close();
@@ -90,6 +90,21 @@ public enum CharsForSerializing {
 	/** "?&gt;". */
 	CLOSEPI(new byte[] { 63 }, CLOSE.getBytes()),
 
+	/** "&amp;amp;". */
+	AMP("&amp;".getBytes(Constants.DEFAULT_ENCODING)),
+
+	/** "&amp;lt;". */
+	LT("&lt;".getBytes(Constants.DEFAULT_ENCODING)),
+
+	/** "&amp;gt;". */
+	GT("&gt;".getBytes(Constants.DEFAULT_ENCODING)),
+
+	/** "&amp;quot;". */
+	QUOT("&quot;".getBytes(Constants.DEFAULT_ENCODING)),
+
+	/** "&amp;apos;". */
+	APOS("&apos;".getBytes(Constants.DEFAULT_ENCODING)),
+
 	/** Newline. */
 	NEWLINE(System.getProperty("line.separator").getBytes(
 			Constants.DEFAULT_ENCODING));
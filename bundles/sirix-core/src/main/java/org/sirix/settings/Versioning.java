@@ -60,7 +60,23 @@ public enum Versioning {
 				final List<T> pages, final @Nonnegative int revToRestore,
 				final PageReadTrx pageReadTrx) {
 			assert pages.size() == 1 : "Only one version of the page!";
-			return pages.get(0);
+			final T firstPage = pages.get(0);
+			if (firstPage.getPageReadTrx() == pageReadTrx) {
+				return firstPage;
+			}
+
+			// The page has been read by another transaction (shared buffer).
+			final T returnVal = firstPage.newInstance(firstPage.getPageKey(),
+					firstPage.getPageKind(), firstPage.getPreviousReference(),
+					pageReadTrx);
+			for (final Map.Entry<K, V> entry : firstPage.entrySet()) {
+				returnVal.copyEntryFrom(firstPage, entry.getKey());
+			}
+			for (final Map.Entry<K, PageReference> entry : firstPage
+					.referenceEntrySet()) {
+				returnVal.setPageReference(entry.getKey(), entry.getValue());
+			}
+			return returnVal;
 		}
 
 		@Override
@@ -76,9 +92,9 @@ public enum Versioning {
 			returnVal.add(firstPage.<T> newInstance(recordPageKey,
 					firstPage.getPageKind(), Optional.of(reference), pageReadTrx));
 
-			for (final Map.Entry<K, V> entry : pages.get(0).entrySet()) {
-				returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
-				returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
+			for (final Map.Entry<K, V> entry : firstPage.entrySet()) {
+				returnVal.get(0).copyEntryFrom(firstPage, entry.getKey());
+				returnVal.get(1).copyEntryFrom(firstPage, entry.getKey());
 			}
 
 			return new RecordPageContainer<>(returnVal.get(0), returnVal.get(1));
@@ -116,7 +132,7 @@ public enum Versioning {
 			assert fullDump.getPageKey() == recordPageKey;
 
 			for (final Map.Entry<K, V> entry : latest.entrySet()) {
-				returnVal.setEntry(entry.getKey(), entry.getValue());
+				returnVal.copyEntryFrom(latest, entry.getKey());
 			}
 			for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
 				returnVal.setPageReference(entry.getKey(), entry.getValue());
@@ -125,8 +141,8 @@ public enum Versioning {
 			// Skip full dump if not needed (fulldump equals latest page).
 			if (pages.size() == 2) {
 				for (final Entry<K, V> entry : fullDump.entrySet()) {
-					if (returnVal.getValue(entry.getKey()) == null) {
-						returnVal.setEntry(entry.getKey(), entry.getValue());
+					if (!returnVal.containsKey(entry.getKey())) {
+						returnVal.copyEntryFrom(fullDump, entry.getKey());
 						if (returnVal.size() == Constants.NDP_NODE_COUNT) {
 							break;
 						}
@@ -164,8 +180,8 @@ public enum Versioning {
 
 			// Iterate through all nodes of the latest revision.
 			for (final Map.Entry<K, V> entry : latest.entrySet()) {
-				returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
-				returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
+				returnVal.get(0).copyEntryFrom(latest, entry.getKey());
+				returnVal.get(1).copyEntryFrom(latest, entry.getKey());
 			}
 			// Iterate through all nodes of the latest revision.
 			for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
@@ -177,12 +193,12 @@ public enum Versioning {
 			if (latest.size() != Constants.NDP_NODE_COUNT) {
 				// Iterate through the full dump.
 				for (final Map.Entry<K, V> entry : fullDump.entrySet()) {
-					if (returnVal.get(0).getValue(entry.getKey()) == null) {
-						returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
+					if (!returnVal.get(0).containsKey(entry.getKey())) {
+						returnVal.get(0).copyEntryFrom(fullDump, entry.getKey());
 					}
 
-					if (isFullDump && returnVal.get(1).getValue(entry.getKey()) == null) {
-						returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
+					if (isFullDump && !returnVal.get(1).containsKey(entry.getKey())) {
+						returnVal.get(1).copyEntryFrom(fullDump, entry.getKey());
 					}
 
 					if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
@@ -242,7 +258,7 @@ public enum Versioning {
 			final long recordPageKey = firstPage.getPageKey();
 			final T returnVal = firstPage.newInstance(firstPage.getPageKey(),
 					firstPage.getPageKind(), firstPage.getPreviousReference(),
-					firstPage.getPageReadTrx());
+					pageReadTrx);
 			if (pages.size() > 1) {
 				returnVal.setDirty(true);
 			}
@@ -255,8 +271,8 @@ public enum Versioning {
 				}
 				for (final Entry<K, V> entry : page.entrySet()) {
 					final K recordKey = entry.getKey();
-					if (returnVal.getValue(recordKey) == null) {
-						returnVal.setEntry(recordKey, entry.getValue());
+					if (!returnVal.containsKey(recordKey)) {
+						returnVal.copyEntryFrom(page, recordKey);
 						if (returnVal.size() == Constants.NDP_NODE_COUNT) {
 							filledPage = true;
 							break;
@@ -307,11 +323,11 @@ public enum Versioning {
 					// Caching the complete page.
 					final K key = entry.getKey();
 					assert key != null;
-					if (entry != null && returnVal.get(0).getValue(key) == null) {
-						returnVal.get(0).setEntry(key, entry.getValue());
+					if (entry != null && !returnVal.get(0).containsKey(key)) {
+						returnVal.get(0).copyEntryFrom(page, key);
 
-						if (returnVal.get(1).getValue(entry.getKey()) == null && isFullDump) {
-							returnVal.get(1).setEntry(key, entry.getValue());
+						if (!returnVal.get(1).containsKey(key) && isFullDump) {
+							returnVal.get(1).copyEntryFrom(page, key);
 						}
 
 						if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
@@ -381,7 +397,7 @@ public enum Versioning {
 			final long recordPageKey = firstPage.getPageKey();
 			final T returnVal = firstPage.newInstance(firstPage.getPageKey(),
 					firstPage.getPageKind(), firstPage.getPreviousReference(),
-					firstPage.getPageReadTrx());
+					pageReadTrx);
 			if (pages.size() > 1) {
 				returnVal.setDirty(true);
 			}
@@ -395,8 +411,8 @@ public enum Versioning {
 				}
 				for (final Entry<K, V> entry : page.entrySet()) {
 					final K recordKey = entry.getKey();
-					if (returnVal.getValue(recordKey) == null) {
-						returnVal.setEntry(recordKey, entry.getValue());
+					if (!returnVal.containsKey(recordKey)) {
+						returnVal.copyEntryFrom(page, recordKey);
 						if (returnVal.size() == Constants.NDP_NODE_COUNT) {
 							filledPage = true;
 							break;
@@ -448,15 +464,15 @@ public enum Versioning {
 					final K key = entry.getKey();
 					assert key != null;
 					if (!pageToSerialize) {
-						reconstructed.setEntry(key, entry.getValue());
+						reconstructed.copyEntryFrom(page, key);
 					}
 
-					if (returnVal.get(0).getValue(key) == null) {
-						returnVal.get(0).setEntry(key, entry.getValue());
+					if (!returnVal.get(0).containsKey(key)) {
+						returnVal.get(0).copyEntryFrom(page, key);
 					}
 
-					if (pageToSerialize && reconstructed.getValue(key) == null) {
-						returnVal.get(1).setEntry(key, entry.getValue());
+					if (pageToSerialize && !reconstructed.containsKey(key)) {
+						returnVal.get(1).copyEntryFrom(page, key);
 					}
 
 					if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
@@ -0,0 +1,146 @@
+package org.sirix.utils;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.sirix.exception.SirixIOException;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Codecs to compress text values. All codecs are thread-safe, such that values
+ * might be compressed and decompressed by several transactions concurrently.
+ * The identifier of a codec is stored with each compressed value, thus values
+ * compressed with different codecs might coexist in one resource.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public enum Codec {
+
+	/** Values are stored uncompressed. */
+	NONE((byte) 0) {
+		@Override
+		public byte[] compress(final byte[] value) {
+			return checkNotNull(value);
+		}
+
+		@Override
+		public byte[] decompress(final byte[] compressed) {
+			return checkNotNull(compressed);
+		}
+	},
+
+	/** Deflate, with per-thread {@link Deflater}s and {@link Inflater}s. */
+	DEFLATE((byte) 1) {
+		@Override
+		public byte[] compress(final byte[] value) {
+			return Compression.compress(value, Deflater.BEST_SPEED);
+		}
+
+		@Override
+		public byte[] decompress(final byte[] compressed) {
+			return Compression.decompress(compressed);
+		}
+	},
+
+	/**
+	 * Snappy, a fast block codec in the LZ77 family, which trades compression
+	 * ratio for a considerably higher throughput than {@link #DEFLATE}.
+	 */
+	SNAPPY((byte) 2) {
+		@Override
+		public byte[] compress(final byte[] value) {
+			try {
+				return Snappy.compress(checkNotNull(value));
+			} catch (final IOException e) {
+				throw new SirixIOException(e);
+			}
+		}
+
+		@Override
+		public byte[] decompress(final byte[] compressed) {
+			try {
+				return Snappy.uncompress(checkNotNull(compressed));
+			} catch (final IOException e) {
+				throw new SirixIOException(e);
+			}
+		}
+	};
+
+	/** Identifier of the codec. */
+	private final byte mId;
+
+	/** Codecs by identifier. */
+	private static final Codec[] INSTANCEFORID;
+
+	static {
+		INSTANCEFORID = new Codec[values().length];
+		for (final Codec codec : values()) {
+			INSTANCEFORID[codec.mId] = codec;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param id
+	 *          the unique identifier
+	 */
+	private Codec(final byte id) {
+		mId = id;
+	}
+
+	/**
+	 * Get the unique identifier, which is stored with a value.
+	 *
+	 * @return the identifier
+	 */
+	public byte getId() {
+		return mId;
+	}
+
+	/**
+	 * Get the codec denoted by an identifier.
+	 *
+	 * @param id
+	 *          the identifier
+	 * @return the codec
+	 * @throws SirixIOException
+	 *           if no codec with the identifier exists
+	 */
+	public static Codec getCodec(final byte id) {
+		if (id < 0 || id >= INSTANCEFORID.length) {
+			throw new SirixIOException("Unknown codec: " + id);
+		}
+		return INSTANCEFORID[id];
+	}
+
+	/**
+	 * Compress a value.
+	 *
+	 * @param value
+	 *          the value to compress
+	 * @return the compressed value
+	 * @throws NullPointerException
+	 *           if {@code value} is {@code null}
+	 * @throws SirixIOException
+	 *           if the value can't be compressed
+	 */
+	public abstract byte[] compress(byte[] value);
+
+	/**
+	 * Decompress a value.
+	 *
+	 * @param compressed
+	 *          the compressed value
+	 * @return the value
+	 * @throws NullPointerException
+	 *           if {@code compressed} is {@code null}
+	 * @throws SirixIOException
+	 *           if the value can't be decompressed
+	 */
+	public abstract byte[] decompress(byte[] compressed);
+}
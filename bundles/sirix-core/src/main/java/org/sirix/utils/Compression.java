@@ -39,7 +39,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Compression/Decompression for text values or any other data.
+ * Compression/Decompression for text values or any other data. Each thread
+ * uses its own {@link Deflater} and {@link Inflater}, which are reused for all
+ * values, such that the class is thread-safe without any contention.
  * 
  * @author Johannes Lichtenberger, University of Konstanz
  * 
@@ -53,11 +55,13 @@ public class Compression {
 	/** Buffer size. */
 	public static final int BUFFER_SIZE = 1024;
 
-	/** Compressor. */
-	private static final Deflater mCompressor = new Deflater();
+	/** Compressor of each thread. */
+	private static final ThreadLocal<Deflater> COMPRESSOR = ThreadLocal
+			.withInitial(Deflater::new);
 
-	/** Decompressor. */
-	private static final Inflater mDecompressor = new Inflater();
+	/** Decompressor of each thread. */
+	private static final ThreadLocal<Inflater> DECOMPRESSOR = ThreadLocal
+			.withInitial(Inflater::new);
 
 	/**
 	 * Compress data based on the {@link Deflater}.
@@ -78,14 +82,15 @@ public class Compression {
 
 		// Compressed result.
 		byte[] compressed = new byte[] {};
+		final Deflater compressor = COMPRESSOR.get();
 
 		// Set compression level.
-		mCompressor.setLevel(pLevel);
+		compressor.setLevel(pLevel);
 
 		// Give the compressor the data to compress.
-		mCompressor.reset();
-		mCompressor.setInput(toCompress);
-		mCompressor.finish();
+		compressor.reset();
+		compressor.setInput(toCompress);
+		compressor.finish();
 
 		/*
 		 * Create an expandable byte array to hold the compressed data. You cannot
@@ -97,8 +102,8 @@ public class Compression {
 				toCompress.length)) {
 			// Compress the data.
 			final byte[] buf = new byte[BUFFER_SIZE];
-			while (!mCompressor.finished()) {
-				final int count = mCompressor.deflate(buf);
+			while (!compressor.finished()) {
+				final int count = compressor.deflate(buf);
 				bos.write(buf, 0, count);
 			}
 
@@ -124,8 +129,9 @@ public class Compression {
 		checkNotNull(compressed);
 
 		// Reset the decompressor and give it the data to compress.
-		mDecompressor.reset();
-		mDecompressor.setInput(compressed);
+		final Inflater decompressor = DECOMPRESSOR.get();
+		decompressor.reset();
+		decompressor.setInput(compressed);
 
 		byte[] decompressed = new byte[] {};
 
@@ -134,9 +140,9 @@ public class Compression {
 				compressed.length);
 		// Decompress the data.
 		final byte[] buf = new byte[BUFFER_SIZE];
-		while (!mDecompressor.finished()) {
+		while (!decompressor.finished()) {
 			try {
-				final int count = mDecompressor.inflate(buf);
+				final int count = decompressor.inflate(buf);
 				bos.write(buf, 0, count);
 			} catch (final DataFormatException e) {
 				LOGWRAPPER.error(e.getMessage(), e);
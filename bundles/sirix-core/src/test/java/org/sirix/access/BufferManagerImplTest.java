@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.page.NamePage;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Test the {@link BufferManagerImpl}.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public class BufferManagerImplTest {
+
+	/** Size of the data of each page. */
+	private static final int DATA_SIZE = 100;
+
+	/** Estimated size of each page. */
+	private static final long PAGE_SIZE = BufferManagerImpl.weigh(newPage());
+
+	private static Page newPage() {
+		return new OverflowPage(new byte[DATA_SIZE]);
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		final BufferManager buffer = new BufferManagerImpl(100 * PAGE_SIZE);
+		assertNull(buffer.getPage(0, 12));
+		final Page page = newPage();
+		assertSame(page, buffer.putPageIfAbsent(0, 12, page));
+		assertSame(page, buffer.putPageIfAbsent(0, 12, newPage()));
+		assertSame(page, buffer.getPage(0, 12));
+		assertNull(buffer.getPage(1, 12));
+		assertEquals(1, buffer.getHitCount());
+		assertEquals(2, buffer.getMissCount());
+		assertEquals(PAGE_SIZE, buffer.getUsedMemory());
+
+		buffer.invalidate(0);
+		assertNull(buffer.getPage(0, 12));
+		assertEquals(0, buffer.getUsedMemory());
+	}
+
+	@Test
+	public void testMemoryBudget() {
+		final BufferManager buffer = new BufferManagerImpl(10 * PAGE_SIZE, 1);
+		for (int i = 0; i < 100; i++) {
+			buffer.putPageIfAbsent(0, i, newPage());
+			assertTrue(buffer.getUsedMemory() <= buffer.getMemoryBudget());
+		}
+		assertEquals(90, buffer.getEvictionCount());
+		assertNotNull(buffer.getPage(0, 99));
+		assertNull(buffer.getPage(0, 0));
+	}
+
+	@Test
+	public void testScanResistance() {
+		final BufferManager buffer = new BufferManagerImpl(10 * PAGE_SIZE, 1);
+
+		// Hot pages, which are requested more than once.
+		for (int i = 0; i < 5; i++) {
+			buffer.putPageIfAbsent(0, i, newPage());
+			assertNotNull(buffer.getPage(0, i));
+		}
+
+		// A scan, which touches every page only once.
+		for (int i = 5; i < 1000; i++) {
+			buffer.putPageIfAbsent(0, i, newPage());
+		}
+
+		for (int i = 0; i < 5; i++) {
+			assertNotNull(buffer.getPage(0, i));
+		}
+	}
+
+	@Test
+	public void testContainsPage() {
+		final BufferManager buffer = new BufferManagerImpl(10 * PAGE_SIZE, 1);
+		assertFalse(buffer.containsPage(0, 0));
+		buffer.putPageIfAbsent(0, 0, newPage());
+		assertTrue(buffer.containsPage(0, 0));
+		assertTrue(buffer.containsPage(0, 0));
+		assertEquals(0, buffer.getHitCount());
+		assertEquals(0, buffer.getMissCount());
+
+		// The page hasn't been promoted, thus a scan evicts it.
+		for (int i = 1; i < 100; i++) {
+			buffer.putPageIfAbsent(0, i, newPage());
+		}
+		assertFalse(buffer.containsPage(0, 0));
+	}
+
+	@Test
+	public void testSharedPagesAreNotModified() throws SirixException {
+		TestHelper.deleteEverything();
+		TestHelper.createTestDocument();
+		final Holder holder = Holder.generateSession();
+		try (final PageReadTrx first = holder.getSession().beginPageReadTrx();
+				final PageReadTrx second = holder.getSession().beginPageReadTrx()) {
+			final RevisionRootPage firstRoot = first.getActualRevisionRootPage();
+			final NamePage namePage = first.getNamePage(firstRoot);
+			assertFalse(namePage.isDirty());
+			// The page isn't reachable through the (shared) revision root page.
+			assertNull(firstRoot.getNamePageReference().getPage());
+
+			final RevisionRootPage secondRoot = second.getActualRevisionRootPage();
+			assertSame(namePage, second.getNamePage(secondRoot));
+			assertFalse(namePage.isDirty());
+			assertNull(secondRoot.getNamePageReference().getPage());
+		} finally {
+			holder.close();
+			TestHelper.closeEverything();
+			TestHelper.deleteEverything();
+		}
+	}
+}
@@ -91,6 +91,98 @@ public class HashTest {
 		testSetter(wtx);
 	}
 
+	@Test
+	public void testDeferredInsertRemove() throws SirixException {
+		final NodeWriteTrx wtx = createWtx(HashKind.DEFERRED);
+
+		wtx.insertElementAsFirstChild(new QNm(NAME1));
+		final long rootKey = wtx.getNodeKey();
+		wtx.commit();
+		wtx.moveTo(rootKey);
+		final long firstRootHash = wtx.getHash();
+		assertEquals(0, wtx.getDescendantCount());
+
+		wtx.insertTextAsFirstChild(NAME1);
+		wtx.commit();
+		wtx.moveTo(rootKey);
+		final long secondRootHash = wtx.getHash();
+		assertEquals(1, wtx.getDescendantCount());
+
+		wtx.moveToFirstChild();
+		wtx.insertElementAsRightSibling(new QNm(NAME2));
+		wtx.insertAttribute(new QNm(NAME2), NAME1);
+		wtx.moveToParent();
+		wtx.insertElementAsFirstChild(new QNm(NAME1));
+		wtx.commit();
+		wtx.moveTo(rootKey);
+		final long thirdRootHash = wtx.getHash();
+		assertEquals(3, wtx.getDescendantCount());
+		wtx.moveToDocumentRoot();
+		assertEquals(4, wtx.getDescendantCount());
+
+		assertFalse(firstRootHash == secondRootHash);
+		assertFalse(firstRootHash == thirdRootHash);
+		assertFalse(secondRootHash == thirdRootHash);
+
+		// Removing the element subtree restores the hash.
+		wtx.moveTo(rootKey);
+		wtx.moveToFirstChild();
+		wtx.moveToRightSibling();
+		wtx.remove();
+		wtx.commit();
+		wtx.moveTo(rootKey);
+		assertEquals(secondRootHash, wtx.getHash());
+		assertEquals(1, wtx.getDescendantCount());
+		wtx.close();
+	}
+
+	@Test
+	public void testDeferredSetter() throws SirixException {
+		final NodeWriteTrx wtx = createWtx(HashKind.DEFERRED);
+		wtx.insertElementAsFirstChild(new QNm(NAME1));
+		wtx.insertElementAsFirstChild(new QNm(NAME1));
+		final long leafKey = wtx.getNodeKey();
+		wtx.commit();
+		wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		final long hashRoot1 = wtx.getHash();
+
+		wtx.moveTo(leafKey);
+		wtx.setName(new QNm(NAME2));
+		wtx.commit();
+		wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		assertFalse(hashRoot1 == wtx.getHash());
+
+		wtx.moveTo(leafKey);
+		wtx.setName(new QNm(NAME1));
+		wtx.commit();
+		wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		assertEquals(hashRoot1, wtx.getHash());
+		wtx.close();
+	}
+
+	@Test
+	public void testDeferredValueHash() throws SirixException {
+		final NodeWriteTrx wtx = createWtx(HashKind.DEFERRED);
+		wtx.insertElementAsFirstChild(new QNm(NAME1));
+		// "Aa" and "BB" share the same 32-bit array hash code.
+		wtx.insertTextAsFirstChild("Aa");
+		final long textKey = wtx.getNodeKey();
+		wtx.commit();
+		wtx.moveTo(textKey);
+		final long hashAa = wtx.getHash();
+		wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		final long hashRootAa = wtx.getHash();
+
+		wtx.moveTo(textKey);
+		wtx.setValue("BB");
+		wtx.commit();
+		wtx.moveTo(textKey);
+		assertFalse(hashAa == wtx.getHash());
+		wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+		assertFalse(hashRootAa == wtx.getHash());
+		wtx.close();
+	}
+
 	/**
 	 * Inserting nodes and removing them.
 	 * 
@@ -229,8 +321,13 @@ public class HashTest {
 	private NodeWriteTrx createWtx(final HashKind kind) throws SirixException {
 		final Database database = TestHelper.getDatabase(TestHelper.PATHS.PATH1
 				.getFile());
-		database.createResource(new ResourceConfiguration.Builder(
-				TestHelper.RESOURCE, PATHS.PATH1.getConfig()).build());
+		final ResourceConfiguration.Builder builder = new ResourceConfiguration.Builder(
+				TestHelper.RESOURCE, PATHS.PATH1.getConfig());
+		// The other kinds are tested with the default configuration.
+		if (kind == HashKind.DEFERRED) {
+			builder.hashKind(kind);
+		}
+		database.createResource(builder.build());
 		final Session session = database
 				.getSession(new SessionConfiguration.Builder(TestHelper.RESOURCE)
 						.build());
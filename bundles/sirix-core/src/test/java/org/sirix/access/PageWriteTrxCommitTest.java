@@ -0,0 +1,153 @@
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.NodeWriteTrx;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.io.Reader;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.PageReference;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Test the commit of the {@link PageWriteTrxImpl}, which serializes the pages
+ * in parallel, if the writer supports it.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class PageWriteTrxCommitTest {
+
+	/**
+	 * Number of elements (each with a text node), such that many record pages
+	 * are serialized by the pool.
+	 */
+	private static final int ELEMENTS = 10_000;
+
+	/** Size of the beacon at the beginning of the data file. */
+	private static final int FIRST_BEACON = 12;
+
+	/** Size of the length, which prefixes each page. */
+	private static final int LENGTH_PREFIX = 4;
+
+	/** {@link Holder} reference. */
+	private Holder holder;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		holder = Holder.generateWtx();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testCommitLayout() throws SirixException, IOException {
+		final NodeWriteTrx wtx = holder.getWtx();
+		wtx.insertElementAsFirstChild(new QNm("root"));
+		for (int i = 0; i < ELEMENTS; i++) {
+			wtx.insertElementAsFirstChild(new QNm("e"));
+			wtx.insertTextAsFirstChild("text" + i);
+			wtx.moveToParent();
+			wtx.moveToParent();
+		}
+
+		final File data = dataFile(holder.getSession().getResourceConfig());
+		final long start = Math.max(FIRST_BEACON, data.length());
+		wtx.commit();
+		wtx.close();
+
+		// Round trip.
+		try (final NodeReadTrx rtx = holder.getSession().beginNodeReadTrx()) {
+			rtx.moveToFirstChild();
+			assertTrue(rtx.moveToFirstChild().hasMoved());
+			for (int i = ELEMENTS - 1; i >= 0; i--) {
+				assertEquals("e", rtx.getName().getLocalName());
+				rtx.moveToFirstChild();
+				assertEquals("text" + i, rtx.getValue());
+				rtx.moveToParent();
+				assertEquals(i > 0, rtx.moveToRightSibling().hasMoved());
+			}
+		}
+
+		// The pages of the commit in the order of a sequential commit, that is
+		// in post-order.
+		final List<Long> offsets = new ArrayList<>();
+		try (final PageReadTrx pageRtx = holder.getSession().beginPageReadTrx()) {
+			final Reader reader = pageRtx.getReader();
+			final PageReference uberPageReference = reader.readUberPageReference();
+			collect(reader, pageRtx, uberPageReference.getKey(), start, offsets);
+			assertEquals(uberPageReference.getKey(), (long) offsets.get(offsets
+					.size() - 1));
+		}
+		assertTrue(offsets.size() > ELEMENTS / 512);
+
+		// A sequential commit appends each page right after the previous one.
+		try (final RandomAccessFile file = new RandomAccessFile(data, "r")) {
+			long expected = start;
+			for (final long offset : offsets) {
+				assertEquals(expected, offset);
+				file.seek(offset);
+				expected = offset + LENGTH_PREFIX + file.readInt();
+			}
+			assertEquals(file.length(), expected);
+		}
+	}
+
+	/**
+	 * Collect the offsets of the pages written by the commit in post-order.
+	 *
+	 * @param reader
+	 *          the reader
+	 * @param pageRtx
+	 *          the page transaction to deserialize record pages
+	 * @param key
+	 *          the offset of the page
+	 * @param start
+	 *          the offset of the first page of the commit
+	 * @param offsets
+	 *          the collected offsets
+	 */
+	private static void collect(final Reader reader, final PageReadTrx pageRtx,
+			final long key, final long start, final List<Long> offsets) {
+		if (key < start) {
+			// Written by a former commit.
+			return;
+		}
+		final Page page = reader.read(key, pageRtx);
+		if (!(page instanceof UnorderedKeyValuePage || page instanceof OverflowPage)) {
+			for (final PageReference reference : page.getReferences()) {
+				if (reference != null) {
+					collect(reader, pageRtx, reference.getKey(), start, offsets);
+				}
+			}
+		}
+		offsets.add(key);
+	}
+
+	private static File dataFile(final ResourceConfiguration config) {
+		return new File(new File(config.mPath,
+				ResourceConfiguration.Paths.DATA.getFile().getName()), "sirix.data");
+	}
+}
@@ -28,6 +28,7 @@
 package org.sirix.access;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.brackit.xquery.atomic.QNm;
@@ -39,6 +40,7 @@ import org.sirix.TestHelper;
 import org.sirix.api.Axis;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.NodeWriteTrx;
+import org.sirix.api.Session;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.exception.SirixException;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -720,6 +722,35 @@ public class PathSummaryTest {
 		rtx.close();
 	}
 
+	/**
+	 * Test that the path summary mappings of a committed revision are shared and
+	 * not modified by a write transaction.
+	 * 
+	 * @throws SirixException
+	 *           if Sirix fails
+	 */
+	@Test
+	public void testSharedPathSummaryData() throws SirixException {
+		mWtx.commit();
+		final Session session = holder.getSession();
+		final int revision = session.getMostRecentRevisionNumber();
+		assertSame(session.getPathSummaryData(revision),
+				session.getPathSummaryData(revision));
+
+		mWtx.moveTo(1);
+		mWtx.insertElementAsFirstChild(new QNm("foo"));
+		assertEquals(1, mWtx.getPathSummary().match(new QNm("foo"), 0)
+				.cardinality());
+
+		try (final PathSummaryReader pathSummary = session
+				.openPathSummary(revision)) {
+			assertTrue(pathSummary.match(new QNm("foo"), 0).isEmpty());
+			assertEquals(mWtx.getPathSummary().match(new QNm("b"), 0),
+					pathSummary.match(new QNm("b"), 0));
+		}
+		mWtx.commit();
+	}
+
 	/**
 	 * Get the next summary.
 	 * 
@@ -0,0 +1,144 @@
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.NodeWriteTrx;
+import org.sirix.api.Session;
+import org.sirix.exception.SirixException;
+import org.sirix.utils.DocumentCreater;
+
+/**
+ * Test the {@link RevisionIndex} and opening revisions by a point in time.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class RevisionIndexTest {
+
+	/** The {@link Holder} instance. */
+	private Holder holder;
+
+	/** The commit timestamps by revision number. */
+	private long[] timestamps;
+
+	@Before
+	public void setUp() throws SirixException, InterruptedException {
+		TestHelper.deleteEverything();
+		final NodeWriteTrx wtx = Holder.generateWtx().getWtx();
+		DocumentCreater.create(wtx);
+		// Commits within the same millisecond share their timestamp.
+		Thread.sleep(10);
+		wtx.commit();
+		for (int i = 0; i <= 1; i++) {
+			wtx.moveToDocumentRoot();
+			wtx.moveToFirstChild();
+			wtx.insertElementAsFirstChild(new QNm("ns", "p", "a"));
+			Thread.sleep(10);
+			wtx.commit();
+		}
+		holder = Holder.generateRtx();
+		final Session session = holder.getSession();
+		timestamps = new long[session.getMostRecentRevisionNumber() + 1];
+		for (int revision = 0; revision < timestamps.length; revision++) {
+			final NodeReadTrx rtx = session.beginNodeReadTrx(revision);
+			timestamps[revision] = rtx.getRevisionTimestamp();
+			rtx.close();
+		}
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		final File file = File.createTempFile("revisions", null);
+		assertTrue(file.delete());
+		try {
+			final RevisionIndex index = new RevisionIndex(file);
+			assertEquals(-1, index.getRevision(100));
+			assertTrue(index.setTimestamp(0, 100));
+			assertTrue(index.setTimestamp(1, 200));
+			// Gaps aren't indexed.
+			assertFalse(index.setTimestamp(3, 400));
+			// Timestamps are kept sorted.
+			assertTrue(index.setTimestamp(2, 150));
+			assertEquals(3, index.size());
+
+			final RevisionIndex persisted = new RevisionIndex(file);
+			assertEquals(3, persisted.size());
+			assertEquals(-1, persisted.getRevision(99));
+			assertEquals(0, persisted.getRevision(100));
+			assertEquals(0, persisted.getRevision(199));
+			assertEquals(2, persisted.getRevision(200));
+			assertEquals(2, persisted.getRevision(Long.MAX_VALUE));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testPointInTime() {
+		final Session session = holder.getSession();
+		for (int revision = 0; revision < timestamps.length; revision++) {
+			assertRevision(revision, timestamps[revision]);
+			if (revision > 0) {
+				assertTrue(timestamps[revision - 1] < timestamps[revision]);
+				// Between two commits.
+				assertRevision(revision - 1,
+						(timestamps[revision - 1] + timestamps[revision]) / 2);
+				assertRevision(revision - 1, timestamps[revision] - 1);
+			}
+		}
+
+		// After the last commit.
+		final int last = session.getMostRecentRevisionNumber();
+		assertEquals(timestamps.length - 1, last);
+		assertRevision(last, timestamps[last] + 1);
+		assertRevision(last, Instant.now().plusSeconds(3600).toEpochMilli());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBeforeFirstRevision() {
+		holder.getSession().beginNodeReadTrx(
+				Instant.ofEpochMilli(timestamps[0] - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBeforeEpoch() {
+		holder.getSession().beginNodeReadTrx(Instant.ofEpochMilli(0));
+	}
+
+	/**
+	 * Assert the revision, which is opened at a point in time.
+	 *
+	 * @param expected
+	 *          the expected revision number
+	 * @param timestamp
+	 *          the point in time in milliseconds since the epoch
+	 */
+	private void assertRevision(final int expected, final long timestamp) {
+		final NodeReadTrx rtx = holder.getSession().beginNodeReadTrx(
+				Instant.ofEpochMilli(timestamp));
+		try {
+			assertEquals(expected, rtx.getRevisionNumber());
+		} finally {
+			rtx.close();
+		}
+	}
+}
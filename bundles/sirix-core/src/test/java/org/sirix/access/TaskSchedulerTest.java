@@ -0,0 +1,71 @@
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.access.TaskScheduler.PeriodicTask;
+
+/**
+ * Test the {@link TaskScheduler}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class TaskSchedulerTest {
+
+	private TaskScheduler mScheduler;
+
+	@Before
+	public void setUp() {
+		mScheduler = new TaskScheduler(2);
+	}
+
+	@After
+	public void tearDown() {
+		mScheduler.close();
+	}
+
+	@Test
+	public void testSubmit() throws Exception {
+		assertEquals(42, (int) mScheduler.submit(() -> 42).get());
+		assertEquals(1, mScheduler.getCompletedTaskCount());
+		assertEquals(0, mScheduler.getQueuedTaskCount());
+		assertTrue(mScheduler.getAverageExecutionTime(TimeUnit.NANOSECONDS) >= 0);
+	}
+
+	@Test
+	public void testPeriodicTask() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(3);
+		final AtomicInteger runs = new AtomicInteger();
+		final PeriodicTask task = mScheduler.scheduleAtFixedRate(() -> {
+			runs.incrementAndGet();
+			latch.countDown();
+		}, 10, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		task.cancel();
+		final int runsAfterCancel = runs.get();
+		Thread.sleep(50);
+		assertEquals(runsAfterCancel, runs.get());
+		assertEquals(0, mScheduler.getScheduledTaskCount());
+	}
+
+	@Test
+	public void testPeriodicTaskSurvivesFailure() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final PeriodicTask task = mScheduler.scheduleAtFixedRate(() -> {
+			latch.countDown();
+			throw new IllegalStateException();
+		}, 10, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		task.cancel();
+		assertFalse(mScheduler.getMaxLatency(TimeUnit.NANOSECONDS) < 0);
+	}
+}
@@ -0,0 +1,114 @@
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.TemporalCursor;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.exception.SirixException;
+import org.sirix.utils.DocumentCreater;
+
+/**
+ * Test the {@link TemporalCursor}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class TemporalCursorTest {
+
+	/** The {@link Holder} instance. */
+	private Holder holder;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		DocumentCreater.createVersioned(Holder.generateWtx().getWtx());
+		holder = Holder.generateRtx();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testRevisions() throws SirixException {
+		final int availableTrx = holder.getSession().getAvailableNodeReadTrx();
+		final TemporalCursor cursor = holder.getSession().openTemporalCursor();
+		assertEquals(availableTrx - 1, holder.getSession()
+				.getAvailableNodeReadTrx());
+
+		// Move back and forth, such that pages are shared in both directions.
+		final int[] revisions = { 3, 2, 1, 2, 3, 1 };
+		for (final int revision : revisions) {
+			final NodeReadTrx cursorRtx = cursor.moveTo(revision);
+			final NodeReadTrx rtx = holder.getSession().beginNodeReadTrx(revision);
+			assertEquals(revision, cursorRtx.getRevisionNumber());
+			assertEquals(rtx.getMaxNodeKey(), cursorRtx.getMaxNodeKey());
+			final Iterator<Long> expected = new DescendantAxis(rtx, IncludeSelf.YES);
+			final Iterator<Long> actual = new DescendantAxis(cursorRtx,
+					IncludeSelf.YES);
+			while (expected.hasNext()) {
+				assertTrue(actual.hasNext());
+				assertEquals(expected.next(), actual.next());
+				assertEquals(rtx.getKind(), cursorRtx.getKind());
+				assertEquals(rtx.getName(), cursorRtx.getName());
+				assertEquals(rtx.getValue(), cursorRtx.getValue());
+			}
+			assertFalse(actual.hasNext());
+			rtx.close();
+			cursorRtx.close();
+		}
+
+		cursor.close();
+		assertTrue(cursor.isClosed());
+		assertEquals(availableTrx, holder.getSession().getAvailableNodeReadTrx());
+	}
+
+	@Test
+	public void testCommittingRevision() throws SirixException, IOException {
+		final SessionImpl session = (SessionImpl) holder.getSession();
+		final int availableTrx = session.getAvailableNodeReadTrx();
+		final TemporalCursor cursor = session.openTemporalCursor();
+
+		// Simulate a commit of the revision, thus a regular transaction is opened.
+		final File commitFile = session.commitFile(2);
+		assertTrue(commitFile.getParentFile().mkdirs()
+				|| commitFile.getParentFile().isDirectory());
+		assertTrue(commitFile.createNewFile());
+		try {
+			final NodeReadTrx rtx = cursor.moveTo(2);
+			final NodeReadTrx cursorRtx = cursor.moveTo(1);
+			assertEquals(2, rtx.getRevisionNumber());
+			assertEquals(availableTrx - 2, session.getAvailableNodeReadTrx());
+
+			// Both transactions are closed together with the cursor.
+			cursor.close();
+			assertTrue(rtx.isClosed());
+			assertTrue(cursorRtx.isClosed());
+			assertEquals(availableTrx, session.getAvailableNodeReadTrx());
+		} finally {
+			commitFile.delete();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed() throws SirixException {
+		final TemporalCursor cursor = holder.getSession().openTemporalCursor();
+		cursor.close();
+		cursor.moveTo(1);
+	}
+}
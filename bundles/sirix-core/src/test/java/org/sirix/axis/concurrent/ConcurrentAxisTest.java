@@ -28,8 +28,11 @@
 package org.sirix.axis.concurrent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.After;
 import org.junit.Before;
@@ -39,6 +42,7 @@ import org.sirix.TestHelper;
 import org.sirix.TestHelper.PATHS;
 import org.sirix.api.Axis;
 import org.sirix.api.NodeReadTrx;
+import org.sirix.axis.AbstractAxis;
 import org.sirix.axis.ChildAxis;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
@@ -46,6 +50,7 @@ import org.sirix.axis.NestedAxis;
 import org.sirix.axis.filter.FilterAxis;
 import org.sirix.axis.filter.NameFilter;
 import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixXPathException;
 import org.sirix.service.xml.shredder.XMLShredder;
 import org.sirix.service.xml.xpath.XPathAxis;
@@ -224,6 +229,38 @@ public final class ConcurrentAxisTest {
 		assertEquals(axis.hasNext(), false);
 	}
 
+	/**
+	 * Test that the interruption of the consumer isn't mistaken for the end of
+	 * the results.
+	 */
+	@Test
+	public void testInterruption() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final Axis producer = new AbstractAxis(holder.getSession()
+				.beginNodeReadTrx()) {
+			@Override
+			protected long nextKey() {
+				// Blocks until the test is done.
+				try {
+					latch.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return done();
+			}
+		};
+		final Axis axis = new ConcurrentAxis(holder.getRtx(), producer);
+		Thread.currentThread().interrupt();
+		try {
+			axis.hasNext();
+			fail("The interruption must be propagated!");
+		} catch (final SirixThreadedException e) {
+			assertTrue(Thread.interrupted());
+		} finally {
+			latch.countDown();
+		}
+	}
+
 	/*
 	 * ##########################################################################
 	 * ###############
@@ -0,0 +1,177 @@
+package org.sirix.axis.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link LongRingBuffer}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class LongRingBufferTest {
+
+	private ExecutorService mExecutor;
+
+	@Before
+	public void setUp() {
+		mExecutor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		mExecutor.shutdownNow();
+	}
+
+	@Test
+	public void testHandOver() throws Exception {
+		final LongRingBuffer buffer = new LongRingBuffer(16);
+		final int count = 100_000;
+		final Future<?> producer = mExecutor.submit(() -> {
+			final long[] batch = new long[7];
+			int size = 0;
+			try {
+				for (int i = 0; i < count; i++) {
+					batch[size++] = i;
+					if (size == batch.length) {
+						buffer.put(batch, size);
+						size = 0;
+					}
+				}
+				buffer.put(batch, size);
+			} finally {
+				buffer.finish();
+			}
+			return null;
+		});
+
+		final long[] keys = new long[5];
+		long expected = 0;
+		int taken;
+		while ((taken = buffer.take(keys)) != -1) {
+			for (int i = 0; i < taken; i++) {
+				assertEquals(expected++, keys[i]);
+			}
+		}
+		assertEquals(count, expected);
+		producer.get();
+	}
+
+	@Test
+	public void testCompensation() throws Exception {
+		// A single worker, which is blocked by whichever side runs first.
+		final ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			final LongRingBuffer buffer = new LongRingBuffer(4);
+			final int count = 1_000;
+			final Future<Long> consumer = pool.submit(() -> {
+				final long[] keys = new long[3];
+				long taken = 0;
+				int size;
+				while ((size = buffer.take(keys)) != -1) {
+					taken += size;
+				}
+				return taken;
+			});
+			final Future<?> producer = pool.submit(() -> {
+				try {
+					for (int i = 0; i < count; i++) {
+						buffer.put(new long[] { i }, 1);
+					}
+				} finally {
+					buffer.finish();
+				}
+				return null;
+			});
+			assertEquals(count, (long) consumer.get(10, TimeUnit.SECONDS));
+			producer.get(10, TimeUnit.SECONDS);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		final LongRingBuffer buffer = new LongRingBuffer(4);
+		final Future<Boolean> producer = mExecutor.submit(() -> {
+			final long[] batch = new long[3];
+			try {
+				while (buffer.put(batch, batch.length)) {
+				}
+			} finally {
+				buffer.finish();
+			}
+			return false;
+		});
+		buffer.close();
+		assertFalse(producer.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWakeUp() throws Exception {
+		final LongRingBuffer buffer = new LongRingBuffer(4);
+		final CountDownLatch started = new CountDownLatch(1);
+		final Future<Integer> consumer = mExecutor.submit(() -> {
+			started.countDown();
+			return buffer.take(new long[4]);
+		});
+		started.await();
+		// Give the consumer the chance to park.
+		Thread.sleep(100);
+		buffer.put(new long[] { 1, 2 }, 2);
+		assertEquals(2, (int) consumer.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWakeUpOnFinish() throws Exception {
+		final LongRingBuffer buffer = new LongRingBuffer(4);
+		final Future<Integer> consumer = mExecutor.submit(() -> buffer
+				.take(new long[4]));
+		Thread.sleep(100);
+		buffer.finish();
+		assertEquals(-1, (int) consumer.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testInterrupt() throws Exception {
+		final LongRingBuffer buffer = new LongRingBuffer(4);
+		final Future<Integer> consumer = mExecutor.submit(() -> buffer
+				.take(new long[4]));
+		Thread.sleep(100);
+		consumer.cancel(true);
+		mExecutor.shutdown();
+		assertTrue(mExecutor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test(expected = InterruptedException.class)
+	public void testInterruptedConsumer() throws Throwable {
+		final LongRingBuffer buffer = new LongRingBuffer(4);
+		final Future<Integer> consumer = mExecutor.submit(() -> {
+			Thread.currentThread().interrupt();
+			return buffer.take(new long[4]);
+		});
+		try {
+			consumer.get(10, TimeUnit.SECONDS);
+		} catch (final ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacity() {
+		new LongRingBuffer(100);
+	}
+}
@@ -0,0 +1,84 @@
+package org.sirix.axis.temporal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.access.conf.SessionConfiguration;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.axis.AbstractTemporalAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.exception.SirixException;
+import org.sirix.utils.DocumentCreater;
+
+/**
+ * Test that the {@link PastAxis}, the {@link FutureAxis} and the
+ * {@link AllTimeAxis} release their temporal cursors.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class TemporalCursorAxesTest {
+
+	/**
+	 * Number of axes, which is larger than the number of read transactions
+	 * allowed in a session (each cursor holds one until it's closed).
+	 */
+	private static final int AXES = 2 *
+			SessionConfiguration.MAX_READ_TRANSACTIONS;
+
+	/** The {@link Holder} instance. */
+	private Holder holder;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		DocumentCreater.createVersioned(Holder.generateWtx().getWtx());
+		holder = Holder.generateRtx();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testExhaustedAxes() {
+		final NodeReadTrx rtx = holder.getRtx();
+		final NodeReadTrx firstRtx = holder.getSession().beginNodeReadTrx(1);
+		for (int i = 0; i < AXES; i++) {
+			assertEquals(3, count(new PastAxis(rtx, IncludeSelf.YES)));
+			assertEquals(3, count(new FutureAxis(firstRtx, IncludeSelf.YES)));
+			assertEquals(3, count(new AllTimeAxis(rtx)));
+		}
+		firstRtx.close();
+	}
+
+	@Test
+	public void testClosedAxes() {
+		final NodeReadTrx rtx = holder.getRtx();
+		for (int i = 0; i < AXES; i++) {
+			try (final AbstractTemporalAxis axis = new AllTimeAxis(rtx)) {
+				assertTrue(axis.hasNext());
+				assertEquals(1, axis.next().getRevisionNumber());
+				axis.close();
+				assertFalse(axis.hasNext());
+			}
+		}
+	}
+
+	private static int count(final AbstractTemporalAxis axis) {
+		int count = 0;
+		while (axis.hasNext()) {
+			axis.next();
+			count++;
+		}
+		return count;
+	}
+}
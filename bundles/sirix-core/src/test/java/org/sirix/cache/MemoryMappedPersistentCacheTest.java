@@ -0,0 +1,131 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.brackit.xquery.atomic.QNm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.access.conf.DatabaseConfiguration;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.node.ElementNode;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.node.delegates.NameNodeDelegate;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.node.delegates.StructNodeDelegate;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.page.UnorderedKeyValuePage;
+
+import com.google.common.collect.HashBiMap;
+
+/**
+ * Test the {@link MemoryMappedPersistenceCache}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class MemoryMappedPersistentCacheTest {
+
+	private Cache<Long, RecordPageContainer<UnorderedKeyValuePage>> mCache;
+
+	private PageReadTrx mPageReadTrx;
+
+	private File mFile;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		TestHelper.createTestDocument();
+		mPageReadTrx = Holder.generateSession().getSession().beginPageReadTrx();
+		mFile = new File(new File(TestHelper.PATHS.PATH1.getFile(),
+				DatabaseConfiguration.Paths.DATA.getFile().getName()),
+				TestHelper.RESOURCE);
+		mCache = new MemoryMappedPersistenceCache<>(mFile, 1, "log", mPageReadTrx);
+		CacheTestHelper.setUp(mCache);
+	}
+
+	@Test
+	public void test() {
+		for (long i = 0; i < CacheTestHelper.PAGES.length; i++) {
+			final RecordPageContainer<UnorderedKeyValuePage> cont = mCache.get(i);
+			assertEquals(CacheTestHelper.PAGES[(int) i][0], cont.getComplete());
+		}
+	}
+
+	@Test
+	public void testRemoveAndReplay() {
+		mCache.remove(0L);
+		assertNull(mCache.get(0L));
+		mCache.put(1L, new RecordPageContainer<>(CacheTestHelper.PAGES[2][0]));
+		mCache.close();
+
+		mCache = new MemoryMappedPersistenceCache<>(mFile, 1, "log", mPageReadTrx);
+		assertNull(mCache.get(0L));
+		assertEquals(CacheTestHelper.PAGES[2][0], mCache.get(1L).getComplete());
+		for (long i = 2; i < CacheTestHelper.PAGES.length; i++) {
+			assertEquals(CacheTestHelper.PAGES[(int) i][0], mCache.get(i)
+					.getComplete());
+		}
+
+		mCache.clear();
+		mCache.close();
+		mCache = new MemoryMappedPersistenceCache<>(mFile, 1, "log", mPageReadTrx);
+		assertNull(mCache.get(1L));
+	}
+
+	@Test
+	public void testModifyReloadedRecord() {
+		final long key = CacheTestHelper.PAGES.length;
+		final UnorderedKeyValuePage complete = new UnorderedKeyValuePage(0L,
+				PageKind.RECORDPAGE, Optional.<PageReference> empty(), mPageReadTrx);
+		final UnorderedKeyValuePage modified = new UnorderedKeyValuePage(0L,
+				PageKind.RECORDPAGE, Optional.<PageReference> empty(), mPageReadTrx);
+		final ElementNode node = newElement(5L);
+		complete.setEntry(5L, node);
+		modified.setEntry(5L, node);
+
+		// Spill the container and modify the record of the reloaded page in place.
+		mCache.put(key, new RecordPageContainer<>(complete, modified));
+		final RecordPageContainer<UnorderedKeyValuePage> reloaded = mCache.get(key);
+		final ElementNode element = (ElementNode) reloaded.getModified()
+				.getValueForModification(5L);
+		element.setRightSiblingKey(42L);
+
+		// Spill it again as the commit does and read the modification back.
+		mCache.put(key, reloaded);
+		final UnorderedKeyValuePage page = mCache.get(key).getModified();
+		assertEquals(42L, ((ElementNode) page.getValue(5L)).getRightSiblingKey());
+		assertEquals(-1L, ((ElementNode) mCache.get(key).getComplete().getValue(
+				5L)).getRightSiblingKey());
+	}
+
+	private ElementNode newElement(final long key) {
+		final NodeDelegate del = new NodeDelegate(key, 0, 0, 0,
+				Optional.<SirixDeweyID> empty());
+		final StructNodeDelegate strucDel = new StructNodeDelegate(del, -1l, -1l,
+				-1l, 0l, 0l);
+		final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+		return new ElementNode(strucDel, nameDel, new ArrayList<Long>(),
+				HashBiMap.<Long, Long> create(), new ArrayList<Long>(), new QNm("a",
+						"b", "c"));
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		mCache.clear();
+		mCache.close();
+		CacheTestHelper.PAGE_READ_TRX.close();
+		mPageReadTrx.close();
+		TestHelper.closeEverything();
+	}
+}
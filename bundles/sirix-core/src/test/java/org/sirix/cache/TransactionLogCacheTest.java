@@ -50,7 +50,7 @@ public class TransactionLogCacheTest {
 		mPageReadTrx = Holder.generateSession().getSession().beginPageReadTrx();
 
 		mCache = new TransactionLogCache<>(TestHelper.PATHS.PATH1.getFile(), 0,
-				"log", mPageReadTrx);
+				"log", TransactionLogKind.BERKELEY_DB, mPageReadTrx);
 		CacheTestHelper.setUp(mCache);
 	}
 
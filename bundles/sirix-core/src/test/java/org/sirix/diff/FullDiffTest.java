@@ -27,18 +27,31 @@
 
 package org.sirix.diff;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.stream.XMLStreamException;
 
+import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
+import org.sirix.api.NodeWriteTrx;
 import org.sirix.diff.DiffFactory.DiffOptimized;
+import org.sirix.diff.DiffFactory.DiffType;
 import org.sirix.exception.SirixException;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * FullDiff test.
  * 
@@ -80,6 +93,83 @@ public class FullDiffTest {
 		DiffTestHelper.verifyOptimizedFullDiffFirst(mObserver);
 	}
 
+	@Test
+	public void testConcurrentDiffs() throws Exception {
+		DiffTestHelper.setUpFirst(mHolder);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		final List<DiffObserver> observers = new ArrayList<>();
+		final List<Future<?>> diffs = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			final DiffObserver observer = DiffTestHelper.createMock();
+			observers.add(observer);
+			diffs.add(executor.submit(() -> {
+				DiffTestHelper.checkFullDiff(mHolder, observer, DiffOptimized.NO);
+				return null;
+			}));
+		}
+		for (final Future<?> diff : diffs) {
+			diff.get();
+		}
+		executor.shutdown();
+		for (final DiffObserver observer : observers) {
+			DiffTestHelper.verifyFullDiffFirst(observer);
+		}
+	}
+
+	@Test
+	public void testUnchangedPagesSkipped() throws SirixException,
+			InterruptedException {
+		final NodeWriteTrx wtx = mHolder.getWtx();
+		wtx.insertElementAsFirstChild(new QNm("r"));
+		wtx.insertElementAsFirstChild(new QNm("c"));
+		final long firstKey = wtx.getNodeKey();
+		// Filler, such that the subtree is stored in other record pages.
+		for (int i = 0; i < 600; i++) {
+			wtx.insertElementAsRightSibling(new QNm("c"));
+		}
+		wtx.insertElementAsRightSibling(new QNm("a"));
+		final long subtreeKey = wtx.getNodeKey();
+		wtx.insertElementAsFirstChild(new QNm("b"));
+		for (int i = 0; i < 1000; i++) {
+			wtx.insertElementAsRightSibling(new QNm("b"));
+		}
+		final long lastKey = wtx.getNodeKey();
+		wtx.commit();
+		assertTrue(wtx.getPageTransaction().pageKey(subtreeKey) > wtx
+				.getPageTransaction().pageKey(firstKey));
+		assertTrue(wtx.getPageTransaction().pageKey(lastKey) > wtx
+				.getPageTransaction().pageKey(subtreeKey));
+		wtx.moveTo(firstKey);
+		wtx.setName(new QNm("d"));
+		wtx.commit();
+
+		final List<Long> sameHashes = new ArrayList<>();
+		final List<Long> visited = new ArrayList<>();
+		DiffFactory.invokeFullDiff(new DiffFactory.Builder(mHolder.getSession(),
+				2, 1, DiffOptimized.NO, ImmutableSet.<DiffObserver> of(
+						new DiffObserver() {
+							@Override
+							public void diffListener(final DiffType diffType,
+									final long newNodeKey, final long oldNodeKey,
+									final DiffDepth depth) {
+								visited.add(newNodeKey);
+								if (diffType == DiffType.SAMEHASH) {
+									sameHashes.add(newNodeKey);
+								}
+							}
+
+							@Override
+							public void diffDone() {
+							}
+						})));
+
+		// The subtree, whose root is in an unchanged page, is skipped at once.
+		assertEquals(ImmutableSet.of(subtreeKey), ImmutableSet.copyOf(sameHashes));
+		for (final long nodeKey : visited) {
+			assertTrue(nodeKey <= subtreeKey);
+		}
+	}
+
 	@Test
 	public void testFullDiffSecond() throws SirixException, InterruptedException,
 			IOException, XMLStreamException {
@@ -0,0 +1,173 @@
+package org.sirix.indexes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.exception.SirixException;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.AVLNode;
+import org.sirix.index.avltree.AVLTreeReader;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the range seeks of the {@link AVLTreeReader}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class AVLTreeRangeTest {
+
+	/** The indexed keys (in insertion order). */
+	private static final List<Long> KEYS = Arrays.asList(50L, 20L, 80L, 10L,
+			30L, 60L, 90L, 40L, 70L, 100L);
+
+	/** {@link Holder} reference. */
+	private Holder holder;
+
+	/** The reader of the index. */
+	private AVLTreeReader<Long, NodeReferences> mReader;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		holder = Holder.generateWtx();
+		final AVLTreeWriter<Long, NodeReferences> writer = AVLTreeWriter
+				.getInstance(holder.getWtx().getPageTransaction(), IndexType.PATH, 0);
+		for (final long key : KEYS) {
+			writer.index(key, new NodeReferences(ImmutableSet.of(key)),
+					MoveCursor.TO_DOCUMENT_ROOT);
+		}
+		mReader = writer.getReader();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testInclusiveBounds() {
+		assertEquals(Arrays.asList(30L, 40L, 50L, 60L),
+				range(key -> key < 30, key -> key > 60));
+		assertEquals(Arrays.asList(10L), range(key -> key < 10, key -> key > 10));
+		assertEquals(Arrays.asList(100L),
+				range(key -> key < 100, key -> key > 100));
+	}
+
+	@Test
+	public void testExclusiveBounds() {
+		assertEquals(Arrays.asList(40L, 50L),
+				range(key -> key <= 30, key -> key >= 60));
+		assertEquals(Arrays.asList(30L, 40L, 50L),
+				range(key -> key < 30, key -> key >= 60));
+		assertEquals(Arrays.asList(40L, 50L, 60L),
+				range(key -> key <= 30, key -> key > 60));
+	}
+
+	@Test
+	public void testBoundsBetweenKeys() {
+		assertEquals(Arrays.asList(40L, 50L, 60L),
+				range(key -> key < 35, key -> key > 65));
+		assertEquals(Arrays.asList(10L, 20L),
+				range(key -> key < 5, key -> key > 25));
+		assertEquals(Arrays.asList(90L, 100L),
+				range(key -> key < 85, key -> key > 105));
+	}
+
+	@Test
+	public void testUnboundedRanges() {
+		assertEquals(sorted(KEYS), range(key -> false, key -> false));
+		assertEquals(Arrays.asList(80L, 90L, 100L),
+				range(key -> key < 80, key -> false));
+		assertEquals(Arrays.asList(10L, 20L),
+				range(key -> false, key -> key > 20));
+	}
+
+	@Test
+	public void testEmptyRanges() {
+		// Between two keys.
+		assertEquals(Collections.emptyList(),
+				range(key -> key < 61, key -> key > 69));
+		// Exclusive bounds of adjacent keys.
+		assertEquals(Collections.emptyList(),
+				range(key -> key <= 60, key -> key >= 70));
+		// Below and above all keys.
+		assertEquals(Collections.emptyList(), range(key -> key < 1, key -> key > 9));
+		assertEquals(Collections.emptyList(),
+				range(key -> key < 101, key -> false));
+		// Lower bound above the upper bound.
+		assertEquals(Collections.emptyList(),
+				range(key -> key < 70, key -> key > 30));
+	}
+
+	@Test
+	public void testSearchModes() {
+		// The seek must return the same keys in the same order as filtering all
+		// keys through the search mode.
+		for (final SearchMode mode : SearchMode.values()) {
+			for (final long searchKey : Arrays.asList(5L, 10L, 45L, 50L, 100L, 105L)) {
+				final List<Long> expected = new ArrayList<>();
+				for (final long key : sorted(KEYS)) {
+					if (mode.compare(searchKey, key) == 0) {
+						expected.add(key);
+					}
+				}
+				final List<Long> keys = new ArrayList<>();
+				final Iterator<AVLNode<Long, NodeReferences>> iter = mReader.new AVLNodeRangeIterator(
+						searchKey, mode);
+				while (iter.hasNext()) {
+					keys.add(iter.next().getKey());
+				}
+				assertEquals(mode + " " + searchKey, expected, keys);
+			}
+		}
+	}
+
+	@Test
+	public void testGetAll() {
+		final Iterator<NodeReferences> iter = mReader.getAll(Arrays.asList(20L,
+				25L, 100L, 200L));
+		assertEquals(ImmutableSet.of(20L), iter.next().getNodeKeys());
+		assertEquals(ImmutableSet.of(100L), iter.next().getNodeKeys());
+		assertFalse(iter.hasNext());
+	}
+
+	private List<Long> range(final Predicate<Long> belowLow,
+			final Predicate<Long> aboveHigh) {
+		final List<Long> keys = new ArrayList<>();
+		final Iterator<Entry<Long, NodeReferences>> iter = mReader.range(belowLow,
+				aboveHigh);
+		while (iter.hasNext()) {
+			final Entry<Long, NodeReferences> entry = iter.next();
+			assertEquals(ImmutableSet.of(entry.getKey()), entry.getValue()
+					.getNodeKeys());
+			keys.add(entry.getKey());
+		}
+		return keys;
+	}
+
+	private static List<Long> sorted(final List<Long> keys) {
+		final List<Long> sorted = new ArrayList<>(keys);
+		Collections.sort(sorted);
+		return sorted;
+	}
+}
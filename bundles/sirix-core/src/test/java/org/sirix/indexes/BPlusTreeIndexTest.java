@@ -0,0 +1,119 @@
+package org.sirix.indexes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.util.path.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.access.IndexController;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.NodeWriteTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexDefs;
+import org.sirix.index.IndexStructure;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test CAS and name indexes, which are stored in B+-trees, from their creation
+ * to queries after the resource has been reopened.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class BPlusTreeIndexTest {
+
+	/** {@link Holder} reference. */
+	private Holder holder;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		holder = Holder.generateWtx();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testCreateCommitAndQuery() throws Exception {
+		final QNm a = new QNm("a");
+		final NodeWriteTrx wtx = holder.getWtx();
+		final Set<Long> elements = new HashSet<>();
+		final Set<Long> texts = new HashSet<>();
+		wtx.insertElementAsFirstChild(new QNm("r"));
+		elements.add(wtx.insertElementAsFirstChild(a).getNodeKey());
+		texts.add(wtx.insertTextAsFirstChild("x").getNodeKey());
+		wtx.moveToParent();
+		wtx.insertElementAsRightSibling(new QNm("b"));
+		wtx.insertTextAsFirstChild("x");
+		wtx.moveToParent();
+		elements.add(wtx.insertElementAsRightSibling(a).getNodeKey());
+		texts.add(wtx.insertTextAsFirstChild("x").getNodeKey());
+		wtx.moveToParent();
+
+		// Built from the stored nodes.
+		final IndexDef casDef = IndexDefs.createCASIdxDef(false,
+				Optional.absent(), ImmutableSet.of(Path.parse("//a")), 0)
+				.setStructure(IndexStructure.BPLUSTREE);
+		final IndexDef nameDef = IndexDefs.createSelectiveNameIdxDef(
+				ImmutableSet.of(a), 0).setStructure(IndexStructure.BPLUSTREE);
+		holder.getSession().getWtxIndexController(wtx.getRevisionNumber() - 1)
+				.createIndexes(ImmutableSet.of(casDef, nameDef), wtx);
+
+		// Maintained by the index listeners.
+		elements.add(wtx.insertElementAsRightSibling(a).getNodeKey());
+		texts.add(wtx.insertTextAsFirstChild("x").getNodeKey());
+		wtx.moveToParent();
+		wtx.insertElementAsRightSibling(a);
+		wtx.insertTextAsFirstChild("y");
+		wtx.commit();
+		holder.close();
+		TestHelper.closeEverything();
+
+		holder = Holder.generateRtx();
+		final NodeReadTrx rtx = holder.getRtx();
+		final IndexController controller = holder.getSession()
+				.getRtxIndexController(rtx.getRevisionNumber());
+
+		final IndexDef storedCASDef = controller.getIndexes().getIndexDef(0,
+				IndexType.CAS);
+		assertEquals(IndexStructure.BPLUSTREE, storedCASDef.getStructure());
+		final Str key = new Str("x");
+		assertEquals(texts, nodeKeys(controller.openCASIndex(rtx.getPageTrx(),
+				storedCASDef, SearchMode.EQUAL, controller.createCASFilter(
+						new String[] { "//a" }, rtx, key, SearchMode.EQUAL), key, true)));
+
+		final IndexDef storedNameDef = controller.getIndexes().getIndexDef(0,
+				IndexType.NAME);
+		assertEquals(IndexStructure.BPLUSTREE, storedNameDef.getStructure());
+		assertEquals(elements, nodeKeys(controller.openNameIndex(
+				rtx.getPageTrx(), storedNameDef,
+				controller.createNameFilter(new String[] { "a" }))));
+	}
+
+	private static Set<Long> nodeKeys(final Iterator<NodeReferences> references) {
+		final Set<Long> nodeKeys = new HashSet<>();
+		while (references.hasNext()) {
+			nodeKeys.addAll(references.next().getNodeKeys());
+		}
+		return nodeKeys;
+	}
+}
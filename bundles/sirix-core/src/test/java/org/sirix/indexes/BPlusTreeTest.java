@@ -0,0 +1,106 @@
+package org.sirix.indexes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.api.NodeWriteTrx;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeNode;
+import org.sirix.index.bplustree.BPlusTreeReader;
+import org.sirix.index.bplustree.BPlusTreeWriter;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the B+-tree implementation.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class BPlusTreeTest {
+
+	/** Number of keys, such that the tree has at least three levels. */
+	private static final int KEYS = BPlusTreeNode.MAX_ENTRIES
+			* BPlusTreeNode.MAX_ENTRIES;
+
+	/** {@link Holder} reference. */
+	private Holder holder;
+
+	@Before
+	public void setUp() throws SirixException {
+		TestHelper.deleteEverything();
+		holder = Holder.generateWtx();
+	}
+
+	@After
+	public void tearDown() throws SirixException {
+		holder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Test
+	public void testInsertAndSearch() throws SirixException {
+		final NodeWriteTrx wtx = holder.getWtx();
+		final BPlusTreeWriter<Long, NodeReferences> writer = BPlusTreeWriter
+				.getInstance(wtx.getPageTransaction(), IndexType.PATH, 0);
+		final List<Long> keys = new ArrayList<>(KEYS);
+		for (long i = 0; i < KEYS; i++) {
+			keys.add(i * 2);
+		}
+		Collections.shuffle(keys, new Random(42));
+		for (final long key : keys) {
+			writer.index(key, new NodeReferences().addNodeKey(key + 1),
+					MoveCursor.NO_MOVE);
+		}
+		check(writer.get(4L, SearchMode.EQUAL).get(), 5L);
+		assertFalse(writer.get(5L, SearchMode.EQUAL).isPresent());
+		assertTrue(writer.remove(4L, 5L));
+		assertTrue(writer.get(4L, SearchMode.EQUAL).get().getNodeKeys().isEmpty());
+		wtx.commit();
+
+		final PageReadTrx pageRtx = holder.getSession().beginPageReadTrx();
+		try {
+			final BPlusTreeReader<Long, NodeReferences> reader = BPlusTreeReader
+					.getInstance(pageRtx, IndexType.PATH, 0);
+			for (long i = 3; i < KEYS; i++) {
+				check(reader.get(i * 2, SearchMode.EQUAL).get(), i * 2 + 1);
+			}
+
+			// Range scan over [100, 200).
+			final Iterator<Entry<Long, NodeReferences>> range = reader.range(
+					key -> key < 100, key -> key >= 200);
+			long expected = 100;
+			while (range.hasNext()) {
+				final Entry<Long, NodeReferences> entry = range.next();
+				assertEquals(expected, entry.getKey().longValue());
+				check(entry.getValue(), expected + 1);
+				expected += 2;
+			}
+			assertEquals(200, expected);
+		} finally {
+			pageRtx.close();
+		}
+	}
+
+	private static void check(final NodeReferences references, final long nodeKey) {
+		assertEquals(ImmutableSet.of(nodeKey), references.getNodeKeys());
+	}
+}
@@ -0,0 +1,103 @@
+package org.sirix.indexes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.sirix.index.avltree.keyvalue.NodeKeyBitmap;
+
+/**
+ * Test the {@link NodeKeyBitmap}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class NodeKeyBitmapTest {
+
+	@Test
+	public void testAddRemove() {
+		final NodeKeyBitmap bitmap = new NodeKeyBitmap();
+		final TreeSet<Long> expected = new TreeSet<>();
+		final Random random = new Random(42);
+		// Dense chunk (bitmap container) and sparse chunks (array containers).
+		for (int i = 0; i < 20000; i++) {
+			final long nodeKey = random.nextBoolean() ? random.nextInt(1 << 16)
+					: random.nextInt(1 << 24);
+			assertEquals(expected.add(nodeKey), bitmap.add(nodeKey));
+		}
+		for (int i = 0; i < 10000; i++) {
+			final long nodeKey = random.nextInt(1 << 16);
+			assertEquals(expected.remove(nodeKey), bitmap.remove(nodeKey));
+		}
+		check(expected, bitmap);
+		for (final long nodeKey : expected) {
+			assertTrue(bitmap.contains(nodeKey));
+		}
+		assertFalse(bitmap.contains(1L << 40));
+	}
+
+	@Test
+	public void testSetOperations() {
+		final NodeKeyBitmap first = new NodeKeyBitmap();
+		final NodeKeyBitmap second = new NodeKeyBitmap();
+		final TreeSet<Long> firstKeys = new TreeSet<>();
+		final TreeSet<Long> secondKeys = new TreeSet<>();
+		for (long i = 0; i < 100000; i += 3) {
+			first.add(i);
+			firstKeys.add(i);
+		}
+		for (long i = 0; i < 200000; i += 7) {
+			second.add(i);
+			secondKeys.add(i);
+		}
+
+		final TreeSet<Long> union = new TreeSet<>(firstKeys);
+		union.addAll(secondKeys);
+		check(union, NodeKeyBitmap.or(first, second));
+
+		final TreeSet<Long> intersection = new TreeSet<>(firstKeys);
+		intersection.retainAll(secondKeys);
+		check(intersection, NodeKeyBitmap.and(first, second));
+
+		final TreeSet<Long> difference = new TreeSet<>(firstKeys);
+		difference.removeAll(secondKeys);
+		check(difference, NodeKeyBitmap.andNot(first, second));
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		final NodeKeyBitmap bitmap = new NodeKeyBitmap();
+		for (long i = 0; i < 70000; i += 2) {
+			bitmap.add(i);
+		}
+		bitmap.add(1L << 33);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bitmap.serialize(new DataOutputStream(out));
+		final NodeKeyBitmap deserialized = NodeKeyBitmap
+				.deserialize(new DataInputStream(new ByteArrayInputStream(out
+						.toByteArray())));
+		assertEquals(bitmap, deserialized);
+		assertEquals(bitmap.cardinality(), deserialized.cardinality());
+	}
+
+	private static void check(final TreeSet<Long> expected,
+			final NodeKeyBitmap bitmap) {
+		assertEquals(expected.size(), bitmap.cardinality());
+		final PrimitiveIterator.OfLong iter = bitmap.iterator();
+		for (final long nodeKey : expected) {
+			assertTrue(iter.hasNext());
+			assertEquals(nodeKey, iter.nextLong());
+		}
+		assertFalse(iter.hasNext());
+	}
+}
@@ -31,6 +31,7 @@ import static org.testng.AssertJUnit.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import org.sirix.TestHelper;
 import org.sirix.access.conf.DatabaseConfiguration;
@@ -41,9 +42,11 @@ import org.sirix.io.berkeley.BerkeleyStorage;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.io.chronicle.ChronicleStorage;
 import org.sirix.io.file.FileStorage;
+import org.sirix.io.memorymapped.MemoryMappedStorage;
 import org.sirix.io.ram.RAMStorage;
 import org.sirix.page.PageReference;
 import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
@@ -122,6 +125,36 @@ public final class StorageTest {
 		}
 	}
 
+	/**
+	 * Test method for {@link Reader#read(long[], org.sirix.api.PageReadTrx)}.
+	 * 
+	 * @throws SirixException
+	 *           if an I/O error occurs
+	 */
+	@Test(dataProvider = "instantiateStorages")
+	public void testReadPages(final Class<Storage> clazz,
+			final Storage[] storages) throws SirixException {
+		for (final Storage handler : storages) {
+			final Writer writer = handler.getWriter();
+			final PageReference[] references = new PageReference[3];
+			for (int i = 0; i < references.length; i++) {
+				references[i] = new PageReference();
+				references[i].setPage(new UberPage());
+				writer.write(references[i]);
+			}
+			final long[] keys = { references[2].getKey(), references[0].getKey(),
+					references[1].getKey() };
+			final List<Page> pages = writer.read(keys, null);
+			assertEquals(keys.length, pages.size());
+			for (final Page page : pages) {
+				assertEquals(new StringBuilder("Check for ").append(handler.getClass())
+						.append(" failed.").toString(), UberPage.class, page.getClass());
+			}
+			writer.close();
+			handler.close();
+		}
+	}
+
 	/**
 	 * Providing different implementations of the {@link ByteHandler} as
 	 * Dataprovider to the test class.
@@ -135,7 +168,9 @@ public final class StorageTest {
 		Object[][] returnVal = { {
 				Storage.class,
 				new Storage[] { // new ChronicleStorage(mResourceConfig),
-				new FileStorage(mResourceConfig), new BerkeleyStorage(mResourceConfig),
+				new FileStorage(mResourceConfig),
+						new MemoryMappedStorage(mResourceConfig),
+						new BerkeleyStorage(mResourceConfig),
 						new RAMStorage(mResourceConfig) } } };
 		return returnVal;
 	}
@@ -32,10 +32,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
+import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.exception.SirixException;
 import org.sirix.io.IOTestHelper;
 import org.sirix.io.StorageType;
+import org.sirix.io.SyncMode;
 
 public class FileTest {
 	private ResourceConfiguration resourceConf;
@@ -52,6 +54,23 @@ public class FileTest {
 		IOTestHelper.testReadWriteFirstRef(resourceConf);
 	}
 
+	@Test
+	public void testFirstRefCommitSync() throws SirixException {
+		IOTestHelper.testReadWriteFirstRef(syncedConf(SyncMode.COMMIT));
+	}
+
+	@Test
+	public void testFirstRefGroupCommitSync() throws SirixException {
+		IOTestHelper.testReadWriteFirstRef(syncedConf(SyncMode.GROUP_COMMIT));
+	}
+
+	private static ResourceConfiguration syncedConf(final SyncMode syncMode) {
+		final DatabaseConfiguration dbConf = new DatabaseConfiguration(
+				TestHelper.PATHS.PATH1.getFile()).setSyncMode(syncMode);
+		return new ResourceConfiguration.Builder(TestHelper.RESOURCE, dbConf)
+				.storageType(StorageType.FILE).build();
+	}
+
 	@After
 	public void tearDown() throws SirixException {
 		IOTestHelper.clean();
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.sirix.io.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link GroupCommitter}.
+ * 
+ * @author Johannes Lichtenberger
+ * 
+ */
+public class GroupCommitterTest {
+
+	/** Number of concurrently committing files. */
+	private static final int FILES = 8;
+
+	/** Number of commits per file. */
+	private static final int COMMITS = 50;
+
+	private final List<File> mFiles = new ArrayList<>();
+
+	private final List<RandomAccessFile> mRandomAccessFiles = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+		for (int i = 0; i < FILES; i++) {
+			final File file = File.createTempFile("groupcommit", ".data");
+			mFiles.add(file);
+			mRandomAccessFiles.add(new RandomAccessFile(file, "rw"));
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (final RandomAccessFile file : mRandomAccessFiles) {
+			file.close();
+		}
+		for (final File file : mFiles) {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testConcurrentForces() throws Exception {
+		final GroupCommitter committer = new GroupCommitter();
+		final ExecutorService pool = Executors.newFixedThreadPool(FILES);
+		final List<Future<Void>> futures = new ArrayList<>();
+		for (final RandomAccessFile file : mRandomAccessFiles) {
+			futures.add(pool.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					for (int i = 0; i < COMMITS; i++) {
+						file.writeLong(i);
+						committer.force(file.getChannel());
+					}
+					return null;
+				}
+			}));
+		}
+		for (final Future<Void> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		assertEquals(FILES * COMMITS, committer.getRequestCount());
+		assertTrue(committer.getFlushCount() <= committer.getRequestCount());
+		for (final File file : mFiles) {
+			assertEquals(COMMITS * 8, file.length());
+		}
+	}
+
+	@Test
+	public void testSameInstancePerDatabase() {
+		final File database = new File("database");
+		final GroupCommitter committer = GroupCommitter.getInstance(database);
+		assertTrue(committer == GroupCommitter.getInstance(database));
+		GroupCommitter.release(database);
+		assertTrue(committer != GroupCommitter.getInstance(database));
+		GroupCommitter.release(database);
+	}
+}
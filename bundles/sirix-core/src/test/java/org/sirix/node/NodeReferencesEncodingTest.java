@@ -0,0 +1,72 @@
+package org.sirix.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.sirix.node.Utils.putVarLong;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+
+/**
+ * Test the encodings of the {@link NodeReferences} of index records.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class NodeReferencesEncodingTest {
+
+	/** Referenced node keys. */
+	private static final Set<Long> NODE_KEYS = new HashSet<>(Arrays.asList(3L,
+			17L, 70000L, 1L << 40));
+
+	@Test
+	public void testBitmapEncoding() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Kind.serializeNodeReferences(new DataOutputStream(out), new NodeReferences(
+				NODE_KEYS));
+		assertEquals(new NodeReferences(NODE_KEYS), read(out, false));
+		assertEquals(new NodeReferences(NODE_KEYS), read(out, true));
+	}
+
+	@Test
+	public void testFormerEncoding() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final DataOutputStream sink = new DataOutputStream(out);
+		sink.writeInt(NODE_KEYS.size());
+		for (final long nodeKey : NODE_KEYS) {
+			sink.writeLong(nodeKey);
+		}
+		assertEquals(new NodeReferences(NODE_KEYS), read(out, false));
+	}
+
+	@Test
+	public void testFormerDeltaEncoding() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final DataOutputStream sink = new DataOutputStream(out);
+		final long[] nodeKeys = { 3L, 17L, 70000L, 1L << 40 };
+		sink.writeInt(nodeKeys.length);
+		putVarLong(sink, nodeKeys[0]);
+		for (int i = 1; i < nodeKeys.length; i++) {
+			putVarLong(sink, nodeKeys[i] - nodeKeys[i - 1]);
+		}
+		assertEquals(new NodeReferences(NODE_KEYS), read(out, true));
+	}
+
+	private NodeReferences read(final ByteArrayOutputStream out,
+			final boolean deltaEncoded) throws IOException {
+		final DataInputStream source = new DataInputStream(
+				new ByteArrayInputStream(out.toByteArray()));
+		final NodeReferences references = Kind.deserializeNodeReferences(source,
+				deltaEncoded);
+		assertEquals(0, source.available());
+		return references;
+	}
+}
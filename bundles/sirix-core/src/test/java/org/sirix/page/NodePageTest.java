@@ -28,6 +28,7 @@
 package org.sirix.page;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -35,6 +36,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.brackit.xquery.atomic.QNm;
@@ -51,6 +53,7 @@ import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.NameNode;
+import org.sirix.node.interfaces.Record;
 import org.sirix.utils.NamePageHash;
 
 import com.google.common.collect.HashBiMap;
@@ -130,4 +133,75 @@ public final class NodePageTest {
 		assertEquals(NamePageHash.generateHashForString("xs:untyped"),
 				element.getTypeKey());
 	}
+
+	@Test
+	public void testReserializeWithoutDeserialization() throws IOException {
+		final UnorderedKeyValuePage page1 = new UnorderedKeyValuePage(0L,
+				PageKind.RECORDPAGE, Optional.<PageReference> empty(), mPageReadTrx);
+		for (long key = 1; key < 4; key++) {
+			final NodeDelegate del = new NodeDelegate(key, 0, 0, 0,
+					Optional.of(SirixDeweyID.newRootID().getNewChildID(
+							(int) key * 2 + 1)));
+			final StructNodeDelegate strucDel = new StructNodeDelegate(del, -1l, -1l,
+					-1l, 0l, 0l);
+			final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+			page1.setEntry(key, new ElementNode(strucDel, nameDel,
+					new ArrayList<Long>(), HashBiMap.<Long, Long> create(),
+					new ArrayList<Long>(), new QNm("a", "b", "c")));
+		}
+
+		// Records of the deserialized page are not accessed before serializing
+		// it again.
+		final UnorderedKeyValuePage page2 = serializeDeserialize(page1);
+		assertEquals(3, page2.size());
+		final UnorderedKeyValuePage page3 = serializeDeserialize(page2);
+		assertEquals(3, page3.size());
+		final UnorderedKeyValuePage copy = new UnorderedKeyValuePage(page3,
+				mPageReadTrx);
+		for (long key = 1; key < 4; key++) {
+			assertEquals(key, page3.getValue(key).getNodeKey());
+			assertEquals(key, copy.getValue(key).getNodeKey());
+			assertEquals(7, ((NameNode) copy.getValue(key)).getLocalNameKey());
+		}
+	}
+
+	@Test
+	public void testEntriesInKeyOrder() throws IOException {
+		final UnorderedKeyValuePage page1 = new UnorderedKeyValuePage(1L,
+				PageKind.RECORDPAGE, Optional.<PageReference> empty(), mPageReadTrx);
+		final long[] keys = { 1023L, 512L, 700L };
+		for (final long key : keys) {
+			final NodeDelegate del = new NodeDelegate(key, 0, 0, 0,
+					Optional.<SirixDeweyID> empty());
+			final StructNodeDelegate strucDel = new StructNodeDelegate(del, -1l, -1l,
+					-1l, 0l, 0l);
+			final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+			page1.setEntry(key, new ElementNode(strucDel, nameDel,
+					new ArrayList<Long>(), HashBiMap.<Long, Long> create(),
+					new ArrayList<Long>(), new QNm("a", "b", "c")));
+		}
+		assertEquals(3, page1.size());
+		assertNull(page1.getValue(0L));
+		assertNull(page1.getValue(701L));
+		assertNull(page1.getValue(1024L));
+
+		final UnorderedKeyValuePage page2 = serializeDeserialize(page1);
+		assertEquals(3, page2.entrySet().size());
+		final long[] expectedKeys = { 512L, 700L, 1023L };
+		int i = 0;
+		for (final Entry<Long, Record> entry : page2.entrySet()) {
+			assertEquals(expectedKeys[i++], entry.getKey().longValue());
+			assertEquals(entry.getKey().longValue(), entry.getValue().getNodeKey());
+		}
+		assertEquals(3, i);
+	}
+
+	private UnorderedKeyValuePage serializeDeserialize(
+			final UnorderedKeyValuePage page) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PagePersistenter.serializePage(new DataOutputStream(out), page);
+		return (UnorderedKeyValuePage) PagePersistenter.deserializePage(
+				new DataInputStream(new ByteArrayInputStream(out.toByteArray())),
+				mPageReadTrx);
+	}
 }
@@ -76,6 +76,26 @@ public class XMLSerializerTest {
 		session.close();
 	}
 
+	@Test
+	public void testParallelSerializer() throws Exception {
+		final Database database = TestHelper.getDatabase(PATHS.PATH1.getFile());
+		final Session session = database
+				.getSession(new SessionConfiguration.Builder(TestHelper.RESOURCE)
+						.build());
+		final NodeWriteTrx wtx = session.beginNodeWriteTrx();
+		DocumentCreater.create(wtx);
+		wtx.commit();
+		wtx.close();
+
+		// Generate from this session.
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XMLSerializer serializer = new XMLSerializerBuilder(session, out)
+				.emitXMLDeclaration().parallel(1).build();
+		serializer.call();
+		assertEquals(DocumentCreater.XML, out.toString());
+		session.close();
+	}
+
 	@Test
 	public void testRestSerializer() throws Exception {
 		final Database database = TestHelper.getDatabase(PATHS.PATH1.getFile());
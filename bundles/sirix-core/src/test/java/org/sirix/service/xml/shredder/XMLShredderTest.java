@@ -122,6 +122,49 @@ public class XMLShredderTest extends XMLTestCase {
 		expectedTrx.close();
 	}
 
+	@Test
+	public void testBulkLoad() throws Exception {
+		// Setup expected session.
+		final NodeWriteTrx expectedTrx = holder.getWtx();
+		final XMLShredder expectedShredder = new XMLShredder.Builder(expectedTrx,
+				XMLShredder.createFileReader(new File(XML)), Insert.ASFIRSTCHILD)
+				.includeComments(true).commitAfterwards().build();
+		expectedShredder.call();
+
+		// Setup bulk loaded session.
+		final Database database2 = TestHelper.getDatabase(PATHS.PATH2.getFile());
+		final Session session2 = database2
+				.getSession(new SessionConfiguration.Builder(TestHelper.RESOURCE)
+						.build());
+		final NodeWriteTrx wtx = session2.beginNodeWriteTrx();
+		final XMLShredder shredder = new XMLShredder.Builder(wtx,
+				XMLShredder.createFileReader(new File(XML)), Insert.ASFIRSTCHILD)
+				.includeComments(true).bulkLoad().commitAfterwards().build();
+		shredder.call();
+
+		// Verify.
+		expectedTrx.moveToDocumentRoot();
+		wtx.moveToDocumentRoot();
+		assertEquals(expectedTrx.getDescendantCount(), wtx.getDescendantCount());
+		final Iterator<Long> expectedDescendants = new DescendantAxis(expectedTrx);
+		final Iterator<Long> descendants = new DescendantAxis(wtx);
+		while (expectedDescendants.hasNext()) {
+			expectedDescendants.next();
+			assertTrue(descendants.hasNext());
+			descendants.next();
+			assertEquals(expectedTrx.getKind(), wtx.getKind());
+			assertEquals(expectedTrx.getName(), wtx.getName());
+			assertEquals(expectedTrx.getValue(), wtx.getValue());
+			assertEquals(expectedTrx.getChildCount(), wtx.getChildCount());
+			assertEquals(expectedTrx.getDescendantCount(), wtx.getDescendantCount());
+			assertEquals(expectedTrx.getHash(), wtx.getHash());
+		}
+		assertFalse(descendants.hasNext());
+
+		wtx.close();
+		session2.close();
+	}
+
 	@Test
 	public void testShredIntoExisting() throws Exception {
 		final NodeWriteTrx wtx = holder.getWtx();
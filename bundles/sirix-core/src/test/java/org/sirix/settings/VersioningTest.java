@@ -30,6 +30,12 @@ package org.sirix.settings;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -43,8 +49,14 @@ import org.sirix.access.conf.SessionConfiguration;
 import org.sirix.api.Database;
 import org.sirix.api.NodeReadTrx;
 import org.sirix.api.NodeWriteTrx;
+import org.sirix.api.PageReadTrx;
 import org.sirix.api.Session;
 import org.sirix.exception.SirixException;
+import org.sirix.node.Kind;
+import org.sirix.node.NodePersistenterImpl;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.node.interfaces.NodePersistenter;
+import org.sirix.node.interfaces.Record;
 
 /** Test revisioning. */
 public class VersioningTest {
@@ -164,6 +176,44 @@ public class VersioningTest {
 		test2();
 	}
 
+	@Test
+	public void testSlidingSnapshotDeserializesAccessedRecordsOnly()
+			throws SirixException {
+		mDatabase.createResource(new ResourceConfiguration.Builder(
+				TestHelper.RESOURCE, mDatabase.getDatabaseConfig())
+				.versioningApproach(Versioning.SLIDING_SNAPSHOT)
+				.hashKind(HashKind.NONE).revisionsToRestore(3)
+				.persistenter(new CountingPersistenter()).build());
+		try (final Session session = mDatabase
+				.getSession(new SessionConfiguration.Builder(TestHelper.RESOURCE)
+						.build())) {
+			try (final NodeWriteTrx wtx = session.beginNodeWriteTrx()) {
+				for (int i = 0; i < Constants.NDP_NODE_COUNT - 1; i++) {
+					wtx.insertElementAsFirstChild(new QNm("foo"));
+				}
+				wtx.commit();
+				wtx.moveTo(1);
+				wtx.setName(new QNm("bar"));
+				wtx.commit();
+				wtx.moveTo(2);
+				wtx.setName(new QNm("baz"));
+				wtx.commit();
+			}
+			try (final NodeReadTrx rtx = session.beginNodeReadTrx()) {
+				// The record page is reconstructed from three fragments, but only the
+				// accessed records are deserialized.
+				CountingPersistenter.COUNT.set(0);
+				assertTrue(rtx.moveTo(2).hasMoved());
+				assertEquals(new QNm("baz"), rtx.getName());
+				assertTrue(rtx.moveTo(1).hasMoved());
+				assertEquals(new QNm("bar"), rtx.getName());
+				assertTrue(rtx.moveTo(Constants.NDP_NODE_COUNT - 1).hasMoved());
+				assertEquals(new QNm("foo"), rtx.getName());
+				assertTrue(CountingPersistenter.COUNT.get() < 10);
+			}
+		}
+	}
+
 	/**
 	 * Test revisioning.
 	 * 
@@ -364,6 +414,45 @@ public class VersioningTest {
 		}
 	}
 
+	/** Persistenter, which counts the deserialized records. */
+	public static final class CountingPersistenter implements NodePersistenter {
+		/** Number of deserialized records. */
+		static final AtomicInteger COUNT = new AtomicInteger();
+
+		/** The actual persistenter. */
+		private final NodePersistenter mDelegate = new NodePersistenterImpl();
+
+		@Override
+		public Record deserialize(final DataInput source, final long recordID,
+				final Optional<SirixDeweyID> deweyID, final PageReadTrx pageReadTrx)
+				throws IOException {
+			COUNT.incrementAndGet();
+			return mDelegate.deserialize(source, recordID, deweyID, pageReadTrx);
+		}
+
+		@Override
+		public void serialize(final DataOutput sink, final Record record,
+				final PageReadTrx pageReadTrx) throws IOException {
+			mDelegate.serialize(sink, record, pageReadTrx);
+		}
+
+		@Override
+		public Optional<SirixDeweyID> deserializeDeweyID(final DataInput source,
+				final Optional<SirixDeweyID> previousDeweyID,
+				final PageReadTrx pageReadTrx) throws IOException {
+			return mDelegate.deserializeDeweyID(source, previousDeweyID,
+					pageReadTrx);
+		}
+
+		@Override
+		public void serializeDeweyID(final DataOutput sink, final Kind nodeKind,
+				final SirixDeweyID deweyID, final Optional<SirixDeweyID> nextDeweyID,
+				final PageReadTrx pageReadTrx) throws IOException {
+			mDelegate.serializeDeweyID(sink, nodeKind, deweyID, nextDeweyID,
+					pageReadTrx);
+		}
+	}
+
 	// // @Test(expected = AssertionError.class)
 	// @Test
 	// public void testFulldumpCombinePages() {
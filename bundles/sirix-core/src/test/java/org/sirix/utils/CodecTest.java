@@ -0,0 +1,50 @@
+package org.sirix.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sirix.settings.Constants;
+
+/**
+ * Test the {@link Codec}s.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class CodecTest {
+
+	private static final byte[] VALUE = "foo bar baz foo bar baz foo bar baz"
+			.getBytes(Constants.DEFAULT_ENCODING);
+
+	@Test
+	public void testRoundTrip() {
+		for (final Codec codec : Codec.values()) {
+			assertArrayEquals(VALUE, codec.decompress(codec.compress(VALUE)));
+			assertEquals(codec, Codec.getCodec(codec.getId()));
+		}
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final List<Future<byte[]>> results = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			final byte[] value = (i + " foo bar baz foo bar baz")
+					.getBytes(Constants.DEFAULT_ENCODING);
+			results.add(executor.submit(() -> Codec.DEFLATE.decompress(Codec.DEFLATE
+					.compress(value))));
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertArrayEquals((i + " foo bar baz foo bar baz")
+					.getBytes(Constants.DEFAULT_ENCODING), results.get(i).get());
+		}
+		executor.shutdown();
+	}
+}
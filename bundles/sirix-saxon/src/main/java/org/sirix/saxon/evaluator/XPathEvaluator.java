@@ -138,7 +138,10 @@ public final class XPathEvaluator implements Callable<XPathSelector> {
 	public XPathSelector call() throws Exception {
 		final Processor proc = new Processor(false);
 		final Configuration config = proc.getUnderlyingConfiguration();
-		final NodeInfo doc = new DocumentWrapper(mSession, mRevision, config);
+		// The selector is evaluated lazily after the call returns, thus the wrapper
+		// can't be closed and mustn't keep pooled read transactions.
+		final NodeInfo doc = new DocumentWrapper(mSession, mRevision, config,
+				false);
 		final XPathCompiler xpath = proc.newXPathCompiler();
 		final DocumentBuilder builder = proc.newDocumentBuilder();
 		final XdmItem item = builder.wrap(doc);
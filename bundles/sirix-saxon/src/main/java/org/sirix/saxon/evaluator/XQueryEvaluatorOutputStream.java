@@ -35,7 +35,6 @@ import java.util.concurrent.Callable;
 import javax.annotation.Nullable;
 
 import net.sf.saxon.Configuration;
-import net.sf.saxon.om.NodeInfo;
 import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SaxonApiException;
 import net.sf.saxon.s9api.Serializer;
@@ -118,21 +117,23 @@ public final class XQueryEvaluatorOutputStream implements Callable<Void> {
 		try {
 			final Processor proc = new Processor(false);
 			final Configuration config = proc.getUnderlyingConfiguration();
-			final NodeInfo doc = new DocumentWrapper(mSession, config);
-			final XQueryCompiler comp = proc.newXQueryCompiler();
-			final XQueryExecutable exp = comp.compile(mExpression);
-
-			if (mSerializer == null) {
-				final Serializer out = new Serializer();
-				out.setOutputProperty(Serializer.Property.METHOD, "xml");
-				out.setOutputProperty(Serializer.Property.OMIT_XML_DECLARATION, "yes");
-				out.setOutputStream(mOut);
-				mSerializer = out;
+			try (final DocumentWrapper doc = new DocumentWrapper(mSession, config)) {
+				final XQueryCompiler comp = proc.newXQueryCompiler();
+				final XQueryExecutable exp = comp.compile(mExpression);
+
+				if (mSerializer == null) {
+					final Serializer out = new Serializer();
+					out.setOutputProperty(Serializer.Property.METHOD, "xml");
+					out.setOutputProperty(Serializer.Property.OMIT_XML_DECLARATION,
+							"yes");
+					out.setOutputStream(mOut);
+					mSerializer = out;
+				}
+
+				final net.sf.saxon.s9api.XQueryEvaluator exe = exp.load();
+				exe.setSource(doc);
+				exe.run(mSerializer);
 			}
-
-			final net.sf.saxon.s9api.XQueryEvaluator exe = exp.load();
-			exe.setSource(doc);
-			exe.run(mSerializer);
 			return null;
 		} catch (final SaxonApiException e) {
 			LOGGER.error("Saxon Exception: " + e.getMessage(), e);
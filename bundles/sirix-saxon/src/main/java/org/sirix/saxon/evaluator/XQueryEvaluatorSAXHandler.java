@@ -32,7 +32,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.concurrent.Callable;
 
 import net.sf.saxon.Configuration;
-import net.sf.saxon.om.NodeInfo;
 import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SAXDestination;
 import net.sf.saxon.s9api.SaxonApiException;
@@ -94,12 +93,13 @@ public final class XQueryEvaluatorSAXHandler implements Callable<Void> {
 		try {
 			final Processor proc = new Processor(false);
 			final Configuration config = proc.getUnderlyingConfiguration();
-			final NodeInfo doc = new DocumentWrapper(mSession, config);
-			final XQueryCompiler comp = proc.newXQueryCompiler();
-			final XQueryExecutable exp = comp.compile(mExpression);
-			final net.sf.saxon.s9api.XQueryEvaluator exe = exp.load();
-			exe.setSource(doc);
-			exe.run(new SAXDestination(mHandler));
+			try (final DocumentWrapper doc = new DocumentWrapper(mSession, config)) {
+				final XQueryCompiler comp = proc.newXQueryCompiler();
+				final XQueryExecutable exp = comp.compile(mExpression);
+				final net.sf.saxon.s9api.XQueryEvaluator exe = exp.load();
+				exe.setSource(doc);
+				exe.run(new SAXDestination(mHandler));
+			}
 			return null;
 		} catch (final SaxonApiException e) {
 			LOGGER.error("Saxon Exception: " + e.getMessage(), e);
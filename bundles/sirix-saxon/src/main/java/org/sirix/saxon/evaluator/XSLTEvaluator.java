@@ -36,8 +36,6 @@ import java.util.concurrent.Callable;
 import javax.annotation.Nullable;
 import javax.xml.transform.stream.StreamSource;
 
-import net.sf.saxon.Configuration;
-import net.sf.saxon.om.NodeInfo;
 import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SaxonApiException;
 import net.sf.saxon.s9api.Serializer;
@@ -129,9 +127,8 @@ public final class XSLTEvaluator implements Callable<OutputStream> {
 		XsltExecutable exp;
 		XdmNode source;
 
-		try {
-			final Configuration config = proc.getUnderlyingConfiguration();
-			final NodeInfo doc = new DocumentWrapper(mSession, config);
+		try (final DocumentWrapper doc = new DocumentWrapper(mSession,
+				proc.getUnderlyingConfiguration())) {
 			exp = comp.compile(new StreamSource(mStylesheet));
 			source = proc.newDocumentBuilder().build(doc);
 
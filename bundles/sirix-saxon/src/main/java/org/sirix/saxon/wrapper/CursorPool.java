@@ -0,0 +1,128 @@
+package org.sirix.saxon.wrapper;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.NodeReadTrx;
+import org.sirix.api.Session;
+
+/**
+ * Pool of {@link NodeReadTrx}s of a single revision, which the wrappers of a
+ * document borrow instead of opening and closing a transaction on every call.
+ * Idle transactions are kept per thread, such that borrowing and returning
+ * doesn't need any synchronization. A pool with no idle transactions per thread
+ * opens a new transaction for every borrow and closes it on return.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class CursorPool implements AutoCloseable {
+
+	/** Sirix {@link Session}. */
+	private final Session mSession;
+
+	/** The revision to open. */
+	private final int mRevision;
+
+	/** Maximum number of idle transactions per thread. */
+	private final int mMaxIdle;
+
+	/** Idle transactions of the current thread. */
+	private final ThreadLocal<Deque<NodeReadTrx>> mThreadIdle;
+
+	/**
+	 * Idle transactions of all threads. A transaction must be removed from this
+	 * set before it is used or closed, which resolves races with {@link #close()}.
+	 */
+	private final Set<NodeReadTrx> mIdle;
+
+	/** Determines if the pool has been closed. */
+	private volatile boolean mClosed;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param session
+	 *          Sirix {@link Session}
+	 * @param revision
+	 *          the revision to open
+	 * @param maxIdle
+	 *          maximum number of idle transactions per thread
+	 */
+	CursorPool(final Session session, final @Nonnegative int revision,
+			final @Nonnegative int maxIdle) {
+		checkArgument(maxIdle >= 0, "maxIdle must be >= 0!");
+		mSession = checkNotNull(session);
+		mRevision = revision;
+		mMaxIdle = maxIdle;
+		mThreadIdle = ThreadLocal.withInitial(ArrayDeque::new);
+		mIdle = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * Borrow a transaction, which is moved to a node.
+	 *
+	 * @param nodeKey
+	 *          the key of the node to move to
+	 * @return the transaction
+	 */
+	NodeReadTrx acquire(final long nodeKey) {
+		final Deque<NodeReadTrx> idle = mThreadIdle.get();
+		NodeReadTrx rtx = null;
+		while (rtx == null && !idle.isEmpty()) {
+			final NodeReadTrx candidate = idle.pop();
+			if (mIdle.remove(candidate)) {
+				rtx = candidate;
+			}
+		}
+		if (rtx == null) {
+			rtx = mSession.beginNodeReadTrx(mRevision);
+		}
+		rtx.moveTo(nodeKey);
+		return rtx;
+	}
+
+	/**
+	 * Return a borrowed transaction, which must not be used afterwards.
+	 *
+	 * @param rtx
+	 *          the transaction
+	 */
+	void release(final NodeReadTrx rtx) {
+		if (rtx.isClosed() || mIdle.contains(rtx)) {
+			return;
+		}
+		final Deque<NodeReadTrx> idle = mThreadIdle.get();
+		if (mClosed || idle.size() >= mMaxIdle) {
+			rtx.close();
+		} else {
+			idle.push(rtx);
+			mIdle.add(rtx);
+			if (mClosed && mIdle.remove(rtx)) {
+				// Closed concurrently.
+				rtx.close();
+			}
+		}
+	}
+
+	/**
+	 * Close all idle transactions. Transactions, which are returned afterwards,
+	 * are closed immediately.
+	 */
+	@Override
+	public void close() {
+		mClosed = true;
+		for (final NodeReadTrx rtx : mIdle) {
+			if (mIdle.remove(rtx)) {
+				rtx.close();
+			}
+		}
+	}
+}
@@ -32,6 +32,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Optional;
 
 import javax.annotation.Nonnegative;
 
@@ -54,8 +55,9 @@ import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
 import org.sirix.exception.SirixException;
 import org.sirix.node.Kind;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * <h1>DocumentWrapper</h1>
@@ -66,15 +68,27 @@ import org.slf4j.LoggerFactory;
  * Saxon's internal node implementation. Thus it extends <tt>NodeWrapper</tt>.
  * </p>
  * 
+ * <p>
+ * Unless disabled, the wrappers of a document share pooled read transactions
+ * per thread instead of opening a transaction on every call and cache the
+ * string values of small subtrees. The pooled transactions are closed by
+ * {@link #close()}.
+ * </p>
+ * 
  * @author Johannes Lichtenberger, University of Konstanz
  * @author Sebastian Graf, University of Konstanz
  * 
  */
-public final class DocumentWrapper implements DocumentInfo {
+public final class DocumentWrapper implements DocumentInfo, AutoCloseable {
+
+	/** Maximum number of idle pooled read transactions per thread. */
+	private static final int MAX_IDLE_CURSORS = 4;
+
+	/** Maximum number of descendants of a node to cache its string value. */
+	private static final long MAX_CACHED_DESCENDANTS = 64;
 
-	/** {@link LogWrapper} instance. */
-	private static final LogWrapper LOGWRAPPER = new LogWrapper(
-			LoggerFactory.getLogger(DocumentWrapper.class));
+	/** Maximum number of cached string values. */
+	private static final long MAX_CACHED_STRING_VALUES = 10_000;
 
 	/** sirix database. */
 	final Session mSession;
@@ -82,6 +96,12 @@ public final class DocumentWrapper implements DocumentInfo {
 	/** The revision. */
 	final int mRevision;
 
+	/** Pool of read transactions used by the wrappers of the document. */
+	final CursorPool mCursors;
+
+	/** String values of small subtrees (absent, if caching is disabled). */
+	private final Optional<Cache<Long, String>> mStringValues;
+
 	/** Base URI of the document. */
 	String mBaseURI;
 
@@ -105,20 +125,48 @@ public final class DocumentWrapper implements DocumentInfo {
 	 *          the revision to open
 	 * @param config
 	 *          Saxon {@link Configuration} instance
+	 * @param pooled
+	 *          determines if the wrappers share pooled read transactions and
+	 *          cache string values or if they open a read transaction on every
+	 *          call
 	 * @throws SirixException
 	 *           if sirix encounters an error
 	 */
 	public DocumentWrapper(final Session session,
-			@Nonnegative final int revision, final Configuration config)
-			throws SirixException {
+			@Nonnegative final int revision, final Configuration config,
+			final boolean pooled) throws SirixException {
 		checkArgument(revision >= 0, "revision must be >= 0!");
 		mSession = checkNotNull(session);
 		mRevision = revision;
 		mBaseURI = session.getResourceConfig().getResource().getAbsolutePath();
 		mConfig = checkNotNull(config);
+		mCursors = new CursorPool(session, revision, pooled ? MAX_IDLE_CURSORS
+				: 0);
+		mStringValues = pooled ? Optional.of(CacheBuilder.newBuilder()
+				.maximumSize(MAX_CACHED_STRING_VALUES).<Long, String> build())
+				: Optional.<Cache<Long, String>> empty();
 		mNodeWrapper = new NodeWrapper(this, 0);
 	}
 
+	/**
+	 * Wrap a sirix document, whereas the wrappers share pooled read
+	 * transactions.
+	 * 
+	 * @param session
+	 *          sirix {@link Session}
+	 * @param revision
+	 *          the revision to open
+	 * @param config
+	 *          Saxon {@link Configuration} instance
+	 * @throws SirixException
+	 *           if sirix encounters an error
+	 */
+	public DocumentWrapper(final Session session,
+			@Nonnegative final int revision, final Configuration config)
+			throws SirixException {
+		this(session, revision, config, true);
+	}
+
 	/**
 	 * Wrap a sirix document.
 	 * 
@@ -151,8 +199,8 @@ public final class DocumentWrapper implements DocumentInfo {
 
 	@Override
 	public NodeInfo selectID(final String ID, final boolean getParent) {
+		final NodeReadTrx rtx = mCursors.acquire(0);
 		try {
-			final NodeReadTrx rtx = mSession.beginNodeReadTrx();
 			final Axis axis = new DescendantAxis(rtx, IncludeSelf.YES);
 			while (axis.hasNext()) {
 				if (rtx.getKind() == Kind.ELEMENT) {
@@ -169,7 +217,7 @@ public final class DocumentWrapper implements DocumentInfo {
 								if (getParent) {
 									rtx.moveToParent();
 								}
-								return new NodeWrapper(this, rtx.getNodeKey());
+								return new NodeWrapper(this, rtx);
 							}
 							rtx.moveTo(nodeKey);
 						}
@@ -177,9 +225,8 @@ public final class DocumentWrapper implements DocumentInfo {
 				}
 				axis.next();
 			}
-			rtx.close();
-		} catch (final SirixException e) {
-			LOGWRAPPER.error(e.getMessage(), e);
+		} finally {
+			mCursors.release(rtx);
 		}
 		return null;
 	}
@@ -397,4 +444,56 @@ public final class DocumentWrapper implements DocumentInfo {
 	public NodeWrapper getNodeWrapper() {
 		return mNodeWrapper;
 	}
+
+	/**
+	 * Determines if the string value of a node is cached.
+	 * 
+	 * @param descendantCount
+	 *          the number of descendants of the node
+	 * @return {@code true} if string values are cached and the subtree is small
+	 *         enough, {@code false} otherwise
+	 */
+	boolean isStringValueCacheable(final long descendantCount) {
+		return mStringValues.isPresent()
+				&& descendantCount <= MAX_CACHED_DESCENDANTS;
+	}
+
+	/**
+	 * Get the cached string value of a node.
+	 * 
+	 * @param nodeKey
+	 *          the key of the node
+	 * @return the string value or {@code null} if it isn't cached
+	 */
+	String getCachedStringValue(final long nodeKey) {
+		return mStringValues.isPresent() ? mStringValues.get().getIfPresent(
+				nodeKey) : null;
+	}
+
+	/**
+	 * Cache the string value of a node.
+	 * 
+	 * @param nodeKey
+	 *          the key of the node
+	 * @param value
+	 *          the string value
+	 */
+	void cacheStringValue(final long nodeKey, final String value) {
+		if (mStringValues.isPresent()) {
+			mStringValues.get().put(nodeKey, value);
+		}
+	}
+
+	/**
+	 * Close the pooled read transactions and clear the cached string values.
+	 * Wrappers of the document remain usable, but open a read transaction on
+	 * every call afterwards.
+	 */
+	@Override
+	public void close() {
+		mCursors.close();
+		if (mStringValues.isPresent()) {
+			mStringValues.get().invalidateAll();
+		}
+	}
 }
@@ -118,9 +118,6 @@ public final class NodeWrapper implements SiblingCountingNode {
 	/** QNm of current node. */
 	private final QNm mQName;
 
-	/** The revision to open. */
-	private final int mRevision;
-
 	/**
 	 * A node in the XML parse tree. Wrap a sirix node.
 	 * 
@@ -132,21 +129,46 @@ public final class NodeWrapper implements SiblingCountingNode {
 	 */
 	NodeWrapper(final DocumentWrapper docWrapper,
 			final long nodeKeyToStart) throws SirixException {
-		mDocWrapper = checkNotNull(docWrapper);
 		checkArgument(nodeKeyToStart >= 0, "nodeKeyToStart must be >= 0!");
-		final NodeReadTrx rtx = mDocWrapper.mSession
-				.beginNodeReadTrx(docWrapper.mRevision);
-		rtx.moveTo(nodeKeyToStart);
+		mDocWrapper = checkNotNull(docWrapper);
+		final NodeReadTrx rtx = docWrapper.mCursors.acquire(nodeKeyToStart);
+		try {
+			mNodeKind = rtx.getKind();
+			mKey = rtx.getNodeKey();
+			mQName = name(rtx, mNodeKind);
+		} finally {
+			docWrapper.mCursors.release(rtx);
+		}
+	}
+
+	/**
+	 * Wrap the node a transaction currently is located at.
+	 * 
+	 * @param docWrapper
+	 *          the document wrapper
+	 * @param rtx
+	 *          transaction located at the node to wrap, which is not moved
+	 */
+	NodeWrapper(final DocumentWrapper docWrapper, final NodeReadTrx rtx) {
+		mDocWrapper = checkNotNull(docWrapper);
 		mNodeKind = rtx.getKind();
 		mKey = rtx.getNodeKey();
-		mRevision = docWrapper.mRevision;
+		mQName = name(rtx, mNodeKind);
+	}
 
-		if (mNodeKind == Kind.ELEMENT || mNodeKind == Kind.ATTRIBUTE) {
-			mQName = rtx.getName();
-		} else {
-			mQName = null;
-		}
-		rtx.close();
+	/**
+	 * Get the name of an element or attribute.
+	 * 
+	 * @param rtx
+	 *          transaction located at the node
+	 * @param kind
+	 *          the kind of the node
+	 * @return the name or {@code null} if the node is neither an element nor an
+	 *         attribute
+	 */
+	private static QNm name(final NodeReadTrx rtx, final Kind kind) {
+		return kind == Kind.ELEMENT || kind == Kind.ATTRIBUTE ? rtx.getName()
+				: null;
 	}
 
 	@Override
@@ -245,8 +267,8 @@ public final class NodeWrapper implements SiblingCountingNode {
 	public int[] getDeclaredNamespaces(final int[] buffer) {
 		int[] retVal = null;
 		if (mNodeKind == Kind.ELEMENT) {
+			final NodeReadTrx rtx = createRtxAndMove();
 			try {
-				final NodeReadTrx rtx = createRtxAndMove();
 				final int count = rtx.getNamespaceCount();
 
 				if (count == 0) {
@@ -256,18 +278,13 @@ public final class NodeWrapper implements SiblingCountingNode {
 							: buffer);
 					final NamePool pool = getNamePool();
 					int n = 0;
-					try {
-						for (int i = 0; i < count; i++) {
-							rtx.moveTo(i);
-							final String prefix = getPrefix();
-							final String uri = getURI();
-							rtx.moveTo(mKey);
-
-							retVal[n++] = pool.allocateNamespaceCode(prefix, uri);
-						}
-						rtx.close();
-					} catch (final SirixException exc) {
-						LOGGER.error(exc.toString());
+					for (int i = 0; i < count; i++) {
+						rtx.moveTo(i);
+						final String prefix = getPrefix();
+						final String uri = getURI();
+						rtx.moveTo(mKey);
+
+						retVal[n++] = pool.allocateNamespaceCode(prefix, uri);
 					}
 					/*
 					 * If the supplied array is larger than required, then the first
@@ -277,8 +294,8 @@ public final class NodeWrapper implements SiblingCountingNode {
 						retVal[count] = -1;
 					}
 				}
-			} catch (final SirixException e) {
-				throw new IllegalStateException(e.getCause());
+			} finally {
+				releaseRtx(rtx);
 			}
 		}
 
@@ -382,20 +399,17 @@ public final class NodeWrapper implements SiblingCountingNode {
 
 	@Override
 	public NodeInfo getParent() {
+		final NodeReadTrx rtx = createRtxAndMove();
 		try {
 			NodeInfo parent = null;
-			final NodeReadTrx rtx = createRtxAndMove();
 			if (rtx.hasParent()) {
-				// Parent transaction.
-				parent = new NodeWrapper(mDocWrapper, rtx.getParentKey());
+				rtx.moveToParent();
+				parent = new NodeWrapper(mDocWrapper, rtx);
 			}
-			rtx.close();
 			return parent;
-		} catch (final SirixException e) {
-			LOGGER.error(e.getMessage(), e);
-			return null;
+		} finally {
+			releaseRtx(rtx);
 		}
-
 	}
 
 	@Override
@@ -433,14 +447,25 @@ public final class NodeWrapper implements SiblingCountingNode {
 
 	@Override
 	public final CharSequence getStringValueCS() {
+		if (mNodeKind == Kind.DOCUMENT || mNodeKind == Kind.ELEMENT) {
+			final String cached = mDocWrapper.getCachedStringValue(mKey);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
 		String value = "";
+		final NodeReadTrx rtx = createRtxAndMove();
 		try {
-			final NodeReadTrx rtx = createRtxAndMove();
-
 			switch (mNodeKind) {
 			case DOCUMENT:
 			case ELEMENT:
-				value = expandString();
+				final boolean cache = mDocWrapper.isStringValueCacheable(rtx
+						.getDescendantCount());
+				value = expandString(rtx);
+				if (cache) {
+					mDocWrapper.cacheStringValue(mKey, value);
+				}
 				break;
 			case ATTRIBUTE:
 				value = emptyIfNull(rtx.getValue());
@@ -455,10 +480,8 @@ public final class NodeWrapper implements SiblingCountingNode {
 			default:
 				value = "";
 			}
-
-			rtx.close();
-		} catch (final SirixException exc) {
-			LOGGER.error(exc.toString());
+		} finally {
+			releaseRtx(rtx);
 		}
 
 		return value;
@@ -467,22 +490,18 @@ public final class NodeWrapper implements SiblingCountingNode {
 	/**
 	 * Filter text nodes.
 	 * 
+	 * @param rtx
+	 *          transaction located at the node, which is moved
 	 * @return concatenated String of text node values
 	 */
-	private String expandString() {
+	private static String expandString(final NodeReadTrx rtx) {
 		final FastStringBuffer fsb = new FastStringBuffer(FastStringBuffer.SMALL);
-		try {
-			final NodeReadTrx rtx = createRtxAndMove();
-			final FilterAxis axis = new FilterAxis(new DescendantAxis(rtx),
-					new TextFilter(rtx));
+		final FilterAxis axis = new FilterAxis(new DescendantAxis(rtx),
+				new TextFilter(rtx));
 
-			while (axis.hasNext()) {
-				axis.next();
-				fsb.append(rtx.getValue());
-			}
-			rtx.close();
-		} catch (final SirixException exc) {
-			LOGGER.error(exc.toString());
+		while (axis.hasNext()) {
+			axis.next();
+			fsb.append(rtx.getValue());
 		}
 		return fsb.condense().toString();
 	}
@@ -529,17 +548,12 @@ public final class NodeWrapper implements SiblingCountingNode {
 
 	@Override
 	public boolean hasChildNodes() {
-		boolean hasChildNodes = false;
+		final NodeReadTrx rtx = createRtxAndMove();
 		try {
-			final NodeReadTrx rtx = createRtxAndMove();
-			if (rtx.getChildCount() > 0) {
-				hasChildNodes = true;
-			}
-			rtx.close();
-		} catch (final SirixException exc) {
-			LOGGER.error(exc.toString());
+			return rtx.getChildCount() > 0;
+		} finally {
+			releaseRtx(rtx);
 		}
-		return hasChildNodes;
 	}
 
 	/**
@@ -580,9 +594,8 @@ public final class NodeWrapper implements SiblingCountingNode {
 	@Override
 	public AxisIterator iterateAxis(final byte axisNumber, final NodeTest nodeTest) {
 		AxisIterator returnVal = null;
+		final NodeReadTrx rtx = createRtxAndMove();
 		try {
-			final NodeReadTrx rtx = createRtxAndMove();
-
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug("NODE TEST: " + nodeTest);
 			}
@@ -648,7 +661,7 @@ public final class NodeWrapper implements SiblingCountingNode {
 							new FollowingSiblingAxis(rtx)), nodeTest);
 					break;
 				}
-
+				break;
 			case Axis.NAMESPACE:
 				if (getNodeKind() != Kind.ELEMENT.getId()) {
 					returnVal = EmptyIterator.getInstance();
@@ -663,6 +676,7 @@ public final class NodeWrapper implements SiblingCountingNode {
 					returnVal = new Navigator.AxisFilter(new SaxonEnumeration(
 							new ParentAxis(rtx)), nodeTest);
 				}
+				break;
 			case Axis.PRECEDING:
 				returnVal = new Navigator.AxisFilter(new SaxonEnumeration(
 						new PrecedingAxis(rtx)), nodeTest);
@@ -679,7 +693,7 @@ public final class NodeWrapper implements SiblingCountingNode {
 							new PrecedingSiblingAxis(rtx)), nodeTest);
 					break;
 				}
-
+				break;
 			case Axis.SELF:
 				returnVal = Navigator.filteredSingleton(this, nodeTest);
 				break;
@@ -691,8 +705,12 @@ public final class NodeWrapper implements SiblingCountingNode {
 			default:
 				throw new IllegalArgumentException("Unknown axis number " + axisNumber);
 			}
-		} catch (final SirixException exc) {
-			LOGGER.error(exc.toString());
+		} finally {
+			if (!(returnVal instanceof Navigator.AxisFilter)
+					|| axisNumber == Axis.PRECEDING_OR_ANCESTOR) {
+				// The transaction isn't used by a SaxonEnumeration.
+				releaseRtx(rtx);
+			}
 		}
 		return returnVal;
 	}
@@ -710,30 +728,36 @@ public final class NodeWrapper implements SiblingCountingNode {
 	@Override
 	public int getSiblingPosition() {
 		int index = 0;
+		final NodeReadTrx rtx = createRtxAndMove();
 		try {
-			final NodeReadTrx rtx = createRtxAndMove();
 			while (rtx.hasLeftSibling()) {
 				rtx.moveToLeftSibling();
 				index++;
 			}
-			rtx.close();
-		} catch (final SirixException e) {
-			LOGGER.error(e.getMessage(), e);
+		} finally {
+			releaseRtx(rtx);
 		}
 		return index;
 	}
 
 	/**
-	 * Create a new {@link IReadTransaction} and move to {@link mKey}.
+	 * Borrow a read transaction from the document's pool and move to
+	 * {@link mKey}.
 	 * 
-	 * @return new read transaction instance which is moved to {@link mKey}
-	 * @throws SirixException
-	 *           if sirix fails to setup new transaction
+	 * @return read transaction which is moved to {@link mKey}
+	 */
+	private NodeReadTrx createRtxAndMove() {
+		return mDocWrapper.mCursors.acquire(mKey);
+	}
+
+	/**
+	 * Return a read transaction to the document's pool.
+	 * 
+	 * @param rtx
+	 *          the read transaction
 	 */
-	private final NodeReadTrx createRtxAndMove() throws SirixException {
-		final NodeReadTrx rtx = mDocWrapper.mSession.beginNodeReadTrx(mRevision);
-		rtx.moveTo(mKey);
-		return rtx;
+	private void releaseRtx(final NodeReadTrx rtx) {
+		mDocWrapper.mCursors.release(rtx);
 	}
 
 	/**
@@ -772,24 +796,11 @@ public final class NodeWrapper implements SiblingCountingNode {
 		@Override
 		public void advance() {
 			if (mAxis.hasNext()) {
-				final long nextKey = mAxis.next();
-				try {
-					current = new NodeWrapper(mDocWrapper, nextKey);
-				} catch (final SirixException e) {
-					current = null;
-					try {
-						mAxis.getTrx().close();
-					} catch (final SirixException exc) {
-						LOGGER.error(exc.toString());
-					}
-				}
+				mAxis.next();
+				current = new NodeWrapper(mDocWrapper, mAxis.getTrx());
 			} else {
 				current = null;
-				try {
-					mAxis.getTrx().close();
-				} catch (SirixException exc) {
-					LOGGER.error(exc.toString());
-				}
+				releaseRtx(mAxis.getTrx());
 			}
 		}
 
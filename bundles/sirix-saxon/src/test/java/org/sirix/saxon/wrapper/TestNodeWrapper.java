@@ -33,6 +33,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.stream.XMLEventReader;
 
@@ -84,6 +86,9 @@ public class TestNodeWrapper {
 	/** Document node. */
 	private NodeWrapper node;
 
+	/** Document wrappers, which are closed after each test. */
+	private final List<DocumentWrapper> mWrappers = new ArrayList<>();
+
 	@Before
 	public void beforeMethod() throws SirixException {
 		Databases.truncateDatabase(DB_CONFIG);
@@ -94,14 +99,36 @@ public class TestNodeWrapper {
 		final Processor proc = new Processor(false);
 		final Configuration config = proc.getUnderlyingConfiguration();
 
-		node = new DocumentWrapper(mHolder.getSession(), config).getNodeWrapper();
+		node = wrap(mHolder.getSession(), config).getNodeWrapper();
 	}
 
 	@After
 	public void afterMethod() throws SirixException {
+		for (final DocumentWrapper wrapper : mWrappers) {
+			wrapper.close();
+		}
 		mHolder.close();
 	}
 
+	/**
+	 * Wrap the most recent revision of a document. The wrapper is closed after
+	 * the test, such that its pooled read transactions are released.
+	 * 
+	 * @param session
+	 *          sirix {@link Session}
+	 * @param config
+	 *          Saxon {@link Configuration} instance
+	 * @return the wrapper
+	 * @throws SirixException
+	 *           if sirix encounters an error
+	 */
+	private DocumentWrapper wrap(final Session session,
+			final Configuration config) throws SirixException {
+		final DocumentWrapper wrapper = new DocumentWrapper(session, config);
+		mWrappers.add(wrapper);
+		return wrapper;
+	}
+
 	@Test
 	public void testAtomize() throws Exception {
 		final Value value = node.atomize();
@@ -109,6 +136,25 @@ public class TestNodeWrapper {
 		assertEquals("oops1foooops2baroops3", value.getStringValue());
 	}
 
+	@Test
+	public void testPooledStringValue() throws SirixException {
+		final Configuration config = new Processor(false)
+				.getUnderlyingConfiguration();
+		try (final DocumentWrapper pooled = new DocumentWrapper(
+				mHolder.getSession(), 0, config, true);
+				final DocumentWrapper unpooled = new DocumentWrapper(
+						mHolder.getSession(), 0, config, false)) {
+			for (final long key : new long[] { 0, 1, 5, 9 }) {
+				final NodeInfo expected = new NodeWrapper(unpooled, key);
+				// Twice to read the cached value.
+				assertEquals(expected.getStringValue(),
+						new NodeWrapper(pooled, key).getStringValue());
+				assertEquals(expected.getStringValue(),
+						new NodeWrapper(pooled, key).getStringValue());
+			}
+		}
+	}
+
 	@Test
 	public void testCompareOrder() throws XPathException, SirixException {
 		final Processor proc = new Processor(false);
@@ -120,9 +166,8 @@ public class TestNodeWrapper {
 		trx.close();
 
 		// Not the same document.
-		NodeInfo node = new DocumentWrapper(session, config);
-		NodeInfo other = new NodeWrapper(new DocumentWrapper(mHolder.getSession(),
-				config), 3);
+		NodeInfo node = wrap(session, config);
+		NodeInfo other = new NodeWrapper(wrap(mHolder.getSession(), config), 3);
 		try {
 			node.compareOrder(other);
 			fail();
@@ -130,21 +175,18 @@ public class TestNodeWrapper {
 		}
 
 		// Before.
-		node = new DocumentWrapper(mHolder.getSession(), config);
-		other = new NodeWrapper(new DocumentWrapper(mHolder.getSession(), config),
-				3);
+		node = wrap(mHolder.getSession(), config);
+		other = new NodeWrapper(wrap(mHolder.getSession(), config), 3);
 		assertEquals(-1, node.compareOrder(other));
 
 		// After.
-		node = new NodeWrapper(new DocumentWrapper(mHolder.getSession(), config), 3);
-		other = new NodeWrapper(new DocumentWrapper(mHolder.getSession(), config),
-				0);
+		node = new NodeWrapper(wrap(mHolder.getSession(), config), 3);
+		other = new NodeWrapper(wrap(mHolder.getSession(), config), 0);
 		assertEquals(1, node.compareOrder(other));
 
 		// Same.
-		node = new NodeWrapper(new DocumentWrapper(mHolder.getSession(), config), 3);
-		other = new NodeWrapper(new DocumentWrapper(mHolder.getSession(), config),
-				3);
+		node = new NodeWrapper(wrap(mHolder.getSession(), config), 3);
+		other = new NodeWrapper(wrap(mHolder.getSession(), config), 3);
 		assertEquals(0, node.compareOrder(other));
 
 		session.close();
@@ -154,7 +196,7 @@ public class TestNodeWrapper {
 	@Test
 	public void testGetAttributeValue() throws SirixException {
 		final Processor proc = new Processor(false);
-		node = new NodeWrapper(new DocumentWrapper(mHolder.getSession(),
+		node = new NodeWrapper(wrap(mHolder.getSession(),
 				proc.getUnderlyingConfiguration()), 1);
 
 		final AxisIterator iterator = node.iterateAxis(Axis.ATTRIBUTE);
@@ -185,8 +227,7 @@ public class TestNodeWrapper {
 		wtx.close();
 
 		final Processor proc = new Processor(false);
-		final NodeInfo doc = new DocumentWrapper(session,
-				proc.getUnderlyingConfiguration());
+		final NodeInfo doc = wrap(session, proc.getUnderlyingConfiguration());
 
 		doc.getNamePool().allocate("xml", "http://www.w3.org/XML/1998/namespace",
 				"base");
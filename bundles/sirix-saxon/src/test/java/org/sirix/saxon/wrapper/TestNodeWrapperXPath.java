@@ -32,6 +32,7 @@ import static org.junit.Assert.assertNotNull;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -55,6 +56,7 @@ import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
 import org.sirix.api.NodeReadTrx;
+import org.sirix.api.Session;
 import org.sirix.exception.SirixException;
 import org.sirix.node.Kind;
 
@@ -68,6 +70,9 @@ public final class TestNodeWrapperXPath {
 
 	private Holder mHolder;
 
+	/** Document wrappers, which are closed after each test. */
+	private final List<DocumentWrapper> mWrappers = new ArrayList<>();
+
 	/** XPath expression. */
 	private static transient XPath xpe;
 
@@ -93,10 +98,32 @@ public final class TestNodeWrapperXPath {
 
 	@After
 	public void tearDown() throws Exception {
+		for (final DocumentWrapper wrapper : mWrappers) {
+			wrapper.close();
+		}
 		mHolder.close();
 		TestHelper.deleteEverything();
 	}
 
+	/**
+	 * Wrap the most recent revision of a document. The wrapper is closed after
+	 * the test, such that its pooled read transactions are released.
+	 * 
+	 * @param session
+	 *          sirix {@link Session}
+	 * @param config
+	 *          Saxon {@link Configuration} instance
+	 * @return the wrapper
+	 * @throws SirixException
+	 *           if sirix encounters an error
+	 */
+	private DocumentWrapper wrap(final Session session,
+			final Configuration config) throws SirixException {
+		final DocumentWrapper wrapper = new DocumentWrapper(session, config);
+		mWrappers.add(wrapper);
+		return wrapper;
+	}
+
 	/**
 	 * XPath tests.
 	 * 
@@ -184,7 +211,7 @@ public final class TestNodeWrapperXPath {
 				"//p:a/@p:i", "//b[1]/text()", "//b[2]", "//b[1]", "//b[2]/text()",
 				"//p:a/text()" };
 
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		final Object[] expectedResults = { 2D, 1D, "j", "", "foo",
 				// "<b p:x=\"y\"><c/>bar</b>",
@@ -210,7 +237,7 @@ public final class TestNodeWrapperXPath {
 	public void testElementBCount() throws Exception {
 
 		final XPathExpression findLine = xpe.compile("count(//b)");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final double result = Double.parseDouble(findLine.evaluate(doc,
@@ -223,7 +250,7 @@ public final class TestNodeWrapperXPath {
 	public void testElementACount() throws Exception {
 
 		final XPathExpression findLine = xpe.compile("count(//a)");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final double result = Double.parseDouble(findLine.evaluate(doc,
@@ -236,7 +263,7 @@ public final class TestNodeWrapperXPath {
 	public void testNamespaceElementCount() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("count(//p:a)");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final double result = Double.parseDouble(findLine.evaluate(doc,
@@ -249,7 +276,7 @@ public final class TestNodeWrapperXPath {
 	public void testAttributeCount() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("count(//p:a/@i)");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final double result = Double.parseDouble(findLine.evaluate(doc,
@@ -262,7 +289,7 @@ public final class TestNodeWrapperXPath {
 	public void testNamespaceAttributeCount() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("count(//p:a/@p:i)");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final double result = Double.parseDouble(findLine.evaluate(doc,
@@ -276,7 +303,7 @@ public final class TestNodeWrapperXPath {
 	public void testAttributeValue() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/@i");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = findLine.evaluate(doc, XPathConstants.STRING)
@@ -290,7 +317,7 @@ public final class TestNodeWrapperXPath {
 	public void testNamespaceAttributeValue() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/@p:i");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = findLine.evaluate(doc, XPathConstants.STRING)
@@ -303,7 +330,7 @@ public final class TestNodeWrapperXPath {
 	@Test
 	public void testText() throws Exception {
 		final XPathExpression findLine = xpe.compile("//b[1]/text()");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -317,7 +344,7 @@ public final class TestNodeWrapperXPath {
 	public void testText1() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a[1]/text()[1]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -331,7 +358,7 @@ public final class TestNodeWrapperXPath {
 	public void testDefaultNamespaceText1() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/text()[1]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -345,7 +372,7 @@ public final class TestNodeWrapperXPath {
 	public void testDefaultNamespaceText2() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/text()[2]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -359,7 +386,7 @@ public final class TestNodeWrapperXPath {
 	public void testDefaultNamespaceText3() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/text()[3]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -374,7 +401,7 @@ public final class TestNodeWrapperXPath {
 	public void testDefaultNamespaceTextAll() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//p:a/text()");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final ArrayList<NodeWrapper> result = (ArrayList<NodeWrapper>) findLine
@@ -395,7 +422,7 @@ public final class TestNodeWrapperXPath {
 	public void testB1() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//b[1]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -409,7 +436,7 @@ public final class TestNodeWrapperXPath {
 	public void testB2() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//b[2]");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final String result = (String) findLine
@@ -424,7 +451,7 @@ public final class TestNodeWrapperXPath {
 	public void testBAll() throws Exception {
 		xpe.setNamespaceContext(new DocNamespaceContext());
 		final XPathExpression findLine = xpe.compile("//b");
-		final NodeInfo doc = new DocumentWrapper(mHolder.getSession(), config);
+		final NodeInfo doc = wrap(mHolder.getSession(), config);
 
 		// Execute XPath.
 		final ArrayList<NodeWrapper> result = (ArrayList<NodeWrapper>) findLine
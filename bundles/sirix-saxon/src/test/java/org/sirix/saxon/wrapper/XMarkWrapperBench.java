@@ -0,0 +1,165 @@
+package org.sirix.saxon.wrapper;
+
+import java.io.File;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XQueryEvaluator;
+import net.sf.saxon.s9api.XdmItem;
+
+import org.perfidix.Benchmark;
+import org.perfidix.annotation.AfterBenchClass;
+import org.perfidix.annotation.BeforeBenchClass;
+import org.perfidix.annotation.Bench;
+import org.perfidix.ouput.TabularSummaryOutput;
+import org.perfidix.result.BenchmarkResult;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.TestHelper.PATHS;
+import org.sirix.exception.SirixException;
+import org.sirix.service.xml.shredder.XMLShredder;
+import org.sirix.service.xml.xpath.xmark.BenchConfigClass;
+
+/**
+ * Compares XMark queries evaluated on pooled {@link DocumentWrapper}s, which
+ * share read transactions and cache string values, with unpooled wrappers,
+ * which open a read transaction on every call.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class XMarkWrapperBench {
+
+	/** XMark document of the sirix-core bundle (1 MB). */
+	private static final String XML = ".." + File.separator + "sirix-core"
+			+ File.separator + "src" + File.separator + "test" + File.separator
+			+ "resources" + File.separator + "1mb.xml";
+
+	/** XMark Q1: exact match. */
+	private static final String Q1 = "for $b in /site/people/person[@id=\"person0\"] return $b/name/text()";
+
+	/** XMark Q5: casting of string values. */
+	private static final String Q5 = "count(for $i in /site/closed_auctions/closed_auction where $i/price/text() >= 40 return $i/price)";
+
+	/** XMark Q6: descendant axis. */
+	private static final String Q6 = "for $b in /site/regions return count($b//item)";
+
+	/** XMark Q8: value join. */
+	private static final String Q8 = "for $p in /site/people/person "
+			+ "let $a := for $t in /site/closed_auctions/closed_auction "
+			+ "where $t/buyer/@person = $p/@id return $t "
+			+ "return <item person=\"{$p/name/text()}\">{count($a)}</item>";
+
+	/** XMark Q14: full-text of large subtrees. */
+	private static final String Q14 = "for $i in /site//item "
+			+ "where contains(string(exactly-one($i/description)), \"gold\") "
+			+ "return $i/name/text()";
+
+	/** {@link Holder} reference. */
+	private Holder mHolder;
+
+	/** Saxon {@link Processor}. */
+	private Processor mProcessor;
+
+	@BeforeBenchClass
+	public void setUp() throws Exception {
+		TestHelper.deleteEverything();
+		XMLShredder.main(XML, PATHS.PATH1.getFile().getAbsolutePath());
+		mHolder = Holder.generateSession();
+		mProcessor = new Processor(false);
+	}
+
+	@AfterBenchClass
+	public void tearDown() throws SirixException {
+		mHolder.close();
+		TestHelper.closeEverything();
+	}
+
+	@Bench
+	public void benchQ1Pooled() throws Exception {
+		evaluate(Q1, true);
+	}
+
+	@Bench
+	public void benchQ1Unpooled() throws Exception {
+		evaluate(Q1, false);
+	}
+
+	@Bench
+	public void benchQ5Pooled() throws Exception {
+		evaluate(Q5, true);
+	}
+
+	@Bench
+	public void benchQ5Unpooled() throws Exception {
+		evaluate(Q5, false);
+	}
+
+	@Bench
+	public void benchQ6Pooled() throws Exception {
+		evaluate(Q6, true);
+	}
+
+	@Bench
+	public void benchQ6Unpooled() throws Exception {
+		evaluate(Q6, false);
+	}
+
+	@Bench
+	public void benchQ8Pooled() throws Exception {
+		evaluate(Q8, true);
+	}
+
+	@Bench
+	public void benchQ8Unpooled() throws Exception {
+		evaluate(Q8, false);
+	}
+
+	@Bench
+	public void benchQ14Pooled() throws Exception {
+		evaluate(Q14, true);
+	}
+
+	@Bench
+	public void benchQ14Unpooled() throws Exception {
+		evaluate(Q14, false);
+	}
+
+	/**
+	 * Evaluate a query and consume the string values of the results.
+	 *
+	 * @param query
+	 *          the query
+	 * @param pooled
+	 *          determines if the wrappers are pooled
+	 * @return the number of characters of the results
+	 * @throws SirixException
+	 *           if sirix fails
+	 * @throws SaxonApiException
+	 *           if Saxon fails
+	 */
+	private int evaluate(final String query, final boolean pooled)
+			throws SirixException, SaxonApiException {
+		int length = 0;
+		try (final DocumentWrapper doc = new DocumentWrapper(
+				mHolder.getSession(), mHolder.getSession()
+						.getMostRecentRevisionNumber(),
+				mProcessor.getUnderlyingConfiguration(), pooled)) {
+			final XQueryEvaluator eval = mProcessor.newXQueryCompiler()
+					.compile(query).load();
+			eval.setSource(doc);
+			for (final XdmItem item : eval.evaluate()) {
+				length += item.getStringValue().length();
+			}
+		}
+		return length;
+	}
+
+	public static void main(final String[] args) {
+		final Benchmark bench = new Benchmark(new BenchConfigClass());
+		bench.add(XMarkWrapperBench.class);
+
+		final BenchmarkResult res = bench.run();
+		new TabularSummaryOutput().visitBenchmark(res);
+	}
+}
@@ -9,6 +9,7 @@ import org.brackit.xquery.compiler.AST;
 import org.brackit.xquery.compiler.optimizer.Stage;
 import org.brackit.xquery.compiler.optimizer.TopDownOptimizer;
 import org.brackit.xquery.module.StaticContext;
+import org.sirix.xquery.compiler.optimizer.walker.IndexScanStep;
 import org.sirix.xquery.node.DBStore;
 
 public final class SirixOptimizer extends TopDownOptimizer {
@@ -27,6 +28,10 @@ public final class SirixOptimizer extends TopDownOptimizer {
 		getStages().add(new IndexMatching(store));
 	}
 
+	/**
+	 * Marks steps, which might be answered by an index. The index definitions
+	 * of the queried revision are resolved when the step is evaluated.
+	 */
 	private static class IndexMatching implements Stage {
 		private final DBStore mStore;
 
@@ -36,9 +41,7 @@ public final class SirixOptimizer extends TopDownOptimizer {
 
 		@Override
 		public AST rewrite(StaticContext sctx, AST ast) throws QueryException {
-			// TODO add rules for index resolution here
-			ast.display();
-			return ast;
+			return new IndexScanStep(sctx).walk(ast);
 		}
 	}
 }
@@ -0,0 +1,136 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.walker.Walker;
+import org.brackit.xquery.module.StaticContext;
+
+/**
+ * Marks {@code descendant::} and {@code descendant-or-self::} steps, which
+ * might be answered by a path-, name- or CAS-index of the queried revision.
+ * Which index is actually used (if any) is decided by the translated accessor,
+ * once the document, its index definitions and its path summary are known.
+ *
+ * <p>
+ * If the first predicate of a step is a general comparison of the step's text
+ * children or one of its attributes with a string literal, as in
+ * {@code //item[@id = 'i1']} or {@code //name[text() = 'foo']}, the literal is
+ * recorded as well, such that a CAS-index can be used to fetch the candidates.
+ * The predicate itself is retained and still evaluated for each candidate.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class IndexScanStep extends Walker {
+
+	/** Property of the axis, which denotes if an index might be used. */
+	public static final String INDEX_MATCHING = "indexMatching";
+
+	/** Property of the axis, which holds the string literal to compare with. */
+	public static final String CAS_VALUE = "casValue";
+
+	/**
+	 * Property of the axis, which holds the name of the compared attribute (if
+	 * not present, text children are compared).
+	 */
+	public static final String CAS_ATTRIBUTE = "casAttribute";
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sctx
+	 *          the static context
+	 */
+	public IndexScanStep(final StaticContext sctx) {
+		super(sctx);
+	}
+
+	@Override
+	protected AST visit(final AST node) {
+		if (node.getType() != XQ.StepExpr) {
+			return node;
+		}
+		final AST axis = node.getChild(0).getChild(0);
+		if ((axis.getType() != XQ.DESCENDANT && axis.getType() != XQ.DESCENDANT_OR_SELF)
+				|| axis.checkProperty(INDEX_MATCHING)) {
+			return node;
+		}
+		axis.setProperty(INDEX_MATCHING, Boolean.TRUE);
+
+		// Only the first predicate, as positional predicates might precede others.
+		if (node.getChildCount() > 2) {
+			matchValueComparison(node.getChild(2), axis);
+		}
+		return node;
+	}
+
+	// Match text() = 'literal' and @name = 'literal'.
+	private void matchValueComparison(final AST predicate, final AST axis) {
+		AST expr = predicate;
+		while (expr.getType() != XQ.ComparisonExpr && expr.getChildCount() == 1) {
+			expr = expr.getChild(0);
+		}
+		if (expr.getType() != XQ.ComparisonExpr || expr.getChildCount() != 3
+				|| expr.getChild(0).getType() != XQ.GeneralCompEQ) {
+			return;
+		}
+		AST operand = expr.getChild(1);
+		AST literal = expr.getChild(2);
+		if (operand.getType() == XQ.Str) {
+			final AST tmp = operand;
+			operand = literal;
+			literal = tmp;
+		}
+		if (literal.getType() != XQ.Str || !(literal.getValue() instanceof Atomic)) {
+			return;
+		}
+		final AST step = singleStep(operand);
+		if (step == null || step.getChildCount() != 2) {
+			return;
+		}
+		final int stepAxis = step.getChild(0).getChild(0).getType();
+		final AST test = step.getChild(1);
+		if (stepAxis == XQ.CHILD && test.getType() == XQ.KindTestText) {
+			axis.setProperty(CAS_VALUE, literal.getValue());
+		} else if (stepAxis == XQ.ATTRIBUTE) {
+			final QNm name = name(test);
+			if (name != null) {
+				axis.setProperty(CAS_ATTRIBUTE, name);
+				axis.setProperty(CAS_VALUE, literal.getValue());
+			}
+		}
+	}
+
+	// Get the single step of a relative path expression.
+	private static AST singleStep(final AST operand) {
+		if (operand.getType() == XQ.StepExpr) {
+			return operand;
+		}
+		if (operand.getType() == XQ.PathExpr) {
+			final int count = operand.getChildCount();
+			if (count == 1
+					|| (count == 2 && operand.getChild(0).getType() == XQ.ContextItemExpr)) {
+				final AST step = operand.getChild(count - 1);
+				return step.getType() == XQ.StepExpr ? step : null;
+			}
+		}
+		return null;
+	}
+
+	// Get the name of a name test without wildcards.
+	private static QNm name(final AST test) {
+		if (test.getType() != XQ.NameTest) {
+			return null;
+		}
+		if (test.getValue() instanceof QNm) {
+			return (QNm) test.getValue();
+		}
+		if (test.getChildCount() == 1 && test.getChild(0).getValue() instanceof QNm) {
+			return (QNm) test.getChild(0).getValue();
+		}
+		return null;
+	}
+}
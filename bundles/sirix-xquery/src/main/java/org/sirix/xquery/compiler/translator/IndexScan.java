@@ -0,0 +1,260 @@
+package org.sirix.xquery.compiler.translator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.node.stream.EmptyStream;
+import org.brackit.xquery.util.Cfg;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Stream;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.access.IndexController;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.index.IndexDef;
+import org.sirix.index.Indexes;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.keyvalue.NodeKeyBitmap;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.cas.CASFilter;
+import org.sirix.index.name.NameFilter;
+import org.sirix.index.path.PathFilter;
+import org.sirix.index.path.summary.PathNode;
+import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.node.Kind;
+import org.sirix.xquery.node.DBNode;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Answers a {@code descendant::} step from the document root with an index of
+ * the queried revision instead of traversing the document.
+ *
+ * <ul>
+ * <li>If the step is restricted by a value comparison, a CAS-index (of type
+ * {@code xs:string}) covering all matching paths is used.</li>
+ * <li>Otherwise, if the path summary shows the step to be selective enough, a
+ * name-index or a path-index covering all matching paths is used.</li>
+ * </ul>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class IndexScan {
+
+	/**
+	 * Maximum percentage of the descendants of the document root, which may be
+	 * referenced by the matching path nodes to use a path- or name-index.
+	 */
+	static final int SELECTIVITY = Cfg.asInt(
+			"org.sirix.xquery.optimize.index.selectivity", 25);
+
+	/** Looks up an index, which covers a path. */
+	private interface IndexFinder {
+		Optional<IndexDef> find(Path<QNm> path) throws DocumentException;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private IndexScan() {
+		throw new AssertionError("May never be instantiated!");
+	}
+
+	/**
+	 * Scan an index for the elements matched by the step.
+	 *
+	 * @param doc
+	 *          the document root
+	 * @param name
+	 *          the name of the elements
+	 * @param matches
+	 *          the matching path nodes
+	 * @param reader
+	 *          the path summary of the queried revision
+	 * @param attribute
+	 *          the name of the compared attribute or {@code null}, if text
+	 *          children are compared
+	 * @param value
+	 *          the string to compare with or {@code null}, if the step isn't
+	 *          restricted by a value comparison
+	 * @return the matching elements in document order or {@code null}, if no
+	 *         suitable index exists
+	 * @throws QueryException
+	 *           if anything went wrong
+	 */
+	@Nullable
+	static Stream<DBNode> scan(final DBNode doc, final QNm name,
+			final BitSet matches, final PathSummaryReader reader,
+			final @Nullable QNm attribute, final @Nullable Atomic value)
+			throws QueryException {
+		final NodeReadTrx rtx = doc.getTrx();
+		final IndexController controller = rtx.getSession()
+				.getRtxIndexController(rtx.getRevisionNumber());
+		if (controller == null
+				|| controller.getIndexes().getIndexDefs().isEmpty()) {
+			return null;
+		}
+		final Indexes indexes = controller.getIndexes();
+
+		if (value != null) {
+			final Set<Long> pcrs = attribute == null ? elementPCRs(reader, matches)
+					: attributePCRs(reader, matches, attribute);
+			if (pcrs.isEmpty()) {
+				return new EmptyStream<DBNode>();
+			}
+			final Set<Path<QNm>> paths = paths(reader, pcrs);
+			final IndexDef indexDef = findIndex(paths,
+					path -> indexes.findCASIndex(path, Type.STR));
+			if (indexDef == null) {
+				return null;
+			}
+			final CASFilter filter = new CASFilter(rtx, paths, value,
+					SearchMode.EQUAL);
+			// Text and attribute nodes are indexed, their parents are requested.
+			return stream(doc, controller.openCASIndex(rtx.getPageTrx(), indexDef,
+					SearchMode.EQUAL, filter, value, true), true);
+		}
+
+		// Estimate the selectivity with the reference counts of the path nodes.
+		final Set<Long> pcrs = elementPCRs(reader, matches);
+		long references = 0;
+		for (final long pcr : pcrs) {
+			reader.moveTo(pcr);
+			references += reader.getPathNode().getReferences();
+		}
+		rtx.moveTo(doc.getNodeKey());
+		if (pcrs.isEmpty()
+				|| references * 100 > rtx.getDescendantCount() * SELECTIVITY) {
+			return null;
+		}
+
+		// A name index contains all elements with the name.
+		final Optional<IndexDef> nameIndexDef = indexes.findNameIndex(name);
+		if (nameIndexDef.isPresent()) {
+			final NameFilter filter = new NameFilter(ImmutableSet.of(name),
+					Collections.<QNm> emptySet());
+			return stream(doc, controller.openNameIndex(rtx.getPageTrx(),
+					nameIndexDef.get(), filter), false);
+		}
+
+		final Set<Path<QNm>> paths = paths(reader, pcrs);
+		final IndexDef pathIndexDef = findIndex(paths,
+				path -> indexes.findPathIndex(path));
+		if (pathIndexDef == null) {
+			return null;
+		}
+		final PathFilter filter = new PathFilter(rtx, paths);
+		return stream(doc,
+				controller.openPathIndex(rtx.getPageTrx(), pathIndexDef, filter),
+				false);
+	}
+
+	// Get the PCRs of the matching elements.
+	private static Set<Long> elementPCRs(final PathSummaryReader reader,
+			final BitSet matches) {
+		final Set<Long> pcrs = new HashSet<>();
+		for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+			reader.moveTo(i);
+			if (reader.getPathNode().getPathKind() == Kind.ELEMENT) {
+				pcrs.add((long) i);
+			}
+		}
+		return pcrs;
+	}
+
+	// Get the PCRs of the attributes of the matching elements.
+	private static Set<Long> attributePCRs(final PathSummaryReader reader,
+			final BitSet matches, final QNm attribute) {
+		final Set<Long> pcrs = new HashSet<>();
+		final BitSet attributes = reader.match(attribute, 0);
+		for (int i = attributes.nextSetBit(0); i >= 0; i = attributes
+				.nextSetBit(i + 1)) {
+			reader.moveTo(i);
+			final PathNode node = reader.getPathNode();
+			if (node.getPathKind() == Kind.ATTRIBUTE
+					&& matches.get((int) node.getParentKey())) {
+				pcrs.add((long) i);
+			}
+		}
+		return pcrs;
+	}
+
+	// Get the paths of the path nodes.
+	private static Set<Path<QNm>> paths(final PathSummaryReader reader,
+			final Set<Long> pcrs) {
+		final Set<Path<QNm>> paths = new HashSet<>(pcrs.size());
+		for (final long pcr : pcrs) {
+			reader.moveTo(pcr);
+			paths.add(reader.getPathNode().getPath(reader));
+		}
+		return paths;
+	}
+
+	// Find a single index, which covers all paths.
+	@Nullable
+	private static IndexDef findIndex(final Set<Path<QNm>> paths,
+			final IndexFinder finder) throws DocumentException {
+		IndexDef indexDef = null;
+		for (final Path<QNm> path : paths) {
+			final Optional<IndexDef> def = finder.find(path);
+			if (!def.isPresent()
+					|| (indexDef != null && !indexDef.equals(def.get()))) {
+				return null;
+			}
+			indexDef = def.get();
+		}
+		return indexDef;
+	}
+
+	// Build a stream of the distinct referenced nodes in document order.
+	private static Stream<DBNode> stream(final DBNode doc,
+			final Iterator<NodeReferences> references, final boolean parents) {
+		final NodeReadTrx rtx = doc.getTrx();
+		NodeKeyBitmap nodeKeys = new NodeKeyBitmap();
+		while (references.hasNext()) {
+			final NodeReferences refs = references.next();
+			if (parents) {
+				for (final PrimitiveIterator.OfLong iter = refs.nodeKeyIterator(); iter
+						.hasNext();) {
+					rtx.moveTo(iter.nextLong());
+					nodeKeys.add(rtx.getParentKey());
+				}
+			} else {
+				nodeKeys = NodeKeyBitmap.or(nodeKeys, refs.getBitmap());
+			}
+		}
+		final List<DBNode> nodes = new ArrayList<>(
+				(int) Math.min(nodeKeys.cardinality(), Integer.MAX_VALUE));
+		for (final PrimitiveIterator.OfLong iter = nodeKeys.iterator(); iter
+				.hasNext();) {
+			rtx.moveTo(iter.nextLong());
+			nodes.add(new DBNode(rtx, doc.getCollection()));
+		}
+		// Node keys don't reflect the document order after updates.
+		Collections.sort(nodes, (first, second) -> first.cmp(second));
+		final Iterator<DBNode> iter = nodes.iterator();
+		return new Stream<DBNode>() {
+			@Override
+			public DBNode next() {
+				return iter.hasNext() ? iter.next() : null;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 import javax.annotation.Nonnegative;
 
 import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.atomic.Str;
 import org.brackit.xquery.compiler.AST;
@@ -56,7 +57,11 @@ import org.sirix.axis.temporal.PreviousAxis;
 import org.sirix.exception.SirixException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.service.xml.xpath.expr.UnionAxis;
+import org.sirix.xquery.compiler.optimizer.walker.IndexScanStep;
+import org.sirix.xquery.node.DBCollection;
 import org.sirix.xquery.node.DBNode;
+import org.sirix.xquery.stream.NodeKeyBlock;
+import org.sirix.xquery.stream.SirixBlockStream;
 import org.sirix.xquery.stream.SirixStream;
 import org.sirix.xquery.stream.TemporalSirixStream;
 
@@ -83,6 +88,14 @@ public final class SirixTranslator extends TopDownTranslator {
 	public static final int CHILD_THRESHOLD = Cfg.asInt(
 			"org.sirix.xquery.optimize.child.threshold", 1);
 
+	/**
+	 * Maximum number of nodes, which are collected in a {@link NodeKeyBlock}
+	 * before they are passed from an axis to the next step ({@code 0} disables
+	 * blocks).
+	 */
+	public static final int BLOCK_SIZE = Cfg.asInt(
+			"org.sirix.xquery.block.size", 256);
+
 	/**
 	 * Constructor.
 	 *
@@ -100,9 +113,9 @@ public final class SirixTranslator extends TopDownTranslator {
 		}
 		switch (node.getType()) {
 		case XQ.DESCENDANT:
-			return new DescOrSelf(Axis.DESCENDANT);
+			return new DescOrSelf(Axis.DESCENDANT, node);
 		case XQ.DESCENDANT_OR_SELF:
-			return new DescOrSelf(Axis.DESCENDANT_OR_SELF);
+			return new DescOrSelf(Axis.DESCENDANT_OR_SELF, node);
 		case XQ.CHILD:
 			return new Child(Axis.CHILD);
 		case XQ.ATTRIBUTE:
@@ -431,8 +444,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				final NodeType test) throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(SirixTranslator.this.getAxis(test, rtx,
-					new PrecedingSiblingAxis(rtx)), dbNode.getCollection());
+			return SirixTranslator.this.getStream(test, rtx,
+					new PrecedingSiblingAxis(rtx), dbNode.getCollection());
 		}
 
 		@Override
@@ -440,7 +453,7 @@ public final class SirixTranslator extends TopDownTranslator {
 				throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(new PrecedingSiblingAxis(rtx),
+			return SirixTranslator.this.getStream(new PrecedingSiblingAxis(rtx),
 					dbNode.getCollection());
 		}
 	}
@@ -467,8 +480,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				final NodeType test) throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(SirixTranslator.this.getAxis(test, rtx,
-					new FollowingSiblingAxis(rtx)), dbNode.getCollection());
+			return SirixTranslator.this.getStream(test, rtx,
+					new FollowingSiblingAxis(rtx), dbNode.getCollection());
 		}
 
 		@Override
@@ -476,7 +489,7 @@ public final class SirixTranslator extends TopDownTranslator {
 				throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(new FollowingSiblingAxis(rtx),
+			return SirixTranslator.this.getStream(new FollowingSiblingAxis(rtx),
 					dbNode.getCollection());
 		}
 	}
@@ -503,8 +516,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				final NodeType test) throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(SirixTranslator.this.getAxis(test, rtx,
-					new FollowingAxis(rtx)), dbNode.getCollection());
+			return SirixTranslator.this.getStream(test, rtx,
+					new FollowingAxis(rtx), dbNode.getCollection());
 		}
 
 		@Override
@@ -512,7 +525,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(new FollowingAxis(rtx), dbNode.getCollection());
+			return SirixTranslator.this.getStream(new FollowingAxis(rtx),
+					dbNode.getCollection());
 		}
 	}
 
@@ -679,8 +693,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				}
 			}
 
-			return new SirixStream(SirixTranslator.this.getAxis(test, rtx,
-					new ChildAxis(rtx)), dbNode.getCollection());
+			return SirixTranslator.this.getStream(test, rtx,
+					new ChildAxis(rtx), dbNode.getCollection());
 		}
 
 		@Override
@@ -688,7 +702,8 @@ public final class SirixTranslator extends TopDownTranslator {
 				throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(new ChildAxis(rtx), dbNode.getCollection());
+			return SirixTranslator.this.getStream(new ChildAxis(rtx),
+					dbNode.getCollection());
 		}
 	}
 
@@ -709,17 +724,31 @@ public final class SirixTranslator extends TopDownTranslator {
 		 */
 		private final Map<Long, BitSet> mFilterMap;
 
+		/** Determines if an index might be used (marked by the optimizer). */
+		private final boolean mIndexMatching;
+
+		/** Name of the compared attribute or {@code null}. */
+		private final QNm mCASAttribute;
+
+		/** The string the elements are compared with or {@code null}. */
+		private final Atomic mCASValue;
+
 		/**
 		 * Constructor.
 		 *
 		 * @param axis
 		 *          the axis to evaluate
+		 * @param node
+		 *          the axis node, which might be annotated by the optimizer
 		 */
-		public DescOrSelf(final Axis axis) {
+		public DescOrSelf(final Axis axis, final AST node) {
 			super(axis);
 			mSelf = axis == Axis.DESCENDANT_OR_SELF ? IncludeSelf.YES
 					: IncludeSelf.NO;
 			mFilterMap = new HashMap<>();
+			mIndexMatching = node.checkProperty(IndexScanStep.INDEX_MATCHING);
+			mCASAttribute = (QNm) node.getProperty(IndexScanStep.CAS_ATTRIBUTE);
+			mCASValue = (Atomic) node.getProperty(IndexScanStep.CAS_VALUE);
 		}
 
 		@Override
@@ -746,6 +775,15 @@ public final class SirixTranslator extends TopDownTranslator {
 						reader.close();
 						return new EmptyStream<DBNode>();
 					}
+					// Use an index instead of traversing the whole document.
+					if (mIndexMatching && dbNode.isDocumentRoot()) {
+						final Stream<DBNode> indexStream = IndexScan.scan(dbNode,
+								test.getQName(), matches, reader, mCASAttribute, mCASValue);
+						if (indexStream != null) {
+							reader.close();
+							return indexStream;
+						}
+					}
 					// One match.
 					if (matches.cardinality() == 1) {
 						final int level = dbNode.getDeweyID().get().getLevel();
@@ -760,14 +798,14 @@ public final class SirixTranslator extends TopDownTranslator {
 						// Match at the next level (single child-path).
 						if (matchLevel == level + 1) {
 							reader.close();
-							return new SirixStream(new FilterAxis(new ChildAxis(rtx),
-									new ElementFilter(rtx), new NameFilter(rtx, test.getQName()
-											.toString())), dbNode.getCollection());
+							return SirixTranslator.this.getStream(new FilterAxis(
+									new ChildAxis(rtx), new ElementFilter(rtx), new NameFilter(
+											rtx, test.getQName().toString())), dbNode.getCollection());
 						}
 						// Match at a level below the child level.
 						final Deque<QNm> names = getNames(matchLevel, level, reader);
 						reader.close();
-						return new SirixStream(buildQuery(rtx, names),
+						return SirixTranslator.this.getStream(buildQuery(rtx, names),
 								dbNode.getCollection());
 					}
 					// More than one match.
@@ -823,7 +861,8 @@ public final class SirixTranslator extends TopDownTranslator {
 							axis = new NestedAxis(axis, axisQueue.pop());
 						}
 						reader.close();
-						return new SirixStream(axis, dbNode.getCollection());
+						return SirixTranslator.this.getStream(axis,
+								dbNode.getCollection());
 						// return new SirixStream(new FilterAxis(new
 						// DescendantAxis(rtx,
 						// mSelf),
@@ -864,7 +903,8 @@ public final class SirixTranslator extends TopDownTranslator {
 							axis = new UnionAxis(rtx, axis, axisQueue.pollFirst());
 						}
 						reader.close();
-						return new SirixStream(axis, dbNode.getCollection());
+						return SirixTranslator.this.getStream(axis,
+								dbNode.getCollection());
 					}
 				} catch (final SirixException e) {
 					throw new QueryException(new QNm(e.getMessage()), e);
@@ -902,11 +942,62 @@ public final class SirixTranslator extends TopDownTranslator {
 				throws QueryException {
 			final DBNode dbNode = (DBNode) node;
 			final NodeReadTrx rtx = dbNode.getTrx();
-			return new SirixStream(new DescendantAxis(rtx, mSelf),
+			return SirixTranslator.this.getStream(new DescendantAxis(rtx, mSelf),
 					dbNode.getCollection());
 		}
 	}
 
+	/**
+	 * Get a stream of the nodes of an axis, which are passed in blocks if
+	 * {@link #BLOCK_SIZE} is set.
+	 *
+	 * @param axis
+	 *          the axis
+	 * @param collection
+	 *          the collection the nodes belong to
+	 * @return the stream
+	 */
+	private Stream<DBNode> getStream(final org.sirix.api.Axis axis,
+			final DBCollection collection) {
+		return BLOCK_SIZE > 0 ? new SirixBlockStream(axis, collection, BLOCK_SIZE)
+				: new SirixStream(axis, collection);
+	}
+
+	/**
+	 * Get a stream of the nodes of an axis, which pass a node test. Element and
+	 * attribute tests are evaluated on the columns of {@link NodeKeyBlock}s if
+	 * {@link #BLOCK_SIZE} is set, other tests are evaluated by filters of the
+	 * axis.
+	 *
+	 * @param test
+	 *          the node test
+	 * @param trx
+	 *          the transaction of the axis
+	 * @param innerAxis
+	 *          the axis
+	 * @param collection
+	 *          the collection the nodes belong to
+	 * @return the stream
+	 */
+	private Stream<DBNode> getStream(final NodeType test, final NodeReadTrx trx,
+			final org.sirix.api.Axis innerAxis, final DBCollection collection) {
+		final Kind kind = test.getNodeKind();
+		if (BLOCK_SIZE > 0 && (kind == Kind.ELEMENT || kind == Kind.ATTRIBUTE)) {
+			final org.sirix.node.Kind sirixKind = kind == Kind.ELEMENT
+					? org.sirix.node.Kind.ELEMENT : org.sirix.node.Kind.ATTRIBUTE;
+			final QNm name = test.getQName();
+			if (name == null) {
+				return new SirixBlockStream(innerAxis, collection, BLOCK_SIZE,
+						sirixKind);
+			}
+			final int prefixKey = (name.getPrefix() == null || name.getPrefix()
+					.isEmpty()) ? -1 : trx.keyForName(name.getPrefix());
+			return new SirixBlockStream(innerAxis, collection, BLOCK_SIZE,
+					sirixKind, prefixKey, trx.keyForName(name.getLocalName()));
+		}
+		return new SirixStream(getAxis(test, trx, innerAxis), collection);
+	}
+
 	private org.sirix.axis.AbstractTemporalAxis getTemporalAxis(
 			final NodeType test, final NodeReadTrx trx,
 			final org.sirix.axis.AbstractTemporalAxis innerAxis) {
@@ -11,6 +11,7 @@ import static org.sirix.xquery.function.sdb.index.find.FindCASIndex.FIND_CAS_IND
 import static org.sirix.xquery.function.sdb.index.find.FindNameIndex.FIND_NAME_INDEX;
 import static org.sirix.xquery.function.sdb.index.find.FindPathIndex.FIND_PATH_INDEX;
 import static org.sirix.xquery.function.sdb.io.Doc.DOC;
+import static org.sirix.xquery.function.sdb.io.DocAt.DOC_AT;
 import static org.sirix.xquery.function.sdb.io.Load.LOAD;
 import static org.sirix.xquery.function.sdb.io.Store.STORE;
 import static org.sirix.xquery.function.sdb.trx.Commit.COMMIT;
@@ -42,6 +43,7 @@ import org.sirix.xquery.function.sdb.index.scan.ScanCASIndexRange;
 import org.sirix.xquery.function.sdb.index.scan.ScanNameIndex;
 import org.sirix.xquery.function.sdb.index.scan.ScanPathIndex;
 import org.sirix.xquery.function.sdb.io.Doc;
+import org.sirix.xquery.function.sdb.io.DocAt;
 import org.sirix.xquery.function.sdb.io.Load;
 import org.sirix.xquery.function.sdb.io.Serialize;
 import org.sirix.xquery.function.sdb.io.Store;
@@ -141,6 +143,12 @@ public final class SDBFun {
 				new SequenceType(AtomicType.STR, Cardinality.One), new SequenceType(
 						AtomicType.STR, Cardinality.One))));
 
+		// doc-at
+		Functions.predefine(new DocAt(DOC_AT, new Signature(SequenceType.NODE,
+				new SequenceType(AtomicType.STR, Cardinality.One), new SequenceType(
+						AtomicType.STR, Cardinality.One), new SequenceType(AtomicType.DATI,
+						Cardinality.One))));
+
 		// commit
 		Functions.predefine(new Commit(COMMIT, new Signature(SequenceType.INTEGER,
 				SequenceType.NODE)));
@@ -1,6 +1,9 @@
 package org.sirix.xquery.function.sdb.index;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 
 import org.brackit.xquery.QueryContext;
 import org.brackit.xquery.QueryException;
@@ -8,15 +11,22 @@ import org.brackit.xquery.Tuple;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.function.AbstractFunction;
 import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.sequence.ItemSequence;
 import org.brackit.xquery.sequence.SortedNodeSequence;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Iter;
 import org.brackit.xquery.xdm.Node;
 import org.brackit.xquery.xdm.Sequence;
 import org.brackit.xquery.xdm.Signature;
 import org.sirix.xquery.function.sdb.SDBFun;
+import org.sirix.xquery.node.DBNode;
+import org.sirix.xquery.node.DocumentOrderSort;
 
 /**
  * <p>
  * Function for sorting a sequence. This function returns the given sequence in sorted order regarding the document order.
+ * Nodes of a single revision of a resource, which store DeweyIDs, are radix-sorted on their DeweyIDs (see
+ * {@link DocumentOrderSort}), otherwise the nodes are compared.
  * 
  * The signature is:
  * </p>
@@ -50,6 +60,25 @@ public final class SortByDocOrder extends AbstractFunction {
 	@Override
 	public Sequence execute(StaticContext sctx, QueryContext ctx, Sequence[] args)
 			throws QueryException {
+		if (args[0] == null) {
+			return null;
+		}
+
+		final List<Item> items = new ArrayList<>();
+		final Iter it = args[0].iterate();
+		try {
+			for (Item item = it.next(); item != null; item = it.next()) {
+				items.add(item);
+			}
+		} finally {
+			it.close();
+		}
+
+		final Optional<DBNode[]> sorted = DocumentOrderSort.sortDistinct(items);
+		if (sorted.isPresent()) {
+			return new ItemSequence(sorted.get());
+		}
+
 		final Comparator<Tuple> comparator = new Comparator<Tuple>() {
 			@Override
 			public int compare(Tuple o1, Tuple o2) {
@@ -57,6 +86,7 @@ public final class SortByDocOrder extends AbstractFunction {
 			}
 		};
 
-		return new SortedNodeSequence(comparator, args[0], true);
+		return new SortedNodeSequence(comparator, new ItemSequence(
+				items.toArray(new Item[items.size()])), true);
 	}
 }
@@ -0,0 +1,92 @@
+package org.sirix.xquery.function.sdb.io;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.DTD;
+import org.brackit.xquery.atomic.DateTime;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.function.AbstractFunction;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.Signature;
+import org.sirix.xquery.function.sdb.SDBFun;
+import org.sirix.xquery.node.DBCollection;
+
+/**
+ * <p>
+ * Function for opening a document in the revision, which has been the most
+ * recent one at a point in time. The revision is looked up in an index of the
+ * commit timestamps. If successful, this function returns the document-node.
+ * Supported signature is:
+ * </p>
+ * <ul>
+ * <li>
+ * <code>sdb:doc-at($coll as xs:string, $res as xs:string, $pointInTime as xs:dateTime) as node()</code>
+ * </li>
+ * </ul>
+ * <p>
+ * A point in time without a timezone is interpreted in the default timezone.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class DocAt extends AbstractFunction {
+
+	/** Doc-at function name. */
+	public final static QNm DOC_AT = new QNm(SDBFun.SDB_NSURI, SDBFun.SDB_PREFIX,
+			"doc-at");
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name
+	 *          the name of the function
+	 * @param signature
+	 *          the signature of the function
+	 */
+	public DocAt(QNm name, Signature signature) {
+		super(name, signature, true);
+	}
+
+	@Override
+	public Sequence execute(StaticContext sctx, QueryContext ctx, Sequence[] args)
+			throws QueryException {
+		if (args.length != 3) {
+			throw new QueryException(new QNm("No valid arguments specified!"));
+		}
+		final DBCollection col = (DBCollection) ctx.getStore().lookup(
+				((Str) args[0]).stringValue());
+
+		if (col == null) {
+			throw new QueryException(new QNm("No valid arguments specified!"));
+		}
+
+		final String expResName = ((Str) args[1]).stringValue();
+		final Instant pointInTime = toInstant((DateTime) args[2]);
+
+		return col.getDocument(pointInTime, expResName);
+	}
+
+	// Convert the components of an xs:dateTime.
+	private static Instant toInstant(final DateTime dateTime) {
+		// Hours might be 24 (the end of the day), thus they're added.
+		final LocalDateTime localDateTime = LocalDateTime
+				.of(dateTime.getYear(), dateTime.getMonth(), dateTime.getDay(), 0, 0)
+				.plusHours(dateTime.getHours()).plusMinutes(dateTime.getMinutes())
+				.plusNanos(dateTime.getMicros() * 1000L);
+		final DTD timezone = dateTime.getTimezone();
+		if (timezone == null) {
+			return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+		}
+		final int sign = timezone.isNegative() ? -1 : 1;
+		return localDateTime.toInstant(ZoneOffset.ofHoursMinutes(
+				sign * timezone.getHours(), sign * timezone.getMinutes()));
+	}
+}
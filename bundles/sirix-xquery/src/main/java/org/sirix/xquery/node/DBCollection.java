@@ -2,6 +2,7 @@ package org.sirix.xquery.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -274,6 +275,32 @@ public final class DBCollection extends
 		}
 	}
 
+	/**
+	 * Get the document in the revision, which has been the most recent one at
+	 * the given point in time.
+	 * 
+	 * @param pointInTime
+	 *          the point in time
+	 * @param name
+	 *          the name of the resource
+	 * @return the document node
+	 * @throws DocumentException
+	 *           if the document can't be opened or no revision has been
+	 *           committed until {@code pointInTime}
+	 */
+	public DBNode getDocument(final Instant pointInTime, final String name)
+			throws DocumentException {
+		try {
+			final Session session = mDatabase.getSession(SessionConfiguration
+					.newBuilder(name).build());
+			return new DBNode(session.beginNodeReadTrx(pointInTime), this);
+		} catch (final SirixException e) {
+			throw new DocumentException(e.getCause());
+		} catch (final IllegalArgumentException e) {
+			throw new DocumentException(e.getMessage());
+		}
+	}
+
 	private DBNode getDocumentInternal(final SessionConfiguration sessionConfig, final int revision, final boolean updatable) throws SirixException {
 		final Session session = mDatabase.getSession(sessionConfig);
 		final int version = revision == -1 ? session
@@ -48,6 +48,7 @@ import org.sirix.node.SirixDeweyID;
 import org.sirix.service.xml.shredder.Insert;
 import org.sirix.settings.Fixed;
 import org.sirix.utils.LogWrapper;
+import org.sirix.xquery.stream.NodeKeyBlock;
 import org.sirix.xquery.stream.SirixStream;
 import org.sirix.xquery.stream.TemporalSirixStream;
 import org.slf4j.LoggerFactory;
@@ -107,12 +108,42 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 	}
 
 	/**
-	 * Create a new {@link IReadTransaction} and move to {@link mKey}.
+	 * Constructor, which doesn't require the transaction to be located at the
+	 * node, as the node has been captured before (for instance in a
+	 * {@link NodeKeyBlock}).
 	 * 
-	 * @return new read transaction instance which is moved to {@link mKey}
+	 * @param rtx
+	 *          {@link NodeReadTrx} for providing reading access to the underlying
+	 *          node
+	 * @param collection
+	 *          {@link DBCollection} reference
+	 * @param nodeKey
+	 *          the node key
+	 * @param kind
+	 *          the kind of the node
+	 * @param deweyID
+	 *          the optional DeweyID of the node
+	 */
+	public DBNode(final NodeReadTrx rtx, final DBCollection collection,
+			final long nodeKey, final org.sirix.node.Kind kind,
+			final Optional<SirixDeweyID> deweyID) {
+		mCollection = checkNotNull(collection);
+		mRtx = checkNotNull(rtx);
+		mIsWtx = mRtx instanceof NodeWriteTrx;
+		mNodeKey = nodeKey;
+		mKind = checkNotNull(kind);
+		mDeweyID = checkNotNull(deweyID);
+	}
+
+	/**
+	 * Move the transaction to {@link mNodeKey}. A read-only transaction, which is
+	 * already located at the node isn't moved, as the node can't change in
+	 * between and moving would fetch the record again.
 	 */
 	private final void moveRtx() {
-		mRtx.moveTo(mNodeKey);
+		if (mIsWtx || mRtx.getNodeKey() != mNodeKey) {
+			mRtx.moveTo(mNodeKey);
+		}
 	}
 
 	/**
@@ -424,6 +455,22 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 		return mCollection;
 	}
 
+	/**
+	 * Determines if another node belongs to the same revision of the same
+	 * resource. The transactions aren't moved.
+	 * 
+	 * @param other
+	 *          the other node
+	 * @return {@code true} if both nodes belong to the same revision of the same
+	 *         resource, {@code false} otherwise
+	 */
+	public boolean isInSameRevision(final DBNode other) {
+		return mCollection.getID() == other.mCollection.getID()
+				&& mRtx.getSession().getResourceConfig().getID() == other.mRtx
+						.getSession().getResourceConfig().getID()
+				&& mRtx.getRevisionNumber() == other.mRtx.getRevisionNumber();
+	}
+
 	@Override
 	public Scope getScope() {
 		if (mScope == null && mKind == org.sirix.node.Kind.ELEMENT) {
@@ -434,8 +481,7 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 
 	@Override
 	public Kind getKind() {
-		moveRtx();
-		switch (mRtx.getKind()) {
+		switch (mKind) {
 		case DOCUMENT:
 			return Kind.DOCUMENT;
 		case ELEMENT:
@@ -1526,7 +1572,6 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 	 * @return node key
 	 */
 	public long getNodeKey() {
-		moveRtx();
 		return mNodeKey;
 	}
 
@@ -1598,8 +1643,6 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 
 	@Override
 	protected int cmpInternal(final AbstractTemporalNode<DBNode> otherNode) {
-		moveRtx();
-
 		// Are they the same node?
 		if (this == otherNode) {
 			return 0;
@@ -1614,9 +1657,8 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 		}
 
 		// Compare document IDs.
-		final long firstDocumentID = getTrx().getSession().getResourceConfig()
-				.getID();
-		final long secondDocumentID = ((DBNode) otherNode).getTrx().getSession()
+		final long firstDocumentID = mRtx.getSession().getResourceConfig().getID();
+		final long secondDocumentID = ((DBNode) otherNode).mRtx.getSession()
 				.getResourceConfig().getID();
 		if (firstDocumentID != secondDocumentID) {
 			return firstDocumentID < secondDocumentID ? -1 : 1;
@@ -1657,7 +1699,7 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 				if (cat1 == cat2) {
 					final DBNode other = (DBNode) otherNode;
 					if (cat1 == 1) {
-						mRtx.moveToParent();
+						mRtx.moveTo(firstParent.mNodeKey);
 						for (int i = 0, nspCount = mRtx.getNamespaceCount(); i < nspCount; i++) {
 							mRtx.moveToNamespace(i);
 							if (mRtx.getNodeKey() == other.mNodeKey) {
@@ -1670,7 +1712,7 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 						}
 					}
 					if (cat1 == 2) {
-						mRtx.moveToParent();
+						mRtx.moveTo(firstParent.mNodeKey);
 						for (int i = 0, attCount = mRtx.getAttributeCount(); i < attCount; i++) {
 							mRtx.moveToAttribute(i);
 							if (mRtx.getNodeKey() == other.mNodeKey) {
@@ -1943,6 +1985,7 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 	 * @throws SirixException
 	 */
 	public long getPCR() throws SirixException {
+		moveRtx();
 		return mRtx.getPathNodeKey();
 	}
 
@@ -1953,6 +1996,6 @@ public final class DBNode extends AbstractTemporalNode<DBNode> {
 	 *         {@link DBStore} configuration)
 	 */
 	public Optional<SirixDeweyID> getDeweyID() {
-		return mRtx.getDeweyID();
+		return mDeweyID;
 	}
 }
@@ -0,0 +1,162 @@
+package org.sirix.xquery.node;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.brackit.xquery.xdm.Item;
+import org.sirix.node.SirixDeweyID;
+
+/**
+ * Sorts nodes of a single revision of a resource in document order and
+ * eliminates duplicates by means of a most significant digit radix sort on the
+ * byte encodings of their DeweyIDs. In contrast to comparison based sorts
+ * through {@link DBNode#cmp}, no transaction is moved and each DeweyID is only
+ * encoded once.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class DocumentOrderSort {
+
+	/** Number of distinct byte values. */
+	private static final int RADIX = 256;
+
+	/** Partitions up to this size are sorted by insertion sort. */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	/** Private constructor. */
+	private DocumentOrderSort() {
+		throw new AssertionError("May not be instantiated!");
+	}
+
+	/**
+	 * Sort nodes in document order and eliminate duplicates.
+	 *
+	 * @param items
+	 *          the items to sort
+	 * @return the sorted distinct nodes, or {@link Optional#empty()} if not all
+	 *         items are {@link DBNode}s of the same revision of a resource,
+	 *         which store DeweyIDs
+	 */
+	public static Optional<DBNode[]> sortDistinct(final List<? extends Item> items) {
+		final int size = items.size();
+		final DBNode[] nodes = new DBNode[size];
+		final byte[][] keys = new byte[size][];
+		for (int i = 0; i < size; i++) {
+			final Item item = items.get(i);
+			if (!(item instanceof DBNode)) {
+				return Optional.empty();
+			}
+			final DBNode node = (DBNode) item;
+			final Optional<SirixDeweyID> deweyID = node.getDeweyID();
+			if (!deweyID.isPresent() || (i > 0 && !node.isInSameRevision(nodes[0]))) {
+				return Optional.empty();
+			}
+			nodes[i] = node;
+			keys[i] = deweyID.get().toBytes();
+		}
+
+		sort(keys, nodes, new byte[size][], new DBNode[size], 0, size, 0);
+
+		// Duplicates are adjacent.
+		int distinct = size == 0 ? 0 : 1;
+		for (int i = 1; i < size; i++) {
+			if (!Arrays.equals(keys[i], keys[distinct - 1])) {
+				keys[distinct] = keys[i];
+				nodes[distinct++] = nodes[i];
+			}
+		}
+		return Optional.of(distinct == size ? nodes : Arrays.copyOf(nodes,
+				distinct));
+	}
+
+	/**
+	 * Sort a partition, whose keys share their first {@code depth} bytes.
+	 *
+	 * @param keys
+	 *          the DeweyID encodings
+	 * @param nodes
+	 *          the nodes, which are permuted with their keys
+	 * @param auxKeys
+	 *          auxiliary array for the keys
+	 * @param auxNodes
+	 *          auxiliary array for the nodes
+	 * @param from
+	 *          the first index of the partition (inclusive)
+	 * @param to
+	 *          the last index of the partition (exclusive)
+	 * @param depth
+	 *          the index of the byte to distribute by
+	 */
+	private static void sort(final byte[][] keys, final DBNode[] nodes,
+			final byte[][] auxKeys, final DBNode[] auxNodes, final int from,
+			final int to, final int depth) {
+		if (to - from <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(keys, nodes, from, to);
+			return;
+		}
+
+		// Bucket 0 holds keys, which end before depth (shorter keys, that is
+		// ancestors, come first).
+		final int[] count = new int[RADIX + 2];
+		for (int i = from; i < to; i++) {
+			count[byteAt(keys[i], depth) + 2]++;
+		}
+		for (int r = 0; r < RADIX + 1; r++) {
+			count[r + 1] += count[r];
+		}
+		for (int i = from; i < to; i++) {
+			final int bucket = count[byteAt(keys[i], depth) + 1]++;
+			auxKeys[bucket] = keys[i];
+			auxNodes[bucket] = nodes[i];
+		}
+		System.arraycopy(auxKeys, 0, keys, from, to - from);
+		System.arraycopy(auxNodes, 0, nodes, from, to - from);
+
+		for (int r = 0; r < RADIX; r++) {
+			sort(keys, nodes, auxKeys, auxNodes, from + count[r], from
+					+ count[r + 1], depth + 1);
+		}
+	}
+
+	/**
+	 * Sort a small partition by insertion sort.
+	 *
+	 * @param keys
+	 *          the DeweyID encodings
+	 * @param nodes
+	 *          the nodes, which are permuted with their keys
+	 * @param from
+	 *          the first index of the partition (inclusive)
+	 * @param to
+	 *          the last index of the partition (exclusive)
+	 */
+	private static void insertionSort(final byte[][] keys, final DBNode[] nodes,
+			final int from, final int to) {
+		for (int i = from + 1; i < to; i++) {
+			final byte[] key = keys[i];
+			final DBNode node = nodes[i];
+			int j = i;
+			for (; j > from && SirixDeweyID.compare(keys[j - 1], key) > 0; j--) {
+				keys[j] = keys[j - 1];
+				nodes[j] = nodes[j - 1];
+			}
+			keys[j] = key;
+			nodes[j] = node;
+		}
+	}
+
+	/**
+	 * Get an unsigned byte of a key.
+	 *
+	 * @param key
+	 *          the key
+	 * @param depth
+	 *          the index of the byte
+	 * @return the unsigned byte or {@code -1} if the key is shorter
+	 */
+	private static int byteAt(final byte[] key, final int depth) {
+		return depth < key.length ? key[depth] & 0xFF : -1;
+	}
+}
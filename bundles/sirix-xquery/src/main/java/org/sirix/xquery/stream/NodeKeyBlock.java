@@ -0,0 +1,236 @@
+package org.sirix.xquery.stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import javax.annotation.Nonnegative;
+
+import org.sirix.api.NodeReadTrx;
+import org.sirix.node.Kind;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.xquery.node.DBCollection;
+import org.sirix.xquery.node.DBNode;
+
+/**
+ * A block of nodes stored in columns of primitive node keys, name keys and
+ * kinds, which is filled while a transaction iterates over the nodes. Kind and
+ * name tests are evaluated on the columns and {@link DBNode}s are only
+ * materialized from the columns if needed, without moving the transaction.
+ * The columns grow on demand up to the capacity of the block.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class NodeKeyBlock {
+
+	/** Initial size of the columns. */
+	private static final int INITIAL_SIZE = 16;
+
+	/** Maximum number of nodes. */
+	private final int mCapacity;
+
+	/** Node keys. */
+	private long[] mNodeKeys;
+
+	/** Kinds of the nodes. */
+	private Kind[] mKinds;
+
+	/** Prefix keys of name nodes, {@code -1} otherwise. */
+	private int[] mPrefixKeys;
+
+	/** Local name keys of name nodes, {@code -1} otherwise. */
+	private int[] mLocalNameKeys;
+
+	/** DeweyIDs of the nodes (might be {@code null}). */
+	private SirixDeweyID[] mDeweyIDs;
+
+	/** Number of nodes. */
+	private int mSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 *          maximum number of nodes
+	 */
+	public NodeKeyBlock(final @Nonnegative int capacity) {
+		checkArgument(capacity > 0, "capacity must be > 0!");
+		mCapacity = capacity;
+		final int size = Math.min(capacity, INITIAL_SIZE);
+		mNodeKeys = new long[size];
+		mKinds = new Kind[size];
+		mPrefixKeys = new int[size];
+		mLocalNameKeys = new int[size];
+		mDeweyIDs = new SirixDeweyID[size];
+	}
+
+	/**
+	 * Add the node the transaction is currently located at.
+	 *
+	 * @param rtx
+	 *          the transaction, which isn't moved
+	 */
+	public void add(final NodeReadTrx rtx) {
+		if (mSize == mNodeKeys.length) {
+			grow();
+		}
+		mNodeKeys[mSize] = rtx.getNodeKey();
+		mKinds[mSize] = rtx.getKind();
+		if (rtx.isNameNode()) {
+			mPrefixKeys[mSize] = rtx.getPrefixKey();
+			mLocalNameKeys[mSize] = rtx.getLocalNameKey();
+		} else {
+			mPrefixKeys[mSize] = -1;
+			mLocalNameKeys[mSize] = -1;
+		}
+		mDeweyIDs[mSize] = rtx.getDeweyID().orElse(null);
+		mSize++;
+	}
+
+	/**
+	 * Retain only the nodes of a kind.
+	 *
+	 * @param kind
+	 *          the kind
+	 */
+	public void retain(final Kind kind) {
+		int size = 0;
+		for (int i = 0; i < mSize; i++) {
+			if (mKinds[i] == kind) {
+				move(i, size++);
+			}
+		}
+		truncate(size);
+	}
+
+	/**
+	 * Retain only the nodes of a kind with a name.
+	 *
+	 * @param kind
+	 *          the kind
+	 * @param prefixKey
+	 *          the prefix key, {@code -1} for no prefix
+	 * @param localNameKey
+	 *          the local name key
+	 */
+	public void retain(final Kind kind, final int prefixKey,
+			final int localNameKey) {
+		int size = 0;
+		for (int i = 0; i < mSize; i++) {
+			if (mLocalNameKeys[i] == localNameKey && mPrefixKeys[i] == prefixKey
+					&& mKinds[i] == kind) {
+				move(i, size++);
+			}
+		}
+		truncate(size);
+	}
+
+	/**
+	 * Materialize a node.
+	 *
+	 * @param index
+	 *          the index of the node
+	 * @param rtx
+	 *          the transaction the node is bound to
+	 * @param collection
+	 *          the collection the node belongs to
+	 * @return the node
+	 */
+	public DBNode materialize(final @Nonnegative int index,
+			final NodeReadTrx rtx, final DBCollection collection) {
+		checkElementIndex(index, mSize);
+		return new DBNode(rtx, collection, mNodeKeys[index], mKinds[index],
+				Optional.ofNullable(mDeweyIDs[index]));
+	}
+
+	/**
+	 * Get a node key.
+	 *
+	 * @param index
+	 *          the index of the node
+	 * @return the node key
+	 */
+	public long getNodeKey(final @Nonnegative int index) {
+		checkElementIndex(index, mSize);
+		return mNodeKeys[index];
+	}
+
+	/**
+	 * Get the kind of a node.
+	 *
+	 * @param index
+	 *          the index of the node
+	 * @return the kind
+	 */
+	public Kind getKind(final @Nonnegative int index) {
+		checkElementIndex(index, mSize);
+		return mKinds[index];
+	}
+
+	/**
+	 * Get the number of nodes.
+	 *
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * Determines if the block is full.
+	 *
+	 * @return {@code true} if no further node can be added, {@code false}
+	 *         otherwise
+	 */
+	public boolean isFull() {
+		return mSize == mCapacity;
+	}
+
+	/** Remove all nodes, whereas the columns are kept. */
+	public void clear() {
+		truncate(0);
+	}
+
+	/**
+	 * Move a node to a lower index.
+	 *
+	 * @param from
+	 *          the current index
+	 * @param to
+	 *          the new index
+	 */
+	private void move(final int from, final int to) {
+		if (from != to) {
+			mNodeKeys[to] = mNodeKeys[from];
+			mKinds[to] = mKinds[from];
+			mPrefixKeys[to] = mPrefixKeys[from];
+			mLocalNameKeys[to] = mLocalNameKeys[from];
+			mDeweyIDs[to] = mDeweyIDs[from];
+		}
+	}
+
+	/**
+	 * Truncate the block and release the references of removed nodes.
+	 *
+	 * @param size
+	 *          the new number of nodes
+	 */
+	private void truncate(final int size) {
+		Arrays.fill(mKinds, size, mSize, null);
+		Arrays.fill(mDeweyIDs, size, mSize, null);
+		mSize = size;
+	}
+
+	/** Grow the columns. */
+	private void grow() {
+		final int size = Math.min(mCapacity, mNodeKeys.length << 1);
+		mNodeKeys = Arrays.copyOf(mNodeKeys, size);
+		mKinds = Arrays.copyOf(mKinds, size);
+		mPrefixKeys = Arrays.copyOf(mPrefixKeys, size);
+		mLocalNameKeys = Arrays.copyOf(mLocalNameKeys, size);
+		mDeweyIDs = Arrays.copyOf(mDeweyIDs, size);
+	}
+}
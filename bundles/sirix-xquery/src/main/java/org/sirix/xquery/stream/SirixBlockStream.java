@@ -0,0 +1,188 @@
+package org.sirix.xquery.stream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Stream;
+import org.sirix.api.Axis;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.node.Kind;
+import org.sirix.xquery.node.DBCollection;
+import org.sirix.xquery.node.DBNode;
+
+import com.google.common.base.Objects;
+
+/**
+ * {@link Stream}, wrapping a Sirix {@link Axis}, which drains the axis in
+ * {@link NodeKeyBlock}s. An optional kind and name test is evaluated on the
+ * columns of each block instead of node by node and {@link DBNode}s are
+ * materialized from the columns once they are requested, such that the
+ * transaction isn't moved to the nodes again.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class SirixBlockStream implements Stream<DBNode> {
+
+	/** Sirix {@link Axis}. */
+	private final Axis mAxis;
+
+	/** {@link DBCollection} the nodes belong to. */
+	private final DBCollection mCollection;
+
+	/** The current block. */
+	private final NodeKeyBlock mBlock;
+
+	/** The kind to test or {@code null}. */
+	private final Kind mKind;
+
+	/** Determines if the name is tested. */
+	private final boolean mNameTest;
+
+	/** Prefix key to test. */
+	private final int mPrefixKey;
+
+	/** Local name key to test. */
+	private final int mLocalNameKey;
+
+	/** Index of the next node in the current block. */
+	private int mIndex;
+
+	/** Determines if the axis is exhausted. */
+	private boolean mDone;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param axis
+	 *          Sirix {@link Axis}
+	 * @param collection
+	 *          {@link DBCollection} the nodes belong to
+	 * @param blockSize
+	 *          maximum number of nodes per block
+	 */
+	public SirixBlockStream(final Axis axis, final DBCollection collection,
+			final @Nonnegative int blockSize) {
+		this(axis, collection, blockSize, null, false, -1, -1);
+	}
+
+	/**
+	 * Constructor, which retains only nodes of a kind.
+	 *
+	 * @param axis
+	 *          Sirix {@link Axis}
+	 * @param collection
+	 *          {@link DBCollection} the nodes belong to
+	 * @param blockSize
+	 *          maximum number of nodes per block
+	 * @param kind
+	 *          the kind of the retained nodes
+	 */
+	public SirixBlockStream(final Axis axis, final DBCollection collection,
+			final @Nonnegative int blockSize, final Kind kind) {
+		this(axis, collection, blockSize, checkNotNull(kind), false, -1, -1);
+	}
+
+	/**
+	 * Constructor, which retains only nodes of a kind with a name.
+	 *
+	 * @param axis
+	 *          Sirix {@link Axis}
+	 * @param collection
+	 *          {@link DBCollection} the nodes belong to
+	 * @param blockSize
+	 *          maximum number of nodes per block
+	 * @param kind
+	 *          the kind of the retained nodes
+	 * @param prefixKey
+	 *          the prefix key of the retained nodes, {@code -1} for no prefix
+	 * @param localNameKey
+	 *          the local name key of the retained nodes
+	 */
+	public SirixBlockStream(final Axis axis, final DBCollection collection,
+			final @Nonnegative int blockSize, final Kind kind, final int prefixKey,
+			final int localNameKey) {
+		this(axis, collection, blockSize, checkNotNull(kind), true, prefixKey,
+				localNameKey);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param axis
+	 *          Sirix {@link Axis}
+	 * @param collection
+	 *          {@link DBCollection} the nodes belong to
+	 * @param blockSize
+	 *          maximum number of nodes per block
+	 * @param kind
+	 *          the kind of the retained nodes or {@code null} to retain all nodes
+	 * @param nameTest
+	 *          determines if the name of the nodes is tested
+	 * @param prefixKey
+	 *          the prefix key of the retained nodes
+	 * @param localNameKey
+	 *          the local name key of the retained nodes
+	 */
+	private SirixBlockStream(final Axis axis, final DBCollection collection,
+			final @Nonnegative int blockSize, final @Nullable Kind kind,
+			final boolean nameTest, final int prefixKey, final int localNameKey) {
+		mAxis = checkNotNull(axis);
+		mCollection = checkNotNull(collection);
+		mBlock = new NodeKeyBlock(blockSize);
+		mKind = kind;
+		mNameTest = nameTest;
+		mPrefixKey = prefixKey;
+		mLocalNameKey = localNameKey;
+	}
+
+	@Override
+	public DBNode next() throws DocumentException {
+		if (mIndex == mBlock.size() && !fill()) {
+			return null;
+		}
+		return mBlock.materialize(mIndex++, mAxis.getTrx(), mCollection);
+	}
+
+	/**
+	 * Fill the block with the next nodes, which pass the test.
+	 *
+	 * @return {@code true} if the block contains at least one node, {@code false}
+	 *         if the axis is exhausted
+	 */
+	private boolean fill() {
+		mBlock.clear();
+		mIndex = 0;
+		final NodeReadTrx rtx = mAxis.getTrx();
+		while (mBlock.size() == 0 && !mDone) {
+			while (!mBlock.isFull()) {
+				if (!mAxis.hasNext()) {
+					mDone = true;
+					break;
+				}
+				mAxis.next();
+				mBlock.add(rtx);
+			}
+			if (mNameTest) {
+				mBlock.retain(mKind, mPrefixKey, mLocalNameKey);
+			} else if (mKind != null) {
+				mBlock.retain(mKind);
+			}
+		}
+		return mBlock.size() > 0;
+	}
+
+	@Override
+	public void close() {
+		mBlock.clear();
+		mDone = true;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).add("axis", mAxis).toString();
+	}
+}
@@ -2,8 +2,8 @@ package org.sirix.xquery.stream;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.Set;
 
 import org.brackit.xquery.xdm.DocumentException;
 import org.brackit.xquery.xdm.Stream;
@@ -17,25 +17,26 @@ public final class SirixNodeKeyStream implements Stream<DBNode> {
 	private final Iterator<NodeReferences> mIter;
 	private final DBCollection mCollection;
 	private final NodeReadTrx mRtx;
+	private Iterator<Long> mNodeKeys;
 
 	public SirixNodeKeyStream(final Iterator<NodeReferences> iter,
 			final DBCollection collection, final NodeReadTrx rtx) {
 		mIter = checkNotNull(iter);
 		mCollection = checkNotNull(collection);
 		mRtx = checkNotNull(rtx);
+		mNodeKeys = Collections.emptyIterator();
 	}
 
 	@Override
 	public DBNode next() throws DocumentException {
-		while (mIter.hasNext()) {
-			final NodeReferences nodeReferences = mIter.next();
-			final Set<Long> nodeKeys = nodeReferences.getNodeKeys();
-			for (final long nodeKey : nodeKeys) {
-				mRtx.moveTo(nodeKey);
-				return new DBNode(mRtx, mCollection);
+		while (!mNodeKeys.hasNext()) {
+			if (!mIter.hasNext()) {
+				return null;
 			}
+			mNodeKeys = mIter.next().getNodeKeys().iterator();
 		}
-		return null;
+		mRtx.moveTo(mNodeKeys.next());
+		return new DBNode(mRtx, mCollection);
 	}
 
 	@Override
@@ -6,6 +6,7 @@ import org.brackit.xquery.xdm.AbstractTemporalNode;
 import org.brackit.xquery.xdm.DocumentException;
 import org.brackit.xquery.xdm.Stream;
 import org.sirix.api.Axis;
+import org.sirix.api.NodeReadTrx;
 import org.sirix.axis.AbstractTemporalAxis;
 import org.sirix.xquery.node.DBCollection;
 import org.sirix.xquery.node.DBNode;
@@ -13,7 +14,9 @@ import org.sirix.xquery.node.DBNode;
 import com.google.common.base.Objects;
 
 /**
- * {@link Stream}, wrapping a temporal axis.
+ * {@link Stream}, wrapping a temporal axis. The transactions of the axis are
+ * only valid until it's exhausted or closed, whereas the nodes might be used
+ * afterwards, thus each node is bound to its own transaction.
  * 
  * @author Johannes Lichtenberger
  * 
@@ -44,14 +47,18 @@ public class TemporalSirixStream implements
 	@Override
 	public AbstractTemporalNode<DBNode> next() throws DocumentException {
 		if (mAxis.hasNext()) {
-			mAxis.next();
-			return new DBNode(mAxis.getTrx(), mCollection);
+			final NodeReadTrx axisRtx = mAxis.next();
+			final NodeReadTrx rtx = axisRtx.getSession().beginNodeReadTrx(
+					axisRtx.getRevisionNumber());
+			rtx.moveTo(axisRtx.getNodeKey());
+			return new DBNode(rtx, mCollection);
 		}
 		return null;
 	}
 
 	@Override
 	public void close() {
+		mAxis.close();
 	}
 
 	@Override
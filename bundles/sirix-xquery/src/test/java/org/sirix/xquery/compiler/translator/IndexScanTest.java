@@ -0,0 +1,349 @@
+package org.sirix.xquery.compiler.translator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.CompileChain;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.Optimizer;
+import org.brackit.xquery.compiler.translator.Translator;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.node.parser.DocumentParser;
+import org.brackit.xquery.xdm.DocumentException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.compiler.optimizer.SirixOptimizer;
+import org.sirix.xquery.compiler.optimizer.walker.IndexScanStep;
+import org.sirix.xquery.function.sdb.SDBFun;
+import org.sirix.xquery.node.DBNode;
+import org.sirix.xquery.node.DBStore;
+
+/**
+ * Test the rewrite of {@code descendant::} steps from the document root to
+ * index scans ({@link IndexScanStep} and {@link IndexScan}).
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class IndexScanTest {
+
+	/** Location of the store. */
+	private static final File LOCATION = new File(
+			System.getProperty("java.io.tmpdir"), "sirix-index-scan-test");
+
+	/** Name of the collection. */
+	private static final String COLLECTION = "indexScanTest";
+
+	/** Document of the collection. */
+	private static final String DOC = "sdb:doc('" + COLLECTION
+			+ "', 'resource1')";
+
+	@Before
+	public void setUp() throws DocumentException {
+		final StringBuilder xml = new StringBuilder("<site><regions>");
+		// Filler, such that the items and names are selective.
+		for (int i = 0; i < 40; i++) {
+			xml.append("<region><country>c").append(i)
+					.append("</country></region>");
+		}
+		xml.append("<item id=\"i1\"><name>A</name></item>");
+		xml.append("<item id=\"i2\"><name>B</name></item>");
+		xml.append("<item id=\"i3\"><name>A</name></item>");
+		xml.append("</regions></site>");
+		try (final DBStore store = newStore()) {
+			store.create(COLLECTION, new DocumentParser(xml.toString()));
+		}
+	}
+
+	@After
+	public void tearDown() throws DocumentException {
+		try (final DBStore store = newStore()) {
+			store.drop(COLLECTION);
+		}
+	}
+
+	@Test
+	public void testCASIndexOnAttribute() throws QueryException {
+		createIndexes("sdb:create-cas-index($doc, 'xs:string', '//item/@id')");
+		assertFalse(assertRewritten(DOC + "/descendant::item[@id = 'i2']", "i2",
+				"id").isEmpty());
+		assertFalse(assertRewritten(DOC + "/descendant::item['i3' = @id]", "i3",
+				"id").isEmpty());
+		assertTrue(assertRewritten(DOC + "/descendant::item[@id = 'i4']", "i4",
+				"id").isEmpty());
+	}
+
+	@Test
+	public void testCASIndexOnText() throws QueryException {
+		createIndexes("sdb:create-cas-index($doc, 'xs:string', '//name')");
+		assertFalse(assertRewritten(DOC + "/descendant::name[text() = 'A']", "A",
+				null).isEmpty());
+		assertFalse(assertRewritten(DOC + "/descendant::name[./text() = 'B']",
+				"B", null).isEmpty());
+	}
+
+	@Test
+	public void testNameIndex() throws QueryException {
+		createIndexes("sdb:create-name-index($doc, fn:QName((), 'item'))");
+		assertFalse(assertRewritten(DOC + "/descendant::item", null, null)
+				.isEmpty());
+		assertFalse(assertRewritten(DOC + "/descendant::item[name = 'A']", null,
+				null).isEmpty());
+	}
+
+	@Test
+	public void testPathIndex() throws QueryException {
+		createIndexes("sdb:create-path-index($doc, '//name')");
+		assertFalse(assertRewritten(DOC + "/descendant::name", null, null)
+				.isEmpty());
+		assertFalse(assertRewritten(DOC + "/descendant-or-self::name", null, null)
+				.isEmpty());
+	}
+
+	@Test
+	public void testScanWithIndex() throws QueryException {
+		createIndexes("sdb:create-name-index($doc, fn:QName((), 'item'))");
+		try (final DBStore store = newStore()) {
+			final DBNode doc = (DBNode) new XQuery(new SirixCompileChain(store), DOC)
+					.execute(new QueryContext(store));
+			final NodeReadTrx rtx = doc.getTrx();
+			try (final PathSummaryReader reader = rtx.getSession().openPathSummary(
+					rtx.getRevisionNumber())) {
+				final QNm item = new QNm("item");
+				final BitSet matches = reader.match(item, 1);
+				assertNotNull(IndexScan.scan(doc, item, matches, reader, null, null));
+				// A value comparison requires a CAS index.
+				assertNull(IndexScan.scan(doc, item, matches, reader, new QNm("id"),
+						new Str("i2")));
+			}
+		}
+	}
+
+	@Test
+	public void testScanWithoutIndex() throws QueryException {
+		try (final DBStore store = newStore()) {
+			final DBNode doc = (DBNode) new XQuery(new SirixCompileChain(store), DOC)
+					.execute(new QueryContext(store));
+			final NodeReadTrx rtx = doc.getTrx();
+			try (final PathSummaryReader reader = rtx.getSession().openPathSummary(
+					rtx.getRevisionNumber())) {
+				final QNm item = new QNm("item");
+				final BitSet matches = reader.match(item, 1);
+				assertNull(IndexScan.scan(doc, item, matches, reader, null, null));
+				assertNull(IndexScan.scan(doc, item, matches, reader, new QNm("id"),
+						new Str("i2")));
+			}
+		}
+
+		// Candidates, but the navigation is used.
+		assertRewritten(DOC + "/descendant::item", null, null);
+		assertRewritten(DOC + "/descendant::item[@id = 'i2']", "i2", "id");
+	}
+
+	@Test
+	public void testUnsupportedPredicates() throws QueryException {
+		createIndexes("sdb:create-cas-index($doc, 'xs:string', '//item/@id')");
+		assertRewritten(DOC + "/descendant::item[@id != 'i2']", null, null);
+		assertRewritten(DOC + "/descendant::item[name = 'A']", null, null);
+		assertRewritten(DOC + "/descendant::item[contains(@id, '2')]", null, null);
+		assertRewritten(DOC + "/descendant::item[@id = 'i1' or @id = 'i2']",
+				null, null);
+	}
+
+	@Test
+	public void testNoCandidates() throws QueryException {
+		final IndexCompileChain chain = evaluate(
+				DOC + "/site/regions/item[@id = 'i2']").mChain;
+		assertTrue(indexCandidates(chain.mAst).isEmpty());
+	}
+
+	/**
+	 * Create indexes and commit them.
+	 *
+	 * @param indexes
+	 *          the index creation function calls on {@code $doc}
+	 * @throws QueryException
+	 *           if the indexes can't be created
+	 */
+	private void createIndexes(final String indexes) throws QueryException {
+		try (final DBStore store = newStore()) {
+			// Serialized, such that the lazily evaluated result is consumed.
+			new XQuery(new SirixCompileChain(store), "let $doc := sdb:doc('"
+					+ COLLECTION + "', 'resource1', (), fn:boolean(1)) "
+					+ "let $stats := " + indexes + " return sdb:commit($doc)")
+					.serialize(new QueryContext(store), new PrintStream(
+							new ByteArrayOutputStream()));
+		}
+	}
+
+	/**
+	 * Assert that the query returns the same result with and without the index
+	 * rewrite and that its {@code descendant::} step has been marked.
+	 *
+	 * @param query
+	 *          the query
+	 * @param value
+	 *          the expected string literal of a value comparison, or
+	 *          {@code null}
+	 * @param attribute
+	 *          the expected name of the compared attribute, or {@code null}
+	 * @return the serialized result
+	 * @throws QueryException
+	 *           if the query fails
+	 */
+	private String assertRewritten(final String query, final String value,
+			final String attribute) throws QueryException {
+		final Result rewritten = evaluate(query);
+		assertEquals(query, serialize(query), rewritten.mSerialized);
+
+		final List<AST> candidates = indexCandidates(rewritten.mChain.mAst);
+		assertEquals(query, 1, candidates.size());
+		final AST axis = candidates.get(0);
+		final Object casValue = axis.getProperty(IndexScanStep.CAS_VALUE);
+		if (value == null) {
+			assertNull(query, casValue);
+		} else {
+			assertEquals(query, value, casValue.toString());
+		}
+		final Object casAttribute = axis.getProperty(IndexScanStep.CAS_ATTRIBUTE);
+		if (attribute == null) {
+			assertNull(query, casAttribute);
+		} else {
+			assertEquals(query, attribute, casAttribute.toString());
+		}
+		return rewritten.mSerialized;
+	}
+
+	/**
+	 * Evaluate a query with the index rewrite.
+	 *
+	 * @param query
+	 *          the query
+	 * @return the result
+	 * @throws QueryException
+	 *           if the query fails
+	 */
+	private Result evaluate(final String query) throws QueryException {
+		try (final DBStore store = newStore()) {
+			final IndexCompileChain chain = new IndexCompileChain(store);
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new XQuery(chain, query).serialize(new QueryContext(store),
+					new PrintStream(out));
+			return new Result(chain, out.toString());
+		}
+	}
+
+	/**
+	 * Evaluate a query without the index rewrite (plain navigation).
+	 *
+	 * @param query
+	 *          the query
+	 * @return the serialized result
+	 * @throws QueryException
+	 *           if the query fails
+	 */
+	private String serialize(final String query) throws QueryException {
+		try (final DBStore store = newStore()) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new XQuery(new SirixCompileChain(store), query).serialize(
+					new QueryContext(store), new PrintStream(out));
+			return out.toString();
+		}
+	}
+
+	/**
+	 * Collect the axes, which have been marked as index candidates.
+	 *
+	 * @param ast
+	 *          the optimized AST
+	 * @return the marked axes
+	 */
+	private static List<AST> indexCandidates(final AST ast) {
+		final List<AST> candidates = new ArrayList<>();
+		collect(ast, candidates);
+		return candidates;
+	}
+
+	private static void collect(final AST node, final List<AST> candidates) {
+		if ((node.getType() == XQ.DESCENDANT || node.getType() == XQ.DESCENDANT_OR_SELF)
+				&& node.checkProperty(IndexScanStep.INDEX_MATCHING)) {
+			candidates.add(node);
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			collect(node.getChild(i), candidates);
+		}
+	}
+
+	private static DBStore newStore() {
+		return DBStore.newBuilder().location(LOCATION).build();
+	}
+
+	/** Serialized result of a query and the chain, which compiled it. */
+	private static final class Result {
+		private final IndexCompileChain mChain;
+
+		private final String mSerialized;
+
+		Result(final IndexCompileChain chain, final String serialized) {
+			mChain = chain;
+			mSerialized = serialized;
+		}
+	}
+
+	/**
+	 * Compile chain, which applies the index rewrite and records the optimized
+	 * AST.
+	 */
+	private static final class IndexCompileChain extends CompileChain {
+		static {
+			SDBFun.register();
+		}
+
+		private final DBStore mStore;
+
+		private AST mAst;
+
+		IndexCompileChain(final DBStore store) {
+			mStore = store;
+		}
+
+		@Override
+		protected Translator getTranslator(final Map<QNm, Str> options) {
+			return new SirixTranslator(options);
+		}
+
+		@Override
+		protected Optimizer getOptimizer(final Map<QNm, Str> options) {
+			final Optimizer optimizer = new SirixOptimizer(options, mStore);
+			return new Optimizer() {
+				@Override
+				public AST rewrite(final StaticContext sctx, final AST ast)
+						throws QueryException {
+					mAst = optimizer.rewrite(sctx, ast);
+					return mAst;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package org.sirix.xquery.function.sdb.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.node.parser.DocumentParser;
+import org.brackit.xquery.xdm.DocumentException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.api.NodeWriteTrx;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.node.DBCollection;
+import org.sirix.xquery.node.DBStore;
+
+/**
+ * Test that {@link DocAt} opens the revision, which has been the most recent
+ * one at a point in time.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class DocAtTest {
+
+	/** Location of the store. */
+	private static final File LOCATION = new File(
+			System.getProperty("java.io.tmpdir"), "sirix-doc-at-test");
+
+	/** Name of the collection. */
+	private static final String COLLECTION = "docAtTest";
+
+	/** Format of a point in time without a timezone. */
+	private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+	@Before
+	public void setUp() throws DocumentException {
+		try (final DBStore store = newStore()) {
+			store.create(COLLECTION, new DocumentParser("<r><a/></r>"));
+		}
+	}
+
+	@After
+	public void tearDown() throws DocumentException {
+		try (final DBStore store = newStore()) {
+			store.drop(COLLECTION);
+		}
+	}
+
+	@Test
+	public void testDocAt() throws QueryException, InterruptedException {
+		final int revision = Integer.parseInt(query("sdb:most-recent-revision("
+				+ "sdb:doc('" + COLLECTION + "', 'resource1'))"));
+		// Commits within the same millisecond can't be told apart.
+		Thread.sleep(10);
+		final Instant beforeCommit = now();
+		Thread.sleep(10);
+
+		try (final DBStore store = newStore()) {
+			final NodeWriteTrx wtx = (NodeWriteTrx) ((DBCollection) store
+					.lookup(COLLECTION)).getDocument(true).getTrx();
+			wtx.moveToDocumentRoot();
+			wtx.moveToFirstChild();
+			wtx.insertElementAsFirstChild(new QNm("b"));
+			wtx.commit();
+		}
+		Thread.sleep(10);
+		final Instant afterCommit = now();
+
+		assertEquals(revision + " 0", docAt("xs:dateTime('" + beforeCommit + "')"));
+		assertEquals((revision + 1) + " 1", docAt("xs:dateTime('" + afterCommit
+				+ "')"));
+		// Without a timezone the point in time is in the default timezone.
+		assertEquals(revision + " 0", docAt("xs:dateTime('"
+				+ LOCAL_FORMAT.format(LocalDateTime.ofInstant(beforeCommit,
+						ZoneId.systemDefault())) + "')"));
+		assertEquals((revision + 1) + " 1", docAt("fn:current-dateTime()"));
+	}
+
+	@Test(expected = QueryException.class)
+	public void testBeforeFirstRevision() throws QueryException {
+		docAt("xs:dateTime('1970-01-01T00:00:00Z')");
+	}
+
+	/**
+	 * Open the document at a point in time.
+	 *
+	 * @param pointInTime
+	 *          the expression of the point in time
+	 * @return the revision number and the number of {@code b} elements
+	 * @throws QueryException
+	 *           if the query fails
+	 */
+	private static String docAt(final String pointInTime) throws QueryException {
+		return query("let $doc := sdb:doc-at('" + COLLECTION + "', 'resource1', "
+				+ pointInTime + ") return (sdb:revision($doc), count($doc//b))");
+	}
+
+	private static String query(final String query) throws QueryException {
+		try (final DBStore store = newStore()) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new XQuery(new SirixCompileChain(store), query).serialize(
+					new QueryContext(store), new PrintStream(out));
+			return out.toString();
+		}
+	}
+
+	// Millisecond precision, as the commit timestamps.
+	private static Instant now() {
+		return Instant.ofEpochMilli(System.currentTimeMillis());
+	}
+
+	private static DBStore newStore() {
+		return DBStore.newBuilder().location(LOCATION).build();
+	}
+}
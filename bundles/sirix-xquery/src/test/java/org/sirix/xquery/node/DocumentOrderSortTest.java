@@ -0,0 +1,193 @@
+package org.sirix.xquery.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.node.parser.DocumentParser;
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Item;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.api.Axis;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+
+/**
+ * Test {@link DocumentOrderSort}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class DocumentOrderSortTest {
+
+	/** Location of the store. */
+	private static final File LOCATION = new File(
+			System.getProperty("java.io.tmpdir"), "sirix-document-order-sort-test");
+
+	/** Name of the collection. */
+	private static final String COLLECTION = "documentOrderSortTest";
+
+	/**
+	 * Number of children of the root element, such that the divisions of the
+	 * DeweyIDs have different lengths.
+	 */
+	private static final int CHILDREN = 300;
+
+	/** Depth of the nested elements, which follow the children. */
+	private static final int DEPTH = 40;
+
+	/** The store. */
+	private DBStore mStore;
+
+	/** Transaction, which is used to collect the nodes. */
+	private NodeReadTrx mRtx;
+
+	/** All nodes (including attributes) in document order. */
+	private List<DBNode> mNodes;
+
+	@Before
+	public void setUp() throws DocumentException {
+		final StringBuilder xml = new StringBuilder("<r>");
+		for (int i = 0; i < CHILDREN; i++) {
+			xml.append("<c i=\"").append(i).append("\"><d>t</d></c>");
+		}
+		for (int i = 0; i < DEPTH; i++) {
+			xml.append("<n>");
+		}
+		for (int i = 0; i < DEPTH; i++) {
+			xml.append("</n>");
+		}
+		xml.append("</r>");
+		mStore = newStore();
+		mStore.create(COLLECTION, new DocumentParser(xml.toString()));
+		final DBNode doc = ((DBCollection) mStore.lookup(COLLECTION))
+				.getDocument();
+		mRtx = doc.getTrx().getSession().beginNodeReadTrx();
+		mNodes = new ArrayList<>();
+		final Axis axis = new DescendantAxis(mRtx, IncludeSelf.YES);
+		while (axis.hasNext()) {
+			axis.next();
+			mNodes.add(new DBNode(mRtx, doc.getCollection()));
+			for (int i = 0, count = mRtx.getAttributeCount(); i < count; i++) {
+				mRtx.moveToAttribute(i);
+				mNodes.add(new DBNode(mRtx, doc.getCollection()));
+				mRtx.moveToParent();
+			}
+		}
+	}
+
+	@After
+	public void tearDown() throws DocumentException {
+		mRtx.close();
+		mStore.close();
+		try (final DBStore store = newStore()) {
+			store.drop(COLLECTION);
+		}
+	}
+
+	@Test
+	public void testEmptyInput() {
+		final Optional<DBNode[]> sorted = DocumentOrderSort
+				.sortDistinct(Collections.<Item> emptyList());
+		assertTrue(sorted.isPresent());
+		assertEquals(0, sorted.get().length);
+	}
+
+	@Test
+	public void testAncestorBeforeDescendant() {
+		// Document node, root element, first child, its attribute, its child and
+		// the text of the child.
+		final List<DBNode> path = mNodes.subList(0, 6);
+		final List<DBNode> reversed = new ArrayList<>(path);
+		Collections.reverse(reversed);
+		assertSorted(path, reversed);
+
+		// The nested elements form a deep path (more nodes than are sorted by
+		// insertion sort).
+		final List<DBNode> nested = mNodes.subList(mNodes.size() - DEPTH,
+				mNodes.size());
+		final List<DBNode> nestedReversed = new ArrayList<>(nested);
+		Collections.reverse(nestedReversed);
+		assertSorted(nested, nestedReversed);
+	}
+
+	@Test
+	public void testMixedDepths() {
+		final Random random = new Random(42);
+		for (final int size : Arrays.asList(2, 16, 17, 100, mNodes.size())) {
+			final List<DBNode> shuffled = new ArrayList<>(mNodes);
+			Collections.shuffle(shuffled, random);
+			final List<DBNode> sample = shuffled.subList(0, size);
+			final List<DBNode> expected = new ArrayList<>(mNodes);
+			expected.retainAll(sample);
+			assertSorted(expected, sample);
+		}
+	}
+
+	@Test
+	public void testDuplicates() {
+		final Random random = new Random(42);
+		for (final int size : Arrays.asList(3, 16, mNodes.size())) {
+			final List<DBNode> nodes = mNodes.subList(0, size);
+			final List<DBNode> duplicates = new ArrayList<>(nodes);
+			// Same nodes, but distinct instances.
+			for (final DBNode node : nodes) {
+				duplicates.add(copy(node));
+				duplicates.add(node);
+			}
+			Collections.shuffle(duplicates, random);
+			assertSorted(nodes, duplicates);
+		}
+	}
+
+	@Test
+	public void testNonNodeItems() {
+		final List<Item> items = new ArrayList<>(mNodes.subList(0, 20));
+		items.add(new Str("text"));
+		assertFalse(DocumentOrderSort.sortDistinct(items).isPresent());
+	}
+
+	/**
+	 * Assert that the nodes are sorted in document order without duplicates.
+	 *
+	 * @param expected
+	 *          the distinct nodes in document order
+	 * @param nodes
+	 *          the nodes to sort
+	 */
+	private static void assertSorted(final List<DBNode> expected,
+			final List<DBNode> nodes) {
+		final Optional<DBNode[]> sorted = DocumentOrderSort.sortDistinct(nodes);
+		assertTrue(sorted.isPresent());
+		assertEquals(deweyIDs(expected), deweyIDs(Arrays.asList(sorted.get())));
+	}
+
+	private static List<String> deweyIDs(final List<DBNode> nodes) {
+		final List<String> deweyIDs = new ArrayList<>(nodes.size());
+		for (final DBNode node : nodes) {
+			deweyIDs.add(node.getDeweyID().get().toString());
+		}
+		return deweyIDs;
+	}
+
+	private DBNode copy(final DBNode node) {
+		mRtx.moveTo(node.getUnderlyingNode().getNodeKey());
+		return new DBNode(mRtx, node.getCollection());
+	}
+
+	private static DBStore newStore() {
+		return DBStore.newBuilder().location(LOCATION).build();
+	}
+}
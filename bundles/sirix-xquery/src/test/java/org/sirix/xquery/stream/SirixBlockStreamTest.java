@@ -0,0 +1,236 @@
+package org.sirix.xquery.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.brackit.xquery.node.parser.DocumentParser;
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.api.Axis;
+import org.sirix.api.NodeReadTrx;
+import org.sirix.axis.ChildAxis;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.axis.filter.ElementFilter;
+import org.sirix.axis.filter.FilterAxis;
+import org.sirix.axis.filter.NameFilter;
+import org.sirix.node.Kind;
+import org.sirix.settings.Fixed;
+import org.sirix.xquery.compiler.translator.SirixTranslator;
+import org.sirix.xquery.node.DBCollection;
+import org.sirix.xquery.node.DBNode;
+import org.sirix.xquery.node.DBStore;
+
+/**
+ * Test that the block evaluation of {@link SirixBlockStream} returns the same
+ * nodes as the single-key evaluation of {@link SirixStream} for
+ * {@code descendant::} and {@code child::} steps.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class SirixBlockStreamTest {
+
+	/** Location of the store. */
+	private static final File LOCATION = new File(
+			System.getProperty("java.io.tmpdir"), "sirix-block-stream-test");
+
+	/** Name of the collection. */
+	private static final String COLLECTION = "blockStreamTest";
+
+	/**
+	 * Block sizes, a single node, a size which doesn't divide the number of
+	 * nodes and the size used by the translator.
+	 */
+	private static final List<Integer> BLOCK_SIZES = Arrays.asList(1, 3,
+			Math.max(1, SirixTranslator.BLOCK_SIZE));
+
+	/** Names of the name tests (the last one doesn't exist). */
+	private static final List<String> NAMES = Arrays.asList("a", "b", "p:a",
+			"missing");
+
+	/** Number of children of the root element, which span several blocks. */
+	private static final int CHILDREN = 300;
+
+	/** Key of the document node. */
+	private static final long DOCUMENT_NODE_KEY = Fixed.DOCUMENT_NODE_KEY
+			.getStandardProperty();
+
+	/** The store. */
+	private DBStore mStore;
+
+	/** The document node. */
+	private DBNode mDoc;
+
+	/** Transactions opened by the test. */
+	private List<NodeReadTrx> mTrxs;
+
+	@Before
+	public void setUp() throws DocumentException {
+		final StringBuilder xml = new StringBuilder("<r xmlns:p=\"urn:p\">");
+		for (int i = 0; i < CHILDREN; i++) {
+			xml.append("<a id=\"").append(i).append("\">t<b/><!--c--><p:a>x</p:a>")
+					.append("</a>text");
+		}
+		xml.append("</r>");
+		mStore = newStore();
+		mStore.create(COLLECTION, new DocumentParser(xml.toString()));
+		mDoc = ((DBCollection) mStore.lookup(COLLECTION)).getDocument();
+		mTrxs = new ArrayList<>();
+	}
+
+	@After
+	public void tearDown() throws DocumentException {
+		for (final NodeReadTrx trx : mTrxs) {
+			trx.close();
+		}
+		mStore.close();
+		try (final DBStore store = newStore()) {
+			store.drop(COLLECTION);
+		}
+	}
+
+	@Test
+	public void testDescendantSteps() throws DocumentException {
+		// From the document node.
+		assertSameNodes(DOCUMENT_NODE_KEY, rtx -> new DescendantAxis(rtx),
+				5 * CHILDREN);
+		assertSameNodes(DOCUMENT_NODE_KEY, rtx -> new DescendantAxis(rtx,
+				IncludeSelf.YES), 5 * CHILDREN);
+		// From a single element with few descendants.
+		assertSameNodes(firstElementKey(), rtx -> new DescendantAxis(rtx), 0);
+	}
+
+	@Test
+	public void testChildSteps() throws DocumentException {
+		// From the root element, whose children span several blocks.
+		assertSameNodes(rootElementKey(), rtx -> new ChildAxis(rtx), 2 * CHILDREN);
+		// From an element with mixed content.
+		assertSameNodes(firstElementKey(), rtx -> new ChildAxis(rtx), 0);
+	}
+
+	@Test
+	public void testEmptySteps() throws DocumentException {
+		// Text nodes don't have children.
+		final NodeReadTrx rtx = newTrx(firstElementKey());
+		rtx.moveToFirstChild();
+		final long textKey = rtx.getNodeKey();
+		for (final int blockSize : BLOCK_SIZES) {
+			assertTrue(nodes(new SirixBlockStream(new ChildAxis(newTrx(textKey)),
+					mDoc.getCollection(), blockSize)).isEmpty());
+			assertTrue(nodes(new SirixBlockStream(new DescendantAxis(
+					newTrx(textKey)), mDoc.getCollection(), blockSize, Kind.ELEMENT))
+					.isEmpty());
+		}
+	}
+
+	/**
+	 * Assert that the block evaluation returns the same nodes as the single-key
+	 * evaluation for each block size without a test, with a kind test and with
+	 * name tests.
+	 *
+	 * @param startKey
+	 *          the key of the context node
+	 * @param axis
+	 *          creates the axis of the step
+	 * @param minNodes
+	 *          the minimum number of nodes without a test
+	 */
+	private void assertSameNodes(final long startKey,
+			final Function<NodeReadTrx, Axis> axis, final int minNodes)
+			throws DocumentException {
+		final DBCollection collection = mDoc.getCollection();
+		final List<String> all = nodes(new SirixStream(
+				axis.apply(newTrx(startKey)), collection));
+		assertTrue(all.size() >= minNodes);
+		assertFalse(all.isEmpty());
+
+		for (final int blockSize : BLOCK_SIZES) {
+			assertEquals(all, nodes(new SirixBlockStream(
+					axis.apply(newTrx(startKey)), collection, blockSize)));
+
+			NodeReadTrx rtx = newTrx(startKey);
+			assertEquals(
+					nodes(new SirixStream(new FilterAxis(axis.apply(rtx),
+							new ElementFilter(rtx)), collection)),
+					nodes(new SirixBlockStream(axis.apply(newTrx(startKey)),
+							collection, blockSize, Kind.ELEMENT)));
+
+			for (final String name : NAMES) {
+				rtx = newTrx(startKey);
+				final List<String> expected = nodes(new SirixStream(new FilterAxis(
+						axis.apply(rtx), new ElementFilter(rtx),
+						new NameFilter(rtx, name)), collection));
+				if (name.equals("missing")) {
+					assertTrue(expected.isEmpty());
+				}
+
+				rtx = newTrx(startKey);
+				final int index = name.indexOf(':');
+				final int prefixKey = index == -1 ? -1 : rtx.keyForName(name
+						.substring(0, index));
+				final int localNameKey = rtx.keyForName(name.substring(index + 1));
+				assertEquals(name + " " + blockSize, expected,
+						nodes(new SirixBlockStream(axis.apply(rtx), collection, blockSize,
+								Kind.ELEMENT, prefixKey, localNameKey)));
+			}
+		}
+	}
+
+	/**
+	 * Drain a stream and describe the nodes once the stream is exhausted (the
+	 * nodes of both streams share the transaction of the axis).
+	 *
+	 * @param stream
+	 *          the stream
+	 * @return the node keys, kinds and DeweyIDs of the nodes
+	 */
+	private static List<String> nodes(final Stream<DBNode> stream)
+			throws DocumentException {
+		final List<DBNode> nodes = new ArrayList<>();
+		for (DBNode node = stream.next(); node != null; node = stream.next()) {
+			nodes.add(node);
+		}
+		stream.close();
+		final List<String> descriptions = new ArrayList<>(nodes.size());
+		for (final DBNode node : nodes) {
+			descriptions.add(node.getUnderlyingNode().getNodeKey() + " "
+					+ node.getKind() + " " + node.getUnderlyingNode().getDeweyID());
+		}
+		return descriptions;
+	}
+
+	private NodeReadTrx newTrx(final long nodeKey) {
+		final NodeReadTrx rtx = mDoc.getTrx().getSession()
+				.beginNodeReadTrx(mDoc.getTrx().getRevisionNumber());
+		mTrxs.add(rtx);
+		assertTrue(rtx.moveTo(nodeKey).hasMoved());
+		return rtx;
+	}
+
+	private long rootElementKey() {
+		final NodeReadTrx rtx = newTrx(DOCUMENT_NODE_KEY);
+		rtx.moveToFirstChild();
+		return rtx.getNodeKey();
+	}
+
+	private long firstElementKey() {
+		final NodeReadTrx rtx = newTrx(rootElementKey());
+		rtx.moveToFirstChild();
+		return rtx.getNodeKey();
+	}
+
+	private static DBStore newStore() {
+		return DBStore.newBuilder().location(LOCATION).build();
+	}
+}